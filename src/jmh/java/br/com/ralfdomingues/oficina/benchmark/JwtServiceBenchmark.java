@@ -0,0 +1,81 @@
+package br.com.ralfdomingues.oficina.benchmark;
+
+import br.com.ralfdomingues.oficina.config.security.JwtService;
+import br.com.ralfdomingues.oficina.domain.usuario.entity.Usuario;
+import br.com.ralfdomingues.oficina.domain.usuario.enums.PerfilUsuario;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração e validação de tokens JWT, executadas a cada login e a cada
+ * requisição autenticada, respectivamente.
+ *
+ * <p>
+ * {@code getEmailReconstruindoParser} reproduz a validação anterior, que
+ * derivava a chave e montava o parser a cada chamada, como referência para
+ * o ganho de construí-los uma única vez no {@link JwtService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SEGREDO = "segredo-de-benchmark-com-pelo-menos-256-bits";
+
+    private JwtService jwtService;
+    private Usuario usuario;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = new JwtService(
+                SEGREDO, 3_600_000L, "principal", "");
+
+        usuario = Usuario.builder()
+                .id(1L)
+                .nome("Administrador")
+                .email("admin@oficina.com")
+                .perfil(PerfilUsuario.ADMIN)
+                .ativo(true)
+                .tokenVersao(0)
+                .build();
+
+        token = jwtService.gerarToken(usuario);
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return jwtService.gerarToken(usuario);
+    }
+
+    @Benchmark
+    public String getEmail() {
+        return jwtService.getEmail(token);
+    }
+
+    @Benchmark
+    public String getEmailReconstruindoParser() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SEGREDO.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+}
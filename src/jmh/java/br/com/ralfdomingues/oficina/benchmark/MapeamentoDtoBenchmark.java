@@ -0,0 +1,125 @@
+package br.com.ralfdomingues.oficina.benchmark;
+
+import br.com.ralfdomingues.oficina.domain.cliente.entity.Cliente;
+import br.com.ralfdomingues.oficina.domain.itemservico.dto.ItemServicoResponseDTO;
+import br.com.ralfdomingues.oficina.domain.itemservico.entity.ItemServico;
+import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoResponseDTO;
+import br.com.ralfdomingues.oficina.domain.ordemservico.entity.OrdemServico;
+import br.com.ralfdomingues.oficina.domain.ordemservico.enums.StatusOrdemServico;
+import br.com.ralfdomingues.oficina.domain.servico.entity.Servico;
+import br.com.ralfdomingues.oficina.domain.veiculo.entity.Veiculo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de entidades nos DTOs de resposta e serialização JSON,
+ * como feitas na listagem de ordens e de itens de uma ordem.
+ *
+ * <p>
+ * O {@link JsonMapper} é obtido da autoconfiguração do Spring Boot, a mesma
+ * que fornece o mapper usado pelos controllers, para que módulos e opções
+ * padrão da aplicação entrem na medição.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeamentoDtoBenchmark {
+
+    /**
+     * Quantidade de itens por ordem (uma página típica e uma página cheia).
+     */
+    @Param({"10", "100"})
+    public int itensPorOrdem;
+
+    private JsonMapper jsonMapper;
+
+    private OrdemServico ordem;
+    private List<ItemServico> itens;
+    private OrdemServicoResponseDTO ordemDto;
+    private List<ItemServicoResponseDTO> itensDto;
+
+    @Setup
+    public void setup() {
+        try (var contexto = new AnnotationConfigApplicationContext(JacksonAutoConfiguration.class)) {
+            jsonMapper = contexto.getBean(JsonMapper.class);
+        }
+
+        Cliente cliente = Cliente.builder().id(1L).nome("Ana").cpf("12345678900").ativo(true).build();
+        Veiculo veiculo = Veiculo.builder().id(2L).placa("ABC1D23").modelo("Onix").marca("Chevrolet")
+                .ano(2022).cliente(cliente).ativo(true).build();
+
+        ordem = OrdemServico.builder()
+                .id(3L)
+                .cliente(cliente)
+                .veiculo(veiculo)
+                .descricao("Revisão completa com troca de óleo e filtros")
+                .status(StatusOrdemServico.ABERTA)
+                .valorEstimado(new BigDecimal("850.00"))
+                .valorFinal(new BigDecimal("912.40"))
+                .dataAbertura(LocalDateTime.of(2025, 3, 10, 8, 30))
+                .build();
+
+        itens = new ArrayList<>(itensPorOrdem);
+        for (int i = 0; i < itensPorOrdem; i++) {
+            Servico servico = Servico.builder().id((long) i).nome("Serviço " + i)
+                    .preco(new BigDecimal("45.90")).ativo(true).build();
+
+            ItemServico item = new ItemServico();
+            item.setId((long) i);
+            item.setOrdem(ordem);
+            item.setServico(servico);
+            item.setQuantidade(1 + i % 3);
+            item.setValorUnitario(servico.getPreco());
+            itens.add(item);
+        }
+
+        ordemDto = new OrdemServicoResponseDTO(ordem);
+        itensDto = itens.stream().map(ItemServicoResponseDTO::new).toList();
+    }
+
+    @Benchmark
+    public OrdemServicoResponseDTO mapearOrdem() {
+        return new OrdemServicoResponseDTO(ordem);
+    }
+
+    @Benchmark
+    public List<ItemServicoResponseDTO> mapearItens() {
+        return itens.stream().map(ItemServicoResponseDTO::new).toList();
+    }
+
+    @Benchmark
+    public byte[] serializarOrdem() {
+        return jsonMapper.writeValueAsBytes(ordemDto);
+    }
+
+    @Benchmark
+    public byte[] serializarItens() {
+        return jsonMapper.writeValueAsBytes(itensDto);
+    }
+
+    @Benchmark
+    public byte[] mapearESerializarItens() {
+        return jsonMapper.writeValueAsBytes(itens.stream().map(ItemServicoResponseDTO::new).toList());
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.ralfdomingues.oficina.benchmark;
+
+import br.com.ralfdomingues.oficina.infra.logging.AuditoriaAssincrona;
+import br.com.ralfdomingues.oficina.infra.logging.RequestLoggingInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do registro de auditoria na thread da requisição
+ * ({@link RequestLoggingInterceptor#preHandle}), com a gravação em disco
+ * acontecendo em paralelo na thread da {@link AuditoriaAssincrona}.
+ *
+ * <p>
+ * A variante concorrente mede a disputa entre várias threads de requisição
+ * pela fila de auditoria.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestLoggingInterceptorBenchmark {
+
+    private AuditoriaAssincrona auditoria;
+    private RequestLoggingInterceptor interceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setup() throws Exception {
+        Path diretorio = Files.createTempDirectory("auditoria-benchmark");
+
+        auditoria = new AuditoriaAssincrona(JsonMapper.builder().build(), diretorio.toString(), 8192,
+                AuditoriaAssincrona.PoliticaFilaCheia.DESCARTAR, 0, 1);
+        auditoria.iniciar();
+
+        interceptor = new RequestLoggingInterceptor(auditoria);
+
+        request = new MockHttpServletRequest("GET", "/ordens-servico/cursor");
+        request.setUserPrincipal(() -> "admin@oficina.com");
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown
+    public void tearDown() {
+        auditoria.encerrar();
+    }
+
+    @Benchmark
+    public boolean preHandle() {
+        return interceptor.preHandle(request, response, null);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean preHandleConcorrente() {
+        return interceptor.preHandle(request, response, null);
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.ralfdomingues.oficina.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Soma dos subtotais dos itens de uma ordem ({@code valorUnitario * quantidade}),
+ * como no total de um lote de itens e na reconciliação do valor final.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SomaTotalBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int itens;
+
+    private BigDecimal[] valoresUnitarios;
+    private int[] quantidades;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        valoresUnitarios = new BigDecimal[itens];
+        quantidades = new int[itens];
+
+        for (int i = 0; i < itens; i++) {
+            valoresUnitarios[i] = BigDecimal.valueOf(1_000 + random.nextInt(99_000), 2);
+            quantidades[i] = 1 + random.nextInt(5);
+        }
+    }
+
+    /**
+     * Forma usada nos serviços: stream com {@code map} e {@code reduce}.
+     */
+    @Benchmark
+    public BigDecimal streamReduce() {
+        return IntStream.range(0, itens)
+                .mapToObj(i -> valoresUnitarios[i].multiply(BigDecimal.valueOf(quantidades[i])))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal laco() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < itens; i++) {
+            total = total.add(valoresUnitarios[i].multiply(BigDecimal.valueOf(quantidades[i])));
+        }
+        return total;
+    }
+
+    /**
+     * Soma em centavos ({@code long}), convertendo para {@link BigDecimal} apenas no final.
+     * Válida enquanto todos os valores tiverem escala 2 e o total couber em um {@code long}.
+     */
+    @Benchmark
+    public BigDecimal centavos() {
+        long total = 0;
+        for (int i = 0; i < itens; i++) {
+            total = Math.addExact(total, Math.multiplyExact(valoresUnitarios[i].unscaledValue().longValueExact(),
+                    (long) quantidades[i]));
+        }
+        return BigDecimal.valueOf(total, 2);
+    }
+}
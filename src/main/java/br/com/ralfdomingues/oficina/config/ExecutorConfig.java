@@ -0,0 +1,45 @@
+package br.com.ralfdomingues.oficina.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Configuração de executores utilizados para processamento concorrente.
+ *
+ * <p>
+ * As consultas paralelas da aplicação são bloqueantes (JDBC), por isso
+ * utilizam virtual threads: cada tarefa recebe sua própria thread sem
+ * custo de pool, e a concorrência real fica limitada pelo pool de conexões.
+ *
+ * <p>
+ * O atendimento das requisições e os executores gerenciados pelo Spring
+ * ({@code @Async}, respostas assíncronas do MVC) passam a usar virtual
+ * threads com {@code spring.threads.virtual.enabled=true}
+ * (variável {@code VIRTUAL_THREADS}).
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Executor utilizado na composição do snapshot do dashboard.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService dashboardExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Executor das importações em massa.
+     *
+     * <p>
+     * Processa uma importação por vez: cada uma já grava em lotes e
+     * ocupa uma conexão durante todo o arquivo. No encerramento da
+     * aplicação a importação em andamento é interrompida ao fim do bloco atual.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService importacaoExecutor() {
+        return Executors.newSingleThreadExecutor();
+    }
+}
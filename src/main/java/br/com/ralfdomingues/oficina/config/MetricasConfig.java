@@ -0,0 +1,31 @@
+package br.com.ralfdomingues.oficina.config;
+
+import io.micrometer.observation.ObservationPredicate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * Configuração das métricas de requisições HTTP.
+ *
+ * <p>
+ * A duração de cada requisição é registrada pelo filtro de observação do
+ * Spring MVC no timer {@code http.server.requests}, identificado por
+ * endpoint ({@code uri}), método, status e exceção; as requisições em
+ * andamento ficam em {@code http.server.requests.active}. Os histogramas e a
+ * exposição em {@code /actuator/prometheus} são configurados em
+ * {@code application.yml}.
+ */
+@Configuration
+public class MetricasConfig {
+
+    /**
+     * Desconsidera as chamadas aos endpoints do Actuator, para que a coleta
+     * periódica do Prometheus não entre nas métricas da API.
+     */
+    @Bean
+    public ObservationPredicate ignorarActuator() {
+        return (nome, contexto) -> !(contexto instanceof ServerRequestObservationContext requisicao
+                && requisicao.getCarrier().getRequestURI().startsWith("/actuator"));
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.ralfdomingues.oficina.config;
+
+import br.com.ralfdomingues.oficina.infra.persistencia.ConsistenciaLeitura;
+import br.com.ralfdomingues.oficina.infra.persistencia.MonitorReplica;
+import br.com.ralfdomingues.oficina.infra.persistencia.RoteamentoDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuração do roteamento de conexões entre o banco primário e uma
+ * réplica de leitura.
+ *
+ * <p>
+ * Ativada apenas quando {@code oficina.datasource.replica.url} é informada;
+ * sem ela, o DataSource do Spring Boot é usado sem alteração.
+ *
+ * <p>
+ * O primário mantém as configurações de {@code spring.datasource} (inclusive
+ * o pool em {@code spring.datasource.hikari}); a réplica tem pool próprio,
+ * configurado em {@code oficina.datasource.replica.hikari}, com as mesmas
+ * credenciais do primário quando não informadas. As conexões da réplica são
+ * abertas como somente leitura: uma escrita encaminhada a ela falha em vez
+ * de ser perdida.
+ */
+@Configuration
+@ConditionalOnProperty(name = "oficina.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * Pool de conexões do banco primário.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primarioDataSource(
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username:}") String usuario,
+            @Value("${spring.datasource.password:}") String senha) {
+
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("primario");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(usuario);
+        dataSource.setPassword(senha);
+        return dataSource;
+    }
+
+    /**
+     * Pool de conexões da réplica de leitura.
+     */
+    @Bean
+    @ConfigurationProperties("oficina.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${oficina.datasource.replica.url}") String url,
+            @Value("${oficina.datasource.replica.username:${spring.datasource.username:}}") String usuario,
+            @Value("${oficina.datasource.replica.password:${spring.datasource.password:}}") String senha) {
+
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(usuario);
+        dataSource.setPassword(senha);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * DataSource da aplicação (JPA, Flyway, JdbcTemplate), roteado entre
+     * primário e réplica.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primarioDataSource") DataSource primario,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ConsistenciaLeitura consistencia) {
+
+        return RoteamentoDataSource.comReplica(primario, replica, consistencia);
+    }
+
+    /**
+     * Verificação periódica do atraso da réplica.
+     */
+    @Bean
+    public MonitorReplica monitorReplica(
+            @Qualifier("replicaDataSource") DataSource replica,
+            ConsistenciaLeitura consistencia) {
+
+        return new MonitorReplica(replica, consistencia);
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.ralfdomingues.oficina.config;
+
+import br.com.ralfdomingues.oficina.infra.persistencia.MonitorRepositorios;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import java.time.Duration;
+
+/**
+ * Aplica o {@link MonitorRepositorios} a todos os repositórios Spring Data.
+ *
+ * <p>
+ * O interceptador é adicionado ao proxy de cada repositório no momento da
+ * sua criação, pelo ponto de extensão do próprio Spring Data, sem exigir
+ * AOP por anotações nem alterar as interfaces dos repositórios.
+ *
+ * <p>
+ * O limite do log de consultas lentas é definido em
+ * {@code oficina.repositorio.consulta-lenta-ms} (padrão: 500 ms). O histograma
+ * completo de percentis dos timers é habilitado por
+ * {@code oficina.repositorio.histograma-percentis} (padrão: desabilitado).
+ */
+@Configuration
+public class RepositorioMetricasConfig {
+
+    /**
+     * Declarado como estático por ser um {@link BeanPostProcessor}: o registro
+     * de métricas é resolvido apenas na primeira invocação de repositório.
+     */
+    @Bean
+    public static BeanPostProcessor monitorRepositoriosPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            Environment environment
+    ) {
+        MonitorRepositorios monitor = new MonitorRepositorios(
+                () -> meterRegistry.getIfAvailable(() -> Metrics.globalRegistry),
+                Duration.ofMillis(environment.getProperty(
+                        "oficina.repositorio.consulta-lenta-ms", Long.class, 500L)),
+                environment.getProperty("oficina.repositorio.histograma-percentis", Boolean.class, false)
+        );
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> fabrica) {
+                    fabrica.addRepositoryFactoryCustomizer(factory ->
+                            factory.addRepositoryProxyPostProcessor((proxy, informacao) ->
+                                    proxy.addAdvice(monitor.interceptador(informacao.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
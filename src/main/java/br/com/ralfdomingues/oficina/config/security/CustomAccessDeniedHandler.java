@@ -1,9 +1,9 @@
 package br.com.ralfdomingues.oficina.config.security;
 
+import br.com.ralfdomingues.oficina.infra.logging.AuditoriaAssincrona;
+import br.com.ralfdomingues.oficina.infra.logging.EventoAuditoria;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.access.AccessDeniedHandler;
@@ -32,11 +32,13 @@ import java.util.Optional;
 public class CustomAccessDeniedHandler implements AccessDeniedHandler {
 
     /**
-     * Logger dedicado à auditoria de eventos da API.
-     * Utiliza um nome fixo para facilitar filtros e análise de logs.
+     * Fila de gravação do log de auditoria da API.
      */
-    private static final Logger logger =
-            LoggerFactory.getLogger("API_LOGGER");
+    private final AuditoriaAssincrona auditoria;
+
+    public CustomAccessDeniedHandler(AuditoriaAssincrona auditoria) {
+        this.auditoria = auditoria;
+    }
 
     /**
      * Executado automaticamente pelo Spring Security quando um usuário
@@ -60,12 +62,13 @@ public class CustomAccessDeniedHandler implements AccessDeniedHandler {
                 .orElse("ANONIMO");
 
         // Loga tentativa de acesso negado com informações relevantes
-        logger.warn(
-                "ACESSO_NEGADO | USUARIO={} | METODO={} | URI={}",
+        auditoria.registrar(EventoAuditoria.agora(
+                "ACESSO_NEGADO",
                 usuario,
                 request.getMethod(),
-                request.getRequestURI()
-        );
+                request.getRequestURI(),
+                null
+        ));
 
         // Retorna resposta simples e direta ao cliente
         response.setStatus(HttpServletResponse.SC_FORBIDDEN);
@@ -1,9 +1,9 @@
 package br.com.ralfdomingues.oficina.config.security;
 
+import br.com.ralfdomingues.oficina.infra.logging.AuditoriaAssincrona;
+import br.com.ralfdomingues.oficina.infra.logging.EventoAuditoria;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
@@ -30,10 +30,13 @@ public class CustomAuthenticationEntryPoint
         implements AuthenticationEntryPoint {
 
     /**
-     * Logger dedicado à auditoria de eventos de segurança da API.
+     * Fila de gravação do log de auditoria da API.
      */
-    private static final Logger logger =
-            LoggerFactory.getLogger("API_LOGGER");
+    private final AuditoriaAssincrona auditoria;
+
+    public CustomAuthenticationEntryPoint(AuditoriaAssincrona auditoria) {
+        this.auditoria = auditoria;
+    }
 
     /**
      * Executado pelo Spring Security quando uma requisição protegida
@@ -49,11 +52,13 @@ public class CustomAuthenticationEntryPoint
                          AuthenticationException ex) throws IOException {
 
         // Registra tentativa de acesso sem autenticação
-        logger.warn(
-                "NAO_AUTENTICADO | METODO={} | URI={}",
+        auditoria.registrar(EventoAuditoria.agora(
+                "NAO_AUTENTICADO",
+                null,
                 request.getMethod(),
-                request.getRequestURI()
-        );
+                request.getRequestURI(),
+                null
+        ));
 
         // Retorna resposta padronizada para falha de autenticação
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
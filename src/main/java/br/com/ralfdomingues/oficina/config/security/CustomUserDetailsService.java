@@ -2,12 +2,9 @@ package br.com.ralfdomingues.oficina.config.security;
 
 import br.com.ralfdomingues.oficina.domain.usuario.entity.Usuario;
 import br.com.ralfdomingues.oficina.repository.usuario.UsuarioRepository;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 /**
  * Implementação customizada do {@link UserDetailsService} responsável por
  * integrar o modelo de usuário da aplicação ao mecanismo de autenticação
@@ -24,15 +21,20 @@ import java.util.List;
  *   <li>O email é utilizado como identificador único de autenticação</li>
  *   <li>O perfil do usuário é mapeado diretamente para uma authority</li>
  *   <li>O campo {@code ativo} controla a habilitação do usuário no sistema</li>
+ *   <li>Os dados são mantidos no {@link UserDetailsCache}, evitando uma consulta
+ *   ao banco a cada requisição autenticada</li>
  * </ul>
  */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UsuarioRepository repository;
+    private final UserDetailsCache cache;
 
-    public CustomUserDetailsService(UsuarioRepository repository) {
+    public CustomUserDetailsService(UsuarioRepository repository,
+                                    UserDetailsCache cache) {
         this.repository = repository;
+        this.cache = cache;
     }
 
     /**
@@ -52,17 +54,21 @@ public class CustomUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(String email)
             throws UsernameNotFoundException {
 
+        return cache.obter(email, this::carregar);
+    }
+
+    /**
+     * Busca o usuário no banco em caso de falha no cache.
+     */
+    private UserDetailsCache.UsuarioAutenticado carregar(String email) {
         Usuario usuario = repository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado"));
 
-        return new User(
+        return new UserDetailsCache.UsuarioAutenticado(
                 usuario.getEmail(),
                 usuario.getSenha(),
-                usuario.getAtivo(), // controla se o usuário pode se autenticar
-                true,
-                true,
-                true,
-                List.of(new SimpleGrantedAuthority(usuario.getPerfil().name()))
+                usuario.getAtivo(),
+                usuario.getPerfil().name()
         );
     }
 }
@@ -1,14 +1,17 @@
 package br.com.ralfdomingues.oficina.config.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.*;
 import jakarta.servlet.http.*;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Filtro responsável por validar tokens JWT e popular o contexto de segurança
@@ -24,11 +27,17 @@ import java.io.IOException;
  * <ul>
  *   <li>Extrai o token JWT do header Authorization (Bearer)</li>
  *   <li>Recupera o email do usuário a partir do token</li>
- *   <li>Carrega os dados do usuário via {@link CustomUserDetailsService}</li>
- *   <li>Define a autenticação no contexto de segurança</li>
+ *   <li>Carrega os dados do usuário via {@link CustomUserDetailsService} (com cache)</li>
+ *   <li>Define a autenticação no contexto de segurança, apenas para usuários ativos</li>
  * </ul>
  *
  * <p>
+ * Com {@code security.jwt.stateless=true}, a autenticação é montada
+ * diretamente das claims do token (subject, perfil e versão), sem acesso
+ * ao banco. A revogação é feita pelo {@link TokenVersaoRegistry}, que
+ * rejeita tokens de usuários inativos ou com versão desatualizada.
+ *
+ * <p>
  * Observações importantes:
  * <ul>
  *   <li>Não bloqueia a requisição caso o token seja inválido ou inexistente</li>
@@ -41,11 +50,14 @@ public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenVersaoRegistry tokenVersaoRegistry;
 
     public JwtFilter(JwtService jwtService,
-                     CustomUserDetailsService userDetailsService) {
+                     CustomUserDetailsService userDetailsService,
+                     TokenVersaoRegistry tokenVersaoRegistry) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.tokenVersaoRegistry = tokenVersaoRegistry;
     }
 
     /**
@@ -67,11 +79,28 @@ public class JwtFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
 
             String token = authHeader.substring(7);
-            String email = jwtService.getEmail(token);
 
-            UserDetails userDetails =
-                    userDetailsService.loadUserByUsername(email);
+            if (tokenVersaoRegistry.isHabilitado()) {
+                autenticarPorClaims(token);
+            } else {
+                autenticarPorUsuario(token);
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Monta a autenticação a partir dos dados do usuário (banco ou cache).
+     */
+    private void autenticarPorUsuario(String token) {
+        String email = jwtService.getEmail(token);
+
+        UserDetails userDetails =
+                userDetailsService.loadUserByUsername(email);
 
+        // Usuários desativados deixam de ser autenticados pelo token
+        if (userDetails.isEnabled()) {
             var authentication =
                     new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
@@ -79,7 +108,32 @@ public class JwtFilter extends OncePerRequestFilter {
             SecurityContextHolder.getContext()
                     .setAuthentication(authentication);
         }
+    }
 
-        filterChain.doFilter(request, response);
+    /**
+     * Monta a autenticação a partir das claims do token, sem acesso ao banco.
+     *
+     * <p>
+     * Tokens emitidos antes da introdução da claim de versão são tratados
+     * como versão 0.
+     */
+    private void autenticarPorClaims(String token) {
+        Claims claims = jwtService.getClaims(token);
+
+        String email = claims.getSubject();
+        String perfil = claims.get(JwtService.CLAIM_PERFIL, String.class);
+        Integer versao = claims.get(JwtService.CLAIM_VERSAO, Integer.class);
+
+        if (perfil == null
+                || !tokenVersaoRegistry.aceita(email, versao == null ? 0 : versao)) {
+            return;
+        }
+
+        var authentication =
+                new UsernamePasswordAuthenticationToken(
+                        email, null, List.of(new SimpleGrantedAuthority(perfil)));
+
+        SecurityContextHolder.getContext()
+                .setAuthentication(authentication);
     }
 }
@@ -1,13 +1,20 @@
 package br.com.ralfdomingues.oficina.config.security;
 
 import br.com.ralfdomingues.oficina.domain.usuario.entity.Usuario;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Serviço responsável pela geração e validação de tokens JWT utilizados
@@ -17,38 +24,117 @@ import java.util.Date;
  * Este serviço define o contrato básico do token, incluindo:
  * <ul>
  *   <li>Identificador do usuário (email) como subject</li>
- *   <li>Perfil do usuário como claim</li>
+ *   <li>Perfil do usuário e versão dos tokens como claims</li>
+ *   <li>Identificador da chave de assinatura ({@code kid}) no header</li>
  *   <li>Tempo de expiração configurável</li>
  * </ul>
  *
  * <p>
+ * As chaves e o parser são construídos uma única vez na inicialização,
+ * já que a validação ocorre em toda requisição autenticada. O parser do
+ * jjwt é imutável e pode ser compartilhado entre threads.
+ *
+ * <p>
+ * Rotação de chaves: novos tokens são assinados com a chave atual
+ * ({@code security.jwt.kid}); tokens assinados com chaves anteriores
+ * continuam válidos enquanto a chave constar em
+ * {@code security.jwt.chaves-anteriores}, no formato
+ * {@code kid1:segredo1,kid2:segredo2}. Tokens sem {@code kid} são
+ * validados com a chave atual.
+ *
+ * <p>
  * A lógica de autorização não é responsabilidade deste serviço;
  * ele apenas garante a integridade e a extração de informações do token.
  */
 @Service
 public class JwtService {
 
+    static final String CLAIM_PERFIL = "perfil";
+    static final String CLAIM_VERSAO = "ver";
+
     /**
-     * Chave secreta utilizada para assinatura do token JWT.
-     * Deve possuir tamanho adequado para o algoritmo HMAC utilizado.
+     * Tempo de expiração do token em milissegundos.
      */
-    @Value("${security.jwt.secret}")
-    private String secret;
+    private final long expiration;
 
     /**
-     * Tempo de expiração do token em milissegundos.
+     * Identificador da chave usada para assinar novos tokens.
+     */
+    private final String kidAtual;
+
+    /**
+     * Chave usada para assinar novos tokens.
+     */
+    private final Key chaveAtual;
+
+    /**
+     * Chaves aceitas na validação, indexadas pelo {@code kid}.
      */
-    @Value("${security.jwt.expiration}")
-    private Long expiration;
+    private final Map<String, Key> chaves;
+
+    private final JwtParser parser;
+
+    public JwtService(@Value("${security.jwt.secret}") String secret,
+                      @Value("${security.jwt.expiration}") Long expiration,
+                      @Value("${security.jwt.kid:principal}") String kidAtual,
+                      @Value("${security.jwt.chaves-anteriores:}") String chavesAnteriores) {
+
+        this.expiration = expiration;
+        this.kidAtual = kidAtual;
+        this.chaveAtual = construirChave(secret);
+
+        Map<String, Key> chaves = new HashMap<>();
+        for (String entrada : chavesAnteriores.split(",")) {
+            if (entrada.isBlank()) {
+                continue;
+            }
+
+            int separador = entrada.indexOf(':');
+            if (separador <= 0) {
+                throw new IllegalArgumentException(
+                        "Chave anterior inválida em security.jwt.chaves-anteriores: use kid:segredo");
+            }
+
+            chaves.put(entrada.substring(0, separador).trim(),
+                    construirChave(entrada.substring(separador + 1).trim()));
+        }
+        chaves.put(kidAtual, chaveAtual);
+        this.chaves = Map.copyOf(chaves);
+
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolverChave(header.getKeyId());
+                    }
+                })
+                .build();
+    }
 
     /**
-     * Constrói a chave de assinatura a partir do segredo configurado.
+     * Constrói a chave de assinatura a partir de um segredo.
      *
      * <p>
      * A conversão explícita para UTF-8 garante consistência entre ambientes.
+     * O segredo deve possuir tamanho adequado para o algoritmo HMAC utilizado.
+     */
+    private static Key construirChave(String segredo) {
+        return Keys.hmacShaKeyFor(segredo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Seleciona a chave de validação a partir do {@code kid} do token.
      */
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    private Key resolverChave(String kid) {
+        if (kid == null) {
+            return chaveAtual;
+        }
+
+        Key chave = chaves.get(kid);
+        if (chave == null) {
+            throw new UnsupportedJwtException("Chave de assinatura desconhecida: " + kid);
+        }
+        return chave;
     }
 
     /**
@@ -63,11 +149,13 @@ public class JwtService {
      */
     public String gerarToken(Usuario usuario) {
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, kidAtual)
                 .setSubject(usuario.getEmail())
-                .claim("perfil", usuario.getPerfil().name())
+                .claim(CLAIM_PERFIL, usuario.getPerfil().name())
+                .claim(CLAIM_VERSAO, usuario.getTokenVersao())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(chaveAtual)
                 .compact();
     }
 
@@ -82,11 +170,16 @@ public class JwtService {
      * @return email associado ao token
      */
     public String getEmail(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return getClaims(token).getSubject();
+    }
+
+    /**
+     * Valida o token e retorna todas as suas claims.
+     *
+     * @param token token JWT recebido na requisição
+     * @return claims do token
+     */
+    public Claims getClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 }
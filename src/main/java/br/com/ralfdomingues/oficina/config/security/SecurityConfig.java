@@ -1,5 +1,6 @@
 package br.com.ralfdomingues.oficina.config.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -9,6 +10,9 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.DispatcherTypeRequestMatcher;
 
 
 /**
@@ -90,13 +94,29 @@ public class SecurityConfig {
                 )
                 .authorizeHttpRequests(auth -> auth
 
+                        // Conclusão da exportação em streaming (resposta assíncrona), já
+                        // autorizada no despacho original; os demais despachos assíncronos
+                        // seguem as regras abaixo
+                        .requestMatchers(new AndRequestMatcher(
+                                new DispatcherTypeRequestMatcher(DispatcherType.ASYNC),
+                                PathPatternRequestMatcher.withDefaults()
+                                        .matcher(HttpMethod.GET, "/ordens-servico/exportacao")
+                        )).permitAll()
+
                         // Endpoints públicos
                         .requestMatchers("/auth/**").permitAll()
 
+                        // Saúde e coleta de métricas (servidos apenas na porta de gerenciamento)
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+
                         // Gestão de usuários (restrito à administração)
                         .requestMatchers("/usuarios/**").hasAuthority("ADMIN")
 
+                        // Monitoramento operacional (restrito à administração)
+                        .requestMatchers("/monitoramento/**").hasAuthority("ADMIN")
+
                         // Dashboard administrativo
+                        .requestMatchers("/dashboard/contadores/**").hasAuthority("ADMIN")
                         .requestMatchers("/dashboard/**")
                         .hasAnyAuthority("ADMIN", "SECRETARIA")
 
@@ -119,7 +139,14 @@ public class SecurityConfig {
                         .requestMatchers("/itens-servico/**")
                         .hasAnyAuthority("ADMIN", "SECRETARIA")
 
+                        // Importação em massa
+                        .requestMatchers("/importacoes/**")
+                        .hasAnyAuthority("ADMIN", "SECRETARIA")
+
                         // Ordens de serviço
+                        .requestMatchers("/ordens-servico/reconciliacao/**").hasAuthority("ADMIN")
+                        .requestMatchers("/ordens-servico/exportacao/**")
+                        .hasAnyAuthority("ADMIN", "SECRETARIA")
                         .requestMatchers(HttpMethod.GET, "/ordens-servico/**")
                         .hasAnyAuthority("ADMIN", "SECRETARIA", "MECANICO")
                         .requestMatchers(HttpMethod.PUT, "/ordens-servico/concluir/**")
@@ -0,0 +1,153 @@
+package br.com.ralfdomingues.oficina.config.security;
+
+import br.com.ralfdomingues.oficina.domain.usuario.dto.UsuarioTokenView;
+import br.com.ralfdomingues.oficina.domain.usuario.entity.Usuario;
+import br.com.ralfdomingues.oficina.infra.transacao.AposCommit;
+import br.com.ralfdomingues.oficina.repository.usuario.UsuarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Registro em memória da versão de token e do status de cada usuário,
+ * usado pelo modo de autenticação stateless do {@link JwtFilter}.
+ *
+ * <p>
+ * Um token só é aceito quando o usuário existe, está ativo e a versão
+ * presente no token é igual à versão registrada. Assim, incrementar
+ * {@code tokenVersao} revoga todos os tokens emitidos antes.
+ *
+ * <p>
+ * Decisões importantes:
+ * <ul>
+ *   <li>O registro é carregado por completo na inicialização e recarregado
+ *   periodicamente, cobrindo alterações feitas por outras instâncias</li>
+ *   <li>Alterações feitas pelo {@code UsuarioService} são aplicadas após o
+ *   commit, sem esperar a próxima recarga</li>
+ *   <li>O mapa é imutável e trocado por referência, sem bloquear leituras</li>
+ *   <li>Versões só crescem: na recarga, uma versão em memória maior que a
+ *   lida do banco é mantida, evitando que uma leitura anterior ao commit
+ *   desfaça uma revogação</li>
+ *   <li>Com o modo stateless desabilitado, nada é carregado</li>
+ * </ul>
+ */
+@Component
+public class TokenVersaoRegistry {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(TokenVersaoRegistry.class);
+
+    private record Estado(int versao, boolean ativo) {}
+
+    private final UsuarioRepository repository;
+    private final boolean habilitado;
+
+    private final AtomicReference<Map<String, Estado>> estados =
+            new AtomicReference<>(Map.of());
+
+    public TokenVersaoRegistry(UsuarioRepository repository,
+                               @Value("${security.jwt.stateless:false}") boolean habilitado) {
+        this.repository = repository;
+        this.habilitado = habilitado;
+    }
+
+    /**
+     * Indica se o modo de autenticação stateless está habilitado.
+     */
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Carrega o registro na inicialização da aplicação.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        recarregar();
+    }
+
+    /**
+     * Recarrega o registro a partir do banco.
+     */
+    @Scheduled(
+            fixedDelayString = "${security.jwt.stateless-recarga-ms:60000}",
+            initialDelayString = "${security.jwt.stateless-recarga-ms:60000}"
+    )
+    public void recarregar() {
+        if (!habilitado) {
+            return;
+        }
+
+        Map<String, Estado> lidos = new HashMap<>();
+        for (UsuarioTokenView usuario : repository.buscarEstadosToken()) {
+            lidos.put(usuario.getEmail(),
+                    new Estado(usuario.getTokenVersao(), Boolean.TRUE.equals(usuario.getAtivo())));
+        }
+
+        Map<String, Estado> atualizados = estados.updateAndGet(atuais -> {
+            Map<String, Estado> novos = new HashMap<>(lidos);
+            novos.replaceAll((email, lido) -> {
+                Estado atual = atuais.get(email);
+                return atual != null && atual.versao() > lido.versao() ? atual : lido;
+            });
+            return Map.copyOf(novos);
+        });
+
+        log.debug("Registro de versões de token recarregado: {} usuários", atualizados.size());
+    }
+
+    /**
+     * Verifica se um token com a versão informada ainda é válido para o usuário.
+     *
+     * @param email  email (subject) do token
+     * @param versao versão presente no token
+     * @return {@code true} se o usuário existe, está ativo e a versão confere
+     */
+    public boolean aceita(String email, int versao) {
+        Estado estado = estados.get().get(email);
+        return estado != null && estado.ativo() && estado.versao() == versao;
+    }
+
+    /**
+     * Atualiza o registro após o commit de uma alteração no usuário.
+     *
+     * @param emailAnterior email antes da alteração (revogado se diferente do atual)
+     * @param usuario       usuário já alterado
+     */
+    public void atualizarAposCommit(String emailAnterior, Usuario usuario) {
+        String email = usuario.getEmail();
+        int versao = usuario.getTokenVersao();
+        Estado estado = new Estado(versao, Boolean.TRUE.equals(usuario.getAtivo()));
+
+        AposCommit.executar(() -> {
+            if (emailAnterior != null && !emailAnterior.equals(email)) {
+                // Mantido como revogado até a próxima recarga, que o descarta
+                alterar(emailAnterior, new Estado(versao, false));
+            }
+            alterar(email, estado);
+        });
+    }
+
+    /**
+     * Aplica a alteração sobre uma cópia do mapa, trocando-o por referência.
+     */
+    private void alterar(String email, Estado estado) {
+        if (!habilitado) {
+            return;
+        }
+
+        estados.updateAndGet(atuais -> {
+            Map<String, Estado> novos = new HashMap<>(atuais);
+            novos.put(email, estado);
+            return Map.copyOf(novos);
+        });
+    }
+}
@@ -0,0 +1,216 @@
+package br.com.ralfdomingues.oficina.config.security;
+
+import br.com.ralfdomingues.oficina.infra.transacao.AposCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache em memória dos dados de autenticação dos usuários, indexado por email.
+ *
+ * <p>
+ * Evita uma consulta à tabela {@code usuario} a cada requisição autenticada
+ * via JWT. O cache é limitado em quantidade de entradas e cada entrada expira
+ * após o TTL configurado, que também define por quanto tempo, no máximo, um
+ * usuário desativado por fora da aplicação continua sendo aceito.
+ *
+ * <p>
+ * Decisões importantes:
+ * <ul>
+ *   <li>O cache guarda um retrato imutável do usuário e cria um novo {@link User}
+ *   a cada leitura, pois o Spring Security apaga a senha do {@link UserDetails}
+ *   após a autenticação ({@code eraseCredentials})</li>
+ *   <li>Alterações e desativações feitas pelo {@code UsuarioService} invalidam
+ *   a entrada imediatamente</li>
+ *   <li>Ao atingir a capacidade, é removida a entrada lida há mais tempo (LRU),
+ *   em tempo constante; entradas expiradas são removidas ao serem lidas</li>
+ *   <li>As entradas ficam em um {@link LinkedHashMap} em ordem de acesso,
+ *   protegido por uma trava mantida apenas durante a leitura ou gravação no
+ *   mapa; o carregamento do usuário acontece fora dela</li>
+ *   <li>Cada invalidação incrementa uma geração; um carregamento iniciado
+ *   antes dela não grava o resultado, que pode ter sido lido antes do commit
+ *   da alteração</li>
+ * </ul>
+ */
+@Component
+public class UserDetailsCache {
+
+    /**
+     * Retrato imutável dos dados de autenticação de um usuário.
+     */
+    public record UsuarioAutenticado(String email, String senha, boolean ativo, String perfil) {}
+
+    /**
+     * Contadores de uso do cache.
+     */
+    public record Estatisticas(
+            int tamanho,
+            int capacidade,
+            long ttlSegundos,
+            long acertos,
+            long falhas,
+            long expiracoes,
+            long remocoes,
+            long invalidacoes
+    ) {}
+
+    private record Entrada(UsuarioAutenticado usuario, long expiraEm) {}
+
+    /**
+     * Entradas em ordem de acesso; todo uso é sincronizado no próprio mapa.
+     */
+    private final Map<String, Entrada> entradas;
+
+    /**
+     * Incrementada a cada invalidação; protegida pela mesma trava do mapa.
+     */
+    private long geracao;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder expiracoes = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+    private final LongAdder invalidacoes = new LongAdder();
+
+    private final long ttlNanos;
+    private final int capacidade;
+
+    public UserDetailsCache(
+            @Value("${security.cache-usuarios.ttl-segundos:60}") long ttlSegundos,
+            @Value("${security.cache-usuarios.capacidade:10000}") int capacidade) {
+        this.ttlNanos = Duration.ofSeconds(ttlSegundos).toNanos();
+        this.capacidade = capacidade;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> maisAntiga) {
+                if (size() <= UserDetailsCache.this.capacidade) {
+                    return false;
+                }
+
+                if (maisAntiga.getValue().expiraEm() - System.nanoTime() <= 0) {
+                    expiracoes.increment();
+                } else {
+                    remocoes.increment();
+                }
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Retorna o usuário do cache ou o carrega com a função informada.
+     *
+     * @param email email do usuário
+     * @param carregador função que busca o usuário na origem em caso de falha
+     * @return novo {@link UserDetails} montado a partir do retrato em cache
+     */
+    public UserDetails obter(String email, Function<String, UsuarioAutenticado> carregador) {
+        long agora = System.nanoTime();
+        Entrada entrada;
+        long geracaoLida;
+
+        synchronized (entradas) {
+            geracaoLida = geracao;
+            entrada = entradas.get(email);
+
+            if (entrada != null && entrada.expiraEm() - agora <= 0) {
+                entradas.remove(email);
+                expiracoes.increment();
+                entrada = null;
+            }
+        }
+
+        if (entrada != null) {
+            acertos.increment();
+            return paraUserDetails(entrada.usuario());
+        }
+
+        falhas.increment();
+        UsuarioAutenticado usuario = carregador.apply(email);
+
+        if (ttlNanos > 0 && capacidade > 0) {
+            synchronized (entradas) {
+                // Uma invalidação durante o carregamento pode ter removido dados mais novos
+                if (geracao == geracaoLida) {
+                    entradas.put(email, new Entrada(usuario, agora + ttlNanos));
+                }
+            }
+        }
+
+        return paraUserDetails(usuario);
+    }
+
+    /**
+     * Remove o usuário do cache, forçando nova leitura na próxima requisição.
+     *
+     * @param email email do usuário
+     */
+    public void invalidar(String email) {
+        if (email == null) {
+            return;
+        }
+
+        synchronized (entradas) {
+            geracao++;
+            if (entradas.remove(email) != null) {
+                invalidacoes.increment();
+            }
+        }
+    }
+
+    /**
+     * Remove o usuário do cache após o commit da transação corrente.
+     *
+     * <p>
+     * Invalidar antes do commit permitiria que uma requisição concorrente
+     * recolocasse no cache os dados ainda não alterados. Sem transação
+     * ativa, a remoção é imediata.
+     *
+     * @param email email do usuário
+     */
+    public void invalidarAposCommit(String email) {
+        AposCommit.executar(() -> invalidar(email));
+    }
+
+    /**
+     * Retorna os contadores de uso do cache.
+     */
+    public Estatisticas estatisticas() {
+        int tamanho;
+        synchronized (entradas) {
+            tamanho = entradas.size();
+        }
+
+        return new Estatisticas(
+                tamanho,
+                capacidade,
+                Duration.ofNanos(ttlNanos).toSeconds(),
+                acertos.sum(),
+                falhas.sum(),
+                expiracoes.sum(),
+                remocoes.sum(),
+                invalidacoes.sum()
+        );
+    }
+
+    private static UserDetails paraUserDetails(UsuarioAutenticado usuario) {
+        return new User(
+                usuario.email(),
+                usuario.senha(),
+                usuario.ativo(), // controla se o usuário pode se autenticar
+                true,
+                true,
+                true,
+                List.of(new SimpleGrantedAuthority(usuario.perfil()))
+        );
+    }
+}
@@ -4,6 +4,7 @@ import br.com.ralfdomingues.oficina.domain.cliente.dto.ClienteCreateDTO;
 import br.com.ralfdomingues.oficina.domain.cliente.dto.ClienteResponseDTO;
 import br.com.ralfdomingues.oficina.domain.cliente.dto.ClienteUpdateDTO;
 import br.com.ralfdomingues.oficina.domain.cliente.service.ClienteService;
+import br.com.ralfdomingues.oficina.infra.pagination.CursorPageDTO;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -14,6 +15,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Controller responsável pelo gerenciamento de clientes da oficina.
  *
@@ -66,6 +69,44 @@ public class ClienteController {
         return ResponseEntity.ok(service.listar(pageable));
     }
 
+    /**
+     * Lista clientes ativos por cursor (keyset), em ordem de id, sem contagem total.
+     *
+     * <p>
+     * Alternativa à listagem paginada para navegação profunda: o custo
+     * de cada página independe da sua posição.
+     *
+     * @param after   cursor retornado pela página anterior (opcional)
+     * @param size    quantidade de registros por página
+     * @return página com o cursor da próxima
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<ClienteResponseDTO>> listarPorCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(service.listarPorCursor(after, size));
+    }
+
+    /**
+     * Busca incremental de clientes ativos por nome, CPF ou telefone.
+     *
+     * <p>
+     * Pensada para campos de autocompletar: retorna apenas os mais
+     * relevantes, sem paginação.
+     *
+     * @param q      texto digitado (ao menos 2 letras ou dígitos)
+     * @param limite quantidade máxima de clientes
+     * @return clientes encontrados
+     */
+    @GetMapping("/busca")
+    public ResponseEntity<List<ClienteResponseDTO>> buscarPorTermo(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limite
+    ) {
+        return ResponseEntity.ok(service.buscar(q, limite));
+    }
+
     /**
      * Busca um cliente pelo identificador.
      *
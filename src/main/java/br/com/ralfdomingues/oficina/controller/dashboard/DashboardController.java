@@ -1,12 +1,16 @@
 package br.com.ralfdomingues.oficina.controller.dashboard;
 
+import br.com.ralfdomingues.oficina.domain.dashboard.dto.DashboardSnapshotDTO;
 import br.com.ralfdomingues.oficina.domain.dashboard.dto.FaturamentoResumoDTO;
 import br.com.ralfdomingues.oficina.domain.dashboard.dto.OrdemStatusResumoDTO;
 import br.com.ralfdomingues.oficina.domain.dashboard.dto.OrdensPorMesDTO;
 import br.com.ralfdomingues.oficina.domain.dashboard.dto.ServicoMaisUsadoDTO;
+import br.com.ralfdomingues.oficina.domain.dashboard.service.DashboardContadorService;
 import br.com.ralfdomingues.oficina.domain.dashboard.service.DashboardService;
+import br.com.ralfdomingues.oficina.domain.dashboard.service.DashboardSnapshotService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import java.util.List;
@@ -18,7 +22,8 @@ import java.util.List;
  * <p>
  * Diferente dos controllers de CRUD, este controller fornece
  * apenas consultas agregadas e métricas estratégicas, sem
- * permitir alterações no estado do sistema.
+ * permitir alterações no estado do sistema (exceto a reconstrução
+ * dos contadores que alimentam as métricas).
  *
  * <p>
  * Todos os cálculos, agregações e regras de negócio são
@@ -30,9 +35,29 @@ import java.util.List;
 public class DashboardController {
 
     private final DashboardService service;
+    private final DashboardContadorService contadorService;
+    private final DashboardSnapshotService snapshotService;
 
-    public DashboardController(DashboardService service) {
+    public DashboardController(DashboardService service,
+                               DashboardContadorService contadorService,
+                               DashboardSnapshotService snapshotService) {
         this.service = service;
+        this.contadorService = contadorService;
+        this.snapshotService = snapshotService;
+    }
+
+    /**
+     * Retorna todas as métricas do dashboard em uma única resposta.
+     *
+     * <p>
+     * As seções são consultadas em paralelo sobre o mesmo snapshot
+     * do banco, e a resposta inclui o tempo de cada seção.
+     *
+     * @return snapshot completo do dashboard
+     */
+    @GetMapping("/snapshot")
+    public ResponseEntity<DashboardSnapshotDTO> snapshot() {
+        return ResponseEntity.ok(snapshotService.gerar());
     }
 
     /**
@@ -77,5 +102,18 @@ public class DashboardController {
     public ResponseEntity<List<OrdensPorMesDTO>> ordensPorMes() {
         return ResponseEntity.ok(service.ordensPorMes());
     }
-}
 
+    /**
+     * Reconstrói os contadores do dashboard a partir das ordens
+     * e itens de serviço existentes.
+     *
+     * <p>
+     * Necessário apenas após cargas feitas diretamente no banco
+     * ou para corrigir divergências nos contadores.
+     */
+    @PostMapping("/contadores/reconstruir")
+    public ResponseEntity<Void> reconstruirContadores() {
+        contadorService.reconstruir();
+        return ResponseEntity.noContent().build();
+    }
+}
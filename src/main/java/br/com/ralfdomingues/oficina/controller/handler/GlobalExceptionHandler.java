@@ -1,11 +1,16 @@
 package br.com.ralfdomingues.oficina.controller.handler;
 
 import br.com.ralfdomingues.oficina.exception.BusinessException;
+import br.com.ralfdomingues.oficina.exception.ConflitoVersaoException;
+import br.com.ralfdomingues.oficina.exception.LoteInvalidoException;
 import br.com.ralfdomingues.oficina.exception.NotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -83,6 +88,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
     }
 
+    /**
+     * Trata operações em lote com linhas inválidas.
+     *
+     * @return resposta HTTP 400 com os erros de cada linha
+     */
+    @ExceptionHandler(LoteInvalidoException.class)
+    public ResponseEntity<Object> handleLoteInvalido(LoteInvalidoException ex) {
+        Map<String, Object> body = buildBody(
+                HttpStatus.BAD_REQUEST,
+                ex.getMessage(),
+                ex.getErros()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
     /**
      * Trata violações de regras de negócio.
      *
@@ -98,6 +119,42 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    /**
+     * Trata alterações rejeitadas porque o registro foi alterado por outra
+     * operação, informando a versão atual para que o cliente o recarregue.
+     *
+     * @return resposta HTTP 409 com a versão atual do registro
+     */
+    @ExceptionHandler(ConflitoVersaoException.class)
+    public ResponseEntity<Object> handleConflitoVersao(ConflitoVersaoException ex) {
+        Map<String, Object> errors = new HashMap<>();
+        errors.put("versaoAtual", ex.getVersaoAtual());
+
+        Map<String, Object> body = buildBody(
+                HttpStatus.CONFLICT,
+                ex.getMessage(),
+                errors
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    /**
+     * Trata conflitos de versão não convertidos pelo serviço
+     * (alterações fora da execução otimista).
+     *
+     * @return resposta HTTP 409
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleConflitoOtimista(OptimisticLockingFailureException ex) {
+        Map<String, Object> body = buildBody(
+                HttpStatus.CONFLICT,
+                "O registro foi alterado por outra operação. Recarregue e tente novamente."
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
     /**
      * Trata erros de validação de dados de entrada.
      *
@@ -124,6 +181,28 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    /**
+     * Trata a falta de conexão disponível com o banco de dados
+     * (pool esgotado além do tempo de espera ou banco indisponível).
+     *
+     * <p>
+     * Indica ao cliente que a requisição pode ser repetida em instantes,
+     * em vez de reportar um erro interno.
+     *
+     * @return resposta HTTP 503 com {@code Retry-After}
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<Object> handleSemConexao(CannotCreateTransactionException ex) {
+        Map<String, Object> body = buildBody(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Serviço temporariamente sobrecarregado. Tente novamente em instantes."
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
     /**
      * Trata exceções não previstas, evitando exposição de detalhes internos.
      *
@@ -0,0 +1,100 @@
+package br.com.ralfdomingues.oficina.controller.importacao;
+
+import br.com.ralfdomingues.oficina.domain.importacao.dto.ImportacaoStatusDTO;
+import br.com.ralfdomingues.oficina.domain.importacao.enums.TipoImportacao;
+import br.com.ralfdomingues.oficina.domain.importacao.service.ImportacaoService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Controller responsável pela importação em massa de clientes e veículos.
+ *
+ * <p>
+ * O arquivo CSV é enviado no corpo da requisição ({@code text/csv}) e
+ * processado em segundo plano. A resposta traz o identificador da
+ * importação, usado para acompanhar o andamento e baixar as linhas
+ * rejeitadas ao final.
+ *
+ * <p>
+ * Layouts esperados (cabeçalho obrigatório, ordem livre):
+ * <ul>
+ *   <li>clientes: {@code nome,telefone,cpf,email}</li>
+ *   <li>veículos: {@code placa,modelo,marca,ano,tipo,clienteCpf}</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/importacoes")
+public class ImportacaoController {
+
+    private final ImportacaoService service;
+
+    public ImportacaoController(ImportacaoService service) {
+        this.service = service;
+    }
+
+    /**
+     * Inicia a importação de clientes.
+     *
+     * @param conteudo arquivo CSV
+     * @return andamento inicial da importação
+     */
+    @PostMapping(value = "/clientes", consumes = "text/csv")
+    public ResponseEntity<ImportacaoStatusDTO> importarClientes(InputStream conteudo) throws IOException {
+        return aceitar(service.iniciar(TipoImportacao.CLIENTES, conteudo));
+    }
+
+    /**
+     * Inicia a importação de veículos.
+     *
+     * @param conteudo arquivo CSV
+     * @return andamento inicial da importação
+     */
+    @PostMapping(value = "/veiculos", consumes = "text/csv")
+    public ResponseEntity<ImportacaoStatusDTO> importarVeiculos(InputStream conteudo) throws IOException {
+        return aceitar(service.iniciar(TipoImportacao.VEICULOS, conteudo));
+    }
+
+    /**
+     * Consulta o andamento de uma importação.
+     *
+     * @param id identificador da importação
+     * @return linhas lidas, importadas e rejeitadas até o momento
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportacaoStatusDTO> buscar(@PathVariable UUID id) {
+        return ResponseEntity.ok(service.buscar(id));
+    }
+
+    /**
+     * Baixa o arquivo de linhas rejeitadas de uma importação finalizada.
+     *
+     * @param id identificador da importação
+     * @return CSV com linha, motivo e conteúdo original de cada rejeição
+     */
+    @GetMapping("/{id}/rejeitadas")
+    public ResponseEntity<Resource> rejeitadas(@PathVariable UUID id) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv;charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("importacao-" + id + "-rejeitadas.csv")
+                        .build()
+                        .toString())
+                .body(new FileSystemResource(service.arquivoRejeitadas(id)));
+    }
+
+    private static ResponseEntity<ImportacaoStatusDTO> aceitar(ImportacaoStatusDTO status) {
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/importacoes/" + status.id()))
+                .body(status);
+    }
+}
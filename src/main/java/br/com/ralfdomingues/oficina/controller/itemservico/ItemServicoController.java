@@ -1,16 +1,24 @@
 package br.com.ralfdomingues.oficina.controller.itemservico;
 
 import br.com.ralfdomingues.oficina.domain.itemservico.dto.ItemServicoCreateDTO;
+import br.com.ralfdomingues.oficina.domain.itemservico.dto.ItemServicoLoteDTO;
 import br.com.ralfdomingues.oficina.domain.itemservico.dto.ItemServicoResponseDTO;
 import br.com.ralfdomingues.oficina.domain.itemservico.dto.ItemServicoUpdateDTO;
 import br.com.ralfdomingues.oficina.domain.itemservico.service.ItemServicoService;
+import br.com.ralfdomingues.oficina.infra.http.CacheRespostas;
+import br.com.ralfdomingues.oficina.infra.pagination.CursorPageDTO;
+import br.com.ralfdomingues.oficina.infra.persistencia.ConsistenciaLeitura;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Controller responsável pelo gerenciamento de itens de serviço
  * associados às ordens de serviço.
@@ -29,9 +37,15 @@ import org.springframework.web.bind.annotation.*;
 public class ItemServicoController {
 
     private final ItemServicoService service;
+    private final CacheRespostas respostas;
+    private final ConsistenciaLeitura consistencia;
 
-    public ItemServicoController(ItemServicoService service) {
+    public ItemServicoController(ItemServicoService service,
+                                 CacheRespostas respostas,
+                                 ConsistenciaLeitura consistencia) {
         this.service = service;
+        this.respostas = respostas;
+        this.consistencia = consistencia;
     }
 
     /**
@@ -47,6 +61,23 @@ public class ItemServicoController {
         return ResponseEntity.ok(service.criar(dto));
     }
 
+    /**
+     * Cria vários itens de serviço em uma mesma ordem.
+     *
+     * <p>
+     * A operação é atômica: havendo linhas inválidas, nenhum item é
+     * criado e os erros são retornados por linha.
+     *
+     * @param dto ordem e linhas do lote
+     * @return itens criados
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<List<ItemServicoResponseDTO>> criarLote(
+            @RequestBody @Valid ItemServicoLoteDTO dto) {
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.criarLote(dto));
+    }
+
     /**
      * Lista todos os itens de serviço de forma paginada.
      *
@@ -64,6 +95,26 @@ public class ItemServicoController {
         return ResponseEntity.ok(service.listarTodos(pageable));
     }
 
+    /**
+     * Lista itens de serviço ativos por cursor (keyset), em ordem de id,
+     * sem contagem total.
+     *
+     * <p>
+     * Alternativa à listagem paginada para navegação profunda: o custo
+     * de cada página independe da sua posição.
+     *
+     * @param after   cursor retornado pela página anterior (opcional)
+     * @param size    quantidade de registros por página
+     * @return página com o cursor da próxima
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<ItemServicoResponseDTO>> listarPorCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size) {
+
+        return ResponseEntity.ok(service.listarPorCursor(after, size));
+    }
+
     /**
      * Busca um item de serviço pelo identificador.
      *
@@ -82,16 +133,46 @@ public class ItemServicoController {
      * Este endpoint reforça a relação direta entre item de serviço
      * e ordem de serviço no domínio.
      *
+     * <p>
+     * A resposta leva uma ETag derivada da versão da ordem, incrementada a
+     * cada alteração de item. Se o cliente informar a versão atual em
+     * {@code If-None-Match}, a resposta é {@code 304}, sem carregar os itens.
+     * Versão e itens são lidos do mesmo banco: com réplica de leitura, um
+     * corpo lido da réplica atrasada nunca é guardado sob a versão do primário.
+     *
      * @param ordemId identificador da ordem de serviço
      * @param pageable parâmetros de paginação
+     * @param ifNoneMatch ETag já conhecida pelo cliente (opcional)
      * @return itens de serviço da ordem
      */
     @GetMapping("/ordem/{ordemId}")
-    public ResponseEntity<Page<ItemServicoResponseDTO>> listarPorOrdem(
+    public ResponseEntity<byte[]> listarPorOrdem(
             @PathVariable Long ordemId,
-            @PageableDefault(size = 10, sort = "id") Pageable pageable) {
+            @PageableDefault(size = 10, sort = "id") Pageable pageable,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        return consistencia.executarEm(consistencia.destinoLeitura(), () -> {
+            String etag = CacheRespostas.etag("itens-os", ordemId, service.buscarVersaoPorOrdem(ordemId));
+            return respostas.responder(etag, pageable.toString(), ifNoneMatch,
+                    () -> service.listarPorOrdem(ordemId, pageable));
+        });
+    }
+
+    /**
+     * Lista os itens de uma ordem por cursor (keyset), sem contagem total.
+     *
+     * @param ordemId identificador da ordem de serviço
+     * @param after   cursor retornado pela página anterior (opcional)
+     * @param size    quantidade de registros por página
+     * @return página com o cursor da próxima
+     */
+    @GetMapping("/ordem/{ordemId}/cursor")
+    public ResponseEntity<CursorPageDTO<ItemServicoResponseDTO>> listarPorOrdemECursor(
+            @PathVariable Long ordemId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size) {
 
-        return ResponseEntity.ok(service.listarPorOrdem(ordemId, pageable));
+        return ResponseEntity.ok(service.listarPorOrdemECursor(ordemId, after, size));
     }
 
     /**
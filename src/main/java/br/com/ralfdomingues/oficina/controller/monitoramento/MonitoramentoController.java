@@ -0,0 +1,111 @@
+package br.com.ralfdomingues.oficina.controller.monitoramento;
+
+import br.com.ralfdomingues.oficina.config.security.UserDetailsCache;
+import br.com.ralfdomingues.oficina.domain.servico.service.CatalogoServicos;
+import br.com.ralfdomingues.oficina.infra.http.CacheRespostas;
+import br.com.ralfdomingues.oficina.infra.logging.AuditoriaAssincrona;
+import br.com.ralfdomingues.oficina.infra.persistencia.ConsistenciaLeitura;
+import br.com.ralfdomingues.oficina.infra.transacao.ExecucaoOtimista;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller responsável pela exposição de informações operacionais
+ * da aplicação, como o uso dos caches internos e da fila de auditoria.
+ *
+ * <p>
+ * Restrito a perfis administrativos.
+ */
+@RestController
+@RequestMapping("/monitoramento")
+public class MonitoramentoController {
+
+    private final UserDetailsCache userDetailsCache;
+    private final AuditoriaAssincrona auditoria;
+    private final CatalogoServicos catalogoServicos;
+    private final CacheRespostas cacheRespostas;
+    private final ExecucaoOtimista execucaoOtimista;
+    private final ConsistenciaLeitura consistenciaLeitura;
+
+    public MonitoramentoController(UserDetailsCache userDetailsCache,
+                                   AuditoriaAssincrona auditoria,
+                                   CatalogoServicos catalogoServicos,
+                                   CacheRespostas cacheRespostas,
+                                   ExecucaoOtimista execucaoOtimista,
+                                   ConsistenciaLeitura consistenciaLeitura) {
+        this.userDetailsCache = userDetailsCache;
+        this.auditoria = auditoria;
+        this.catalogoServicos = catalogoServicos;
+        this.cacheRespostas = cacheRespostas;
+        this.execucaoOtimista = execucaoOtimista;
+        this.consistenciaLeitura = consistenciaLeitura;
+    }
+
+    /**
+     * Retorna os contadores do cache de usuários autenticados
+     * (acertos, falhas, expirações, remoções e invalidações).
+     *
+     * @return estatísticas do cache
+     */
+    @GetMapping("/cache-usuarios")
+    public ResponseEntity<UserDetailsCache.Estatisticas> cacheUsuarios() {
+        return ResponseEntity.ok(userDetailsCache.estatisticas());
+    }
+
+    /**
+     * Retorna os contadores da fila de auditoria
+     * (pendentes, enfileirados, descartados, gravados e lotes).
+     *
+     * @return estatísticas da gravação assíncrona do log de auditoria
+     */
+    @GetMapping("/auditoria")
+    public ResponseEntity<AuditoriaAssincrona.Estatisticas> auditoria() {
+        return ResponseEntity.ok(auditoria.estatisticas());
+    }
+
+    /**
+     * Retorna os contadores do catálogo de serviços em memória
+     * (versão, tamanho, acertos, falhas, recargas e atualizações).
+     *
+     * @return estatísticas do catálogo de serviços
+     */
+    @GetMapping("/catalogo-servicos")
+    public ResponseEntity<CatalogoServicos.Estatisticas> catalogoServicos() {
+        return ResponseEntity.ok(catalogoServicos.estatisticas());
+    }
+
+    /**
+     * Retorna os contadores do cache de respostas versionadas
+     * (tamanho, respostas 304, acertos, falhas e remoções).
+     *
+     * @return estatísticas do cache de respostas
+     */
+    @GetMapping("/cache-respostas")
+    public ResponseEntity<CacheRespostas.Estatisticas> cacheRespostas() {
+        return ResponseEntity.ok(cacheRespostas.estatisticas());
+    }
+
+    /**
+     * Retorna os contadores de conflitos de versão
+     * (conflitos, repetições e tentativas esgotadas).
+     *
+     * @return estatísticas da execução otimista
+     */
+    @GetMapping("/concorrencia")
+    public ResponseEntity<ExecucaoOtimista.Estatisticas> concorrencia() {
+        return ResponseEntity.ok(execucaoOtimista.estatisticas());
+    }
+
+    /**
+     * Retorna o estado da réplica de leitura e os contadores do roteamento
+     * (atraso, leituras na réplica, no primário e após escrita).
+     *
+     * @return estatísticas do roteamento das leituras
+     */
+    @GetMapping("/replica")
+    public ResponseEntity<ConsistenciaLeitura.Estatisticas> replica() {
+        return ResponseEntity.ok(consistenciaLeitura.estatisticas());
+    }
+}
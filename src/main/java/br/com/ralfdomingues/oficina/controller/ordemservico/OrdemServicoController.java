@@ -1,15 +1,32 @@
 package br.com.ralfdomingues.oficina.controller.ordemservico;
 
+import br.com.ralfdomingues.oficina.domain.ordemservico.dto.DivergenciaValorFinalDTO;
 import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoCreateDTO;
+import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoExportacaoFiltro;
 import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoUpdateDTO;
 import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoResponseDTO;
+import br.com.ralfdomingues.oficina.domain.ordemservico.enums.FormatoExportacao;
+import br.com.ralfdomingues.oficina.domain.ordemservico.enums.StatusOrdemServico;
+import br.com.ralfdomingues.oficina.domain.ordemservico.service.OrdemServicoExportacaoService;
 import br.com.ralfdomingues.oficina.domain.ordemservico.service.OrdemServicoService;
+import br.com.ralfdomingues.oficina.domain.ordemservico.service.ValorFinalReconciliacaoService;
+import br.com.ralfdomingues.oficina.infra.http.CacheRespostas;
+import br.com.ralfdomingues.oficina.infra.pagination.CursorPageDTO;
+import br.com.ralfdomingues.oficina.infra.persistencia.ConsistenciaLeitura;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Controller responsável pelo gerenciamento de ordens de serviço da oficina.
@@ -28,9 +45,21 @@ import jakarta.validation.Valid;
 public class OrdemServicoController {
 
     private final OrdemServicoService service;
+    private final ValorFinalReconciliacaoService reconciliacaoService;
+    private final OrdemServicoExportacaoService exportacaoService;
+    private final CacheRespostas respostas;
+    private final ConsistenciaLeitura consistencia;
 
-    public OrdemServicoController(OrdemServicoService service) {
+    public OrdemServicoController(OrdemServicoService service,
+                                  ValorFinalReconciliacaoService reconciliacaoService,
+                                  OrdemServicoExportacaoService exportacaoService,
+                                  CacheRespostas respostas,
+                                  ConsistenciaLeitura consistencia) {
         this.service = service;
+        this.reconciliacaoService = reconciliacaoService;
+        this.exportacaoService = exportacaoService;
+        this.respostas = respostas;
+        this.consistencia = consistencia;
     }
 
     /**
@@ -51,12 +80,25 @@ public class OrdemServicoController {
     /**
      * Busca uma ordem de serviço pelo identificador.
      *
+     * <p>
+     * A resposta leva uma ETag derivada da versão da ordem. Se o cliente
+     * informar a versão atual em {@code If-None-Match}, a resposta é
+     * {@code 304}, consultando apenas a versão. Versão e ordem são lidas do
+     * mesmo banco (primário ou réplica de leitura).
+     *
      * @param id identificador da ordem
+     * @param ifNoneMatch ETag já conhecida pelo cliente (opcional)
      * @return ordem de serviço
      */
     @GetMapping("/{id}")
-    public ResponseEntity<OrdemServicoResponseDTO> buscar(@PathVariable Long id) {
-        return ResponseEntity.ok(service.buscarPorId(id));
+    public ResponseEntity<byte[]> buscar(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        return consistencia.executarEm(consistencia.destinoLeitura(), () -> {
+            String etag = CacheRespostas.etag("os", id, service.buscarVersao(id));
+            return respostas.responder(etag, "", ifNoneMatch, () -> service.buscarPorId(id));
+        });
     }
 
     /**
@@ -75,19 +117,82 @@ public class OrdemServicoController {
         return ResponseEntity.ok(resultado);
     }
 
+    /**
+     * Lista ordens de serviço por cursor (keyset), das mais recentes
+     * para as mais antigas, sem contagem total.
+     *
+     * <p>
+     * Alternativa à listagem paginada para navegação profunda: o custo
+     * de cada página independe da sua posição. O cursor carrega a data de
+     * abertura e o id do último registro.
+     *
+     * @param after   cursor retornado pela página anterior (opcional)
+     * @param size    quantidade de registros por página
+     * @return página com o cursor da próxima
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<OrdemServicoResponseDTO>> listarPorCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size) {
+
+        return ResponseEntity.ok(service.listarPorCursor(after, size));
+    }
+
+    /**
+     * Exporta o histórico de ordens de serviço em CSV ou JSON Lines.
+     *
+     * <p>
+     * As linhas são escritas diretamente na resposta (chunked) à medida
+     * que são lidas do banco, com consumo de memória constante. Os filtros
+     * são validados antes do início da escrita.
+     *
+     * @param formato formato de saída ({@code CSV} ou {@code JSONL})
+     * @param status  status incluídos (todos, se omitido)
+     * @param de      data de abertura inicial, inclusiva (opcional)
+     * @param ate     data de abertura final, inclusiva (opcional)
+     * @return arquivo de exportação
+     */
+    @GetMapping("/exportacao")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(defaultValue = "CSV") FormatoExportacao formato,
+            @RequestParam(required = false) Set<StatusOrdemServico> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate) {
+
+        OrdemServicoExportacaoFiltro filtro = OrdemServicoExportacaoFiltro.de(formato, status, de, ate);
+
+        StreamingResponseBody corpo = saida -> exportacaoService.exportar(filtro, saida);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("ordens-servico." + formato.getExtensao())
+                        .build()
+                        .toString())
+                .body(corpo);
+    }
+
     /**
      * Atualiza os dados de uma ordem de serviço existente.
      *
+     * <p>
+     * Com a ETag da consulta em {@code If-Match}, a alteração só é aplicada
+     * se a ordem não tiver sido alterada desde então; caso contrário, a
+     * resposta é {@code 409} com a versão atual.
+     *
      * @param id  identificador da ordem
      * @param dto dados atualizados
+     * @param ifMatch ETag da versão conhecida pelo cliente (opcional)
      * @return ordem atualizada
      */
     @PutMapping("/{id}")
     public ResponseEntity<OrdemServicoResponseDTO> atualizar(
             @PathVariable Long id,
-            @RequestBody @Valid OrdemServicoUpdateDTO dto) {
+            @RequestBody @Valid OrdemServicoUpdateDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        return ResponseEntity.ok(service.atualizar(id, dto));
+        Long versaoEsperada = CacheRespostas.versaoEsperada(ifMatch, "os", id);
+        return ResponseEntity.ok(service.atualizar(id, dto, versaoEsperada));
     }
 
     /**
@@ -106,4 +211,22 @@ public class OrdemServicoController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Executa sob demanda a reconciliação do valor final das ordens.
+     *
+     * <p>
+     * Compara o total mantido de forma incremental com a soma dos itens
+     * ativos e retorna as divergências encontradas. Quando {@code corrigir}
+     * for verdadeiro, as divergências também são corrigidas.
+     *
+     * @param corrigir indica se as divergências devem ser corrigidas
+     * @return divergências encontradas
+     */
+    @PostMapping("/reconciliacao")
+    public ResponseEntity<List<DivergenciaValorFinalDTO>> reconciliar(
+            @RequestParam(defaultValue = "false") boolean corrigir) {
+
+        return ResponseEntity.ok(reconciliacaoService.reconciliar(corrigir));
+    }
+
 }
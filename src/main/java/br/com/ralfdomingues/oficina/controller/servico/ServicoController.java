@@ -2,10 +2,11 @@ package br.com.ralfdomingues.oficina.controller.servico;
 
 import br.com.ralfdomingues.oficina.domain.servico.service.ServicoService;
 import br.com.ralfdomingues.oficina.domain.servico.dto.*;
+import br.com.ralfdomingues.oficina.infra.http.CacheRespostas;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -29,6 +30,7 @@ import org.springframework.web.bind.annotation.*;
 public class ServicoController {
 
     private final ServicoService service;
+    private final CacheRespostas respostas;
 
     /**
      * Cadastra um novo serviço no catálogo da oficina.
@@ -44,12 +46,22 @@ public class ServicoController {
     /**
      * Lista os serviços cadastrados de forma paginada.
      *
+     * <p>
+     * A resposta leva uma ETag derivada da assinatura do catálogo de
+     * serviços. Se o cliente informar a assinatura atual em
+     * {@code If-None-Match}, a resposta é {@code 304}.
+     *
      * @param pageable parâmetros de paginação
+     * @param ifNoneMatch ETag já conhecida pelo cliente (opcional)
      * @return página de serviços
      */
     @GetMapping
-    public ResponseEntity<Page<ServicoResponseDTO>> listar(Pageable pageable) {
-        return ResponseEntity.ok(service.listar(pageable));
+    public ResponseEntity<byte[]> listar(
+            Pageable pageable,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        String etag = CacheRespostas.etag("servicos", service.buscarVersaoListagem());
+        return respostas.responder(etag, pageable.toString(), ifNoneMatch, () -> service.listar(pageable));
     }
 
     /**
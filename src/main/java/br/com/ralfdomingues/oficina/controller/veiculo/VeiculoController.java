@@ -2,6 +2,7 @@ package br.com.ralfdomingues.oficina.controller.veiculo;
 
 import br.com.ralfdomingues.oficina.domain.veiculo.dto.*;
 import br.com.ralfdomingues.oficina.domain.veiculo.service.VeiculoService;
+import br.com.ralfdomingues.oficina.infra.pagination.CursorPageDTO;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -11,6 +12,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Controller responsável pelo gerenciamento de veículos da oficina.
  *
@@ -89,6 +92,61 @@ public class VeiculoController {
         return ResponseEntity.ok(service.listarPorCliente(clienteId, pageable));
     }
 
+    /**
+     * Lista veículos ativos por cursor (keyset), em ordem de id, sem contagem total.
+     *
+     * <p>
+     * Alternativa à listagem paginada para navegação profunda: o custo
+     * de cada página independe da sua posição.
+     *
+     * @param after   cursor retornado pela página anterior (opcional)
+     * @param size    quantidade de registros por página
+     * @return página com o cursor da próxima
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<VeiculoResponseDTO>> listarPorCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(service.listarPorCursor(after, size));
+    }
+
+    /**
+     * Lista veículos de um cliente por cursor (keyset), sem contagem total.
+     *
+     * @param clienteId identificador do cliente
+     * @param after     cursor retornado pela página anterior (opcional)
+     * @param size      quantidade de registros por página
+     * @return página com o cursor da próxima
+     */
+    @GetMapping("/cliente/{clienteId}/cursor")
+    public ResponseEntity<CursorPageDTO<VeiculoResponseDTO>> listarPorClienteECursor(
+            @PathVariable Long clienteId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(service.listarPorClienteECursor(clienteId, after, size));
+    }
+
+    /**
+     * Busca incremental de veículos ativos pela placa, com ou sem pontuação.
+     *
+     * <p>
+     * Pensada para campos de autocompletar: retorna apenas os mais
+     * relevantes, sem paginação.
+     *
+     * @param q      placa ou parte dela (ao menos 2 letras ou dígitos)
+     * @param limite quantidade máxima de veículos
+     * @return veículos encontrados
+     */
+    @GetMapping("/busca")
+    public ResponseEntity<List<VeiculoResponseDTO>> buscarPorPlaca(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limite
+    ) {
+        return ResponseEntity.ok(service.buscar(q, limite));
+    }
+
     /**
      * Busca um veículo pelo identificador.
      *
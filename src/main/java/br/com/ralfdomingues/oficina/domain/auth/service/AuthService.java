@@ -5,10 +5,10 @@ import br.com.ralfdomingues.oficina.config.security.JwtService;
 import br.com.ralfdomingues.oficina.domain.auth.dto.LoginRequestDTO;
 import br.com.ralfdomingues.oficina.domain.auth.dto.LoginResponseDTO;
 import br.com.ralfdomingues.oficina.domain.usuario.entity.Usuario;
+import br.com.ralfdomingues.oficina.infra.logging.AuditoriaAssincrona;
+import br.com.ralfdomingues.oficina.infra.logging.EventoAuditoria;
 import br.com.ralfdomingues.oficina.repository.usuario.UsuarioRepository;
 import jakarta.servlet.http.HttpServletRequest;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -29,24 +29,24 @@ import org.springframework.stereotype.Service;
 @Service
 public class AuthService {
 
-    private static final Logger log =
-            LoggerFactory.getLogger("API_LOGGER");
-
     private final AuthenticationManager authenticationManager;
     private final UsuarioRepository usuarioRepository;
     private final JwtService jwtService;
     private final HttpServletRequest request;
+    private final AuditoriaAssincrona auditoria;
 
     public AuthService(
             AuthenticationManager authenticationManager,
             UsuarioRepository usuarioRepository,
             JwtService jwtService,
-            HttpServletRequest request
+            HttpServletRequest request,
+            AuditoriaAssincrona auditoria
     ) {
         this.authenticationManager = authenticationManager;
         this.usuarioRepository = usuarioRepository;
         this.jwtService = jwtService;
         this.request = request;
+        this.auditoria = auditoria;
     }
 
     /**
@@ -83,12 +83,13 @@ public class AuthService {
             Usuario usuario = usuarioRepository.findByEmail(dto.email())
                     .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
 
-            log.info(
-                    "LOGIN_SUCESSO | USUARIO={} | PERFIL={} | IP={}",
+            auditoria.registrar(EventoAuditoria.agora(
+                    "LOGIN_SUCESSO",
                     usuario.getEmail(),
-                    usuario.getPerfil(),
-                    request.getRemoteAddr()
-            );
+                    null,
+                    null,
+                    "PERFIL=" + usuario.getPerfil() + " | IP=" + request.getRemoteAddr()
+            ));
 
             String token = jwtService.gerarToken(usuario);
 
@@ -102,20 +103,24 @@ public class AuthService {
 
         } catch (BadCredentialsException ex) {
 
-            log.warn(
-                    "LOGIN_FALHA | USUARIO={} | MOTIVO=senha_invalida | IP={}",
+            auditoria.registrar(EventoAuditoria.agora(
+                    "LOGIN_FALHA",
                     dto.email(),
-                    request.getRemoteAddr()
-            );
+                    null,
+                    null,
+                    "MOTIVO=senha_invalida | IP=" + request.getRemoteAddr()
+            ));
             throw ex;
 
         } catch (AuthenticationException ex) {
 
-            log.warn(
-                    "LOGIN_FALHA | USUARIO={} | MOTIVO=erro_autenticacao | IP={}",
+            auditoria.registrar(EventoAuditoria.agora(
+                    "LOGIN_FALHA",
                     dto.email(),
-                    request.getRemoteAddr()
-            );
+                    null,
+                    null,
+                    "MOTIVO=erro_autenticacao | IP=" + request.getRemoteAddr()
+            ));
             throw ex;
         }
     }
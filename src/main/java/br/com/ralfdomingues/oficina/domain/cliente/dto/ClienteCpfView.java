@@ -0,0 +1,12 @@
+package br.com.ralfdomingues.oficina.domain.cliente.dto;
+
+/**
+ * Projeção com id e CPF do cliente, usada para resolver o cliente
+ * pelo documento sem carregar a entidade.
+ */
+public interface ClienteCpfView {
+
+    Long getId();
+
+    String getCpf();
+}
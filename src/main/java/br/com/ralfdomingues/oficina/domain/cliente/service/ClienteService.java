@@ -6,6 +6,9 @@ import br.com.ralfdomingues.oficina.domain.cliente.dto.ClienteUpdateDTO;
 import br.com.ralfdomingues.oficina.domain.cliente.entity.Cliente;
 import br.com.ralfdomingues.oficina.exception.BusinessException;
 import br.com.ralfdomingues.oficina.exception.NotFoundException;
+import br.com.ralfdomingues.oficina.infra.busca.TermoBusca;
+import br.com.ralfdomingues.oficina.infra.pagination.Cursor;
+import br.com.ralfdomingues.oficina.infra.pagination.CursorPageDTO;
 import br.com.ralfdomingues.oficina.repository.cliente.ClienteRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -13,6 +16,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Serviço responsável pelas regras de negócio relacionadas a {@link Cliente}.
  *
@@ -126,4 +133,68 @@ public class ClienteService {
                 .map(ClienteResponseDTO::new);
     }
 
+    /**
+     * Lista clientes ativos por cursor, em ordem de id, sem contagem total.
+     *
+     * @param after cursor retornado pela página anterior (opcional)
+     * @param tamanho quantidade de registros por página
+     * @return página de clientes ativos com o cursor da próxima
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ClienteResponseDTO> listarPorCursor(String after, int tamanho) {
+        return CursorPageDTO.de(
+                repository.findByAtivoTrueAndIdGreaterThanOrderByIdAsc(
+                                Cursor.decodificarId(after), Cursor.limite(tamanho))
+                        .map(ClienteResponseDTO::new),
+                dto -> Cursor.codificar(dto.id())
+        );
+    }
+
+    /**
+     * Busca incremental de clientes ativos por nome, CPF ou telefone.
+     *
+     * <p>
+     * Termos numéricos são procurados como prefixo do CPF e, em seguida, do
+     * telefone. Os demais, como prefixo do nome e, havendo espaço no resultado,
+     * por semelhança com qualquer palavra do nome (tolerando erros de digitação).
+     * Cada etapa é uma consulta limitada por índice, independente do volume.
+     *
+     * @param termo texto digitado
+     * @param limite quantidade máxima de clientes
+     * @return clientes encontrados, dos mais aos menos relevantes
+     * @throws BusinessException caso o termo seja curto demais
+     */
+    @Transactional(readOnly = true)
+    public List<ClienteResponseDTO> buscar(String termo, int limite) {
+        TermoBusca busca = TermoBusca.de(termo);
+        int quantidade = TermoBusca.limite(limite);
+        Map<Long, Cliente> encontrados = new LinkedHashMap<>();
+
+        if (busca.numerico()) {
+            adicionar(encontrados, repository.buscarPorPrefixoCpf(
+                    busca.digitos(), busca.fimDigitos(), quantidade), quantidade);
+            if (encontrados.size() < quantidade) {
+                adicionar(encontrados, repository.buscarPorPrefixoTelefone(
+                        busca.digitos(), busca.fimDigitos(), quantidade), quantidade);
+            }
+        } else {
+            adicionar(encontrados, repository.buscarPorPrefixoNome(
+                    busca.texto(), busca.fimTexto(), quantidade), quantidade);
+            if (encontrados.size() < quantidade && busca.aproximavel()) {
+                adicionar(encontrados, repository.buscarPorNomeAproximado(busca.texto(), quantidade), quantidade);
+            }
+        }
+
+        return encontrados.values().stream().map(ClienteResponseDTO::new).toList();
+    }
+
+    private static void adicionar(Map<Long, Cliente> encontrados, List<Cliente> clientes, int quantidade) {
+        for (Cliente cliente : clientes) {
+            if (encontrados.size() == quantidade) {
+                return;
+            }
+            encontrados.putIfAbsent(cliente.getId(), cliente);
+        }
+    }
+
 }
@@ -0,0 +1,16 @@
+package br.com.ralfdomingues.oficina.domain.dashboard.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Total de um contador do dashboard, somadas todas as suas parcelas.
+ *
+ * @param chave chave do agrupamento (status, mês, serviço ou TOTAL)
+ * @param quantidade soma das quantidades das parcelas
+ * @param valor soma dos valores das parcelas
+ */
+public record ContadorDashboardDTO(
+        String chave,
+        Long quantidade,
+        BigDecimal valor
+) {}
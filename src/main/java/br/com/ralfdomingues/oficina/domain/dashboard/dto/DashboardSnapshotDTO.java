@@ -0,0 +1,19 @@
+package br.com.ralfdomingues.oficina.domain.dashboard.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO com todas as métricas do dashboard em uma única resposta.
+ *
+ * <p>
+ * Agrupa as quatro seções do dashboard e o tempo de consulta
+ * de cada uma, em milissegundos, para identificar agregações lentas.
+ */
+public record DashboardSnapshotDTO(
+        List<OrdemStatusResumoDTO> ordensPorStatus,
+        FaturamentoResumoDTO faturamento,
+        List<OrdensPorMesDTO> ordensPorMes,
+        List<ServicoMaisUsadoDTO> servicosMaisUsados,
+        Map<String, Long> temposMs
+) {}
@@ -0,0 +1,38 @@
+package br.com.ralfdomingues.oficina.domain.dashboard.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Entidade que representa um contador agregado do dashboard.
+ *
+ * <p>
+ * Os contadores são atualizados na mesma transação das escritas de ordens
+ * e itens de serviço, permitindo que o dashboard seja lido sem agregações
+ * sobre as tabelas de movimento.
+ * </p>
+ *
+ * <p>
+ * Cada contador é dividido em parcelas (ver {@link DashboardContadorId}),
+ * e o seu valor é a soma de todas elas.
+ * </p>
+ */
+@Entity
+@Table(name = "dashboard_contador")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardContador {
+
+    @EmbeddedId
+    private DashboardContadorId id;
+
+    @Column(nullable = false)
+    private Long quantidade;
+
+    @Column(nullable = false)
+    private BigDecimal valor;
+}
@@ -0,0 +1,36 @@
+package br.com.ralfdomingues.oficina.domain.dashboard.entity;
+
+import br.com.ralfdomingues.oficina.domain.dashboard.enums.TipoContador;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Chave composta de {@link DashboardContador}: tipo do contador, chave do
+ * agrupamento e parcela.
+ *
+ * <p>
+ * A parcela distribui as escritas concorrentes de um mesmo agrupamento entre
+ * linhas diferentes, evitando que todas as transações aguardem o bloqueio de
+ * uma única linha.
+ * </p>
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class DashboardContadorId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoContador tipo;
+
+    @Column(nullable = false, length = 60)
+    private String chave;
+
+    @Column(nullable = false)
+    private Short parcela;
+}
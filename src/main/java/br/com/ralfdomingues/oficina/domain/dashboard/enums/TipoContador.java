@@ -0,0 +1,15 @@
+package br.com.ralfdomingues.oficina.domain.dashboard.enums;
+
+/**
+ * Tipos de contadores mantidos para o dashboard.
+ *
+ * <p>
+ * Cada tipo define o significado da chave do contador.
+ * </p>
+ */
+public enum TipoContador {
+    STATUS,      //chave = status da ordem
+    MES,         //chave = mês de abertura (YYYY-MM)
+    FATURAMENTO, //chave única TOTAL, valor = soma das ordens concluídas
+    SERVICO      //chave = id do serviço utilizado nos itens
+}
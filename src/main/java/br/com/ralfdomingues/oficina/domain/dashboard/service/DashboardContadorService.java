@@ -0,0 +1,178 @@
+package br.com.ralfdomingues.oficina.domain.dashboard.service;
+
+import br.com.ralfdomingues.oficina.domain.dashboard.enums.TipoContador;
+import br.com.ralfdomingues.oficina.domain.ordemservico.entity.OrdemServico;
+import br.com.ralfdomingues.oficina.domain.ordemservico.enums.StatusOrdemServico;
+import br.com.ralfdomingues.oficina.repository.dashboard.DashboardContadorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.time.format.DateTimeFormatter;
+import java.util.Objects;
+
+/**
+ * Serviço responsável pela manutenção dos contadores do dashboard.
+ *
+ * <p>
+ * É acionado pelos serviços de ordens e itens de serviço dentro das suas
+ * próprias transações, de modo que os contadores ficam consistentes com
+ * as escritas que os originaram. Também oferece a reconstrução completa
+ * dos contadores a partir das tabelas de movimento.
+ * </p>
+ *
+ * <p>
+ * Contadores como o faturamento total e o status ABERTA são alterados por
+ * quase toda escrita. Para que as transações não fiquem enfileiradas no
+ * bloqueio de uma mesma linha até o commit, cada incremento vai para uma
+ * parcela do contador escolhida pela thread atual
+ * ({@code oficina.dashboard.contador.parcelas}, padrão 8), e a leitura soma
+ * as parcelas. Todos os incrementos de uma transação usam a mesma parcela,
+ * então a ordem de bloqueio entre contadores é a mesma de antes e não surgem
+ * novos deadlocks.
+ * </p>
+ */
+@Service
+public class DashboardContadorService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardContadorService.class);
+
+    private static final DateTimeFormatter MES = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final String CHAVE_FATURAMENTO = "TOTAL";
+
+    private final DashboardContadorRepository repository;
+    private final int parcelas;
+
+    public DashboardContadorService(DashboardContadorRepository repository,
+                                    @Value("${oficina.dashboard.contador.parcelas:8}") int parcelas) {
+        if (parcelas < 1 || parcelas > Short.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "oficina.dashboard.contador.parcelas deve estar entre 1 e " + Short.MAX_VALUE);
+        }
+
+        this.repository = repository;
+        this.parcelas = parcelas;
+    }
+
+    /**
+     * Contabiliza uma nova ordem de serviço no status e no mês de abertura.
+     */
+    @Transactional
+    public void registrarAbertura(OrdemServico ordem) {
+        incrementar(TipoContador.STATUS, ordem.getStatus().name(), 1, BigDecimal.ZERO);
+        incrementar(TipoContador.MES, ordem.getDataAbertura().format(MES), 1, BigDecimal.ZERO);
+        ajustarFaturamento(null, null, ordem.getStatus(), ordem.getValorFinal());
+    }
+
+    /**
+     * Contabiliza a alteração de status e/ou valor final de uma ordem.
+     *
+     * @param statusAnterior status antes da alteração
+     * @param valorAnterior valor final antes da alteração
+     * @param ordem ordem já alterada
+     */
+    @Transactional
+    public void registrarAlteracao(StatusOrdemServico statusAnterior,
+                                   BigDecimal valorAnterior,
+                                   OrdemServico ordem) {
+
+        if (statusAnterior != ordem.getStatus()) {
+            incrementar(TipoContador.STATUS, statusAnterior.name(), -1, BigDecimal.ZERO);
+            incrementar(TipoContador.STATUS, ordem.getStatus().name(), 1, BigDecimal.ZERO);
+        }
+
+        ajustarFaturamento(statusAnterior, valorAnterior, ordem.getStatus(), ordem.getValorFinal());
+    }
+
+    /**
+     * Contabiliza uma diferença aplicada ao valor final da ordem pelos itens.
+     *
+     * <p>
+     * Só afeta o faturamento quando a ordem já está concluída.
+     * </p>
+     */
+    @Transactional
+    public void registrarDiferencaValor(OrdemServico ordem, BigDecimal delta) {
+        registrarDiferencaValor(ordem.getStatus(), delta);
+    }
+
+    /**
+     * Contabiliza uma diferença aplicada ao valor final de uma ordem no status informado.
+     *
+     * <p>
+     * Utilizado quando a ordem não está carregada, como na reconciliação do valor final.
+     * </p>
+     */
+    @Transactional
+    public void registrarDiferencaValor(StatusOrdemServico status, BigDecimal delta) {
+        if (status == StatusOrdemServico.CONCLUIDA && delta.signum() != 0) {
+            incrementar(TipoContador.FATURAMENTO, CHAVE_FATURAMENTO, 0, delta);
+        }
+    }
+
+    /**
+     * Contabiliza a utilização (ou a remoção da utilização) de um serviço em itens.
+     *
+     * @param servicoId identificador do serviço
+     * @param quantidade diferença de itens que usam o serviço
+     */
+    @Transactional
+    public void registrarUsoServico(Long servicoId, long quantidade) {
+        incrementar(TipoContador.SERVICO, String.valueOf(servicoId), quantidade, BigDecimal.ZERO);
+    }
+
+    /**
+     * Reconstrói todos os contadores a partir das ordens e itens existentes.
+     *
+     * <p>
+     * Utilizado após cargas diretas no banco ou para corrigir eventuais divergências.
+     * </p>
+     */
+    @Transactional
+    public void reconstruir() {
+        repository.limpar();
+        repository.reconstruirStatus();
+        repository.reconstruirMes();
+        repository.reconstruirFaturamento();
+        repository.reconstruirServicos();
+
+        log.info("Contadores do dashboard reconstruídos.");
+    }
+
+    private void ajustarFaturamento(StatusOrdemServico statusAnterior, BigDecimal valorAnterior,
+                                    StatusOrdemServico statusAtual, BigDecimal valorAtual) {
+
+        BigDecimal antes = receita(statusAnterior, valorAnterior);
+        BigDecimal depois = receita(statusAtual, valorAtual);
+
+        long quantidade = (statusAtual == StatusOrdemServico.CONCLUIDA ? 1 : 0)
+                - (statusAnterior == StatusOrdemServico.CONCLUIDA ? 1 : 0);
+        BigDecimal delta = depois.subtract(antes);
+
+        if (quantidade != 0 || delta.signum() != 0) {
+            incrementar(TipoContador.FATURAMENTO, CHAVE_FATURAMENTO, quantidade, delta);
+        }
+    }
+
+    private static BigDecimal receita(StatusOrdemServico status, BigDecimal valor) {
+        if (status != StatusOrdemServico.CONCLUIDA) {
+            return BigDecimal.ZERO;
+        }
+        return Objects.requireNonNullElse(valor, BigDecimal.ZERO);
+    }
+
+    private void incrementar(TipoContador tipo, String chave, long quantidade, BigDecimal valor) {
+        repository.incrementar(tipo.name(), chave, parcelaAtual(), quantidade, valor);
+    }
+
+    /**
+     * Parcela usada pela thread atual. Como a transação é conduzida por uma
+     * única thread, todos os seus incrementos caem na mesma parcela, enquanto
+     * requisições concorrentes se espalham entre as parcelas.
+     */
+    short parcelaAtual() {
+        return (short) Math.floorMod(Thread.currentThread().threadId(), parcelas);
+    }
+}
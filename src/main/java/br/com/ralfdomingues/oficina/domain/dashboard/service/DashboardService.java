@@ -1,22 +1,34 @@
 package br.com.ralfdomingues.oficina.domain.dashboard.service;
 
+import br.com.ralfdomingues.oficina.domain.dashboard.dto.ContadorDashboardDTO;
 import br.com.ralfdomingues.oficina.domain.dashboard.dto.FaturamentoResumoDTO;
 import br.com.ralfdomingues.oficina.domain.dashboard.dto.OrdemStatusResumoDTO;
 import br.com.ralfdomingues.oficina.domain.dashboard.dto.OrdensPorMesDTO;
 import br.com.ralfdomingues.oficina.domain.dashboard.dto.ServicoMaisUsadoDTO;
-import br.com.ralfdomingues.oficina.repository.itemservico.ItemServicoRepository;
-import br.com.ralfdomingues.oficina.repository.ordemservico.OrdemServicoRepository;
+import br.com.ralfdomingues.oficina.domain.dashboard.enums.TipoContador;
+import br.com.ralfdomingues.oficina.domain.ordemservico.enums.StatusOrdemServico;
+import br.com.ralfdomingues.oficina.domain.servico.entity.Servico;
+import br.com.ralfdomingues.oficina.repository.dashboard.DashboardContadorRepository;
+import br.com.ralfdomingues.oficina.repository.servico.ServicoRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Serviço responsável por fornecer métricas e indicadores
  * consolidados para o dashboard da aplicação.
  *
  * <p>
- * Atua como camada de orquestração de consultas agregadas,
- * delegando a responsabilidade de cálculo e agrupamento
- * às queries especializadas dos repositórios.
+ * As métricas são lidas dos contadores mantidos pelo
+ * {@link DashboardContadorService} a cada escrita, de modo que
+ * o custo de leitura depende apenas da quantidade de agrupamentos
+ * (status, meses, serviços) e de parcelas por contador, e não do
+ * volume de ordens e itens.
  *
  * <p>
  * Não contém regras de negócio transacionais nem lógica
@@ -25,43 +37,88 @@ import java.util.List;
 @Service
 public class DashboardService {
 
-    private final OrdemServicoRepository ordemRepository;
-    private final ItemServicoRepository itemRepository;
+    private final DashboardContadorRepository contadorRepository;
+    private final ServicoRepository servicoRepository;
 
     public DashboardService(
-            OrdemServicoRepository ordemRepository,
-            ItemServicoRepository itemRepository) {
-        this.ordemRepository = ordemRepository;
-        this.itemRepository = itemRepository;
+            DashboardContadorRepository contadorRepository,
+            ServicoRepository servicoRepository) {
+        this.contadorRepository = contadorRepository;
+        this.servicoRepository = servicoRepository;
     }
 
     /**
      * Retorna o resumo de ordens de serviço agrupadas por status.
      */
+    @Transactional(readOnly = true)
     public List<OrdemStatusResumoDTO> ordensPorStatus() {
-        return ordemRepository.resumoPorStatus();
+        return contadores(TipoContador.STATUS).stream()
+                .map(c -> new OrdemStatusResumoDTO(
+                        StatusOrdemServico.valueOf(c.chave()),
+                        c.quantidade()))
+                .toList();
     }
 
     /**
-     * Retorna o valor total faturado considerando as ordens registradas.
+     * Retorna o valor total faturado considerando as ordens concluídas.
      */
+    @Transactional(readOnly = true)
     public FaturamentoResumoDTO faturamentoTotal() {
-        return new FaturamentoResumoDTO(
-                ordemRepository.faturamentoTotal()
-        );
+        BigDecimal total = contadorRepository.somarPorTipo(TipoContador.FATURAMENTO).stream()
+                .map(ContadorDashboardDTO::valor)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        return new FaturamentoResumoDTO(total);
     }
 
     /**
      * Retorna os serviços mais utilizados com base nos itens de serviço.
+     *
+     * <p>
+     * Os contadores são mantidos por serviço e agrupados pelo nome
+     * atual do serviço no momento da leitura.
      */
+    @Transactional(readOnly = true)
     public List<ServicoMaisUsadoDTO> servicosMaisUsados() {
-        return itemRepository.servicosMaisUsados();
+        Map<Long, Long> usoPorServico = contadores(TipoContador.SERVICO).stream()
+                .collect(Collectors.toMap(
+                        c -> Long.valueOf(c.chave()),
+                        ContadorDashboardDTO::quantidade));
+
+        Map<Long, String> nomes = servicoRepository.findAllById(usoPorServico.keySet()).stream()
+                .collect(Collectors.toMap(Servico::getId, Servico::getNome));
+
+        Map<String, Long> usoPorNome = new LinkedHashMap<>();
+        usoPorServico.forEach((id, quantidade) -> {
+            String nome = nomes.get(id);
+            if (nome != null) {
+                usoPorNome.merge(nome, quantidade, Long::sum);
+            }
+        });
+
+        return usoPorNome.entrySet().stream()
+                .map(e -> new ServicoMaisUsadoDTO(e.getKey(), e.getValue()))
+                .sorted(Comparator.comparing(ServicoMaisUsadoDTO::quantidade).reversed())
+                .toList();
     }
 
     /**
      * Retorna o volume de ordens de serviço agrupadas por mês.
      */
+    @Transactional(readOnly = true)
     public List<OrdensPorMesDTO> ordensPorMes() {
-        return ordemRepository.ordensPorMes();
+        return contadores(TipoContador.MES).stream()
+                .sorted(Comparator.comparing(ContadorDashboardDTO::chave))
+                .map(c -> new OrdensPorMesDTO(c.chave(), c.quantidade()))
+                .toList();
+    }
+
+    /**
+     * Retorna os contadores do tipo informado, ignorando agrupamentos zerados.
+     */
+    private List<ContadorDashboardDTO> contadores(TipoContador tipo) {
+        return contadorRepository.somarPorTipo(tipo).stream()
+                .filter(c -> c.quantidade() > 0)
+                .toList();
     }
 }
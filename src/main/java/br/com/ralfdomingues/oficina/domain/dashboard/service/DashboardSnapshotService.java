@@ -0,0 +1,237 @@
+package br.com.ralfdomingues.oficina.domain.dashboard.service;
+
+import br.com.ralfdomingues.oficina.domain.dashboard.dto.DashboardSnapshotDTO;
+import br.com.ralfdomingues.oficina.infra.persistencia.ConsistenciaLeitura;
+import br.com.ralfdomingues.oficina.infra.persistencia.DestinoConexao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Serviço responsável por montar o snapshot completo do dashboard.
+ *
+ * <p>
+ * As quatro seções do dashboard são consultadas em paralelo, cada uma em sua
+ * própria transação somente leitura. Para que todas enxerguem o mesmo estado do
+ * banco, a transação coordenadora exporta seu snapshot do PostgreSQL
+ * ({@code pg_export_snapshot}) e cada seção o importa antes de consultar
+ * ({@code SET TRANSACTION SNAPSHOT}).
+ *
+ * <p>
+ * Cada snapshot paralelo ocupa uma conexão para a coordenação e uma por seção
+ * (5 no total). Para não esgotar o pool sob carga, os snapshots paralelos têm
+ * uma reserva própria de conexões ({@code oficina.dashboard.snapshot.conexoes-max},
+ * padrão 10, ou seja, 2 snapshots paralelos), além do limite de
+ * {@code oficina.dashboard.snapshot.paralelos-max}; acima do limite, as seções
+ * são consultadas em sequência na própria transação coordenadora.
+ *
+ * <p>
+ * A reserva é validada na inicialização: valores negativos ou insuficientes
+ * para um snapshot (1 a 4) impedem a inicialização, e uma reserva acima de
+ * metade do pool ({@code spring.datasource.hikari.maximum-pool-size}) é
+ * reduzida a essa metade. A redução e a desativação das consultas paralelas
+ * são registradas no log.
+ *
+ * <p>
+ * Um snapshot só pode ser importado no mesmo servidor que o exportou: com
+ * réplica de leitura configurada, o destino da coordenadora é decidido uma
+ * única vez e fixado para as seções.
+ */
+@Service
+public class DashboardSnapshotService {
+
+    /**
+     * Conexões de um snapshot paralelo: a coordenadora e uma por seção.
+     */
+    static final int CONEXOES_POR_SNAPSHOT = 5;
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardSnapshotService.class);
+
+    private final DashboardService dashboardService;
+    private final ExecutorService executor;
+    private final TransactionTemplate transacaoSnapshot;
+    private final TransactionTemplate transacaoSecao;
+    private final Semaphore paralelos;
+    private final ConsistenciaLeitura consistencia;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public DashboardSnapshotService(
+            DashboardService dashboardService,
+            @Qualifier("dashboardExecutor") ExecutorService executor,
+            PlatformTransactionManager transactionManager,
+            ConsistenciaLeitura consistencia,
+            @Value("${oficina.dashboard.snapshot.paralelos-max:4}") int paralelosMax,
+            @Value("${oficina.dashboard.snapshot.conexoes-max:10}") int conexoesMax,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int tamanhoPool) {
+
+        this.dashboardService = dashboardService;
+        this.executor = executor;
+        this.consistencia = consistencia;
+        this.paralelos = new Semaphore(limiteParalelos(paralelosMax, conexoesMax, tamanhoPool));
+
+        this.transacaoSnapshot = new TransactionTemplate(transactionManager);
+        transacaoSnapshot.setReadOnly(true);
+        transacaoSnapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        this.transacaoSecao = new TransactionTemplate(transactionManager);
+        transacaoSecao.setReadOnly(true);
+        transacaoSecao.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        transacaoSecao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Quantidade de snapshots paralelos simultâneos: a configurada, limitada
+     * pelas conexões reservadas, que por sua vez não passam de metade do pool.
+     *
+     * @param paralelosMax limite configurado de snapshots paralelos
+     * @param conexoesMax conexões reservadas para os snapshots paralelos
+     * @param tamanhoPool tamanho máximo do pool de conexões
+     * @return limite efetivo, ou zero para consultar sempre em sequência
+     * @throws IllegalArgumentException se a configuração for inválida
+     */
+    static int limiteParalelos(int paralelosMax, int conexoesMax, int tamanhoPool) {
+        if (paralelosMax < 0 || conexoesMax < 0) {
+            throw new IllegalArgumentException(
+                    "oficina.dashboard.snapshot.paralelos-max e conexoes-max não podem ser negativos");
+        }
+        if (conexoesMax > 0 && conexoesMax < CONEXOES_POR_SNAPSHOT) {
+            throw new IllegalArgumentException("oficina.dashboard.snapshot.conexoes-max deve ser 0 ou ao menos "
+                    + CONEXOES_POR_SNAPSHOT + " (conexões de um snapshot paralelo)");
+        }
+
+        int conexoes = Math.min(conexoesMax, tamanhoPool / 2);
+        if (conexoes < conexoesMax) {
+            log.warn("Reserva de conexões dos snapshots do dashboard reduzida de {} para {} (metade do pool de {}).",
+                    conexoesMax, conexoes, tamanhoPool);
+        }
+
+        int limite = Math.min(paralelosMax, conexoes / CONEXOES_POR_SNAPSHOT);
+        if (limite == 0) {
+            log.warn("Snapshots do dashboard serão consultados sempre em sequência: paralelos-max={},"
+                    + " conexões reservadas={}, pool={}.", paralelosMax, conexoes, tamanhoPool);
+        } else {
+            log.info("Snapshots do dashboard: até {} paralelos, com {} conexões reservadas.", limite, conexoes);
+        }
+        return limite;
+    }
+
+    /**
+     * Gera o snapshot do dashboard com todas as métricas e o tempo de cada seção.
+     */
+    public DashboardSnapshotDTO gerar() {
+        DestinoConexao destino = consistencia.destinoLeitura();
+
+        return consistencia.executarEm(destino, () -> transacaoSnapshot.execute(status -> {
+            if (!paralelos.tryAcquire()) {
+                return sequencial();
+            }
+            try {
+                return paralelo(destino);
+            } finally {
+                paralelos.release();
+            }
+        }));
+    }
+
+    private DashboardSnapshotDTO paralelo(DestinoConexao destino) {
+        long inicio = System.nanoTime();
+
+        String snapshot = (String) entityManager
+                .createNativeQuery("SELECT pg_export_snapshot()")
+                .getSingleResult();
+
+        Map<String, Long> tempos = new ConcurrentHashMap<>();
+
+        var status = executor.submit(() ->
+                secao("ordensPorStatus", destino, snapshot, tempos, dashboardService::ordensPorStatus));
+        var faturamento = executor.submit(() ->
+                secao("faturamento", destino, snapshot, tempos, dashboardService::faturamentoTotal));
+        var porMes = executor.submit(() ->
+                secao("ordensPorMes", destino, snapshot, tempos, dashboardService::ordensPorMes));
+        var servicos = executor.submit(() ->
+                secao("servicosMaisUsados", destino, snapshot, tempos, dashboardService::servicosMaisUsados));
+
+        return new DashboardSnapshotDTO(
+                aguardar(status),
+                aguardar(faturamento),
+                aguardar(porMes),
+                aguardar(servicos),
+                ordenar(tempos, inicio)
+        );
+    }
+
+    private DashboardSnapshotDTO sequencial() {
+        long inicio = System.nanoTime();
+        Map<String, Long> tempos = new ConcurrentHashMap<>();
+
+        return new DashboardSnapshotDTO(
+                medir("ordensPorStatus", tempos, dashboardService::ordensPorStatus),
+                medir("faturamento", tempos, dashboardService::faturamentoTotal),
+                medir("ordensPorMes", tempos, dashboardService::ordensPorMes),
+                medir("servicosMaisUsados", tempos, dashboardService::servicosMaisUsados),
+                ordenar(tempos, inicio)
+        );
+    }
+
+    /**
+     * Executa uma seção em transação própria, no mesmo banco da coordenadora,
+     * importando o seu snapshot.
+     */
+    private <T> T secao(String nome, DestinoConexao destino, String snapshot,
+                        Map<String, Long> tempos, Supplier<T> consulta) {
+        return consistencia.executarEm(destino, () -> transacaoSecao.execute(status -> {
+            entityManager
+                    .createNativeQuery("SET TRANSACTION SNAPSHOT '" + snapshot + "'")
+                    .executeUpdate();
+            return medir(nome, tempos, consulta);
+        }));
+    }
+
+    private static <T> T medir(String nome, Map<String, Long> tempos, Supplier<T> consulta) {
+        long inicio = System.nanoTime();
+        T resultado = consulta.get();
+        tempos.put(nome, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        return resultado;
+    }
+
+    private static Map<String, Long> ordenar(Map<String, Long> tempos, long inicio) {
+        Map<String, Long> ordenados = new LinkedHashMap<>();
+        for (String secao : new String[]{"ordensPorStatus", "faturamento", "ordensPorMes", "servicosMaisUsados"}) {
+            ordenados.put(secao, tempos.get(secao));
+        }
+        ordenados.put("total", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        return ordenados;
+    }
+
+    private static <T> T aguardar(Future<T> futuro) {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta do dashboard interrompida.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
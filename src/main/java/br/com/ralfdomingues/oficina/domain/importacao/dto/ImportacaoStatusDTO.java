@@ -0,0 +1,26 @@
+package br.com.ralfdomingues.oficina.domain.importacao.dto;
+
+import br.com.ralfdomingues.oficina.domain.importacao.enums.SituacaoImportacao;
+import br.com.ralfdomingues.oficina.domain.importacao.enums.TipoImportacao;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Andamento de uma importação em massa.
+ *
+ * <p>
+ * O percentual é aproximado, calculado pelos bytes já lidos do arquivo.
+ * </p>
+ */
+public record ImportacaoStatusDTO(
+        UUID id,
+        TipoImportacao tipo,
+        SituacaoImportacao situacao,
+        int percentual,
+        long lidas,
+        long importadas,
+        long rejeitadas,
+        LocalDateTime inicio,
+        LocalDateTime fim,
+        String erro
+) {}
@@ -0,0 +1,26 @@
+package br.com.ralfdomingues.oficina.domain.importacao.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registro lido do arquivo de importação.
+ *
+ * @param numero  linha do arquivo (para o relatório de rejeitadas)
+ * @param campos  valores por coluna do layout, já sem espaços nas bordas
+ * @param original valores como vieram no arquivo, na ordem do cabeçalho
+ */
+public record LinhaImportacao(
+        long numero,
+        Map<String, String> campos,
+        List<String> original
+) {
+
+    /**
+     * Valor da coluna, ou {@code null} se vazio.
+     */
+    public String campo(String coluna) {
+        String valor = campos.get(coluna);
+        return valor == null || valor.isEmpty() ? null : valor;
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.ralfdomingues.oficina.domain.importacao.dto;
+
+/**
+ * Linha rejeitada na importação e o motivo da rejeição.
+ */
+public record RejeicaoImportacao(
+        LinhaImportacao linha,
+        String motivo
+) {}
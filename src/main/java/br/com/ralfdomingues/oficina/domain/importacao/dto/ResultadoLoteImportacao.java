@@ -0,0 +1,14 @@
+package br.com.ralfdomingues.oficina.domain.importacao.dto;
+
+import java.util.List;
+
+/**
+ * Resultado da gravação de um bloco de linhas.
+ *
+ * @param importadas quantidade de registros gravados
+ * @param rejeitadas linhas rejeitadas por validação ou duplicidade
+ */
+public record ResultadoLoteImportacao(
+        int importadas,
+        List<RejeicaoImportacao> rejeitadas
+) {}
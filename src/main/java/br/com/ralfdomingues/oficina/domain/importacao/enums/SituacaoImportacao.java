@@ -0,0 +1,16 @@
+package br.com.ralfdomingues.oficina.domain.importacao.enums;
+
+/**
+ * Situação de uma importação em massa.
+ *
+ * <ul>
+ *   <li>PROCESSANDO: arquivo recebido, linhas sendo gravadas</li>
+ *   <li>CONCLUIDA: arquivo processado (podendo haver linhas rejeitadas)</li>
+ *   <li>FALHOU: processamento interrompido por erro inesperado ou arquivo inválido</li>
+ * </ul>
+ */
+public enum SituacaoImportacao {
+    PROCESSANDO,
+    CONCLUIDA,
+    FALHOU
+}
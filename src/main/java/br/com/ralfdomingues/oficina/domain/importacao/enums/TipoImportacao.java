@@ -0,0 +1,35 @@
+package br.com.ralfdomingues.oficina.domain.importacao.enums;
+
+import java.util.List;
+
+/**
+ * Tipos de importação em massa e o layout esperado de cada arquivo CSV.
+ *
+ * <p>
+ * A ordem das colunas é livre; o cabeçalho deve conter todas as colunas
+ * listadas (sem distinção de maiúsculas). A coluna-chave é a usada na
+ * deduplicação: repetições no próprio arquivo ou chaves já cadastradas
+ * são rejeitadas.
+ * </p>
+ */
+public enum TipoImportacao {
+
+    CLIENTES(List.of("nome", "telefone", "cpf", "email"), "cpf"),
+    VEICULOS(List.of("placa", "modelo", "marca", "ano", "tipo", "clienteCpf"), "placa");
+
+    private final List<String> colunas;
+    private final String colunaChave;
+
+    TipoImportacao(List<String> colunas, String colunaChave) {
+        this.colunas = colunas;
+        this.colunaChave = colunaChave;
+    }
+
+    public List<String> getColunas() {
+        return colunas;
+    }
+
+    public String getColunaChave() {
+        return colunaChave;
+    }
+}
@@ -0,0 +1,249 @@
+package br.com.ralfdomingues.oficina.domain.importacao.service;
+
+import br.com.ralfdomingues.oficina.domain.cliente.dto.ClienteCpfView;
+import br.com.ralfdomingues.oficina.domain.cliente.dto.ClienteCreateDTO;
+import br.com.ralfdomingues.oficina.domain.cliente.entity.Cliente;
+import br.com.ralfdomingues.oficina.domain.importacao.dto.LinhaImportacao;
+import br.com.ralfdomingues.oficina.domain.importacao.dto.RejeicaoImportacao;
+import br.com.ralfdomingues.oficina.domain.importacao.dto.ResultadoLoteImportacao;
+import br.com.ralfdomingues.oficina.domain.veiculo.dto.VeiculoCreateDTO;
+import br.com.ralfdomingues.oficina.domain.veiculo.entity.Veiculo;
+import br.com.ralfdomingues.oficina.domain.veiculo.enums.TipoVeiculo;
+import br.com.ralfdomingues.oficina.repository.cliente.ClienteRepository;
+import br.com.ralfdomingues.oficina.repository.veiculo.VeiculoRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Gravação dos blocos de uma importação em massa.
+ *
+ * <p>
+ * Cada bloco é gravado em sua própria transação: as linhas são validadas
+ * com as mesmas regras dos DTOs de criação, a unicidade é verificada com
+ * uma única consulta por bloco e os registros são inseridos em lotes JDBC.
+ * Ao final da transação o contexto de persistência é descartado, mantendo
+ * a memória constante ao longo do arquivo.
+ * </p>
+ */
+@Service
+public class ImportacaoGravacaoService {
+
+    private final ClienteRepository clienteRepository;
+    private final VeiculoRepository veiculoRepository;
+    private final Validator validator;
+
+    public ImportacaoGravacaoService(ClienteRepository clienteRepository,
+                                     VeiculoRepository veiculoRepository,
+                                     Validator validator) {
+        this.clienteRepository = clienteRepository;
+        this.veiculoRepository = veiculoRepository;
+        this.validator = validator;
+    }
+
+    /**
+     * Grava um bloco de clientes.
+     *
+     * <p>
+     * São rejeitadas as linhas inválidas e as com CPF já cadastrado.
+     * </p>
+     *
+     * @param linhas linhas do bloco (sem CPFs repetidos entre si)
+     * @return quantidade gravada e linhas rejeitadas
+     */
+    @Transactional
+    public ResultadoLoteImportacao gravarClientes(List<LinhaImportacao> linhas) {
+
+        List<RejeicaoImportacao> rejeitadas = new ArrayList<>();
+        List<LinhaImportacao> validas = new ArrayList<>();
+        List<ClienteCreateDTO> dtos = new ArrayList<>();
+
+        for (LinhaImportacao linha : linhas) {
+            ClienteCreateDTO dto = new ClienteCreateDTO(
+                    linha.campo("nome"),
+                    linha.campo("telefone"),
+                    linha.campo("cpf"),
+                    linha.campo("email")
+            );
+
+            String erro = validar(dto);
+            if (erro != null) {
+                rejeitadas.add(new RejeicaoImportacao(linha, erro));
+            } else {
+                validas.add(linha);
+                dtos.add(dto);
+            }
+        }
+
+        Set<String> existentes = dtos.isEmpty()
+                ? Set.of()
+                : new HashSet<>(clienteRepository.buscarCpfsExistentes(
+                        dtos.stream().map(ClienteCreateDTO::cpf).toList()));
+
+        List<Cliente> clientes = new ArrayList<>(dtos.size());
+
+        for (int i = 0; i < dtos.size(); i++) {
+            ClienteCreateDTO dto = dtos.get(i);
+
+            if (existentes.contains(dto.cpf())) {
+                rejeitadas.add(new RejeicaoImportacao(validas.get(i), "CPF já cadastrado."));
+                continue;
+            }
+
+            clientes.add(Cliente.builder()
+                    .nome(dto.nome())
+                    .telefone(dto.telefone())
+                    .cpf(dto.cpf())
+                    .email(dto.email())
+                    .ativo(true)
+                    .build());
+        }
+
+        clienteRepository.saveAll(clientes);
+        clienteRepository.flush();
+
+        return new ResultadoLoteImportacao(clientes.size(), rejeitadas);
+    }
+
+    /**
+     * Grava um bloco de veículos.
+     *
+     * <p>
+     * O cliente é identificado pelo CPF (coluna {@code clienteCpf}) e deve
+     * estar ativo. São rejeitadas as linhas inválidas, as com placa já
+     * cadastrada e as de clientes inexistentes ou inativos.
+     * </p>
+     *
+     * @param linhas linhas do bloco (sem placas repetidas entre si)
+     * @return quantidade gravada e linhas rejeitadas
+     */
+    @Transactional
+    public ResultadoLoteImportacao gravarVeiculos(List<LinhaImportacao> linhas) {
+
+        List<RejeicaoImportacao> rejeitadas = new ArrayList<>();
+
+        List<String> cpfs = linhas.stream()
+                .map(linha -> linha.campo("clienteCpf"))
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        Map<String, Long> clientes = cpfs.isEmpty()
+                ? Map.of()
+                : clienteRepository.buscarAtivosPorCpf(cpfs).stream()
+                        .collect(Collectors.toMap(ClienteCpfView::getCpf, ClienteCpfView::getId));
+
+        List<LinhaImportacao> validas = new ArrayList<>();
+        List<VeiculoCreateDTO> dtos = new ArrayList<>();
+
+        for (LinhaImportacao linha : linhas) {
+            String placa = linha.campo("placa");
+            Integer ano;
+            TipoVeiculo tipo;
+
+            if (linha.campo("ano") == null) {
+                rejeitadas.add(new RejeicaoImportacao(linha, "ano: é obrigatório"));
+                continue;
+            }
+
+            try {
+                ano = Integer.valueOf(linha.campo("ano"));
+            } catch (NumberFormatException ex) {
+                rejeitadas.add(new RejeicaoImportacao(linha, "ano: valor inválido"));
+                continue;
+            }
+
+            try {
+                tipo = linha.campo("tipo") == null
+                        ? null
+                        : TipoVeiculo.valueOf(linha.campo("tipo").toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                rejeitadas.add(new RejeicaoImportacao(linha, "tipo: valor inválido"));
+                continue;
+            }
+
+            Long clienteId = clientes.get(linha.campo("clienteCpf"));
+
+            if (clienteId == null) {
+                rejeitadas.add(new RejeicaoImportacao(linha, "Cliente não encontrado ou inativo."));
+                continue;
+            }
+
+            VeiculoCreateDTO dto = new VeiculoCreateDTO(
+                    placa == null ? null : placa.toUpperCase(Locale.ROOT),
+                    linha.campo("modelo"),
+                    linha.campo("marca"),
+                    ano,
+                    tipo,
+                    clienteId
+            );
+
+            String erro = validar(dto);
+            if (erro != null) {
+                rejeitadas.add(new RejeicaoImportacao(linha, erro));
+            } else {
+                validas.add(linha);
+                dtos.add(dto);
+            }
+        }
+
+        Set<String> existentes = dtos.isEmpty()
+                ? Set.of()
+                : new HashSet<>(veiculoRepository.buscarPlacasExistentes(
+                        dtos.stream().map(VeiculoCreateDTO::placa).toList()));
+
+        List<Veiculo> veiculos = new ArrayList<>(dtos.size());
+
+        for (int i = 0; i < dtos.size(); i++) {
+            VeiculoCreateDTO dto = dtos.get(i);
+
+            if (existentes.contains(dto.placa())) {
+                rejeitadas.add(new RejeicaoImportacao(validas.get(i),
+                        "Já existe um veículo cadastrado com essa placa."));
+                continue;
+            }
+
+            veiculos.add(Veiculo.builder()
+                    .placa(dto.placa())
+                    .modelo(dto.modelo())
+                    .marca(dto.marca())
+                    .ano(dto.ano())
+                    .tipo(dto.tipo())
+                    .cliente(clienteRepository.getReferenceById(dto.clienteId()))
+                    .ativo(true)
+                    .build());
+        }
+
+        veiculoRepository.saveAll(veiculos);
+        veiculoRepository.flush();
+
+        return new ResultadoLoteImportacao(veiculos.size(), rejeitadas);
+    }
+
+    /**
+     * Valida o DTO com as mesmas regras da API.
+     *
+     * @return mensagens de erro no formato {@code campo: mensagem}, ou {@code null} se válido
+     */
+    private <T> String validar(T dto) {
+        Set<ConstraintViolation<T>> violacoes = validator.validate(dto);
+
+        if (violacoes.isEmpty()) {
+            return null;
+        }
+
+        return violacoes.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
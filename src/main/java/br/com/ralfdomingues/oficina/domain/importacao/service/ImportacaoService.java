@@ -0,0 +1,437 @@
+package br.com.ralfdomingues.oficina.domain.importacao.service;
+
+import br.com.ralfdomingues.oficina.domain.importacao.dto.ImportacaoStatusDTO;
+import br.com.ralfdomingues.oficina.domain.importacao.dto.LinhaImportacao;
+import br.com.ralfdomingues.oficina.domain.importacao.dto.RejeicaoImportacao;
+import br.com.ralfdomingues.oficina.domain.importacao.dto.ResultadoLoteImportacao;
+import br.com.ralfdomingues.oficina.domain.importacao.enums.SituacaoImportacao;
+import br.com.ralfdomingues.oficina.domain.importacao.enums.TipoImportacao;
+import br.com.ralfdomingues.oficina.exception.BusinessException;
+import br.com.ralfdomingues.oficina.exception.NotFoundException;
+import br.com.ralfdomingues.oficina.infra.csv.LeitorCsv;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serviço de importação em massa de clientes e veículos a partir de CSV.
+ *
+ * <p>
+ * O arquivo recebido é gravado em disco e processado em segundo plano,
+ * em blocos de {@value #TAMANHO_BLOCO} linhas:
+ * <ul>
+ *   <li>chaves repetidas no próprio arquivo (CPF/placa) são rejeitadas em memória</li>
+ *   <li>chaves já cadastradas são verificadas com uma consulta por bloco</li>
+ *   <li>os registros de cada bloco são inseridos em lotes JDBC, em uma transação</li>
+ * </ul>
+ *
+ * <p>
+ * Linhas inválidas não interrompem a carga: são registradas em um arquivo
+ * de rejeitadas (linha, motivo e conteúdo original). O andamento pode ser
+ * consultado enquanto a importação é processada.
+ * </p>
+ */
+@Service
+public class ImportacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoService.class);
+
+    static final int TAMANHO_BLOCO = 1000;
+
+    private final ImportacaoGravacaoService gravacaoService;
+    private final ExecutorService executor;
+    private final Duration retencao;
+
+    private final Map<UUID, Importacao> importacoes = new ConcurrentHashMap<>();
+
+    public ImportacaoService(ImportacaoGravacaoService gravacaoService,
+                             @Qualifier("importacaoExecutor") ExecutorService executor,
+                             @Value("${oficina.importacao.retencao-horas:24}") long retencaoHoras) {
+        this.gravacaoService = gravacaoService;
+        this.executor = executor;
+        this.retencao = Duration.ofHours(retencaoHoras);
+    }
+
+    /**
+     * Recebe o arquivo e agenda seu processamento.
+     *
+     * <p>
+     * O cabeçalho é validado antes do agendamento, de modo que arquivos
+     * com layout incorreto são recusados imediatamente.
+     * </p>
+     *
+     * @param tipo     tipo de registro importado
+     * @param conteudo conteúdo CSV (UTF-8)
+     * @return andamento inicial da importação
+     * @throws BusinessException caso o cabeçalho não contenha as colunas obrigatórias
+     */
+    public ImportacaoStatusDTO iniciar(TipoImportacao tipo, InputStream conteudo) throws IOException {
+
+        Path arquivo = Files.createTempFile("importacao-", ".csv");
+
+        try {
+            Files.copy(conteudo, arquivo, StandardCopyOption.REPLACE_EXISTING);
+
+            try (LeitorCsv leitor = leitor(arquivo, null)) {
+                mapearCabecalho(tipo, leitor.ler());
+            }
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(arquivo);
+            throw ex;
+        }
+
+        Importacao importacao = new Importacao(
+                UUID.randomUUID(),
+                tipo,
+                arquivo,
+                Files.createTempFile("importacao-rejeitadas-", ".csv"),
+                Files.size(arquivo)
+        );
+
+        importacoes.put(importacao.id, importacao);
+        executor.execute(() -> processar(importacao));
+
+        return importacao.status();
+    }
+
+    /**
+     * Retorna o andamento de uma importação.
+     *
+     * @throws NotFoundException caso a importação não exista (ou já tenha expirado)
+     */
+    public ImportacaoStatusDTO buscar(UUID id) {
+        return obter(id).status();
+    }
+
+    /**
+     * Retorna o arquivo de linhas rejeitadas de uma importação finalizada.
+     *
+     * @throws NotFoundException caso a importação não exista
+     * @throws BusinessException caso a importação ainda esteja em processamento
+     */
+    public Path arquivoRejeitadas(UUID id) {
+        Importacao importacao = obter(id);
+
+        if (importacao.situacao == SituacaoImportacao.PROCESSANDO) {
+            throw new BusinessException("Importação ainda em processamento.");
+        }
+
+        return importacao.rejeitadas;
+    }
+
+    /**
+     * Remove importações finalizadas há mais tempo que a retenção configurada,
+     * junto com seus arquivos de rejeitadas.
+     */
+    @Scheduled(fixedDelayString = "${oficina.importacao.limpeza-ms:3600000}")
+    public void limpar() {
+        LocalDateTime limite = LocalDateTime.now().minus(retencao);
+
+        importacoes.values().removeIf(importacao -> {
+            if (importacao.fim == null || importacao.fim.isAfter(limite)) {
+                return false;
+            }
+            excluir(importacao.rejeitadas);
+            return true;
+        });
+    }
+
+    private Importacao obter(UUID id) {
+        Importacao importacao = importacoes.get(id);
+
+        if (importacao == null) {
+            throw new NotFoundException("Importação não encontrada.");
+        }
+
+        return importacao;
+    }
+
+    /**
+     * Lê o arquivo bloco a bloco, gravando os registros válidos e
+     * registrando as linhas rejeitadas.
+     */
+    void processar(Importacao importacao) {
+        TipoImportacao tipo = importacao.tipo;
+        String colunaChave = tipo.getColunaChave();
+
+        try (LeitorCsv leitor = leitor(importacao.arquivo, importacao.bytesLidos);
+             Writer rejeitadas = Files.newBufferedWriter(importacao.rejeitadas, StandardCharsets.UTF_8)) {
+
+            List<String> cabecalho = leitor.ler();
+            Map<String, Integer> indices = mapearCabecalho(tipo, cabecalho);
+
+            List<String> cabecalhoRejeitadas = new ArrayList<>(List.of("linha", "motivo"));
+            cabecalhoRejeitadas.addAll(cabecalho);
+            rejeitadas.write(LeitorCsv.formatar(cabecalhoRejeitadas));
+            rejeitadas.write('\n');
+
+            // chaves já vistas no arquivo (uma string por registro)
+            Set<String> chaves = new HashSet<>();
+            List<LinhaImportacao> bloco = new ArrayList<>(TAMANHO_BLOCO);
+            List<String> registro;
+
+            while ((registro = leitor.ler()) != null) {
+                importacao.lidas.incrementAndGet();
+
+                LinhaImportacao linha = montar(leitor.getLinha(), registro, indices);
+                String chave = linha.campo(colunaChave);
+
+                if (chave != null && !chaves.add(chave.toUpperCase(Locale.ROOT))) {
+                    rejeitar(importacao, rejeitadas, List.of(
+                            new RejeicaoImportacao(linha, colunaChave + ": repetido no arquivo")));
+                    continue;
+                }
+
+                bloco.add(linha);
+
+                if (bloco.size() == TAMANHO_BLOCO) {
+                    gravar(importacao, bloco, rejeitadas);
+                    bloco.clear();
+                }
+            }
+
+            if (!bloco.isEmpty()) {
+                gravar(importacao, bloco, rejeitadas);
+            }
+
+            importacao.finalizar(SituacaoImportacao.CONCLUIDA, null);
+
+            log.info("Importação {} ({}) concluída: {} lidas, {} importadas, {} rejeitadas",
+                    importacao.id, tipo, importacao.lidas, importacao.importadas, importacao.rejeitadasTotal);
+
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            importacao.finalizar(SituacaoImportacao.FALHOU, "Importação interrompida.");
+        } catch (Exception ex) {
+            log.error("Falha na importação {} ({})", importacao.id, tipo, ex);
+            importacao.finalizar(SituacaoImportacao.FALHOU, ex.getMessage());
+        } finally {
+            excluir(importacao.arquivo);
+        }
+    }
+
+    /**
+     * Grava um bloco. Se o bloco falhar por violação de unicidade (registro
+     * cadastrado pela API durante a importação), grava linha a linha para
+     * rejeitar apenas as conflitantes.
+     */
+    private void gravar(Importacao importacao, List<LinhaImportacao> bloco, Writer rejeitadas)
+            throws IOException, InterruptedException {
+
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+
+        ResultadoLoteImportacao resultado;
+
+        try {
+            resultado = gravarBloco(importacao.tipo, bloco);
+        } catch (DataIntegrityViolationException ex) {
+            resultado = gravarIndividualmente(importacao.tipo, bloco);
+        }
+
+        importacao.importadas.addAndGet(resultado.importadas());
+        rejeitar(importacao, rejeitadas, resultado.rejeitadas());
+    }
+
+    private ResultadoLoteImportacao gravarIndividualmente(TipoImportacao tipo, List<LinhaImportacao> bloco) {
+        int importadas = 0;
+        List<RejeicaoImportacao> rejeitadas = new ArrayList<>();
+
+        for (LinhaImportacao linha : bloco) {
+            try {
+                ResultadoLoteImportacao resultado = gravarBloco(tipo, List.of(linha));
+                importadas += resultado.importadas();
+                rejeitadas.addAll(resultado.rejeitadas());
+            } catch (DataIntegrityViolationException ex) {
+                rejeitadas.add(new RejeicaoImportacao(linha, "Registro já cadastrado."));
+            }
+        }
+
+        return new ResultadoLoteImportacao(importadas, rejeitadas);
+    }
+
+    private ResultadoLoteImportacao gravarBloco(TipoImportacao tipo, List<LinhaImportacao> bloco) {
+        return switch (tipo) {
+            case CLIENTES -> gravacaoService.gravarClientes(bloco);
+            case VEICULOS -> gravacaoService.gravarVeiculos(bloco);
+        };
+    }
+
+    private static void rejeitar(Importacao importacao, Writer rejeitadas, List<RejeicaoImportacao> rejeicoes)
+            throws IOException {
+
+        List<RejeicaoImportacao> ordenadas = new ArrayList<>(rejeicoes);
+        ordenadas.sort(Comparator.comparingLong(r -> r.linha().numero()));
+
+        for (RejeicaoImportacao rejeicao : ordenadas) {
+            List<String> campos = new ArrayList<>();
+            campos.add(String.valueOf(rejeicao.linha().numero()));
+            campos.add(rejeicao.motivo());
+            campos.addAll(rejeicao.linha().original());
+
+            rejeitadas.write(LeitorCsv.formatar(campos));
+            rejeitadas.write('\n');
+        }
+
+        importacao.rejeitadasTotal.addAndGet(ordenadas.size());
+    }
+
+    /**
+     * Mapeia as colunas do layout para a posição no cabeçalho
+     * (sem distinção de maiúsculas).
+     *
+     * @throws BusinessException caso o arquivo esteja vazio ou falte alguma coluna
+     */
+    static Map<String, Integer> mapearCabecalho(TipoImportacao tipo, List<String> cabecalho) {
+        if (cabecalho == null) {
+            throw new BusinessException("Arquivo de importação vazio.");
+        }
+
+        Map<String, Integer> indices = new HashMap<>();
+
+        for (String coluna : tipo.getColunas()) {
+            for (int i = 0; i < cabecalho.size(); i++) {
+                if (cabecalho.get(i).trim().equalsIgnoreCase(coluna)) {
+                    indices.put(coluna, i);
+                    break;
+                }
+            }
+
+            if (!indices.containsKey(coluna)) {
+                throw new BusinessException("Coluna obrigatória ausente no cabeçalho: " + coluna + ".");
+            }
+        }
+
+        return indices;
+    }
+
+    private static LinhaImportacao montar(long numero, List<String> registro, Map<String, Integer> indices) {
+        Map<String, String> campos = new HashMap<>();
+
+        indices.forEach((coluna, indice) ->
+                campos.put(coluna, indice < registro.size() ? registro.get(indice).trim() : null));
+
+        return new LinhaImportacao(numero, campos, registro);
+    }
+
+    private static LeitorCsv leitor(Path arquivo, AtomicLong contador) throws IOException {
+        InputStream entrada = Files.newInputStream(arquivo);
+
+        if (contador != null) {
+            entrada = new FilterInputStream(entrada) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b != -1) {
+                        contador.incrementAndGet();
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int inicio, int tamanho) throws IOException {
+                    int lidos = super.read(buffer, inicio, tamanho);
+                    if (lidos > 0) {
+                        contador.addAndGet(lidos);
+                    }
+                    return lidos;
+                }
+            };
+        }
+
+        return new LeitorCsv(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+    }
+
+    private static void excluir(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException ex) {
+            log.warn("Não foi possível excluir o arquivo temporário {}", arquivo, ex);
+        }
+    }
+
+    /**
+     * Estado de uma importação, atualizado pela thread de processamento
+     * e lido pelas consultas de andamento.
+     */
+    static final class Importacao {
+
+        private final UUID id;
+        private final TipoImportacao tipo;
+        private final Path arquivo;
+        private final Path rejeitadas;
+        private final long tamanho;
+        private final LocalDateTime inicio = LocalDateTime.now();
+
+        private final AtomicLong bytesLidos = new AtomicLong();
+        private final AtomicLong lidas = new AtomicLong();
+        private final AtomicLong importadas = new AtomicLong();
+        private final AtomicLong rejeitadasTotal = new AtomicLong();
+
+        private volatile SituacaoImportacao situacao = SituacaoImportacao.PROCESSANDO;
+        private volatile LocalDateTime fim;
+        private volatile String erro;
+
+        Importacao(UUID id, TipoImportacao tipo, Path arquivo, Path rejeitadas, long tamanho) {
+            this.id = id;
+            this.tipo = tipo;
+            this.arquivo = arquivo;
+            this.rejeitadas = rejeitadas;
+            this.tamanho = tamanho;
+        }
+
+        void finalizar(SituacaoImportacao situacao, String erro) {
+            this.erro = erro;
+            this.fim = LocalDateTime.now();
+            this.situacao = situacao;
+        }
+
+        ImportacaoStatusDTO status() {
+            SituacaoImportacao atual = situacao;
+            int percentual = atual != SituacaoImportacao.PROCESSANDO || tamanho == 0
+                    ? 100
+                    : (int) Math.min(99, bytesLidos.get() * 100 / tamanho);
+
+            return new ImportacaoStatusDTO(
+                    id,
+                    tipo,
+                    atual,
+                    percentual,
+                    lidas.get(),
+                    importadas.get(),
+                    rejeitadasTotal.get(),
+                    inicio,
+                    fim,
+                    erro
+            );
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.ralfdomingues.oficina.domain.itemservico.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+
+import java.util.List;
+
+/**
+ * DTO para criação de vários Itens de Serviço em uma mesma ordem.
+ *
+ * <p>
+ * O lote é atômico: se alguma linha for inválida, nenhum item é criado.
+ * </p>
+ */
+public record ItemServicoLoteDTO(
+        @NotNull
+        Long ordemServicoId,
+
+        @NotEmpty
+        @Size(max = 500, message = "O lote deve ter no máximo 500 itens")
+        List<@Valid @NotNull Linha> itens
+) {
+
+    /**
+     * Linha do lote: serviço e quantidade.
+     */
+    public record Linha(
+            @NotNull
+            Long servicoId,
+
+            @NotNull
+            @Min(value = 1, message = "Quantidade deve ser maior que zero")
+            Integer quantidade
+    ) {}
+}
@@ -29,11 +29,23 @@ public record ItemServicoResponseDTO(
      * @param item entidade de Item de Serviço
      */
     public ItemServicoResponseDTO(ItemServico item) {
+        this(item, item.getServico().getNome());
+    }
+
+    /**
+     * Construtor que recebe o nome do serviço já conhecido (ex.: do catálogo
+     * em memória), sem acessar a entidade do serviço, que pode ser apenas
+     * uma referência não carregada.
+     *
+     * @param item entidade de Item de Serviço
+     * @param nomeServico nome do serviço do item
+     */
+    public ItemServicoResponseDTO(ItemServico item, String nomeServico) {
         this(
                 item.getId(),
                 item.getOrdem().getId(),
                 item.getServico().getId(),
-                item.getServico().getNome(),
+                nomeServico,
                 item.getValorUnitario(),
                 item.getQuantidade(),
                 item.getValorUnitario().multiply(BigDecimal.valueOf(item.getQuantidade())),
@@ -23,7 +23,8 @@ import java.math.BigDecimal;
 public class ItemServico {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_servico_seq")
+    @SequenceGenerator(name = "item_servico_seq", sequenceName = "itens_servico_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false)
@@ -43,6 +44,13 @@ public class ItemServico {
     @Column(nullable = false)
     private boolean ativo = true;
 
+    /**
+     * Versão da linha, incrementada a cada alteração.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     /**
      * Construtor parcial para criar um item de serviço com ordem, serviço, quantidade e valor unitário.
      * O status ativo é definido como true por padrão.
@@ -1,13 +1,20 @@
 package br.com.ralfdomingues.oficina.domain.itemservico.service;
 
+import br.com.ralfdomingues.oficina.domain.dashboard.service.DashboardContadorService;
 import br.com.ralfdomingues.oficina.domain.itemservico.dto.ItemServicoCreateDTO;
+import br.com.ralfdomingues.oficina.domain.itemservico.dto.ItemServicoLoteDTO;
 import br.com.ralfdomingues.oficina.domain.itemservico.dto.ItemServicoResponseDTO;
 import br.com.ralfdomingues.oficina.domain.itemservico.dto.ItemServicoUpdateDTO;
 import br.com.ralfdomingues.oficina.domain.itemservico.entity.ItemServico;
 import br.com.ralfdomingues.oficina.domain.ordemservico.entity.OrdemServico;
-import br.com.ralfdomingues.oficina.domain.servico.entity.Servico;
+import br.com.ralfdomingues.oficina.domain.servico.service.CatalogoServicos;
 import br.com.ralfdomingues.oficina.exception.BusinessException;
+import br.com.ralfdomingues.oficina.exception.ConflitoVersaoException;
+import br.com.ralfdomingues.oficina.exception.LoteInvalidoException;
 import br.com.ralfdomingues.oficina.exception.NotFoundException;
+import br.com.ralfdomingues.oficina.infra.pagination.Cursor;
+import br.com.ralfdomingues.oficina.infra.pagination.CursorPageDTO;
+import br.com.ralfdomingues.oficina.infra.transacao.ExecucaoOtimista;
 import br.com.ralfdomingues.oficina.repository.itemservico.ItemServicoRepository;
 import br.com.ralfdomingues.oficina.repository.ordemservico.OrdemServicoRepository;
 import br.com.ralfdomingues.oficina.repository.servico.ServicoRepository;
@@ -16,6 +23,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 
 /**
@@ -26,6 +39,25 @@ import java.math.BigDecimal;
  * do valor total da ordem de serviço atualizado. Aplicam-se validações de negócio
  * como não permitir atualização de itens inativos sem reativação.
  * </p>
+ *
+ * <p>
+ * O valor final da ordem é mantido de forma incremental: cada alteração aplica apenas a
+ * diferença do subtotal do item, em um único UPDATE, sem recarregar os demais itens.
+ * A consistência é verificada pelo {@code ValorFinalReconciliacaoService}.
+ * </p>
+ *
+ * <p>
+ * Preço e nome dos serviços vêm do {@link CatalogoServicos} em memória; o item
+ * referencia o serviço por {@code getReferenceById}, sem consultá-lo no banco.
+ * </p>
+ *
+ * <p>
+ * Atualização e exclusão partem do subtotal lido do item. Duas alterações
+ * concorrentes do mesmo item aplicariam ambas a diferença sobre o mesmo
+ * subtotal anterior, desviando o total da ordem; com a versão do item, a
+ * segunda é desfeita e repetida pelo {@link ExecucaoOtimista}, já sobre o
+ * subtotal gravado pela primeira.
+ * </p>
  */
 @Service
 public class ItemServicoService {
@@ -33,18 +65,27 @@ public class ItemServicoService {
     private final ItemServicoRepository itemRepo;
     private final ServicoRepository servicoRepo;
     private final OrdemServicoRepository ordemRepo;
+    private final DashboardContadorService contadorService;
+    private final CatalogoServicos catalogo;
+    private final ExecucaoOtimista execucao;
 
 
     public ItemServicoService(ItemServicoRepository itemRepo,
                               ServicoRepository servicoRepo,
-                              OrdemServicoRepository ordemRepo) {
+                              OrdemServicoRepository ordemRepo,
+                              DashboardContadorService contadorService,
+                              CatalogoServicos catalogo,
+                              ExecucaoOtimista execucao) {
         this.itemRepo = itemRepo;
         this.servicoRepo = servicoRepo;
         this.ordemRepo = ordemRepo;
+        this.contadorService = contadorService;
+        this.catalogo = catalogo;
+        this.execucao = execucao;
     }
 
     /**
-     * Cria um novo item de serviço e recalcula o total da ordem.
+     * Cria um novo item de serviço e soma seu subtotal ao total da ordem.
      *
      * @param dto dados para criação do item
      * @return DTO do item criado
@@ -55,20 +96,82 @@ public class ItemServicoService {
         OrdemServico ordem = ordemRepo.findById(dto.ordemServicoId())
                 .orElseThrow(() -> new NotFoundException("Ordem de Serviço não encontrada."));
 
-        Servico servico = servicoRepo.findById(dto.servicoId())
+        CatalogoServicos.Entrada servico = catalogo.buscar(dto.servicoId())
                 .orElseThrow(() -> new NotFoundException("Serviço não encontrado."));
 
         ItemServico item = new ItemServico(
                 ordem,
-                servico,
+                servicoRepo.getReferenceById(servico.id()),
                 dto.quantidade(),
-                servico.getPreco()
+                servico.preco()
         );
 
         itemRepo.save(item);
-        recalcularTotal(ordem);
+        aplicarDiferenca(ordem, subtotal(item));
+        contadorService.registrarUsoServico(servico.id(), 1);
 
-        return new ItemServicoResponseDTO(item);
+        return new ItemServicoResponseDTO(item, servico.nome());
+    }
+
+    /**
+     * Cria vários itens em uma mesma ordem, em uma única transação.
+     *
+     * <p>
+     * Os serviços de todas as linhas são resolvidos no catálogo em memória,
+     * os itens são inseridos juntos e o total da ordem é atualizado uma
+     * única vez com a soma dos subtotais.
+     * </p>
+     *
+     * <p>
+     * O lote é atômico: havendo linhas inválidas, nada é persistido e os
+     * erros são reportados por linha.
+     * </p>
+     *
+     * @param dto ordem e linhas do lote
+     * @return itens criados, na ordem das linhas
+     * @throws LoteInvalidoException caso alguma linha referencie serviço inexistente
+     */
+    @Transactional
+    public List<ItemServicoResponseDTO> criarLote(ItemServicoLoteDTO dto) {
+
+        OrdemServico ordem = ordemRepo.findById(dto.ordemServicoId())
+                .orElseThrow(() -> new NotFoundException("Ordem de Serviço não encontrada."));
+
+        Map<Long, String> nomes = new HashMap<>();
+        Map<String, Object> erros = new LinkedHashMap<>();
+        List<ItemServico> itens = new ArrayList<>(dto.itens().size());
+
+        for (int i = 0; i < dto.itens().size(); i++) {
+            ItemServicoLoteDTO.Linha linha = dto.itens().get(i);
+            CatalogoServicos.Entrada servico = catalogo.buscar(linha.servicoId()).orElse(null);
+
+            if (servico == null) {
+                erros.put("itens[" + i + "].servicoId", "Serviço não encontrado.");
+                continue;
+            }
+
+            nomes.put(servico.id(), servico.nome());
+            itens.add(new ItemServico(ordem, servicoRepo.getReferenceById(servico.id()),
+                    linha.quantidade(), servico.preco()));
+        }
+
+        if (!erros.isEmpty()) {
+            throw new LoteInvalidoException("Lote de itens inválido.", erros);
+        }
+
+        itemRepo.saveAll(itens);
+
+        aplicarDiferenca(ordem, itens.stream()
+                .map(ItemServicoService::subtotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+
+        itens.stream()
+                .collect(Collectors.groupingBy(item -> item.getServico().getId(), Collectors.counting()))
+                .forEach(contadorService::registrarUsoServico);
+
+        return itens.stream()
+                .map(item -> new ItemServicoResponseDTO(item, nomes.get(item.getServico().getId())))
+                .toList();
     }
 
     /**
@@ -80,6 +183,19 @@ public class ItemServicoService {
                 .map(ItemServicoResponseDTO::new);
     }
 
+    /**
+     * Lista itens ativos por cursor, em ordem de id, sem contagem total.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ItemServicoResponseDTO> listarPorCursor(String after, int tamanho) {
+        return CursorPageDTO.de(
+                itemRepo.findByAtivoTrueAndIdGreaterThanOrderByIdAsc(
+                                Cursor.decodificarId(after), Cursor.limite(tamanho))
+                        .map(ItemServicoResponseDTO::new),
+                dto -> Cursor.codificar(dto.id())
+        );
+    }
+
     /**
      * Busca um item ativo por ID.
      */
@@ -100,18 +216,63 @@ public class ItemServicoService {
     }
 
     /**
-     * Atualiza um item de serviço existente e recalcula o total da ordem.
+     * Retorna a versão dos itens de uma ordem, usada como ETag da listagem por ordem.
+     *
+     * <p>
+     * Toda alteração de item incrementa a versão da ordem; o nome do serviço
+     * de cada item acompanha a assinatura do catálogo de serviços. Nenhum
+     * item é carregado.
+     * </p>
+     *
+     * <p>
+     * Uma ordem inexistente é tratada como versão {@code 0}, a mesma de uma
+     * ordem recém-criada: ambas não têm itens, e o primeiro item incluído
+     * já incrementa a versão.
+     * </p>
+     *
+     * @param ordemId identificador da ordem
+     * @return versão dos itens da ordem
+     */
+    @Transactional(readOnly = true)
+    public String buscarVersaoPorOrdem(Long ordemId) {
+        return ordemRepo.buscarVersao(ordemId).orElse(0L) + "." + catalogo.assinatura();
+    }
+
+    /**
+     * Lista itens ativos de uma ordem por cursor, em ordem de id.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ItemServicoResponseDTO> listarPorOrdemECursor(Long ordemId, String after, int tamanho) {
+        return CursorPageDTO.de(
+                itemRepo.findByOrdem_IdAndAtivoTrueAndIdGreaterThanOrderByIdAsc(
+                                ordemId, Cursor.decodificarId(after), Cursor.limite(tamanho))
+                        .map(ItemServicoResponseDTO::new),
+                dto -> Cursor.codificar(dto.id())
+        );
+    }
+
+    /**
+     * Atualiza um item de serviço existente e ajusta o total da ordem pela diferença do subtotal.
      *
      * <p>
      * Não é possível atualizar um item inativo sem reativá-lo.
      * </p>
      *
+     * <p>
+     * Executada sob controle otimista: se o item for alterado por outra
+     * operação durante a atualização, ela é repetida sobre o item atual.
+     * </p>
+     *
      * @param id ID do item
      * @param dto dados de atualização
      * @return DTO do item atualizado
+     * @throws ConflitoVersaoException se o item continuar sendo alterado após as tentativas
      */
-    @Transactional
     public ItemServicoResponseDTO atualizar(Long id, ItemServicoUpdateDTO dto) {
+        return execucao.executar(() -> aplicarAtualizacao(id, dto), () -> conflito(id));
+    }
+
+    private ItemServicoResponseDTO aplicarAtualizacao(Long id, ItemServicoUpdateDTO dto) {
 
         ItemServico item = itemRepo.findById(id)
                 .orElseThrow(() -> new NotFoundException("Item de serviço não encontrado."));
@@ -120,11 +281,22 @@ public class ItemServicoService {
             throw new BusinessException("Não é possível atualizar um item de serviço inativo.");
         }
 
+        BigDecimal subtotalAnterior = subtotal(item);
+        String nomeServico = null;
+
         if (dto.servicoId() != null) {
-            Servico servico = servicoRepo.findById(dto.servicoId())
+            CatalogoServicos.Entrada servico = catalogo.buscar(dto.servicoId())
                     .orElseThrow(() -> new NotFoundException("Serviço não encontrado."));
-            item.setServico(servico);
-            item.setValorUnitario(servico.getPreco());
+
+            Long servicoAnteriorId = item.getServico().getId();
+            if (!servico.id().equals(servicoAnteriorId)) {
+                contadorService.registrarUsoServico(servicoAnteriorId, -1);
+                contadorService.registrarUsoServico(servico.id(), 1);
+                item.setServico(servicoRepo.getReferenceById(servico.id()));
+            }
+
+            item.setValorUnitario(servico.preco());
+            nomeServico = servico.nome();
         }
 
         if (dto.quantidade() != null) {
@@ -139,40 +311,79 @@ public class ItemServicoService {
             item.setAtivo(dto.ativo());
         }
 
-        recalcularTotal(item.getOrdem());
-        return new ItemServicoResponseDTO(item);
+        aplicarDiferenca(item.getOrdem(), subtotal(item).subtract(subtotalAnterior));
+        return nomeServico == null
+                ? new ItemServicoResponseDTO(item)
+                : new ItemServicoResponseDTO(item, nomeServico);
     }
 
 
     /**
-     * Remove logicamente um item de serviço e recalcula o total da ordem.
+     * Remove logicamente um item de serviço e subtrai seu subtotal do total da ordem.
+     *
+     * <p>
+     * Executada sob controle otimista, como a atualização.
+     * </p>
+     *
+     * @throws ConflitoVersaoException se o item continuar sendo alterado após as tentativas
      */
-    @Transactional
     public void deletar(Long id) {
+        execucao.executar(() -> aplicarExclusao(id), () -> conflito(id));
+    }
+
+    private void aplicarExclusao(Long id) {
 
         ItemServico item = itemRepo.findById(id)
                 .orElseThrow(() -> new NotFoundException("Item de serviço não encontrado."));
 
         OrdemServico ordem = item.getOrdem();
+        BigDecimal subtotalAnterior = subtotal(item);
 
         item.setAtivo(false);
         itemRepo.save(item);
 
-        recalcularTotal(ordem);
+        aplicarDiferenca(ordem, subtotalAnterior.negate());
     }
 
     /**
-     * Recalcula o valor total da ordem de serviço baseado nos itens ativos.
+     * Conflito reportado quando o item continua sendo alterado por outras operações.
      */
-    private void recalcularTotal(OrdemServico ordem) {
+    private ConflitoVersaoException conflito(Long id) {
+        return new ConflitoVersaoException(
+                "O item de serviço foi alterado por outra operação. Recarregue e tente novamente.",
+                itemRepo.buscarVersao(id).orElse(null));
+    }
 
-        BigDecimal total = itemRepo.findAllByOrdem_IdAndAtivoTrue(ordem.getId())
-                .stream()
-                .map(item -> item.getValorUnitario()
-                        .multiply(BigDecimal.valueOf(item.getQuantidade())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Aplica a diferença de subtotal ao valor final da ordem diretamente no banco.
+     *
+     * <p>
+     * A entidade da ordem em memória não é alterada, evitando que o flush
+     * sobrescreva o total com um valor lido antes de alterações concorrentes.
+     * O faturamento do dashboard acompanha a diferença quando a ordem já está concluída.
+     * </p>
+     *
+     * <p>
+     * Sem diferença, apenas a versão da ordem é incrementada: a versão da
+     * ordem acompanha toda alteração nos seus itens.
+     * </p>
+     */
+    private void aplicarDiferenca(OrdemServico ordem, BigDecimal delta) {
+        if (delta.signum() == 0) {
+            ordemRepo.incrementarVersao(ordem.getId());
+            return;
+        }
+        ordemRepo.incrementarValorFinal(ordem.getId(), delta);
+        contadorService.registrarDiferencaValor(ordem, delta);
+    }
 
-        ordem.setValorFinal(total);
-        ordemRepo.save(ordem);
+    /**
+     * Calcula a contribuição do item para o total da ordem (zero para itens inativos).
+     */
+    private static BigDecimal subtotal(ItemServico item) {
+        if (!item.isAtivo()) {
+            return BigDecimal.ZERO;
+        }
+        return item.getValorUnitario().multiply(BigDecimal.valueOf(item.getQuantidade()));
     }
 }
@@ -0,0 +1,19 @@
+package br.com.ralfdomingues.oficina.domain.ordemservico.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO de resposta da reconciliação do valor final das ordens.
+ *
+ * <p>
+ * Informa a ordem divergente, o valor registrado, o valor esperado
+ * pela soma dos itens ativos e se a divergência foi corrigida.
+ * </p>
+ */
+public record DivergenciaValorFinalDTO(
+        Long ordemId,
+        BigDecimal valorRegistrado,
+        BigDecimal valorCalculado,
+        BigDecimal diferenca,
+        boolean corrigida
+) {}
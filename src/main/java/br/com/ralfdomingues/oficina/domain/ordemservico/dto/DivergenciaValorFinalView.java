@@ -0,0 +1,20 @@
+package br.com.ralfdomingues.oficina.domain.ordemservico.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção retornada pela consulta de verificação dos totais das ordens.
+ *
+ * <p>
+ * Representa uma ordem cujo valor final registrado difere da soma
+ * calculada a partir dos itens ativos.
+ * </p>
+ */
+public interface DivergenciaValorFinalView {
+
+    Long getOrdemId();
+
+    BigDecimal getValorRegistrado();
+
+    BigDecimal getValorCalculado();
+}
@@ -0,0 +1,66 @@
+package br.com.ralfdomingues.oficina.domain.ordemservico.dto;
+
+import br.com.ralfdomingues.oficina.domain.ordemservico.enums.FormatoExportacao;
+import br.com.ralfdomingues.oficina.domain.ordemservico.enums.StatusOrdemServico;
+import br.com.ralfdomingues.oficina.exception.BusinessException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Filtros da exportação de Ordens de Serviço, já normalizados.
+ *
+ * <p>
+ * O período considera a data de abertura, no intervalo
+ * {@code [inicio, fim)}.
+ * </p>
+ */
+public record OrdemServicoExportacaoFiltro(
+        FormatoExportacao formato,
+        Set<StatusOrdemServico> status,
+        LocalDateTime inicio,
+        LocalDateTime fim
+) {
+
+    /**
+     * Data de abertura inicial usada quando o período não é informado.
+     */
+    private static final LocalDate INICIO_PADRAO = LocalDate.of(1970, 1, 1);
+
+    /**
+     * Monta o filtro a partir dos parâmetros da requisição.
+     *
+     * <p>
+     * Sem status informado, todos são incluídos. Sem período, exporta
+     * desde o início do histórico até o dia atual.
+     * </p>
+     *
+     * @param formato formato de saída
+     * @param status  status incluídos (opcional)
+     * @param de      data de abertura inicial, inclusiva (opcional)
+     * @param ate     data de abertura final, inclusiva (opcional)
+     * @throws BusinessException caso a data final seja anterior à inicial
+     */
+    public static OrdemServicoExportacaoFiltro de(FormatoExportacao formato,
+                                                  Set<StatusOrdemServico> status,
+                                                  LocalDate de,
+                                                  LocalDate ate) {
+
+        LocalDate inicio = de != null ? de : INICIO_PADRAO;
+        LocalDate fim = ate != null ? ate : LocalDate.now();
+
+        if (fim.isBefore(inicio)) {
+            throw new BusinessException("Data final não pode ser anterior à data inicial.");
+        }
+
+        return new OrdemServicoExportacaoFiltro(
+                formato,
+                status == null || status.isEmpty()
+                        ? EnumSet.allOf(StatusOrdemServico.class)
+                        : EnumSet.copyOf(status),
+                inicio.atStartOfDay(),
+                fim.plusDays(1).atStartOfDay()
+        );
+    }
+}
@@ -10,6 +10,13 @@ import java.math.BigDecimal;
  * Permite atualizar a descrição, valor final ou status de uma ordem existente.
  * Todos os campos são opcionais e atualizados apenas se fornecidos.
  * </p>
+ *
+ * <p>
+ * O {@code valor} substitui o valor final registrado, mas não o desvincula
+ * dos itens: alterações de itens posteriores somam a sua diferença ao valor
+ * informado, e a reconciliação do valor final o reporta como divergência
+ * da soma dos itens (e o corrige, se a correção automática estiver ativa).
+ * </p>
  */
 public record OrdemServicoUpdateDTO(
         String descricao,
@@ -36,7 +36,8 @@ import java.time.LocalDateTime;
 public class OrdemServico {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ordem_servico_seq")
+    @SequenceGenerator(name = "ordem_servico_seq", sequenceName = "ordens_servico_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -63,6 +64,14 @@ public class OrdemServico {
 
     private BigDecimal valorFinal;
 
+    /**
+     * Versão da linha, incrementada a cada alteração, inclusive pelas
+     * atualizações diretas do valor final.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     /**
      * Cria uma ordem de serviço com status ABERTA e data de abertura atual.
      */
@@ -0,0 +1,31 @@
+package br.com.ralfdomingues.oficina.domain.ordemservico.enums;
+
+/**
+ * Formatos disponíveis para exportação de ordens de serviço.
+ *
+ * <ul>
+ *   <li>CSV: uma linha de cabeçalho seguida de uma linha por ordem</li>
+ *   <li>JSONL: um objeto JSON por linha (JSON Lines)</li>
+ * </ul>
+ */
+public enum FormatoExportacao {
+
+    CSV("text/csv", "csv"),
+    JSONL("application/x-ndjson", "jsonl");
+
+    private final String contentType;
+    private final String extensao;
+
+    FormatoExportacao(String contentType, String extensao) {
+        this.contentType = contentType;
+        this.extensao = extensao;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.ralfdomingues.oficina.domain.ordemservico.service;
+
+import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoExportacaoFiltro;
+import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoResponseDTO;
+import br.com.ralfdomingues.oficina.domain.ordemservico.enums.FormatoExportacao;
+import br.com.ralfdomingues.oficina.repository.ordemservico.OrdemServicoRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.databind.json.JsonMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Serviço de exportação do histórico de Ordens de Serviço (CSV ou JSON Lines).
+ *
+ * <p>
+ * As ordens são lidas por um cursor do banco e escritas diretamente na
+ * saída, uma a uma, sem montar a lista completa em memória: o consumo de
+ * heap é constante, independentemente da quantidade exportada.
+ * </p>
+ *
+ * <p>
+ * Em JSON Lines, cada ordem é serializada pelo {@link JsonMapper} da
+ * aplicação, com a mesma representação das respostas da API.
+ * </p>
+ */
+@Service
+public class OrdemServicoExportacaoService {
+
+    private static final String CABECALHO_CSV =
+            "id,clienteId,veiculoId,status,descricao,valorFinal,valorEstimado,dataAbertura,dataConclusao";
+
+    private final OrdemServicoRepository ordemRepository;
+    private final ObjectWriter linhaJson;
+
+    public OrdemServicoExportacaoService(OrdemServicoRepository ordemRepository, JsonMapper jsonMapper) {
+        this.ordemRepository = ordemRepository;
+        // uma ordem por linha; a saída pertence ao chamador e não é fechada
+        this.linhaJson = jsonMapper.writerFor(OrdemServicoResponseDTO.class)
+                .withRootValueSeparator("\n")
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Escreve na saída as ordens que atendem ao filtro, em ordem de abertura.
+     *
+     * <p>
+     * A transação (e a conexão) permanece aberta durante toda a escrita,
+     * pois o cursor é consumido sob demanda.
+     * </p>
+     *
+     * @param filtro formato, status e período da exportação
+     * @param saida  destino dos dados (não é fechado por este método)
+     */
+    @Transactional(readOnly = true)
+    public void exportar(OrdemServicoExportacaoFiltro filtro, OutputStream saida) throws IOException {
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+
+        try (Stream<OrdemServicoResponseDTO> ordens =
+                     ordemRepository.exportar(filtro.status(), filtro.inicio(), filtro.fim())) {
+
+            if (filtro.formato() == FormatoExportacao.CSV) {
+                escreverCsv(ordens.iterator(), writer);
+            } else {
+                escreverJsonl(ordens.iterator(), writer);
+            }
+        }
+
+        writer.flush();
+    }
+
+    private static void escreverCsv(Iterator<OrdemServicoResponseDTO> ordens, Writer writer) throws IOException {
+        writer.write(CABECALHO_CSV);
+        writer.write('\n');
+
+        while (ordens.hasNext()) {
+            writer.write(csv(ordens.next()));
+            writer.write('\n');
+        }
+    }
+
+    private void escreverJsonl(Iterator<OrdemServicoResponseDTO> ordens, Writer writer) throws IOException {
+        if (!ordens.hasNext()) {
+            return;
+        }
+
+        try (SequenceWriter linhas = linhaJson.writeValues(writer)) {
+            while (ordens.hasNext()) {
+                linhas.write(ordens.next());
+            }
+        }
+
+        // o separador é escrito apenas entre as ordens
+        writer.write('\n');
+    }
+
+    /**
+     * Formata a ordem como linha CSV (RFC 4180).
+     */
+    static String csv(OrdemServicoResponseDTO o) {
+        return String.join(",", List.of(
+                texto(o.id()),
+                texto(o.clienteId()),
+                texto(o.veiculoId()),
+                texto(o.status()),
+                campoCsv(o.descricao()),
+                decimal(o.valorFinal()),
+                decimal(o.valorEstimado()),
+                texto(o.dataAbertura()),
+                texto(o.dataConclusao())
+        ));
+    }
+
+    private static String texto(Object valor) {
+        return valor == null ? "" : valor.toString();
+    }
+
+    private static String decimal(BigDecimal valor) {
+        return valor == null ? "" : valor.toPlainString();
+    }
+
+    private static String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.contains(",") || valor.contains("\"") || valor.contains("\n") || valor.contains("\r")) {
+            return "\"" + valor.replace("\"", "\"\"") + "\"";
+        }
+        return valor;
+    }
+}
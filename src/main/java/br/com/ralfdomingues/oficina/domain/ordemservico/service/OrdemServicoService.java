@@ -1,6 +1,7 @@
 package br.com.ralfdomingues.oficina.domain.ordemservico.service;
 
 import br.com.ralfdomingues.oficina.domain.cliente.entity.Cliente;
+import br.com.ralfdomingues.oficina.domain.dashboard.service.DashboardContadorService;
 import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoCreateDTO;
 import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoResponseDTO;
 import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoUpdateDTO;
@@ -8,15 +9,21 @@ import br.com.ralfdomingues.oficina.domain.ordemservico.entity.OrdemServico;
 import br.com.ralfdomingues.oficina.domain.ordemservico.enums.StatusOrdemServico;
 import br.com.ralfdomingues.oficina.domain.veiculo.entity.Veiculo;
 import br.com.ralfdomingues.oficina.exception.BusinessException;
+import br.com.ralfdomingues.oficina.exception.ConflitoVersaoException;
 import br.com.ralfdomingues.oficina.exception.NotFoundException;
+import br.com.ralfdomingues.oficina.infra.pagination.Cursor;
+import br.com.ralfdomingues.oficina.infra.pagination.CursorPageDTO;
+import br.com.ralfdomingues.oficina.infra.transacao.ExecucaoOtimista;
 import br.com.ralfdomingues.oficina.repository.cliente.ClienteRepository;
 import br.com.ralfdomingues.oficina.repository.itemservico.ItemServicoRepository;
 import br.com.ralfdomingues.oficina.repository.ordemservico.OrdemServicoRepository;
 import br.com.ralfdomingues.oficina.repository.veiculo.VeiculoRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
@@ -27,6 +34,13 @@ import java.time.LocalDateTime;
  * regras do fluxo da oficina sejam respeitadas, como validação de cliente/veículo, status,
  * datas e valores.
  * </p>
+ *
+ * <p>
+ * Atualização e cancelamento gravam a OS inteira sob controle otimista de
+ * versão: como os itens alteram o valor final diretamente no banco, uma OS
+ * lida antes dessas alterações não sobrescreve o total atual. O conflito é
+ * repetido pelo {@link ExecucaoOtimista} sobre a OS relida.
+ * </p>
  */
 @Service
 public class OrdemServicoService {
@@ -37,14 +51,22 @@ public class OrdemServicoService {
 
     private final ItemServicoRepository itemRepository;
 
+    private final DashboardContadorService contadorService;
+
+    private final ExecucaoOtimista execucao;
+
     public OrdemServicoService(OrdemServicoRepository ordemRepository,
                                ClienteRepository clienteRepository,
                                VeiculoRepository veiculoRepository,
-                               ItemServicoRepository itemRepository) {
+                               ItemServicoRepository itemRepository,
+                               DashboardContadorService contadorService,
+                               ExecucaoOtimista execucao) {
         this.ordemRepository = ordemRepository;
         this.clienteRepository = clienteRepository;
         this.veiculoRepository = veiculoRepository;
         this.itemRepository = itemRepository;
+        this.contadorService = contadorService;
+        this.execucao = execucao;
     }
 
     /**
@@ -72,11 +94,14 @@ public class OrdemServicoService {
         OrdemServico ordem = new OrdemServico(cliente, veiculo, dto.descricao(), dto.valorEstimado());
 
         ordemRepository.save(ordem);
+        contadorService.registrarAbertura(ordem);
+
         return new OrdemServicoResponseDTO(ordem);
     }
 
 
     /** Busca uma OS pelo ID, ignorando canceladas. */
+    @Transactional(readOnly = true)
     public OrdemServicoResponseDTO buscarPorId(Long id) {
         OrdemServico ordem = ordemRepository
                 .findByIdAndStatusNot(id, StatusOrdemServico.CANCELADA)
@@ -84,12 +109,54 @@ public class OrdemServicoService {
         return new OrdemServicoResponseDTO(ordem);
     }
 
-    /** Lista todas as OS não canceladas com paginação. */
+    /**
+     * Retorna a versão de uma OS, ignorando canceladas, sem carregar a OS.
+     *
+     * @throws NotFoundException se a OS não existir ou estiver cancelada
+     */
+    @Transactional(readOnly = true)
+    public long buscarVersao(Long id) {
+        return ordemRepository
+                .buscarVersao(id, StatusOrdemServico.CANCELADA)
+                .orElseThrow(() -> new NotFoundException("Ordem de Serviço não encontrada."));
+    }
+
+    /**
+     * Lista todas as OS não canceladas com paginação.
+     *
+     * <p>
+     * Usa projeção direta no DTO, evitando carregar cliente e veículo
+     * de cada ordem da página.
+     */
     @Transactional(readOnly = true)
     public Page<OrdemServicoResponseDTO> listar(Pageable pageable) {
         return ordemRepository
-                .findAllByStatusNot(StatusOrdemServico.CANCELADA, pageable)
-                .map(OrdemServicoResponseDTO::new);
+                .listarResumoPorStatusNot(StatusOrdemServico.CANCELADA, pageable);
+    }
+
+    /**
+     * Lista as OS não canceladas por cursor, das mais recentes para as mais
+     * antigas, sem contagem total.
+     *
+     * <p>
+     * O cursor carrega a posição {@code (dataAbertura, id)} do último
+     * registro, de modo que qualquer página custa o mesmo que a primeira.
+     *
+     * @param after cursor retornado pela página anterior (opcional)
+     * @param tamanho quantidade de registros por página
+     * @return página de ordens com o cursor da próxima
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<OrdemServicoResponseDTO> listarPorCursor(String after, int tamanho) {
+        Cursor.PosicaoTemporal posicao = Cursor.decodificarTemporal(after);
+        Pageable limite = Cursor.limite(tamanho);
+
+        Slice<OrdemServicoResponseDTO> fatia = posicao == null
+                ? ordemRepository.listarResumoInicio(StatusOrdemServico.CANCELADA, limite)
+                : ordemRepository.listarResumoApos(
+                        StatusOrdemServico.CANCELADA, posicao.data(), posicao.id(), limite);
+
+        return CursorPageDTO.de(fatia, dto -> Cursor.codificar(dto.dataAbertura(), dto.id()));
     }
 
 
@@ -102,18 +169,51 @@ public class OrdemServicoService {
      *   <li>Atualizações são parciais (somente campos fornecidos no DTO).</li>
      *   <li>Status CONCLUIDA registra a data de conclusão automaticamente.</li>
      *   <li>Não é possível concluir sem serviços cadastrados ou sem valor final.</li>
+     *   <li>Um valor final informado é um ajuste provisório: a soma dos itens
+     *   continua sendo a referência da reconciliação (ver
+     *   {@link ValorFinalReconciliacaoService}).</li>
      * </ul>
      * </p>
      *
      * @throws NotFoundException se a OS não existir
      * @throws BusinessException se regras de conclusão não forem atendidas
+     * @throws ConflitoVersaoException se a OS continuar sendo alterada após as tentativas
      */
-    @Transactional
     public OrdemServicoResponseDTO atualizar(Long id, OrdemServicoUpdateDTO dto) {
+        return atualizar(id, dto, null);
+    }
+
+    /**
+     * Atualiza campos de uma OS somente se ela ainda estiver na versão
+     * em que o cliente se baseou ({@code If-Match}).
+     *
+     * <p>
+     * Uma versão diferente é rejeitada sem nova tentativa: a alteração foi
+     * decidida sobre dados que o cliente ainda não viu.
+     * </p>
+     *
+     * @param versaoEsperada versão conhecida pelo cliente, ou {@code null} para não verificar
+     * @throws ConflitoVersaoException se a OS estiver em outra versão
+     * @see #atualizar(Long, OrdemServicoUpdateDTO)
+     */
+    public OrdemServicoResponseDTO atualizar(Long id, OrdemServicoUpdateDTO dto, Long versaoEsperada) {
+        return execucao.executar(() -> aplicarAtualizacao(id, dto, versaoEsperada), () -> conflito(id));
+    }
+
+    private OrdemServicoResponseDTO aplicarAtualizacao(Long id, OrdemServicoUpdateDTO dto, Long versaoEsperada) {
 
         OrdemServico ordem = ordemRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Ordem de Serviço não encontrada."));
 
+        if (versaoEsperada != null && !versaoEsperada.equals(ordem.getVersao())) {
+            throw new ConflitoVersaoException(
+                    "A Ordem de Serviço foi alterada desde a última consulta. Recarregue e tente novamente.",
+                    ordem.getVersao());
+        }
+
+        StatusOrdemServico statusAnterior = ordem.getStatus();
+        BigDecimal valorAnterior = ordem.getValorFinal();
+
         if (dto.descricao() != null) {
             ordem.setDescricao(dto.descricao());
         }
@@ -152,6 +252,8 @@ public class OrdemServicoService {
         }
 
         ordemRepository.save(ordem);
+        contadorService.registrarAlteracao(statusAnterior, valorAnterior, ordem);
+
         return new OrdemServicoResponseDTO(ordem);
     }
 
@@ -160,9 +262,13 @@ public class OrdemServicoService {
      *
      * @throws NotFoundException se a OS não existir
      * @throws BusinessException se a OS já estiver CONCLUIDA
+     * @throws ConflitoVersaoException se a OS continuar sendo alterada após as tentativas
      */
-    @Transactional
     public void deletar(Long id) {
+        execucao.executar(() -> aplicarCancelamento(id), () -> conflito(id));
+    }
+
+    private void aplicarCancelamento(Long id) {
         OrdemServico ordem = ordemRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Ordem de Serviço não encontrada."));
 
@@ -170,10 +276,21 @@ public class OrdemServicoService {
             throw new BusinessException("Não é possível excluir uma OS concluída.");
         }
 
+        StatusOrdemServico statusAnterior = ordem.getStatus();
+
         ordem.setStatus(StatusOrdemServico.CANCELADA);
         ordem.setDataConclusao(LocalDateTime.now());
 
         ordemRepository.save(ordem);
+        contadorService.registrarAlteracao(statusAnterior, ordem.getValorFinal(), ordem);
     }
 
+    /**
+     * Conflito reportado quando a OS continua sendo alterada por outras operações.
+     */
+    private ConflitoVersaoException conflito(Long id) {
+        return new ConflitoVersaoException(
+                "A Ordem de Serviço foi alterada por outra operação. Recarregue e tente novamente.",
+                ordemRepository.buscarVersao(id).orElse(null));
+    }
 }
@@ -0,0 +1,130 @@
+package br.com.ralfdomingues.oficina.domain.ordemservico.service;
+
+import br.com.ralfdomingues.oficina.domain.dashboard.service.DashboardContadorService;
+import br.com.ralfdomingues.oficina.domain.ordemservico.dto.DivergenciaValorFinalDTO;
+import br.com.ralfdomingues.oficina.domain.ordemservico.dto.DivergenciaValorFinalView;
+import br.com.ralfdomingues.oficina.repository.ordemservico.OrdemServicoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serviço de reconciliação do valor final das Ordens de Serviço.
+ *
+ * <p>
+ * O valor final é mantido de forma incremental pelo {@code ItemServicoService}.
+ * Este serviço verifica periodicamente (ou sob demanda) se o total registrado
+ * continua igual à soma dos itens ativos, reportando as divergências encontradas
+ * e, opcionalmente, corrigindo-as.
+ * </p>
+ *
+ * <p>
+ * O valor final de referência é sempre a soma dos itens ativos. Um valor
+ * informado manualmente na atualização da ordem ({@code OrdemServicoUpdateDTO.valor})
+ * que difira dessa soma é reportado como divergência a cada execução e,
+ * com a correção habilitada, substituído pela soma dos itens. É o mesmo
+ * resultado do recálculo completo feito antes a cada alteração de item,
+ * que também descartava o valor manual; a diferença é que agora isso
+ * acontece na reconciliação, e não na próxima alteração de item.
+ * </p>
+ */
+@Service
+public class ValorFinalReconciliacaoService {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(ValorFinalReconciliacaoService.class);
+
+    private final OrdemServicoRepository ordemRepository;
+    private final DashboardContadorService contadorService;
+    private final boolean corrigirAutomaticamente;
+
+    public ValorFinalReconciliacaoService(
+            OrdemServicoRepository ordemRepository,
+            DashboardContadorService contadorService,
+            @Value("${oficina.reconciliacao.valor-final.corrigir:false}") boolean corrigirAutomaticamente) {
+        this.ordemRepository = ordemRepository;
+        this.contadorService = contadorService;
+        this.corrigirAutomaticamente = corrigirAutomaticamente;
+    }
+
+    /**
+     * Execução agendada da reconciliação.
+     *
+     * <p>
+     * Por padrão roda diariamente às 3h e apenas reporta as divergências,
+     * salvo se a correção automática estiver habilitada.
+     * </p>
+     */
+    @Scheduled(cron = "${oficina.reconciliacao.valor-final.cron:0 0 3 * * *}")
+    @Transactional
+    public void reconciliarAgendado() {
+        reconciliar(corrigirAutomaticamente);
+    }
+
+    /**
+     * Verifica o valor final de todas as ordens e reporta divergências.
+     *
+     * <p>
+     * A correção utiliza compare-and-set: a ordem só é atualizada se o valor
+     * registrado não tiver mudado desde a verificação. A diferença corrigida
+     * também é contabilizada no faturamento do dashboard, conforme o status
+     * da ordem relido após a correção, quando a linha já está bloqueada por
+     * esta transação e o status não pode mais mudar até o commit.
+     * </p>
+     *
+     * @param corrigir indica se as divergências devem ser corrigidas
+     * @return divergências encontradas
+     */
+    @Transactional
+    public List<DivergenciaValorFinalDTO> reconciliar(boolean corrigir) {
+
+        List<DivergenciaValorFinalView> divergencias =
+                ordemRepository.buscarDivergenciasValorFinal();
+
+        List<DivergenciaValorFinalDTO> resultado = new ArrayList<>(divergencias.size());
+
+        for (DivergenciaValorFinalView d : divergencias) {
+
+            BigDecimal registrado = d.getValorRegistrado() != null
+                    ? d.getValorRegistrado()
+                    : BigDecimal.ZERO;
+
+            BigDecimal diferenca = d.getValorCalculado().subtract(registrado);
+
+            boolean corrigida = corrigir
+                    && ordemRepository.corrigirValorFinal(
+                            d.getOrdemId(), registrado, d.getValorCalculado()) > 0;
+
+            if (corrigida) {
+                ordemRepository.buscarStatus(d.getOrdemId())
+                        .ifPresent(status -> contadorService.registrarDiferencaValor(status, diferenca));
+            }
+
+            log.warn(
+                    "DIVERGENCIA_VALOR_FINAL | ORDEM={} | REGISTRADO={} | CALCULADO={} | CORRIGIDA={}",
+                    d.getOrdemId(),
+                    d.getValorRegistrado(),
+                    d.getValorCalculado(),
+                    corrigida
+            );
+
+            resultado.add(new DivergenciaValorFinalDTO(
+                    d.getOrdemId(),
+                    d.getValorRegistrado(),
+                    d.getValorCalculado(),
+                    diferenca,
+                    corrigida
+            ));
+        }
+
+        log.info("Reconciliação do valor final concluída: {} divergência(s).", resultado.size());
+
+        return resultado;
+    }
+}
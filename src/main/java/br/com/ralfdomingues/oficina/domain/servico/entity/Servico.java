@@ -22,7 +22,8 @@ import java.math.BigDecimal;
 public class Servico {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "servico_seq")
+    @SequenceGenerator(name = "servico_seq", sequenceName = "servico_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -36,6 +37,13 @@ public class Servico {
     @Column(nullable = false)
     private Boolean ativo = true;
 
+    /**
+     * Versão da linha, incrementada a cada alteração.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     /**
      * Construtor de conveniência utilizado em cenários
      * onde o serviço deve ser criado como ativo por padrão.
@@ -0,0 +1,348 @@
+package br.com.ralfdomingues.oficina.domain.servico.service;
+
+import br.com.ralfdomingues.oficina.domain.servico.dto.ServicoResponseDTO;
+import br.com.ralfdomingues.oficina.domain.servico.entity.Servico;
+import br.com.ralfdomingues.oficina.exception.BusinessException;
+import br.com.ralfdomingues.oficina.infra.transacao.AposCommit;
+import br.com.ralfdomingues.oficina.repository.servico.ServicoRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Catálogo de serviços em memória, usado na inclusão de itens e na listagem
+ * de serviços sem consultar o banco.
+ *
+ * <p>
+ * O catálogo é um retrato imutável e versionado (id → nome, preço e status)
+ * trocado por referência a cada alteração, sem bloquear leituras.
+ *
+ * <p>
+ * Decisões importantes:
+ * <ul>
+ *   <li>O retrato é carregado por completo na inicialização e recarregado
+ *   periodicamente, cobrindo alterações feitas por outras instâncias</li>
+ *   <li>Alterações feitas pelo {@link ServicoService} são aplicadas após o
+ *   commit, sem esperar a próxima recarga; uma alteração que chega depois de
+ *   outra mais nova do mesmo serviço (commits concorrentes) é ignorada pela
+ *   versão</li>
+ *   <li>Uma recarga só substitui o retrato se nenhuma alteração tiver sido
+ *   aplicada durante a leitura; caso contrário, lê novamente</li>
+ *   <li>Um id ausente é procurado no banco uma vez e incluído no retrato,
+ *   pois pode ter sido criado por outra instância após a última recarga</li>
+ *   <li>Serviços inativos permanecem no catálogo, pois itens existentes
+ *   continuam podendo referenciá-los</li>
+ * </ul>
+ *
+ * <p>
+ * A {@link #assinatura()} do catálogo deriva das versões dos serviços e
+ * identifica o conteúdo da listagem, servindo de ETag para ela.
+ *
+ * <p>
+ * Acertos, falhas, recargas e a versão atual são expostos como métricas
+ * ({@code catalogo.servicos.*}) e em {@link #estatisticas()}.
+ */
+@Component
+public class CatalogoServicos implements MeterBinder {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(CatalogoServicos.class);
+
+    private static final int TENTATIVAS_RECARGA = 3;
+
+    /**
+     * Dados de um serviço no catálogo.
+     */
+    public record Entrada(Long id, String nome, BigDecimal preco, boolean ativo, long versao) {
+
+        static Entrada de(Servico servico) {
+            return new Entrada(servico.getId(), servico.getNome(), servico.getPreco(),
+                    Boolean.TRUE.equals(servico.getAtivo()),
+                    servico.getVersao() == null ? 0 : servico.getVersao());
+        }
+
+        public ServicoResponseDTO resposta() {
+            return new ServicoResponseDTO(id, nome, preco, ativo);
+        }
+    }
+
+    /**
+     * Contadores de uso do catálogo.
+     */
+    public record Estatisticas(
+            long versao,
+            int tamanho,
+            int ativos,
+            long acertos,
+            long falhas,
+            long recargas,
+            long atualizacoes
+    ) {}
+
+    /**
+     * Retrato imutável do catálogo; versão {@code 0} indica que ainda não foi carregado.
+     *
+     * <p>
+     * A assinatura combina a quantidade de serviços com a soma das suas
+     * versões. Como serviços não são removidos e versões só aumentam, toda
+     * alteração muda a assinatura; e, ao contrário da versão do retrato, ela
+     * é a mesma em todas as instâncias que enxergam os mesmos dados.
+     */
+    private record Retrato(long versao, Map<Long, Entrada> porId, List<Entrada> ativos, String assinatura) {
+
+        static final Retrato VAZIO = new Retrato(0, Map.of(), List.of(), "0.0");
+
+        static Retrato de(long versao, Map<Long, Entrada> porId) {
+            return new Retrato(
+                    versao,
+                    Map.copyOf(porId),
+                    porId.values().stream()
+                            .filter(Entrada::ativo)
+                            .sorted(Comparator.comparing(Entrada::id))
+                            .toList(),
+                    porId.size() + "." + porId.values().stream().mapToLong(Entrada::versao).sum()
+            );
+        }
+
+        /**
+         * Retrato com a entrada aplicada, ou este mesmo retrato se ele já
+         * contiver a versão informada do serviço ou uma mais nova.
+         */
+        Retrato com(Entrada entrada) {
+            Entrada anterior = porId.get(entrada.id());
+            if (anterior != null && anterior.versao() >= entrada.versao()) {
+                return this;
+            }
+
+            Map<Long, Entrada> novo = new HashMap<>(porId);
+            novo.put(entrada.id(), entrada);
+            return de(versao + 1, novo);
+        }
+    }
+
+    private final ServicoRepository repository;
+
+    private final AtomicReference<Retrato> retrato = new AtomicReference<>(Retrato.VAZIO);
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder recargas = new LongAdder();
+    private final LongAdder atualizacoes = new LongAdder();
+
+    public CatalogoServicos(ServicoRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Carrega o catálogo na inicialização da aplicação.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        recarregar();
+    }
+
+    /**
+     * Recarrega o catálogo a partir do banco.
+     */
+    @Scheduled(
+            fixedDelayString = "${oficina.catalogo-servicos.recarga-ms:300000}",
+            initialDelayString = "${oficina.catalogo-servicos.recarga-ms:300000}"
+    )
+    public void recarregar() {
+        for (int tentativa = 0; tentativa < TENTATIVAS_RECARGA; tentativa++) {
+            Retrato atual = retrato.get();
+
+            Map<Long, Entrada> lidos = new HashMap<>();
+            for (Servico servico : repository.findAll()) {
+                lidos.put(servico.getId(), Entrada.de(servico));
+            }
+
+            // Falha se uma alteração foi aplicada durante a leitura, que pode não incluí-la
+            if (retrato.compareAndSet(atual, Retrato.de(atual.versao() + 1, lidos))) {
+                recargas.increment();
+                log.debug("Catálogo de serviços recarregado: {} serviços", lidos.size());
+                return;
+            }
+        }
+
+        log.warn("Catálogo de serviços não recarregado: alterado durante {} leituras seguidas", TENTATIVAS_RECARGA);
+    }
+
+    /**
+     * Busca um serviço (ativo ou não) pelo identificador.
+     *
+     * @return dados do serviço, ou vazio se não existir
+     */
+    public Optional<Entrada> buscar(Long id) {
+        Entrada entrada = atual().porId().get(id);
+
+        if (entrada != null) {
+            acertos.increment();
+            return Optional.of(entrada);
+        }
+
+        falhas.increment();
+
+        Optional<Entrada> lida = repository.findById(id).map(Entrada::de);
+        lida.ifPresent(this::aplicar);
+        return lida;
+    }
+
+    /**
+     * Lista os serviços ativos de forma paginada.
+     *
+     * <p>
+     * A ordenação é feita em memória e aceita {@code id}, {@code nome} e
+     * {@code preco}; sem ordenação, os serviços seguem a ordem de id.
+     *
+     * @throws BusinessException caso a ordenação use outra propriedade
+     */
+    public Page<Entrada> listarAtivos(Pageable pageable) {
+        List<Entrada> ativos = atual().ativos();
+        acertos.increment();
+
+        if (pageable.getSort().isSorted()) {
+            ativos = ativos.stream().sorted(comparador(pageable.getSort())).toList();
+        }
+
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(ativos, pageable, ativos.size());
+        }
+
+        int inicio = (int) Math.min(pageable.getOffset(), ativos.size());
+        int fim = Math.min(inicio + pageable.getPageSize(), ativos.size());
+
+        return new PageImpl<>(ativos.subList(inicio, fim), pageable, ativos.size());
+    }
+
+    /**
+     * Assinatura do conteúdo atual do catálogo, alterada a cada inclusão ou
+     * alteração de serviço.
+     */
+    public String assinatura() {
+        return atual().assinatura();
+    }
+
+    /**
+     * Aplica ao catálogo, após o commit, o estado atual do serviço alterado.
+     *
+     * <p>
+     * A entrada é lida da entidade somente após o commit, quando a versão
+     * já foi incrementada pelo flush.
+     *
+     * @param servico serviço já criado ou alterado
+     */
+    public void atualizarAposCommit(Servico servico) {
+        AposCommit.executar(() -> aplicar(Entrada.de(servico)));
+    }
+
+    public Estatisticas estatisticas() {
+        Retrato atual = retrato.get();
+
+        return new Estatisticas(
+                atual.versao(),
+                atual.porId().size(),
+                atual.ativos().size(),
+                acertos.sum(),
+                falhas.sum(),
+                recargas.sum(),
+                atualizacoes.sum()
+        );
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("catalogo.servicos.consultas", acertos, LongAdder::sum)
+                .description("Consultas ao catálogo de serviços")
+                .tag("resultado", "ACERTO")
+                .register(registry);
+        FunctionCounter.builder("catalogo.servicos.consultas", falhas, LongAdder::sum)
+                .description("Consultas ao catálogo de serviços")
+                .tag("resultado", "FALHA")
+                .register(registry);
+        FunctionCounter.builder("catalogo.servicos.recargas", recargas, LongAdder::sum)
+                .description("Recargas completas do catálogo de serviços")
+                .register(registry);
+        FunctionCounter.builder("catalogo.servicos.atualizacoes", atualizacoes, LongAdder::sum)
+                .description("Alterações aplicadas ao catálogo de serviços sem recarga")
+                .register(registry);
+        Gauge.builder("catalogo.servicos.versao", retrato, r -> r.get().versao())
+                .description("Versão atual do catálogo de serviços")
+                .register(registry);
+        Gauge.builder("catalogo.servicos.tamanho", retrato, r -> r.get().porId().size())
+                .description("Serviços no catálogo, ativos ou não")
+                .register(registry);
+    }
+
+    /**
+     * Retrato atual, carregando-o se ainda não houver sido carregado.
+     */
+    private Retrato atual() {
+        Retrato atual = retrato.get();
+        if (atual.versao() == 0) {
+            recarregar();
+            atual = retrato.get();
+        }
+        return atual;
+    }
+
+    /**
+     * Aplica a alteração sobre uma cópia do retrato, trocando-o por referência.
+     * Antes da primeira carga nada é aplicado: a carga já lerá o valor do banco.
+     * Versões já presentes no retrato, ou mais antigas que a dele, são ignoradas.
+     */
+    private void aplicar(Entrada entrada) {
+        Retrato atual;
+        Retrato novo;
+
+        do {
+            atual = retrato.get();
+            novo = atual.versao() == 0 ? atual : atual.com(entrada);
+            if (novo == atual) {
+                return;
+            }
+        } while (!retrato.compareAndSet(atual, novo));
+
+        atualizacoes.increment();
+    }
+
+    private static Comparator<Entrada> comparador(Sort sort) {
+        Comparator<Entrada> comparador = null;
+
+        for (Sort.Order ordem : sort) {
+            Comparator<Entrada> campo = switch (ordem.getProperty()) {
+                case "id" -> Comparator.comparing(Entrada::id);
+                case "nome" -> Comparator.comparing(Entrada::nome, String.CASE_INSENSITIVE_ORDER);
+                case "preco" -> Comparator.comparing(Entrada::preco);
+                default -> throw new BusinessException("Ordenação não suportada: " + ordem.getProperty());
+            };
+
+            if (ordem.isDescending()) {
+                campo = campo.reversed();
+            }
+            comparador = comparador == null ? campo : comparador.thenComparing(campo);
+        }
+
+        return comparador.thenComparing(Entrada::id);
+    }
+}
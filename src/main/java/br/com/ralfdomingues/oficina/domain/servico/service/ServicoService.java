@@ -15,14 +15,19 @@ import org.springframework.stereotype.Service;
  *
  * <p>Centraliza operações de criação, atualização, listagem
  * e exclusão lógica, garantindo consistência do domínio.</p>
+ *
+ * <p>As leituras são atendidas pelo {@link CatalogoServicos}, que recebe
+ * cada alteração após o commit.</p>
  */
 @Service
 public class ServicoService {
 
     private final ServicoRepository repository;
+    private final CatalogoServicos catalogo;
 
-    public ServicoService(ServicoRepository repository) {
+    public ServicoService(ServicoRepository repository, CatalogoServicos catalogo) {
         this.repository = repository;
+        this.catalogo = catalogo;
     }
 
     /**
@@ -31,10 +36,9 @@ public class ServicoService {
      * @throws NotFoundException caso o serviço não exista
      */
     public ServicoResponseDTO listarPorId(Long id) {
-        var servico = repository.findById(id)
+        return catalogo.buscar(id)
+                .map(CatalogoServicos.Entrada::resposta)
                 .orElseThrow(() -> new NotFoundException("Serviço não encontrado"));
-
-        return new ServicoResponseDTO(servico.getId(), servico.getNome(), servico.getPreco(), servico.getAtivo());
     }
 
     /**
@@ -46,6 +50,7 @@ public class ServicoService {
     public ServicoResponseDTO criar(ServicoCreateDTO dto) {
         var servico = new Servico(null, dto.nome(), dto.preco());
         repository.save(servico);
+        catalogo.atualizarAposCommit(servico);
 
         return new ServicoResponseDTO(servico.getId(), servico.getNome(), servico.getPreco(), servico.getAtivo());
     }
@@ -68,16 +73,24 @@ public class ServicoService {
         if (dto.preco() != null) servico.setPreco(dto.preco());
         if (dto.ativo() != null) servico.setAtivo(dto.ativo());
 
+        catalogo.atualizarAposCommit(servico);
+
         return new ServicoResponseDTO(servico.getId(), servico.getNome(), servico.getPreco(), servico.getAtivo());
     }
 
     /**
-     * Lista apenas serviços ativos de forma paginada.
+     * Lista apenas serviços ativos de forma paginada, a partir do catálogo em memória.
      */
-    @Transactional(readOnly = true)
     public Page<ServicoResponseDTO> listar(Pageable pageable) {
-        return repository.findAllByAtivoTrue(pageable)
-                .map(ServicoResponseDTO::new);
+        return catalogo.listarAtivos(pageable)
+                .map(CatalogoServicos.Entrada::resposta);
+    }
+
+    /**
+     * Retorna a versão da listagem de serviços (assinatura do catálogo), usada como ETag.
+     */
+    public String buscarVersaoListagem() {
+        return catalogo.assinatura();
     }
 
     /**
@@ -96,5 +109,6 @@ public class ServicoService {
 
         servico.setAtivo(false);
         repository.save(servico);
+        catalogo.atualizarAposCommit(servico);
     }
 }
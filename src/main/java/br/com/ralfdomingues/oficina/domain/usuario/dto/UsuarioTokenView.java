@@ -0,0 +1,14 @@
+package br.com.ralfdomingues.oficina.domain.usuario.dto;
+
+/**
+ * Projeção com os dados necessários para validar tokens sem consultar
+ * o usuário a cada requisição.
+ */
+public interface UsuarioTokenView {
+
+    String getEmail();
+
+    Integer getTokenVersao();
+
+    Boolean getAtivo();
+}
@@ -26,7 +26,8 @@ import lombok.*;
 public class Usuario {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuario_seq")
+    @SequenceGenerator(name = "usuario_seq", sequenceName = "usuario_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -47,4 +48,11 @@ public class Usuario {
 
     @Column(nullable = false)
     private Boolean ativo = true;
+
+    /**
+     * Versão dos tokens emitidos para o usuário. Incrementada quando
+     * senha, perfil, email ou status mudam, revogando tokens anteriores.
+     */
+    @Column(name = "token_versao", nullable = false)
+    private Integer tokenVersao = 0;
 }
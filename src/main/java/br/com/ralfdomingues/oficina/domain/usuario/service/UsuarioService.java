@@ -1,5 +1,7 @@
 package br.com.ralfdomingues.oficina.domain.usuario.service;
 
+import br.com.ralfdomingues.oficina.config.security.TokenVersaoRegistry;
+import br.com.ralfdomingues.oficina.config.security.UserDetailsCache;
 import br.com.ralfdomingues.oficina.domain.usuario.dto.UsuarioCreateDTO;
 import br.com.ralfdomingues.oficina.domain.usuario.dto.UsuarioResponseDTO;
 import br.com.ralfdomingues.oficina.domain.usuario.dto.UsuarioUpdateDTO;
@@ -27,11 +29,17 @@ public class UsuarioService {
 
     private final UsuarioRepository repository;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
+    private final TokenVersaoRegistry tokenVersaoRegistry;
 
     public UsuarioService(UsuarioRepository repository,
-                          PasswordEncoder passwordEncoder) {
+                          PasswordEncoder passwordEncoder,
+                          UserDetailsCache userDetailsCache,
+                          TokenVersaoRegistry tokenVersaoRegistry) {
         this.repository = repository;
         this.passwordEncoder = passwordEncoder;
+        this.userDetailsCache = userDetailsCache;
+        this.tokenVersaoRegistry = tokenVersaoRegistry;
     }
 
     /**
@@ -55,9 +63,11 @@ public class UsuarioService {
                 .senha(passwordEncoder.encode(dto.senha()))
                 .perfil(dto.perfil())
                 .ativo(true)
+                .tokenVersao(0)
                 .build();
 
         repository.save(usuario);
+        tokenVersaoRegistry.atualizarAposCommit(null, usuario);
         return new UsuarioResponseDTO(usuario);
     }
 
@@ -85,7 +95,9 @@ public class UsuarioService {
      * Atualiza parcialmente um usuário existente.
      *
      * <p>Aplica validações de unicidade de email e
-     * recriptografa a senha quando informada.</p>
+     * recriptografa a senha quando informada. Os dados de
+     * autenticação em cache são invalidados e, quando email, senha,
+     * perfil ou status mudam, os tokens já emitidos são revogados.</p>
      *
      * @throws NotFoundException   caso o usuário não exista
      * @throws BusinessException  caso o email já esteja em uso
@@ -96,6 +108,11 @@ public class UsuarioService {
         Usuario usuario = repository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Usuário não encontrado."));
 
+        String emailAnterior = usuario.getEmail();
+        userDetailsCache.invalidarAposCommit(emailAnterior);
+
+        boolean revogarTokens = false;
+
         if (dto.nome() != null) {
             usuario.setNome(dto.nome());
         }
@@ -107,21 +124,30 @@ public class UsuarioService {
             }
 
             usuario.setEmail(dto.email());
+            revogarTokens = true;
         }
 
         if (dto.senha() != null && !dto.senha().isBlank()) {
             usuario.setSenha(passwordEncoder.encode(dto.senha()));
+            revogarTokens = true;
         }
 
-        if (dto.perfil() != null) {
+        if (dto.perfil() != null && dto.perfil() != usuario.getPerfil()) {
             usuario.setPerfil(dto.perfil());
+            revogarTokens = true;
         }
 
-        if (dto.ativo() != null) {
+        if (dto.ativo() != null && !dto.ativo().equals(usuario.getAtivo())) {
             usuario.setAtivo(dto.ativo());
+            revogarTokens = true;
+        }
+
+        if (revogarTokens) {
+            usuario.setTokenVersao(usuario.getTokenVersao() + 1);
         }
 
         repository.save(usuario);
+        tokenVersaoRegistry.atualizarAposCommit(emailAnterior, usuario);
         return new UsuarioResponseDTO(usuario);
     }
 
@@ -129,7 +155,9 @@ public class UsuarioService {
      * Realiza a desativação lógica de um usuário.
      *
      * <p>O registro permanece no banco de dados,
-     * sendo apenas marcado como inativo.</p>
+     * sendo apenas marcado como inativo. O usuário é removido
+     * do cache de autenticação e seus tokens são revogados,
+     * deixando de ser aceito na próxima requisição.</p>
      *
      * @throws NotFoundException caso o usuário não exista
      */
@@ -139,6 +167,10 @@ public class UsuarioService {
                 .orElseThrow(() -> new NotFoundException("Usuário não encontrado."));
 
         usuario.setAtivo(false);
+        usuario.setTokenVersao(usuario.getTokenVersao() + 1);
         repository.save(usuario);
+
+        userDetailsCache.invalidarAposCommit(usuario.getEmail());
+        tokenVersaoRegistry.atualizarAposCommit(usuario.getEmail(), usuario);
     }
 }
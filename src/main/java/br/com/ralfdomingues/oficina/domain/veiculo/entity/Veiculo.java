@@ -22,7 +22,8 @@ import lombok.*;
 public class Veiculo {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "veiculo_seq")
+    @SequenceGenerator(name = "veiculo_seq", sequenceName = "veiculo_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 20)
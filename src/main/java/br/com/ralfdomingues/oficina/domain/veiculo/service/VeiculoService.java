@@ -7,12 +7,23 @@ import br.com.ralfdomingues.oficina.repository.cliente.ClienteRepository;
 import br.com.ralfdomingues.oficina.repository.veiculo.VeiculoRepository;
 import br.com.ralfdomingues.oficina.exception.NotFoundException;
 import br.com.ralfdomingues.oficina.exception.BusinessException;
+import br.com.ralfdomingues.oficina.infra.busca.TermoBusca;
+import br.com.ralfdomingues.oficina.infra.pagination.Cursor;
+import br.com.ralfdomingues.oficina.infra.pagination.CursorPageDTO;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * Camada de serviço responsável pelas regras de negócio
  * relacionadas à entidade {@link Veiculo}.
@@ -78,6 +89,76 @@ public class VeiculoService {
                 .map(VeiculoResponseDTO::new);
     }
 
+    /**
+     * Lista veículos ativos por cursor, em ordem de id, sem contagem total.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<VeiculoResponseDTO> listarPorCursor(String after, int tamanho) {
+        return CursorPageDTO.de(
+                veiculoRepository.findByAtivoTrueAndIdGreaterThanOrderByIdAsc(
+                                Cursor.decodificarId(after), Cursor.limite(tamanho))
+                        .map(VeiculoResponseDTO::new),
+                dto -> Cursor.codificar(dto.id())
+        );
+    }
+
+    /**
+     * Lista veículos ativos de um cliente por cursor, em ordem de id.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<VeiculoResponseDTO> listarPorClienteECursor(Long clienteId, String after, int tamanho) {
+        return CursorPageDTO.de(
+                veiculoRepository.findByCliente_IdAndAtivoTrueAndIdGreaterThanOrderByIdAsc(
+                                clienteId, Cursor.decodificarId(after), Cursor.limite(tamanho))
+                        .map(VeiculoResponseDTO::new),
+                dto -> Cursor.codificar(dto.id())
+        );
+    }
+
+    /**
+     * Busca incremental de veículos ativos pela placa.
+     *
+     * <p>
+     * A placa é comparada sem pontuação e sem diferenciar maiúsculas: primeiro
+     * por prefixo e, havendo espaço no resultado, por semelhança (tolerando
+     * erros de digitação). Os veículos encontrados são lidos junto com o
+     * cliente em uma única consulta.
+     *
+     * @param termo placa ou parte dela
+     * @param limite quantidade máxima de veículos
+     * @return veículos encontrados, dos mais aos menos relevantes
+     * @throws BusinessException caso o termo seja curto demais
+     */
+    @Transactional(readOnly = true)
+    public List<VeiculoResponseDTO> buscar(String termo, int limite) {
+        TermoBusca busca = TermoBusca.de(termo);
+        int quantidade = TermoBusca.limite(limite);
+
+        Set<Long> ids = new LinkedHashSet<>(
+                veiculoRepository.buscarIdsPorPrefixoPlaca(busca.texto(), busca.fimTexto(), quantidade));
+
+        if (ids.size() < quantidade && busca.aproximavel()) {
+            for (Long id : veiculoRepository.buscarIdsPorPlacaAproximada(busca.texto(), quantidade)) {
+                if (ids.size() == quantidade) {
+                    break;
+                }
+                ids.add(id);
+            }
+        }
+
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Veiculo> veiculos = veiculoRepository.buscarComClientePorIds(ids).stream()
+                .collect(Collectors.toMap(Veiculo::getId, Function.identity()));
+
+        return ids.stream()
+                .map(veiculos::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToDTO)
+                .toList();
+    }
 
     /**
      * Recupera um veículo pelo identificador.
@@ -0,0 +1,26 @@
+package br.com.ralfdomingues.oficina.exception;
+
+/**
+ * Exceção utilizada quando uma alteração não pode ser aplicada porque o
+ * registro foi alterado por outra operação (controle otimista de versão).
+ *
+ * <p>
+ * Informa a versão atual do registro, para que o cliente possa recarregá-lo
+ * e repetir a alteração.
+ */
+public class ConflitoVersaoException extends RuntimeException {
+
+    private final Long versaoAtual;
+
+    public ConflitoVersaoException(String message, Long versaoAtual) {
+        super(message);
+        this.versaoAtual = versaoAtual;
+    }
+
+    /**
+     * Versão atual do registro, ou {@code null} se o registro não existir mais.
+     */
+    public Long getVersaoAtual() {
+        return versaoAtual;
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.ralfdomingues.oficina.exception;
+
+import java.util.Map;
+
+/**
+ * Exceção utilizada quando uma ou mais linhas de uma operação em lote
+ * violam regras de negócio.
+ *
+ * <p>
+ * Nenhuma linha é persistida: os erros são reportados por linha, no mesmo
+ * formato dos erros de validação (ex: {@code itens[3].servicoId}).
+ */
+public class LoteInvalidoException extends BusinessException {
+
+    private final Map<String, Object> erros;
+
+    public LoteInvalidoException(String message, Map<String, Object> erros) {
+        super(message);
+        this.erros = Map.copyOf(erros);
+    }
+
+    public Map<String, Object> getErros() {
+        return erros;
+    }
+}
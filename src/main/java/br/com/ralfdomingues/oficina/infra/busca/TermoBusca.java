@@ -0,0 +1,130 @@
+package br.com.ralfdomingues.oficina.infra.busca;
+
+import br.com.ralfdomingues.oficina.exception.BusinessException;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Termo informado nas buscas incrementais (clientes e veículos), já
+ * normalizado para comparação com as chaves de busca do banco.
+ *
+ * <p>
+ * A normalização espelha a função {@code normalizar_busca} da migration
+ * {@code V10}: minúsculas, sem acentos, apenas letras, dígitos e espaços
+ * simples. Termos formados só por dígitos e pontuação (CPF, telefone)
+ * também são comparados apenas pelos dígitos.
+ *
+ * <p>
+ * A busca por prefixo é feita como uma faixa {@code [inicio, fim)} na chave:
+ * como as chaves só contêm caracteres menores que {@code '{'}, todo valor
+ * que começa com o termo fica entre o termo e o termo seguido de {@code '{'}.
+ *
+ * @param texto termo normalizado
+ * @param digitos dígitos do termo, ou {@code null} se o termo não for numérico
+ */
+public record TermoBusca(String texto, String digitos) {
+
+    /**
+     * Quantidade de resultados quando não informada.
+     */
+    public static final int LIMITE_PADRAO = 10;
+
+    /**
+     * Quantidade máxima de resultados por busca.
+     */
+    public static final int LIMITE_MAXIMO = 20;
+
+    /**
+     * Tamanho mínimo do termo normalizado.
+     */
+    public static final int TAMANHO_MINIMO = 2;
+
+    /**
+     * Tamanho a partir do qual a busca aproximada (trigramas) é usada.
+     */
+    public static final int TAMANHO_APROXIMADO = 3;
+
+    private static final int TAMANHO_MAXIMO = 60;
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern INVALIDOS = Pattern.compile("[^a-z0-9 ]+");
+    private static final Pattern ESPACOS = Pattern.compile(" +");
+    private static final Pattern NUMERICO = Pattern.compile("[0-9\\s().+/-]+");
+    private static final Pattern NAO_DIGITOS = Pattern.compile("[^0-9]+");
+
+    private static final char APOS_ULTIMO = '{';
+
+    /**
+     * Normaliza o termo informado.
+     *
+     * @throws BusinessException caso o termo tenha menos de {@value #TAMANHO_MINIMO} caracteres úteis
+     */
+    public static TermoBusca de(String termo) {
+        String texto = normalizar(termo);
+
+        if (texto.length() < TAMANHO_MINIMO) {
+            throw new BusinessException(
+                    "Informe ao menos " + TAMANHO_MINIMO + " letras ou dígitos para a busca.");
+        }
+
+        if (texto.length() > TAMANHO_MAXIMO) {
+            texto = texto.substring(0, TAMANHO_MAXIMO).strip();
+        }
+
+        String digitos = NUMERICO.matcher(termo).matches()
+                ? NAO_DIGITOS.matcher(termo).replaceAll("")
+                : null;
+
+        return new TermoBusca(texto, digitos);
+    }
+
+    /**
+     * Minúsculas, sem acentos, apenas letras, dígitos e espaços simples.
+     */
+    public static String normalizar(String valor) {
+        if (valor == null) {
+            return "";
+        }
+
+        String semAcentos = MARCAS.matcher(Normalizer.normalize(valor, Normalizer.Form.NFD)).replaceAll("");
+        String valido = INVALIDOS.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll("");
+        return ESPACOS.matcher(valido).replaceAll(" ").strip();
+    }
+
+    /**
+     * Limita a quantidade de resultados solicitada.
+     */
+    public static int limite(int quantidade) {
+        return Math.max(1, Math.min(quantidade, LIMITE_MAXIMO));
+    }
+
+    /**
+     * Indica se o termo contém apenas dígitos e pontuação (CPF, telefone).
+     */
+    public boolean numerico() {
+        return digitos != null;
+    }
+
+    /**
+     * Indica se o termo é longo o bastante para a busca aproximada.
+     */
+    public boolean aproximavel() {
+        return texto.length() >= TAMANHO_APROXIMADO;
+    }
+
+    /**
+     * Limite superior (exclusivo) da faixa de prefixo do texto.
+     */
+    public String fimTexto() {
+        return texto + APOS_ULTIMO;
+    }
+
+    /**
+     * Limite superior (exclusivo) da faixa de prefixo dos dígitos.
+     */
+    public String fimDigitos() {
+        return digitos + APOS_ULTIMO;
+    }
+}
@@ -0,0 +1,145 @@
+package br.com.ralfdomingues.oficina.infra.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de CSV (RFC 4180) registro a registro, sem carregar o arquivo em memória.
+ *
+ * <p>
+ * Suporta campos entre aspas com vírgulas, aspas duplicadas e quebras de
+ * linha. O separador ({@code ,} ou {@code ;}) é detectado na primeira
+ * linha, que deve ser o cabeçalho.
+ */
+public final class LeitorCsv implements Closeable {
+
+    private final Reader reader;
+    private char separador;
+    private boolean separadorDefinido;
+    private long linha;
+    private int proximo = -2;
+
+    public LeitorCsv(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Lê o próximo registro.
+     *
+     * @return campos do registro, ou {@code null} ao final do arquivo
+     */
+    public List<String> ler() throws IOException {
+        int c = lerCaractere();
+
+        // ignora BOM e linhas em branco
+        while (c == '\uFEFF' || c == '\r' || c == '\n') {
+            if (c == '\n') {
+                linha++;
+            }
+            c = lerCaractere();
+        }
+
+        if (c == -1) {
+            return null;
+        }
+
+        linha++;
+
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        boolean detectando = !separadorDefinido;
+
+        while (c != -1) {
+            if (detectando && !entreAspas && (c == ',' || c == ';')) {
+                separador = (char) c;
+                separadorDefinido = true;
+                detectando = false;
+            }
+
+            if (entreAspas) {
+                if (c == '"') {
+                    int seguinte = lerCaractere();
+                    if (seguinte == '"') {
+                        campo.append('"');
+                    } else {
+                        entreAspas = false;
+                        devolver(seguinte);
+                    }
+                } else {
+                    if (c == '\n') {
+                        linha++;
+                    }
+                    campo.append((char) c);
+                }
+            } else if (c == '"' && campo.isEmpty()) {
+                entreAspas = true;
+            } else if (separadorDefinido && c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                campo.append((char) c);
+            }
+
+            c = lerCaractere();
+        }
+
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    /**
+     * Número da linha física em que terminou o último registro lido.
+     */
+    public long getLinha() {
+        return linha;
+    }
+
+    private int lerCaractere() throws IOException {
+        if (proximo != -2) {
+            int c = proximo;
+            proximo = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void devolver(int c) {
+        proximo = c;
+    }
+
+    /**
+     * Formata um registro como linha CSV, colocando entre aspas os campos
+     * que contêm separador, aspas ou quebra de linha.
+     */
+    public static String formatar(List<String> campos) {
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < campos.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+
+            String campo = campos.get(i) == null ? "" : campos.get(i);
+
+            if (campo.contains(",") || campo.contains(";") || campo.contains("\"")
+                    || campo.contains("\n") || campo.contains("\r")) {
+                sb.append('"').append(campo.replace("\"", "\"\"")).append('"');
+            } else {
+                sb.append(campo);
+            }
+        }
+
+        return sb.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,241 @@
+package br.com.ralfdomingues.oficina.infra.http;
+
+import br.com.ralfdomingues.oficina.exception.BusinessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Respostas condicionais ({@code ETag} / {@code If-None-Match}) para
+ * consultas cuja versão pode ser obtida sem carregar o recurso, com cache
+ * dos corpos já serializados.
+ *
+ * <p>
+ * A ETag é derivada da versão do recurso (coluna {@code versao} das
+ * entidades ou assinatura do catálogo de serviços). Quando o cliente já
+ * possui a versão atual, a resposta é {@code 304 Not Modified}, sem carregar
+ * nem serializar o recurso. A mesma ETag, enviada em {@code If-Match},
+ * condiciona alterações à versão conhecida pelo cliente.
+ *
+ * <p>
+ * Decisões importantes:
+ * <ul>
+ *   <li>Os corpos são guardados em JSON, indexados pela ETag e pela variante
+ *   da requisição (ex.: paginação); uma nova versão gera uma nova chave, de
+ *   modo que nenhuma entrada precisa ser invalidada</li>
+ *   <li>Como a versão é lida antes do corpo, o corpo guardado pode ser mais
+ *   novo que a sua ETag, nunca mais antigo: a consulta seguinte recebe outra
+ *   ETag e o corpo atual</li>
+ *   <li>Corpos acima do tamanho máximo não são guardados</li>
+ *   <li>Ao atingir a capacidade, entradas arbitrárias são removidas</li>
+ *   <li>As respostas levam {@code Cache-Control: no-cache, private}: o
+ *   cliente pode guardá-las, mas deve revalidá-las a cada uso</li>
+ * </ul>
+ */
+@Component
+public class CacheRespostas {
+
+    /**
+     * Contadores de uso do cache.
+     */
+    public record Estatisticas(
+            int tamanho,
+            int capacidade,
+            long bytes,
+            long naoModificadas,
+            long acertos,
+            long falhas,
+            long naoGuardadas,
+            long remocoes
+    ) {}
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final Map<String, byte[]> corpos = new ConcurrentHashMap<>();
+
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder naoModificadas = new LongAdder();
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder naoGuardadas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+
+    private final JsonMapper jsonMapper;
+    private final int capacidade;
+    private final int tamanhoMaximo;
+
+    public CacheRespostas(
+            JsonMapper jsonMapper,
+            @Value("${oficina.cache-respostas.capacidade:2000}") int capacidade,
+            @Value("${oficina.cache-respostas.tamanho-maximo-bytes:65536}") int tamanhoMaximo) {
+        this.jsonMapper = jsonMapper;
+        this.capacidade = capacidade;
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    /**
+     * Monta uma ETag forte a partir do recurso e das partes da sua versão.
+     *
+     * @param recurso prefixo que identifica o recurso (ex.: {@code os})
+     * @param versao identificador e versão do recurso
+     * @return ETag entre aspas (ex.: {@code "os-42-7"})
+     */
+    public static String etag(String recurso, Object... versao) {
+        StringBuilder etag = new StringBuilder("\"").append(recurso);
+        for (Object parte : versao) {
+            etag.append('-').append(parte);
+        }
+        return etag.append('"').toString();
+    }
+
+    /**
+     * Extrai a versão esperada de um cabeçalho {@code If-Match} com a ETag
+     * de um recurso identificado (ver {@link #etag(String, Object...)}).
+     *
+     * @param ifMatch cabeçalho {@code If-Match} da requisição (opcional)
+     * @param recurso prefixo que identifica o recurso (ex.: {@code os})
+     * @param id identificador do recurso
+     * @return versão informada, ou {@code null} se o cabeçalho estiver ausente ou for {@code *}
+     * @throws BusinessException se o cabeçalho não contiver uma ETag forte do recurso
+     */
+    public static Long versaoEsperada(String ifMatch, String recurso, Object id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+
+        String valor = ifMatch.strip();
+        String prefixo = "\"" + recurso + "-" + id + "-";
+
+        if (valor.startsWith(prefixo) && valor.endsWith("\"") && valor.length() > prefixo.length() + 1) {
+            try {
+                return Long.valueOf(valor.substring(prefixo.length(), valor.length() - 1));
+            } catch (NumberFormatException e) {
+                // tratado abaixo, como qualquer ETag de outro recurso
+            }
+        }
+
+        throw new BusinessException("If-Match deve conter a ETag atual do recurso.");
+    }
+
+    /**
+     * Responde a uma consulta cuja versão atual já é conhecida.
+     *
+     * @param etag ETag da versão atual (ver {@link #etag(String, Object...)})
+     * @param variante parâmetros que mudam o corpo de uma mesma versão (ex.: paginação), ou vazio
+     * @param ifNoneMatch cabeçalho {@code If-None-Match} da requisição (opcional)
+     * @param corpo produz o corpo; chamado apenas quando não há corpo guardado para a versão
+     * @return {@code 304} sem corpo ou {@code 200} com o corpo em JSON, ambos com a ETag
+     */
+    public ResponseEntity<byte[]> responder(String etag, String variante, String ifNoneMatch, Supplier<?> corpo) {
+        if (corresponde(ifNoneMatch, etag)) {
+            naoModificadas.increment();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CACHE_CONTROL)
+                    .build();
+        }
+
+        String chave = etag + ' ' + variante;
+        byte[] json = corpos.get(chave);
+
+        if (json != null) {
+            acertos.increment();
+        } else {
+            falhas.increment();
+            json = jsonMapper.writeValueAsBytes(corpo.get());
+            guardar(chave, json);
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CACHE_CONTROL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json);
+    }
+
+    /**
+     * Retorna os contadores de uso do cache.
+     */
+    public Estatisticas estatisticas() {
+        return new Estatisticas(
+                corpos.size(),
+                capacidade,
+                bytes.sum(),
+                naoModificadas.sum(),
+                acertos.sum(),
+                falhas.sum(),
+                naoGuardadas.sum(),
+                remocoes.sum()
+        );
+    }
+
+    /**
+     * Indica se alguma ETag do {@code If-None-Match} corresponde à informada.
+     *
+     * <p>
+     * Segue a comparação fraca exigida para o {@code If-None-Match}: o
+     * prefixo {@code W/} é ignorado e {@code *} corresponde a qualquer versão.
+     */
+    static boolean corresponde(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+
+        for (String candidata : ifNoneMatch.split(",")) {
+            String valor = candidata.strip();
+            if (valor.equals("*")) {
+                return true;
+            }
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals(etag)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void guardar(String chave, byte[] json) {
+        if (capacidade <= 0 || json.length > tamanhoMaximo) {
+            naoGuardadas.increment();
+            return;
+        }
+
+        garantirEspaco();
+
+        if (corpos.putIfAbsent(chave, json) == null) {
+            bytes.add(json.length);
+        }
+    }
+
+    /**
+     * Libera espaço quando a capacidade é atingida, removendo entradas
+     * arbitrárias. Entradas de versões antigas nunca mais são consultadas
+     * e saem do cache dessa forma.
+     */
+    private void garantirEspaco() {
+        if (corpos.size() < capacidade) {
+            return;
+        }
+
+        Iterator<byte[]> valores = corpos.values().iterator();
+        while (corpos.size() >= capacidade && valores.hasNext()) {
+            byte[] removido = valores.next();
+            valores.remove();
+            bytes.add(-removido.length);
+            remocoes.increment();
+        }
+    }
+}
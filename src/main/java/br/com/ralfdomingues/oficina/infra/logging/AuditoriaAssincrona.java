@@ -0,0 +1,409 @@
+package br.com.ralfdomingues.oficina.infra.logging;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gravação assíncrona do log de auditoria.
+ *
+ * <p>
+ * As threads de requisição apenas enfileiram o {@link EventoAuditoria} em uma
+ * {@link FilaCircular} sem locks. Uma thread dedicada drena a fila em lotes,
+ * grava os registros (serializados pelo {@link JsonMapper} da aplicação) e o
+ * índice do dia no {@link FormatoAuditoria} e faz um único flush por lote.
+ * Ao fechar os arquivos do dia (troca de dia ou encerramento), gera os índices
+ * ordenados por usuário e URI. Os registros podem ser consultados com a
+ * {@link ConsultaAuditoria}.
+ *
+ * <p>
+ * Decisões importantes:
+ * <ul>
+ *   <li>Com a fila cheia, a política {@code DESCARTAR} descarta o evento e a
+ *   política {@code BLOQUEAR} aguarda espaço até o tempo máximo configurado,
+ *   descartando o evento apenas se ele se esgotar</li>
+ *   <li>Descartes são contabilizados e expostos em {@link #estatisticas()}</li>
+ *   <li>No encerramento da aplicação os eventos pendentes são gravados antes
+ *   de os arquivos serem fechados</li>
+ *   <li>Arquivos mais antigos que o período de retenção são removidos na
+ *   troca de dia</li>
+ * </ul>
+ */
+@Component
+public class AuditoriaAssincrona {
+
+    /**
+     * Comportamento ao registrar um evento com a fila cheia.
+     */
+    public enum PoliticaFilaCheia { DESCARTAR, BLOQUEAR }
+
+    /**
+     * Contadores da fila de auditoria.
+     */
+    public record Estatisticas(
+            int pendentes,
+            int capacidade,
+            PoliticaFilaCheia politica,
+            long enfileirados,
+            long descartados,
+            long gravados,
+            long lotes,
+            long falhasGravacao
+    ) {}
+
+    private static final int TAMANHO_LOTE = 512;
+    private static final long ESPERA_OCIOSA_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long ESPERA_BLOQUEIO_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final JsonMapper jsonMapper;
+    private final FilaCircular<EventoAuditoria> fila;
+    private final Path diretorio;
+    private final PoliticaFilaCheia politica;
+    private final long bloqueioMaximoNanos;
+    private final int retencaoDias;
+    private final ZoneId zona = ZoneId.systemDefault();
+
+    private final LongAdder enfileirados = new LongAdder();
+    private final LongAdder descartados = new LongAdder();
+    private final LongAdder gravados = new LongAdder();
+    private final LongAdder lotes = new LongAdder();
+    private final LongAdder falhasGravacao = new LongAdder();
+
+    private volatile Thread gravador;
+    private volatile boolean ativo;
+    private volatile boolean ocioso;
+
+    // Estado acessado apenas pela thread de gravação
+    private final ByteBuffer entrada = ByteBuffer.allocate(FormatoAuditoria.TAMANHO_ENTRADA);
+    private OutputStream dados;
+    private OutputStream indice;
+    private long posicao;
+    private LocalDate diaAberto;
+    private long inicioDia;
+    private long fimDia;
+
+    public AuditoriaAssincrona(
+            JsonMapper jsonMapper,
+            @Value("${oficina.auditoria.diretorio:logs}") String diretorio,
+            @Value("${oficina.auditoria.capacidade:8192}") int capacidade,
+            @Value("${oficina.auditoria.politica:DESCARTAR}") PoliticaFilaCheia politica,
+            @Value("${oficina.auditoria.bloqueio-maximo-ms:100}") long bloqueioMaximoMs,
+            @Value("${oficina.auditoria.retencao-dias:30}") int retencaoDias) {
+        this.jsonMapper = jsonMapper;
+        this.fila = new FilaCircular<>(capacidade);
+        this.diretorio = Paths.get(diretorio);
+        this.politica = politica;
+        this.bloqueioMaximoNanos = TimeUnit.MILLISECONDS.toNanos(bloqueioMaximoMs);
+        this.retencaoDias = retencaoDias;
+    }
+
+    /**
+     * Inicia a thread de gravação.
+     */
+    @PostConstruct
+    public void iniciar() {
+        if (gravador != null) {
+            return;
+        }
+
+        ativo = true;
+        gravador = Thread.ofPlatform()
+                .name("auditoria-gravacao")
+                .daemon(true)
+                .start(this::executar);
+    }
+
+    /**
+     * Interrompe a thread de gravação após gravar os eventos pendentes.
+     */
+    @PreDestroy
+    public void encerrar() {
+        Thread thread = gravador;
+        if (thread == null) {
+            return;
+        }
+
+        ativo = false;
+        LockSupport.unpark(thread);
+
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        gravador = null;
+    }
+
+    /**
+     * Enfileira um evento para gravação, sem realizar I/O na thread chamadora.
+     *
+     * @param evento evento a registrar
+     * @return {@code false} se o evento foi descartado por falta de espaço
+     */
+    public boolean registrar(EventoAuditoria evento) {
+        boolean aceito = fila.oferecer(evento);
+
+        if (!aceito && politica == PoliticaFilaCheia.BLOQUEAR && ativo) {
+            aceito = aguardarEspaco(evento);
+        }
+
+        if (!aceito) {
+            descartados.increment();
+            return false;
+        }
+
+        enfileirados.increment();
+
+        if (ocioso) {
+            LockSupport.unpark(gravador);
+        }
+        return true;
+    }
+
+    public Estatisticas estatisticas() {
+        return new Estatisticas(
+                fila.tamanho(),
+                fila.capacidade(),
+                politica,
+                enfileirados.sum(),
+                descartados.sum(),
+                gravados.sum(),
+                lotes.sum(),
+                falhasGravacao.sum()
+        );
+    }
+
+    private boolean aguardarEspaco(EventoAuditoria evento) {
+        long limite = System.nanoTime() + bloqueioMaximoNanos;
+
+        LockSupport.unpark(gravador);
+
+        do {
+            LockSupport.parkNanos(ESPERA_BLOQUEIO_NANOS);
+
+            if (fila.oferecer(evento)) {
+                return true;
+            }
+        } while (ativo && System.nanoTime() - limite < 0);
+
+        return false;
+    }
+
+    /**
+     * Laço da thread de gravação: drena lotes enquanto houver eventos e
+     * aguarda novos registros quando a fila esvazia.
+     */
+    private void executar() {
+        List<EventoAuditoria> lote = new ArrayList<>(TAMANHO_LOTE);
+
+        try {
+            while (true) {
+                lote.clear();
+
+                if (fila.drenar(lote, TAMANHO_LOTE) > 0) {
+                    gravar(lote);
+                    continue;
+                }
+
+                if (!ativo) {
+                    break;
+                }
+
+                ocioso = true;
+                // Confere de novo para não perder um registro feito antes da marcação
+                if (fila.tamanho() == 0) {
+                    LockSupport.parkNanos(this, ESPERA_OCIOSA_NANOS);
+                }
+                ocioso = false;
+            }
+        } finally {
+            fecharArquivos();
+        }
+    }
+
+    private void gravar(List<EventoAuditoria> lote) {
+        int gravadosNoLote = 0;
+        int naoSerializados = 0;
+
+        try {
+            for (EventoAuditoria evento : lote) {
+                byte[] linha;
+                try {
+                    linha = jsonMapper.writeValueAsBytes(evento);
+                } catch (RuntimeException e) {
+                    // Um evento que não serializa é descartado sem afetar o restante do lote
+                    falhasGravacao.increment();
+                    descartados.increment();
+                    naoSerializados++;
+                    System.err.println("Erro ao serializar evento de auditoria: " + e.getMessage());
+                    continue;
+                }
+
+                abrirArquivosDo(evento.instante());
+                FormatoAuditoria.preencherEntrada(entrada, evento, posicao);
+
+                dados.write(linha);
+                dados.write('\n');
+                indice.write(entrada.array(), 0, entrada.limit());
+                posicao += linha.length + 1;
+                gravadosNoLote++;
+            }
+
+            if (gravadosNoLote == 0) {
+                return;
+            }
+
+            // Dados antes do índice: uma entrada nunca aponta para uma linha não gravada
+            dados.flush();
+            indice.flush();
+            gravados.add(gravadosNoLote);
+            lotes.increment();
+
+        } catch (IOException | RuntimeException e) {
+            /*
+             * Falhas de gravação não devem interromper a aplicação nem a
+             * thread de gravação, que é única: se ela terminasse, todos os
+             * eventos seguintes seriam descartados com a fila cheia.
+             * Os arquivos são reabertos no próximo lote e o erro vai apenas
+             * para o console, evitando loops de logging.
+             */
+            falhasGravacao.increment();
+            descartados.add(lote.size() - naoSerializados);
+            fecharArquivos();
+            System.err.println("Erro ao gravar log de auditoria: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Garante abertos os arquivos do dia do instante informado.
+     *
+     * <p>
+     * Os limites do dia corrente ficam em memória, evitando converter o
+     * instante em data a cada evento.
+     */
+    private void abrirArquivosDo(long instante) throws IOException {
+        if (dados != null && instante >= inicioDia && instante < fimDia) {
+            return;
+        }
+
+        fecharArquivos();
+        Files.createDirectories(diretorio);
+
+        LocalDate dia = Instant.ofEpochMilli(instante).atZone(zona).toLocalDate();
+        Path arquivoDados = diretorio.resolve(FormatoAuditoria.arquivoDados(dia));
+        Path arquivoIndice = diretorio.resolve(FormatoAuditoria.arquivoIndice(dia));
+
+        posicao = Files.exists(arquivoDados) ? Files.size(arquivoDados) : 0;
+        descartarEntradaIncompleta(arquivoIndice);
+
+        dados = new BufferedOutputStream(Files.newOutputStream(arquivoDados,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), TAMANHO_BUFFER);
+        indice = new BufferedOutputStream(Files.newOutputStream(arquivoIndice,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), TAMANHO_BUFFER);
+
+        diaAberto = dia;
+        inicioDia = dia.atStartOfDay(zona).toInstant().toEpochMilli();
+        fimDia = dia.plusDays(1).atStartOfDay(zona).toInstant().toEpochMilli();
+
+        removerAntigos(dia);
+    }
+
+    /**
+     * Remove do fim do índice uma entrada gravada pela metade
+     * (ex.: queda da aplicação durante a gravação).
+     */
+    private void descartarEntradaIncompleta(Path arquivoIndice) throws IOException {
+        if (!Files.exists(arquivoIndice)) {
+            return;
+        }
+
+        try (FileChannel canal = FileChannel.open(arquivoIndice, StandardOpenOption.WRITE)) {
+            long tamanho = canal.size();
+            long resto = tamanho % FormatoAuditoria.TAMANHO_ENTRADA;
+
+            if (resto != 0) {
+                canal.truncate(tamanho - resto);
+            }
+        }
+    }
+
+    private void fecharArquivos() {
+        fechar(dados);
+        fechar(indice);
+
+        if (diaAberto != null) {
+            indexar(diaAberto);
+        }
+
+        dados = null;
+        indice = null;
+        diaAberto = null;
+        inicioDia = 0;
+        fimDia = 0;
+    }
+
+    /**
+     * Gera os índices ordenados do dia. Em caso de falha, a consulta recorre
+     * ao índice em ordem de gravação.
+     */
+    private void indexar(LocalDate dia) {
+        try {
+            FormatoAuditoria.indexar(diretorio, dia);
+        } catch (IOException e) {
+            System.err.println("Erro ao indexar log de auditoria: " + e.getMessage());
+        }
+    }
+
+    private void fechar(OutputStream arquivo) {
+        if (arquivo == null) {
+            return;
+        }
+
+        try {
+            arquivo.close();
+        } catch (IOException e) {
+            System.err.println("Erro ao fechar log de auditoria: " + e.getMessage());
+        }
+    }
+
+    private void removerAntigos(LocalDate hoje) {
+        LocalDate limite = hoje.minusDays(retencaoDias);
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(diretorio, "audit-*")) {
+            for (Path file : stream) {
+                // Arquivos fora do padrão são ignorados
+                LocalDate dia = FormatoAuditoria.diaDoArquivo(file.getFileName().toString());
+
+                if (dia != null && dia.isBefore(limite)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao limpar logs de auditoria antigos: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package br.com.ralfdomingues.oficina.infra.logging;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.function.Consumer;
+
+import static br.com.ralfdomingues.oficina.infra.logging.FormatoAuditoria.CAMPO_URI;
+import static br.com.ralfdomingues.oficina.infra.logging.FormatoAuditoria.CAMPO_USUARIO;
+import static br.com.ralfdomingues.oficina.infra.logging.FormatoAuditoria.TAMANHO_CABECALHO;
+import static br.com.ralfdomingues.oficina.infra.logging.FormatoAuditoria.TAMANHO_ENTRADA;
+
+/**
+ * Consulta offline do log de auditoria gravado pela {@link AuditoriaAssincrona}.
+ *
+ * <p>
+ * Para cada dia do período, com os arquivos mapeados em memória:
+ * <ul>
+ *   <li>com filtro por usuário (ou, sem ele, por URI), localiza por busca
+ *   binária as entradas do valor no índice ordenado por esse campo e lê do
+ *   arquivo de dados apenas as linhas delas que estão no período</li>
+ *   <li>entradas gravadas depois da geração do índice ordenado (ou todas, em
+ *   consultas apenas por período ou sem índice ordenado) são conferidas no
+ *   índice em ordem de gravação, {@value FormatoAuditoria#TAMANHO_ENTRADA}
+ *   bytes por evento</li>
+ *   <li>linhas gravadas após a última entrada do índice são conferidas uma a uma</li>
+ * </ul>
+ * Os hashes do índice são confirmados pelos valores da linha, descartando colisões.
+ *
+ * <p>
+ * Pode ser executada sem subir a aplicação:
+ * <pre>
+ * java -cp oficina.jar -Dloader.main=br.com.ralfdomingues.oficina.infra.logging.ConsultaAuditoria \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher \
+ *      --usuario admin@oficina.com --de 2025-03-10T08:00 --ate 2025-03-10T18:00
+ * </pre>
+ *
+ * Opções: {@code --diretorio} (padrão {@code logs}), {@code --usuario},
+ * {@code --uri}, {@code --de} (padrão: início do dia), {@code --ate}
+ * (padrão: agora) e {@code --texto} (saída no formato legível em vez de JSON).
+ */
+public final class ConsultaAuditoria {
+
+    /**
+     * Critérios da consulta. Usuário e URI são comparados por igualdade;
+     * valores nulos não filtram.
+     *
+     * @param usuario usuário do evento
+     * @param uri URI do evento
+     * @param de início do período (inclusivo)
+     * @param ate fim do período (exclusivo)
+     */
+    public record Filtro(String usuario, String uri, LocalDateTime de, LocalDateTime ate) {
+
+        public Filtro {
+            if (de == null || ate == null) {
+                throw new IllegalArgumentException("Período é obrigatório.");
+            }
+            if (ate.isBefore(de)) {
+                throw new IllegalArgumentException("Data final não pode ser anterior à data inicial.");
+            }
+        }
+    }
+
+    private static final DateTimeFormatter FORMATO_LINHA = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
+
+    private final JsonMapper jsonMapper;
+    private final Path diretorio;
+    private final ZoneId zona;
+
+    public ConsultaAuditoria(JsonMapper jsonMapper, Path diretorio, ZoneId zona) {
+        this.jsonMapper = jsonMapper;
+        this.diretorio = diretorio;
+        this.zona = zona;
+    }
+
+    /**
+     * Entrega ao destino, em ordem de gravação, os eventos que atendem ao filtro.
+     *
+     * @return quantidade de eventos encontrados
+     */
+    public long consultar(Filtro filtro, Consumer<EventoAuditoria> destino) throws IOException {
+        long de = filtro.de().atZone(zona).toInstant().toEpochMilli();
+        long ate = filtro.ate().atZone(zona).toInstant().toEpochMilli();
+        Criterio criterio = new Criterio(filtro, de, ate);
+
+        long encontrados = 0;
+
+        for (LocalDate dia = filtro.de().toLocalDate();
+             !dia.isAfter(filtro.ate().toLocalDate());
+             dia = dia.plusDays(1)) {
+            encontrados += consultarDia(dia, criterio, destino);
+        }
+
+        return encontrados;
+    }
+
+    /**
+     * Filtro com o período em milissegundos e os hashes usados no índice.
+     */
+    private record Criterio(Filtro filtro, long de, long ate, int hashUsuario, int hashUri) {
+
+        Criterio(Filtro filtro, long de, long ate) {
+            this(filtro, de, ate, FormatoAuditoria.hash(filtro.usuario()), FormatoAuditoria.hash(filtro.uri()));
+        }
+
+        /**
+         * Campo do índice ordenado usado na consulta, ou {@code -1} para
+         * consultas apenas por período.
+         */
+        int campoOrdenado() {
+            if (filtro.usuario() != null) {
+                return CAMPO_USUARIO;
+            }
+            return filtro.uri() != null ? CAMPO_URI : -1;
+        }
+
+        boolean aceita(long instante, int usuario, int uri) {
+            return instante >= de && instante < ate
+                    && (filtro.usuario() == null || usuario == hashUsuario)
+                    && (filtro.uri() == null || uri == hashUri);
+        }
+
+        boolean aceita(EventoAuditoria evento) {
+            return evento.instante() >= de && evento.instante() < ate
+                    && (filtro.usuario() == null || filtro.usuario().equals(evento.usuario()))
+                    && (filtro.uri() == null || filtro.uri().equals(evento.uri()));
+        }
+    }
+
+    private long consultarDia(LocalDate dia, Criterio criterio, Consumer<EventoAuditoria> destino)
+            throws IOException {
+
+        Path dados = diretorio.resolve(FormatoAuditoria.arquivoDados(dia));
+        MappedByteBuffer linhas = mapear(dados, 1);
+        if (linhas == null) {
+            return 0;
+        }
+
+        MappedByteBuffer indice = mapear(diretorio.resolve(FormatoAuditoria.arquivoIndice(dia)), TAMANHO_ENTRADA);
+        int entradas = indice == null ? 0 : indice.limit() / TAMANHO_ENTRADA;
+        int cobertas = 0;
+        long encontrados = 0;
+
+        int campo = criterio.campoOrdenado();
+        MappedByteBuffer ordenado = campo < 0 ? null
+                : mapear(diretorio.resolve(FormatoAuditoria.arquivoIndiceOrdenado(dia, campo)), TAMANHO_CABECALHO);
+
+        // Índice ordenado gerado a partir de um índice maior (ex.: truncado depois) é ignorado
+        if (ordenado != null && ordenado.getLong(0) <= entradas) {
+            cobertas = (int) ordenado.getLong(0);
+            int hash = campo == CAMPO_USUARIO ? criterio.hashUsuario() : criterio.hashUri();
+            int quantidade = (ordenado.limit() - TAMANHO_CABECALHO) / TAMANHO_ENTRADA;
+
+            for (int i = primeiraComHash(ordenado, quantidade, campo, hash); i < quantidade; i++) {
+                int base = TAMANHO_CABECALHO + i * TAMANHO_ENTRADA;
+                if (ordenado.getInt(base + campo) != hash) {
+                    break;
+                }
+                if (emitirEntrada(ordenado, base, linhas, criterio, destino)) {
+                    encontrados++;
+                }
+            }
+        }
+
+        // Entradas ainda não cobertas pelo índice ordenado
+        for (int i = cobertas; i < entradas; i++) {
+            if (emitirEntrada(indice, i * TAMANHO_ENTRADA, linhas, criterio, destino)) {
+                encontrados++;
+            }
+        }
+
+        // Linhas ainda sem entrada no índice
+        int posicao = inicioSemIndice(indice, entradas, linhas);
+        while (posicao < linhas.limit()) {
+            int fimLinha = fimDaLinha(linhas, posicao);
+            if (fimLinha < 0) {
+                break;
+            }
+            if (emitir(linhas, posicao, fimLinha, criterio, destino)) {
+                encontrados++;
+            }
+            posicao = fimLinha + 1;
+        }
+
+        return encontrados;
+    }
+
+    /**
+     * Mapeia o arquivo em memória, somente leitura.
+     *
+     * @return conteúdo do arquivo, ou {@code null} se ele não existir ou tiver menos que {@code minimo} bytes
+     */
+    private static MappedByteBuffer mapear(Path arquivo, int minimo) throws IOException {
+        if (!Files.exists(arquivo)) {
+            return null;
+        }
+
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho < minimo) {
+                return null;
+            }
+            if (tamanho > Integer.MAX_VALUE) {
+                throw new IOException("Arquivo de auditoria muito grande para mapear: " + arquivo);
+            }
+            return canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+        }
+    }
+
+    /**
+     * Busca binária da primeira entrada do índice ordenado com o hash informado.
+     */
+    private static int primeiraComHash(MappedByteBuffer ordenado, int quantidade, int campo, int hash) {
+        int inicio = 0;
+        int fim = quantidade;
+
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (ordenado.getInt(TAMANHO_CABECALHO + meio * TAMANHO_ENTRADA + campo) < hash) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+
+        return inicio;
+    }
+
+    /**
+     * Confere a entrada do índice na posição {@code base} e, se atender ao
+     * filtro, lê e emite a sua linha.
+     */
+    private boolean emitirEntrada(MappedByteBuffer indice, int base, MappedByteBuffer linhas,
+                                  Criterio criterio, Consumer<EventoAuditoria> destino) {
+        long inicioLinha = indice.getLong(base + 8);
+
+        // Índice à frente dos dados (gravação interrompida)
+        if (inicioLinha >= linhas.limit()
+                || !criterio.aceita(indice.getLong(base),
+                        indice.getInt(base + CAMPO_USUARIO), indice.getInt(base + CAMPO_URI))) {
+            return false;
+        }
+
+        int fimLinha = fimDaLinha(linhas, (int) inicioLinha);
+        return fimLinha >= 0 && emitir(linhas, (int) inicioLinha, fimLinha, criterio, destino);
+    }
+
+    /**
+     * Posição da primeira linha sem entrada no índice.
+     */
+    private static int inicioSemIndice(MappedByteBuffer indice, int entradas, MappedByteBuffer linhas) {
+        for (int i = entradas - 1; i >= 0; i--) {
+            long inicioLinha = indice.getLong(i * TAMANHO_ENTRADA + 8);
+
+            if (inicioLinha < linhas.limit()) {
+                int fimUltima = fimDaLinha(linhas, (int) inicioLinha);
+                return fimUltima < 0 ? linhas.limit() : fimUltima + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Posição da quebra de linha a partir de {@code inicio}, ou {@code -1}
+     * se a linha estiver incompleta.
+     */
+    private static int fimDaLinha(MappedByteBuffer linhas, int inicio) {
+        for (int i = inicio; i < linhas.limit(); i++) {
+            if (linhas.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Decodifica a linha e a entrega ao destino se atender ao filtro,
+     * descartando colisões de hash do índice.
+     */
+    private boolean emitir(MappedByteBuffer linhas, int inicio, int fim,
+                           Criterio criterio, Consumer<EventoAuditoria> destino) {
+        byte[] bytes = new byte[fim - inicio];
+        linhas.get(inicio, bytes);
+
+        EventoAuditoria evento;
+        try {
+            evento = jsonMapper.readValue(bytes, EventoAuditoria.class);
+        } catch (JacksonException e) {
+            // linha fora do formato
+            return false;
+        }
+
+        if (!criterio.aceita(evento)) {
+            return false;
+        }
+
+        destino.accept(evento);
+        return true;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path diretorio = Paths.get("logs");
+        String usuario = null;
+        String uri = null;
+        LocalDateTime de = LocalDate.now().atStartOfDay();
+        LocalDateTime ate = LocalDateTime.now();
+        boolean texto = false;
+        Filtro filtro;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--diretorio" -> diretorio = Paths.get(args[++i]);
+                    case "--usuario" -> usuario = args[++i];
+                    case "--uri" -> uri = args[++i];
+                    case "--de" -> de = LocalDateTime.parse(args[++i]);
+                    case "--ate" -> ate = LocalDateTime.parse(args[++i]);
+                    case "--texto" -> texto = true;
+                    default -> throw new IllegalArgumentException("Opção desconhecida: " + args[i]);
+                }
+            }
+            filtro = new Filtro(usuario, uri, de, ate);
+        } catch (ArrayIndexOutOfBoundsException | DateTimeParseException | IllegalArgumentException e) {
+            System.err.println("Uso: ConsultaAuditoria [--diretorio logs] [--usuario email] [--uri /caminho]"
+                    + " [--de 2025-03-10T08:00] [--ate 2025-03-10T18:00] [--texto]");
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        ZoneId zona = ZoneId.systemDefault();
+        PrintStream saida = System.out;
+        boolean legivel = texto;
+        // fora da aplicação: o formato dos registros não depende da configuração do mapper
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+
+        long encontrados = new ConsultaAuditoria(jsonMapper, diretorio, zona).consultar(
+                filtro,
+                evento -> saida.println(legivel
+                        ? FORMATO_LINHA.format(Instant.ofEpochMilli(evento.instante()).atZone(zona))
+                                + " | " + evento.formatar()
+                        : jsonMapper.writeValueAsString(evento))
+        );
+
+        System.err.println(encontrados + " evento(s) encontrado(s).");
+    }
+}
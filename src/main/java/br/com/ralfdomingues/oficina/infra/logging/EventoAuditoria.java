@@ -0,0 +1,61 @@
+package br.com.ralfdomingues.oficina.infra.logging;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Evento registrado no log de auditoria.
+ *
+ * <p>
+ * Criado na thread da requisição apenas com os dados brutos; a formatação
+ * da linha e da data fica a cargo da thread de gravação. Gravado em JSON
+ * sem os campos ausentes.
+ *
+ * @param instante momento do evento, em milissegundos desde a época
+ * @param tipo tipo do evento (ex.: {@code REQUISICAO}, {@code LOGIN_FALHA})
+ * @param usuario usuário associado, quando houver
+ * @param metodo método HTTP, quando houver
+ * @param uri URI da requisição, quando houver
+ * @param detalhe informações adicionais no formato {@code CHAVE=valor | ...}, quando houver
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EventoAuditoria(
+        long instante,
+        String tipo,
+        String usuario,
+        String metodo,
+        String uri,
+        String detalhe
+) {
+
+    /**
+     * Cria um evento com o instante atual.
+     */
+    public static EventoAuditoria agora(String tipo, String usuario, String metodo, String uri, String detalhe) {
+        return new EventoAuditoria(System.currentTimeMillis(), tipo, usuario, metodo, uri, detalhe);
+    }
+
+    /**
+     * Formata o evento no padrão do log de auditoria, omitindo os campos ausentes.
+     *
+     * <p>
+     * Exemplo: {@code REQUISICAO | USUARIO=admin@oficina.com | METODO=GET | URI=/clientes}
+     */
+    public String formatar() {
+        StringBuilder linha = new StringBuilder(96).append(tipo);
+
+        if (usuario != null) {
+            linha.append(" | USUARIO=").append(usuario);
+        }
+        if (metodo != null) {
+            linha.append(" | METODO=").append(metodo);
+        }
+        if (uri != null) {
+            linha.append(" | URI=").append(uri);
+        }
+        if (detalhe != null) {
+            linha.append(" | ").append(detalhe);
+        }
+
+        return linha.toString();
+    }
+}
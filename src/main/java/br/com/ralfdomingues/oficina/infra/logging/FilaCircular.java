@@ -0,0 +1,125 @@
+package br.com.ralfdomingues.oficina.infra.logging;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fila circular limitada, sem locks, com vários produtores e um único consumidor.
+ *
+ * <p>
+ * Cada posição do vetor guarda um número de sequência que indica se ela está
+ * livre para o produtor da volta atual ou já preenchida para o consumidor.
+ * Os produtores disputam a próxima posição apenas com um compare-and-set;
+ * o consumidor não disputa com ninguém.
+ *
+ * <p>
+ * A capacidade é arredondada para a próxima potência de dois.
+ *
+ * @param <E> tipo dos elementos
+ */
+final class FilaCircular<E> {
+
+    private final AtomicReferenceArray<E> elementos;
+    private final AtomicLongArray sequencias;
+    private final int capacidade;
+    private final int mascara;
+
+    /** Próxima posição a ser reservada pelos produtores. */
+    private final AtomicLong cauda = new AtomicLong();
+
+    /** Próxima posição a ser lida; escrita apenas pelo consumidor. */
+    private volatile long cabeca;
+
+    FilaCircular(int capacidadeMinima) {
+        if (capacidadeMinima < 1) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva.");
+        }
+
+        this.capacidade = capacidadeMinima == 1
+                ? 1
+                : Integer.highestOneBit(capacidadeMinima - 1) << 1;
+        this.mascara = capacidade - 1;
+        this.elementos = new AtomicReferenceArray<>(capacidade);
+        this.sequencias = new AtomicLongArray(capacidade);
+
+        for (int i = 0; i < capacidade; i++) {
+            sequencias.set(i, i);
+        }
+    }
+
+    /**
+     * Insere o elemento, se houver espaço.
+     *
+     * @param elemento elemento não nulo
+     * @return {@code false} se a fila estiver cheia
+     */
+    boolean oferecer(E elemento) {
+        long posicao = cauda.get();
+
+        for (;;) {
+            int indice = (int) (posicao & mascara);
+            long diferenca = sequencias.get(indice) - posicao;
+
+            if (diferenca == 0) {
+                if (cauda.compareAndSet(posicao, posicao + 1)) {
+                    elementos.lazySet(indice, elemento);
+                    // Publica o elemento para o consumidor
+                    sequencias.set(indice, posicao + 1);
+                    return true;
+                }
+                posicao = cauda.get();
+            } else if (diferenca < 0) {
+                // Posição ainda não consumida na volta anterior
+                return false;
+            } else {
+                // Outro produtor reservou a posição
+                posicao = cauda.get();
+            }
+        }
+    }
+
+    /**
+     * Move até {@code maximo} elementos, em ordem de inserção, para o destino.
+     *
+     * <p>
+     * Deve ser chamado sempre pela mesma thread.
+     *
+     * @return quantidade de elementos movidos
+     */
+    int drenar(Collection<? super E> destino, int maximo) {
+        long posicao = cabeca;
+        int movidos = 0;
+
+        while (movidos < maximo) {
+            int indice = (int) (posicao & mascara);
+
+            if (sequencias.get(indice) != posicao + 1) {
+                break;
+            }
+
+            destino.add(elementos.get(indice));
+            elementos.lazySet(indice, null);
+            // Libera a posição para a próxima volta dos produtores
+            sequencias.set(indice, posicao + capacidade);
+            posicao++;
+            movidos++;
+        }
+
+        cabeca = posicao;
+        return movidos;
+    }
+
+    /**
+     * Quantidade aproximada de elementos aguardando consumo.
+     */
+    int tamanho() {
+        long tamanho = cauda.get() - cabeca;
+        return (int) Math.max(0, Math.min(tamanho, capacidade));
+    }
+
+    int capacidade() {
+        return capacidade;
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.ralfdomingues.oficina.infra.logging;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+
+/**
+ * Formato em disco do log de auditoria.
+ *
+ * <p>
+ * Cada dia possui os arquivos:
+ * <ul>
+ *   <li>{@code audit-dd-MM-yyyy.jsonl}: um {@link EventoAuditoria} em JSON por
+ *   linha, com os campos {@code instante}, {@code tipo}, {@code usuario},
+ *   {@code metodo}, {@code uri} e {@code detalhe} (campos ausentes são omitidos)</li>
+ *   <li>{@code audit-dd-MM-yyyy.idx}: uma entrada binária de tamanho fixo por
+ *   registro, na ordem de gravação, com o instante, a posição da linha no
+ *   arquivo de dados e o hash do usuário e da URI</li>
+ *   <li>{@code audit-dd-MM-yyyy.usuario.idx} e {@code audit-dd-MM-yyyy.uri.idx}:
+ *   as mesmas entradas ordenadas pelo hash do usuário ou da URI, geradas ao
+ *   fechar os arquivos do dia (ver {@link #indexar(Path, LocalDate)})</li>
+ * </ul>
+ *
+ * <p>
+ * O índice em ordem de gravação atende consultas apenas por período, lendo
+ * {@value #TAMANHO_ENTRADA} bytes por evento sem interpretar as linhas. Os
+ * índices ordenados localizam por busca binária as entradas de um usuário ou
+ * URI, lendo apenas as dele.
+ */
+final class FormatoAuditoria {
+
+    /**
+     * Entrada do índice: instante (8), posição (8), hash do usuário (4) e hash da URI (4).
+     */
+    static final int TAMANHO_ENTRADA = 24;
+
+    /**
+     * Posição do hash do usuário e do hash da URI na entrada do índice.
+     */
+    static final int CAMPO_USUARIO = 16;
+    static final int CAMPO_URI = 20;
+
+    /**
+     * Cabeçalho dos índices ordenados: quantidade de entradas do índice em
+     * ordem de gravação que eles cobrem.
+     */
+    static final int TAMANHO_CABECALHO = 8;
+
+    static final String EXTENSAO_DADOS = ".jsonl";
+    static final String EXTENSAO_INDICE = ".idx";
+    static final String EXTENSAO_INDICE_USUARIO = ".usuario.idx";
+    static final String EXTENSAO_INDICE_URI = ".uri.idx";
+
+    private static final String PREFIXO = "audit-";
+    private static final DateTimeFormatter FORMATO_DIA = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    private FormatoAuditoria() {
+    }
+
+    static String arquivoDados(LocalDate dia) {
+        return PREFIXO + FORMATO_DIA.format(dia) + EXTENSAO_DADOS;
+    }
+
+    static String arquivoIndice(LocalDate dia) {
+        return PREFIXO + FORMATO_DIA.format(dia) + EXTENSAO_INDICE;
+    }
+
+    /**
+     * Índice ordenado pelo campo informado ({@link #CAMPO_USUARIO} ou {@link #CAMPO_URI}).
+     */
+    static String arquivoIndiceOrdenado(LocalDate dia, int campo) {
+        return PREFIXO + FORMATO_DIA.format(dia)
+                + (campo == CAMPO_USUARIO ? EXTENSAO_INDICE_USUARIO : EXTENSAO_INDICE_URI);
+    }
+
+    /**
+     * Extrai o dia do nome de um arquivo de auditoria.
+     *
+     * @return dia do arquivo, ou {@code null} se o nome estiver fora do padrão
+     */
+    static LocalDate diaDoArquivo(String nome) {
+        int ponto = nome.indexOf('.', PREFIXO.length());
+
+        if (!nome.startsWith(PREFIXO) || ponto < 0) {
+            return null;
+        }
+
+        try {
+            return LocalDate.parse(nome.substring(PREFIXO.length(), ponto), FORMATO_DIA);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Hash usado no índice; {@code 0} para valores ausentes.
+     */
+    static int hash(String valor) {
+        return valor == null ? 0 : valor.hashCode();
+    }
+
+    /**
+     * Preenche a entrada do índice de um evento gravado na posição informada.
+     */
+    static void preencherEntrada(ByteBuffer entrada, EventoAuditoria evento, long posicao) {
+        entrada.clear();
+        entrada.putLong(evento.instante())
+                .putLong(posicao)
+                .putInt(hash(evento.usuario()))
+                .putInt(hash(evento.uri()));
+        entrada.flip();
+    }
+
+    /**
+     * Gera os índices ordenados por usuário e por URI a partir do índice em
+     * ordem de gravação do dia.
+     *
+     * <p>
+     * A ordenação é estável: as entradas de um mesmo hash permanecem na ordem
+     * de gravação. Cada índice é gravado em um arquivo temporário e movido
+     * sobre o anterior, de modo que uma consulta em andamento nunca lê um
+     * índice incompleto.
+     */
+    static void indexar(Path diretorio, LocalDate dia) throws IOException {
+        Path indice = diretorio.resolve(arquivoIndice(dia));
+        if (!Files.exists(indice)) {
+            return;
+        }
+
+        ByteBuffer entradas = ByteBuffer.wrap(Files.readAllBytes(indice));
+        int quantidade = entradas.capacity() / TAMANHO_ENTRADA;
+
+        for (int campo : new int[]{CAMPO_USUARIO, CAMPO_URI}) {
+            // hash na parte alta e posição no índice na parte baixa: ordena por hash, estável
+            long[] chaves = new long[quantidade];
+            for (int i = 0; i < quantidade; i++) {
+                chaves[i] = ((long) entradas.getInt(i * TAMANHO_ENTRADA + campo) << 32) | i;
+            }
+            Arrays.sort(chaves);
+
+            Path destino = diretorio.resolve(arquivoIndiceOrdenado(dia, campo));
+            Path temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+
+            try (OutputStream saida = Files.newOutputStream(temporario)) {
+                saida.write(ByteBuffer.allocate(TAMANHO_CABECALHO).putLong(quantidade).array());
+                for (long chave : chaves) {
+                    saida.write(entradas.array(), (int) chave * TAMANHO_ENTRADA, TAMANHO_ENTRADA);
+                }
+            }
+
+            Files.move(temporario, destino,
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+}
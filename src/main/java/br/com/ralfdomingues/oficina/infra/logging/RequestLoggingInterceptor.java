@@ -2,11 +2,8 @@ package br.com.ralfdomingues.oficina.infra.logging;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
-import java.time.LocalDateTime;
 
 /**
  * Interceptor responsável pelo registro de requisições HTTP.
@@ -17,13 +14,17 @@ import java.time.LocalDateTime;
  *
  * <p>
  * Não interfere no fluxo da requisição nem altera o comportamento
- * da aplicação.
+ * da aplicação. O evento é apenas enfileirado na {@link AuditoriaAssincrona};
+ * a formatação e a gravação em arquivo ocorrem fora da thread da requisição.
  */
 @Component
 public class RequestLoggingInterceptor implements HandlerInterceptor {
 
-    private static final Logger logger =
-            LoggerFactory.getLogger("API_LOGGER");
+    private final AuditoriaAssincrona auditoria;
+
+    public RequestLoggingInterceptor(AuditoriaAssincrona auditoria) {
+        this.auditoria = auditoria;
+    }
 
     /**
      * Registra informações da requisição antes do processamento.
@@ -43,13 +44,13 @@ public class RequestLoggingInterceptor implements HandlerInterceptor {
                 ? request.getUserPrincipal().getName()
                 : "ANONIMO";
 
-        logger.info(
-                "USUARIO={} | METODO={} | URI={} | DATA={}",
+        auditoria.registrar(EventoAuditoria.agora(
+                "REQUISICAO",
                 usuario,
                 request.getMethod(),
                 request.getRequestURI(),
-                LocalDateTime.now()
-        );
+                null
+        ));
 
         return true;
     }
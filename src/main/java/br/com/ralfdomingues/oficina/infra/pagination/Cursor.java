@@ -0,0 +1,111 @@
+package br.com.ralfdomingues.oficina.infra.pagination;
+
+import br.com.ralfdomingues.oficina.exception.BusinessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Codificação dos cursores usados na paginação por keyset.
+ *
+ * <p>
+ * O cursor é opaco para o cliente (Base64 URL-safe) e carrega apenas
+ * a chave de ordenação do último registro entregue:
+ * <ul>
+ *   <li>{@code id} para listagens ordenadas por identificador</li>
+ *   <li>{@code (dataAbertura, id)} para as ordens de serviço</li>
+ * </ul>
+ */
+public final class Cursor {
+
+    /**
+     * Tamanho máximo de página aceito nas listagens por cursor.
+     */
+    public static final int TAMANHO_MAXIMO = 100;
+
+    private Cursor() {
+    }
+
+    /**
+     * Chave de posição das ordens de serviço: data de abertura e id.
+     */
+    public record PosicaoTemporal(LocalDateTime data, Long id) {}
+
+    /**
+     * Retorna a paginação da consulta, limitando o tamanho solicitado.
+     *
+     * <p>
+     * A ordenação é definida na própria consulta, e o offset é sempre zero.
+     */
+    public static Pageable limite(int tamanho) {
+        return PageRequest.of(0, Math.max(1, Math.min(tamanho, TAMANHO_MAXIMO)));
+    }
+
+    public static String codificar(Long id) {
+        return base64(String.valueOf(id));
+    }
+
+    public static String codificar(LocalDateTime data, Long id) {
+        return base64(data + "|" + id);
+    }
+
+    /**
+     * Decodifica um cursor de id. Sem cursor, retorna 0 (antes do primeiro id).
+     *
+     * @throws BusinessException caso o cursor seja inválido
+     */
+    public static long decodificarId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+
+        try {
+            return Long.parseLong(texto(cursor));
+        } catch (NumberFormatException ex) {
+            throw invalido();
+        }
+    }
+
+    /**
+     * Decodifica um cursor de data e id. Sem cursor, retorna {@code null}.
+     *
+     * @throws BusinessException caso o cursor seja inválido
+     */
+    public static PosicaoTemporal decodificarTemporal(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        String[] partes = texto(cursor).split("\\|");
+        if (partes.length != 2) {
+            throw invalido();
+        }
+
+        try {
+            return new PosicaoTemporal(LocalDateTime.parse(partes[0]), Long.parseLong(partes[1]));
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw invalido();
+        }
+    }
+
+    private static String base64(String valor) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String texto(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw invalido();
+        }
+    }
+
+    private static BusinessException invalido() {
+        return new BusinessException("Cursor de paginação inválido.");
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.ralfdomingues.oficina.infra.pagination;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de uma listagem por cursor (keyset).
+ *
+ * <p>
+ * Diferente de {@link org.springframework.data.domain.Page}, não informa o
+ * total de registros: a próxima página é obtida enviando
+ * {@code proximoCursor} no parâmetro {@code after}. O custo de cada página
+ * independe da sua posição na listagem.
+ *
+ * @param conteudo      registros da página
+ * @param tamanho       tamanho solicitado
+ * @param temProxima    indica se existem mais registros
+ * @param proximoCursor cursor opaco para a próxima página ({@code null} na última)
+ */
+public record CursorPageDTO<T>(
+        List<T> conteudo,
+        int tamanho,
+        boolean temProxima,
+        String proximoCursor
+) {
+
+    /**
+     * Cria a página a partir de um {@link Slice}, gerando o cursor
+     * a partir do último registro.
+     *
+     * @param slice  resultado da consulta
+     * @param cursor função que gera o cursor de um registro
+     */
+    public static <T> CursorPageDTO<T> de(Slice<T> slice, Function<T, String> cursor) {
+        List<T> conteudo = slice.getContent();
+        String proximo = slice.hasNext() && !conteudo.isEmpty()
+                ? cursor.apply(conteudo.get(conteudo.size() - 1))
+                : null;
+
+        return new CursorPageDTO<>(conteudo, slice.getSize(), slice.hasNext(), proximo);
+    }
+
+    /**
+     * Converte o conteúdo da página, preservando o cursor.
+     */
+    public <R> CursorPageDTO<R> map(Function<T, R> conversor) {
+        return new CursorPageDTO<>(conteudo.stream().map(conversor).toList(),
+                tamanho, temProxima, proximoCursor);
+    }
+}
@@ -0,0 +1,253 @@
+package br.com.ralfdomingues.oficina.infra.persistencia;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Decide se as transações somente leitura podem ser atendidas pela réplica
+ * de leitura, garantindo que cada usuário leia as próprias escritas.
+ *
+ * <p>
+ * A réplica aplica as alterações do primário com algum atraso. Por isso:
+ * <ul>
+ *   <li>após confirmar uma transação de escrita, o usuário autenticado lê do
+ *   primário durante a janela configurada, estendida pelo atraso atual da
+ *   réplica</li>
+ *   <li>com a réplica atrasada além do limite, indisponível ou ainda não
+ *   verificada pelo {@link MonitorReplica}, todas as leituras vão para o
+ *   primário</li>
+ *   <li>uma operação que abre várias transações, em threads diferentes, pode
+ *   fixar o destino para que todas usem o mesmo banco (ex.: snapshot do
+ *   dashboard)</li>
+ * </ul>
+ *
+ * <p>
+ * As escritas são registradas como {@link TransactionExecutionListener},
+ * associado pelo Spring Boot ao gerenciador de transações. Sem réplica
+ * configurada, todas as leituras vão para o primário.
+ */
+@Component
+public class ConsistenciaLeitura implements TransactionExecutionListener {
+
+    /**
+     * Estado da réplica e contadores do roteamento das leituras.
+     */
+    public record Estatisticas(
+            boolean replicaConfigurada,
+            boolean replicaDisponivel,
+            long atrasoMs,
+            long leiturasReplica,
+            long leiturasPrimario,
+            long leiturasAposEscrita,
+            int usuariosComEscritaRecente
+    ) {}
+
+    private static final long INDISPONIVEL = -1;
+    private static final int LIMPEZA_A_PARTIR_DE = 10_000;
+
+    private final ThreadLocal<DestinoConexao> destinoFixado = new ThreadLocal<>();
+    private final Map<String, Long> ultimasEscritas = new ConcurrentHashMap<>();
+
+    private final LongAdder leiturasReplica = new LongAdder();
+    private final LongAdder leiturasPrimario = new LongAdder();
+    private final LongAdder leiturasAposEscrita = new LongAdder();
+
+    private final boolean replicaConfigurada;
+    private final long janelaNanos;
+    private final long atrasoMaximoMs;
+
+    /**
+     * Atraso da réplica na última verificação, em milissegundos,
+     * ou {@link #INDISPONIVEL} se ainda não verificada ou inacessível.
+     */
+    private volatile long atrasoMs = INDISPONIVEL;
+
+    public ConsistenciaLeitura(
+            @Value("${oficina.datasource.replica.url:}") String replicaUrl,
+            @Value("${oficina.datasource.replica.janela-leitura-propria-ms:1000}") long janelaMs,
+            @Value("${oficina.datasource.replica.atraso-maximo-ms:5000}") long atrasoMaximoMs) {
+        this.replicaConfigurada = replicaUrl != null && !replicaUrl.isBlank();
+        this.janelaNanos = TimeUnit.MILLISECONDS.toNanos(janelaMs);
+        this.atrasoMaximoMs = atrasoMaximoMs;
+    }
+
+    /**
+     * Destino de uma leitura iniciada agora pela thread atual, sem contabilizá-la.
+     */
+    public DestinoConexao destinoLeitura() {
+        return decidir(false);
+    }
+
+    /**
+     * Destino da conexão de uma transação somente leitura, contabilizado
+     * nas estatísticas. Utilizado pelo {@link RoteamentoDataSource}.
+     */
+    DestinoConexao rotearLeitura() {
+        return decidir(true);
+    }
+
+    /**
+     * Executa a operação com as leituras da thread atual fixadas no destino
+     * informado, independentemente do usuário e do estado da réplica.
+     *
+     * @param destino banco das transações somente leitura da operação
+     * @param operacao operação a executar
+     * @return resultado da operação
+     */
+    public <T> T executarEm(DestinoConexao destino, Supplier<T> operacao) {
+        DestinoConexao anterior = destinoFixado.get();
+        destinoFixado.set(destino);
+        try {
+            return operacao.get();
+        } finally {
+            if (anterior == null) {
+                destinoFixado.remove();
+            } else {
+                destinoFixado.set(anterior);
+            }
+        }
+    }
+
+    /**
+     * Registra a escrita do usuário autenticado ao fim de cada transação
+     * de escrita confirmada.
+     */
+    @Override
+    public void afterCommit(TransactionExecution transacao, Throwable falha) {
+        if (!replicaConfigurada || falha != null || transacao.isReadOnly() || !transacao.isNewTransaction()) {
+            return;
+        }
+
+        String usuario = usuarioAtual();
+        if (usuario != null) {
+            registrarEscrita(usuario);
+        }
+    }
+
+    /**
+     * Registra uma escrita do usuário: suas leituras vão para o primário
+     * até que a réplica a tenha aplicado.
+     */
+    public void registrarEscrita(String usuario) {
+        ultimasEscritas.put(usuario, System.nanoTime());
+
+        if (ultimasEscritas.size() > LIMPEZA_A_PARTIR_DE) {
+            long janela = janelaAtual();
+            long agora = System.nanoTime();
+            ultimasEscritas.values().removeIf(escrita -> agora - escrita >= janela);
+        }
+    }
+
+    /**
+     * Registra o atraso medido da réplica.
+     */
+    public void registrarAtraso(long atrasoMs) {
+        this.atrasoMs = Math.max(0, atrasoMs);
+    }
+
+    /**
+     * Registra que a réplica não pôde ser consultada: as leituras vão para o
+     * primário até a próxima verificação bem-sucedida.
+     */
+    public void registrarReplicaIndisponivel() {
+        this.atrasoMs = INDISPONIVEL;
+    }
+
+    /**
+     * Indica se a réplica está configurada, acessível e dentro do atraso máximo.
+     */
+    public boolean replicaDisponivel() {
+        long atraso = atrasoMs;
+        return replicaConfigurada && atraso != INDISPONIVEL && atraso <= atrasoMaximoMs;
+    }
+
+    /**
+     * Retorna o estado da réplica e os contadores do roteamento.
+     */
+    public Estatisticas estatisticas() {
+        return new Estatisticas(
+                replicaConfigurada,
+                replicaDisponivel(),
+                atrasoMs,
+                leiturasReplica.sum(),
+                leiturasPrimario.sum(),
+                leiturasAposEscrita.sum(),
+                ultimasEscritas.size()
+        );
+    }
+
+    private DestinoConexao decidir(boolean contabilizar) {
+        DestinoConexao fixado = destinoFixado.get();
+        DestinoConexao destino;
+        boolean aposEscrita = false;
+
+        if (fixado != null) {
+            destino = fixado;
+        } else if (!replicaDisponivel()) {
+            destino = DestinoConexao.PRIMARIO;
+        } else if (escreveuRecentemente(usuarioAtual())) {
+            destino = DestinoConexao.PRIMARIO;
+            aposEscrita = true;
+        } else {
+            destino = DestinoConexao.REPLICA;
+        }
+
+        if (contabilizar) {
+            (destino == DestinoConexao.REPLICA ? leiturasReplica : leiturasPrimario).increment();
+            if (aposEscrita) {
+                leiturasAposEscrita.increment();
+            }
+        }
+
+        return destino;
+    }
+
+    private boolean escreveuRecentemente(String usuario) {
+        if (usuario == null) {
+            return false;
+        }
+
+        Long escrita = ultimasEscritas.get(usuario);
+        if (escrita == null) {
+            return false;
+        }
+
+        if (System.nanoTime() - escrita < janelaAtual()) {
+            return true;
+        }
+
+        ultimasEscritas.remove(usuario, escrita);
+        return false;
+    }
+
+    /**
+     * Janela de leitura das próprias escritas: a configurada, estendida
+     * pelo atraso atual da réplica.
+     */
+    private long janelaAtual() {
+        return Math.max(janelaNanos, TimeUnit.MILLISECONDS.toNanos(atrasoMs));
+    }
+
+    private static String usuarioAtual() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+
+        if (autenticacao == null
+                || !autenticacao.isAuthenticated()
+                || autenticacao instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+
+        return autenticacao.getName();
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.ralfdomingues.oficina.infra.persistencia;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate durante as invocações
+ * de repositório monitoradas pelo {@link MonitorRepositorios}.
+ *
+ * <p>
+ * Registrado em {@code hibernate.session_factory.statement_inspector}
+ * ({@code application.yml}); não altera o SQL.
+ *
+ * <p>
+ * O inspetor é chamado quando o Hibernate prepara o comando, e não a cada
+ * execução: um INSERT em lote ({@code hibernate.jdbc.batch_size}) conta uma
+ * vez, qualquer que seja o tamanho do lote, e os comandos preparados no flush
+ * do commit, fora de uma invocação de repositório, não são contados.
+ */
+public class ContadorComandosSql implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        MedicaoRepositorio.registrarComando(sql);
+        return sql;
+    }
+}
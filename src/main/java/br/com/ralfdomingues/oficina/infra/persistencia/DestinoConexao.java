@@ -0,0 +1,10 @@
+package br.com.ralfdomingues.oficina.infra.persistencia;
+
+/**
+ * Banco que atende uma conexão: o primário (leitura e escrita) ou a
+ * réplica de leitura.
+ */
+public enum DestinoConexao {
+    PRIMARIO,
+    REPLICA
+}
@@ -0,0 +1,72 @@
+package br.com.ralfdomingues.oficina.infra.persistencia;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Comandos SQL emitidos durante a invocação de repositório em andamento
+ * na thread atual.
+ *
+ * <p>
+ * Invocações aninhadas (ex.: método default que chama outro repositório)
+ * têm medição própria, somada à da invocação externa ao final.
+ */
+final class MedicaoRepositorio {
+
+    /** Quantidade máxima de SQLs distintos guardados para o log de consultas lentas. */
+    private static final int MAXIMO_SQL = 5;
+
+    private static final ThreadLocal<MedicaoRepositorio> ATUAL = new ThreadLocal<>();
+
+    private final MedicaoRepositorio anterior;
+    private final List<String> sqls = new ArrayList<>(2);
+    private int comandos;
+
+    private MedicaoRepositorio(MedicaoRepositorio anterior) {
+        this.anterior = anterior;
+    }
+
+    /**
+     * Inicia a medição de uma invocação na thread atual.
+     */
+    static MedicaoRepositorio iniciar() {
+        MedicaoRepositorio medicao = new MedicaoRepositorio(ATUAL.get());
+        ATUAL.set(medicao);
+        return medicao;
+    }
+
+    /**
+     * Registra um comando preparado pelo Hibernate, se houver medição em andamento.
+     */
+    static void registrarComando(String sql) {
+        MedicaoRepositorio medicao = ATUAL.get();
+
+        if (medicao != null) {
+            medicao.comandos++;
+            if (medicao.sqls.size() < MAXIMO_SQL && !medicao.sqls.contains(sql)) {
+                medicao.sqls.add(sql);
+            }
+        }
+    }
+
+    /**
+     * Encerra a medição, devolvendo a thread à medição externa (se houver).
+     */
+    void encerrar() {
+        if (anterior == null) {
+            ATUAL.remove();
+            return;
+        }
+
+        ATUAL.set(anterior);
+        anterior.comandos += comandos;
+    }
+
+    int comandos() {
+        return comandos;
+    }
+
+    List<String> sqls() {
+        return sqls;
+    }
+}
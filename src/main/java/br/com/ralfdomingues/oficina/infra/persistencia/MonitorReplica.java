@@ -0,0 +1,55 @@
+package br.com.ralfdomingues.oficina.infra.persistencia;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Verificação periódica do atraso da réplica de leitura.
+ *
+ * <p>
+ * O atraso é o tempo desde a última transação aplicada pela réplica, ou zero
+ * quando ela já aplicou tudo o que recebeu do primário (ou não está em
+ * recuperação). Uma réplica inacessível tira as leituras dela até a próxima
+ * verificação bem-sucedida.
+ */
+public class MonitorReplica {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorReplica.class);
+
+    private static final String ATRASO = """
+            SELECT (CASE
+                        WHEN NOT pg_is_in_recovery() THEN 0
+                        WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                    END)::bigint
+            """;
+
+    private final JdbcTemplate replica;
+    private final ConsistenciaLeitura consistencia;
+
+    public MonitorReplica(DataSource replica, ConsistenciaLeitura consistencia) {
+        this.replica = new JdbcTemplate(replica);
+        this.consistencia = consistencia;
+    }
+
+    /**
+     * Mede o atraso da réplica e o repassa à {@link ConsistenciaLeitura}.
+     */
+    @Scheduled(fixedDelayString = "${oficina.datasource.replica.verificacao-ms:1000}")
+    public void verificar() {
+        try {
+            Long atraso = replica.queryForObject(ATRASO, Long.class);
+            consistencia.registrarAtraso(atraso == null ? 0 : atraso);
+        } catch (DataAccessException e) {
+            if (consistencia.replicaDisponivel()) {
+                log.warn("Réplica de leitura inacessível; leituras direcionadas ao primário.", e);
+            }
+            consistencia.registrarReplicaIndisponivel();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package br.com.ralfdomingues.oficina.infra.persistencia;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Instrumentação das invocações dos repositórios Spring Data.
+ *
+ * <p>
+ * Para cada método de repositório registra:
+ * <ul>
+ *   <li>{@code repositorio.invocacoes}: duração, por repositório, método e resultado</li>
+ *   <li>{@code repositorio.linhas}: linhas retornadas (ou afetadas, em {@link Modifying})</li>
+ *   <li>{@code repositorio.comandos}: comandos SQL emitidos, contados pelo {@link ContadorComandosSql}</li>
+ * </ul>
+ *
+ * <p>
+ * Invocações acima do limite configurado são registradas no log de consultas
+ * lentas ({@code SLOW_QUERY_LOGGER}) com o SQL emitido e apenas o tipo de cada
+ * parâmetro: os valores nunca são gravados.
+ *
+ * <p>
+ * Cada timer publica apenas alguns limites de latência (10, 50 e 250 ms e o
+ * limite de consulta lenta), suficientes para contar invocações acima de
+ * cada faixa. O histograma completo de percentis, com dezenas de séries por
+ * repositório, método e resultado, só é publicado quando habilitado.
+ *
+ * <p>
+ * Métodos que retornam {@code Stream} têm medida apenas a abertura do cursor;
+ * as linhas não são contadas.
+ *
+ * <p>
+ * A contagem de comandos cobre apenas o SQL preparado durante a invocação.
+ * INSERTs e UPDATEs de entidades salvas com {@code save} normalmente só são
+ * emitidos no flush do commit, fora de qualquer invocação, e não entram na
+ * contagem; e um comando executado em lote é contado uma vez, não uma vez
+ * por linha do lote.
+ */
+public class MonitorRepositorios {
+
+    private static final Logger slowQueryLogger = LoggerFactory.getLogger("SLOW_QUERY_LOGGER");
+
+    private static final List<Duration> FAIXAS_LATENCIA =
+            List.of(Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofMillis(250));
+
+    private record Medidores(Timer sucesso, Timer erro, DistributionSummary linhas, DistributionSummary comandos) {}
+
+    private final Supplier<MeterRegistry> registro;
+    private final long limiteNanos;
+    private final boolean histogramaPercentis;
+    private final Duration[] faixas;
+
+    private volatile MeterRegistry meterRegistry;
+
+    /**
+     * @param registro fornecedor do registro de métricas, resolvido no primeiro uso
+     * @param limite duração a partir da qual a invocação vai para o log de consultas lentas
+     * @param histogramaPercentis publica o histograma completo de percentis nos timers
+     */
+    public MonitorRepositorios(Supplier<MeterRegistry> registro, Duration limite, boolean histogramaPercentis) {
+        this.registro = registro;
+        this.limiteNanos = limite.toNanos();
+        this.histogramaPercentis = histogramaPercentis;
+        this.faixas = Stream.concat(FAIXAS_LATENCIA.stream(), Stream.of(limite))
+                .distinct()
+                .sorted()
+                .toArray(Duration[]::new);
+    }
+
+    /**
+     * Cria o interceptador aplicado ao proxy de um repositório.
+     *
+     * @param repositorio interface do repositório
+     */
+    public MethodInterceptor interceptador(Class<?> repositorio) {
+        String nome = repositorio.getSimpleName();
+        Map<Method, Medidores> medidores = new ConcurrentHashMap<>();
+
+        return invocacao -> {
+            Method metodo = invocacao.getMethod();
+
+            if (metodo.getDeclaringClass() == Object.class) {
+                return invocacao.proceed();
+            }
+
+            MedicaoRepositorio medicao = MedicaoRepositorio.iniciar();
+            long inicio = System.nanoTime();
+            Object resultado = null;
+            boolean sucesso = false;
+
+            try {
+                resultado = invocacao.proceed();
+                sucesso = true;
+                return resultado;
+            } finally {
+                long duracao = System.nanoTime() - inicio;
+                medicao.encerrar();
+
+                Medidores m = medidores.computeIfAbsent(metodo, chave -> medidores(nome, chave.getName()));
+                long linhas = linhas(metodo, resultado);
+
+                (sucesso ? m.sucesso() : m.erro()).record(duracao, TimeUnit.NANOSECONDS);
+                m.comandos().record(medicao.comandos());
+                if (sucesso && linhas >= 0) {
+                    m.linhas().record(linhas);
+                }
+
+                if (duracao >= limiteNanos) {
+                    slowQueryLogger.warn(
+                            "CONSULTA_LENTA | REPOSITORIO={}.{} | DURACAO_MS={} | RESULTADO={} | LINHAS={}"
+                                    + " | COMANDOS={} | PARAMETROS={} | SQL={}",
+                            nome,
+                            metodo.getName(),
+                            Duration.ofNanos(duracao).toMillis(),
+                            sucesso ? "SUCESSO" : "ERRO",
+                            linhas,
+                            medicao.comandos(),
+                            descreverParametros(invocacao.getArguments()),
+                            String.join(" ; ", medicao.sqls())
+                    );
+                }
+            }
+        };
+    }
+
+    private Medidores medidores(String repositorio, String metodo) {
+        MeterRegistry registry = meterRegistry();
+
+        return new Medidores(
+                timer(registry, repositorio, metodo, "SUCESSO"),
+                timer(registry, repositorio, metodo, "ERRO"),
+                DistributionSummary.builder("repositorio.linhas")
+                        .description("Linhas retornadas ou afetadas por invocação de repositório")
+                        .tags("repositorio", repositorio, "metodo", metodo)
+                        .register(registry),
+                DistributionSummary.builder("repositorio.comandos")
+                        .description("Comandos SQL emitidos por invocação de repositório")
+                        .tags("repositorio", repositorio, "metodo", metodo)
+                        .register(registry)
+        );
+    }
+
+    private Timer timer(MeterRegistry registry, String repositorio, String metodo, String resultado) {
+        Timer.Builder builder = Timer.builder("repositorio.invocacoes")
+                .description("Duração das invocações de repositório")
+                .tags("repositorio", repositorio, "metodo", metodo, "resultado", resultado);
+
+        if (histogramaPercentis) {
+            builder.publishPercentileHistogram();
+        } else {
+            builder.serviceLevelObjectives(faixas);
+        }
+        return builder.register(registry);
+    }
+
+    private MeterRegistry meterRegistry() {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            registry = registro.get();
+            meterRegistry = registry;
+        }
+        return registry;
+    }
+
+    /**
+     * Quantidade de linhas representada pelo retorno do método,
+     * ou {@code -1} quando não é possível determinar (ex.: {@code Stream}).
+     */
+    static long linhas(Method metodo, Object resultado) {
+        if (resultado == null) {
+            return 0;
+        }
+        if (resultado instanceof Collection<?> colecao) {
+            return colecao.size();
+        }
+        if (resultado instanceof Slice<?> fatia) {
+            return fatia.getNumberOfElements();
+        }
+        if (resultado instanceof Optional<?> opcional) {
+            return opcional.isPresent() ? 1 : 0;
+        }
+        if (resultado instanceof BaseStream<?, ?>) {
+            return -1;
+        }
+        if (resultado instanceof Number numero && AnnotatedElementUtils.hasAnnotation(metodo, Modifying.class)) {
+            return numero.longValue();
+        }
+        return 1;
+    }
+
+    /**
+     * Descreve os parâmetros apenas pelo tipo (e tamanho, em coleções),
+     * sem expor os valores.
+     */
+    static String descreverParametros(Object[] argumentos) {
+        return Arrays.stream(argumentos)
+                .map(argumento -> {
+                    if (argumento == null) {
+                        return "null";
+                    }
+                    if (argumento instanceof Collection<?> colecao) {
+                        return "Collection[" + colecao.size() + "]";
+                    }
+                    return argumento.getClass().getSimpleName();
+                })
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.ralfdomingues.oficina.infra.persistencia;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * DataSource que encaminha cada conexão ao primário ou à réplica de leitura.
+ *
+ * <p>
+ * Transações de escrita e acessos fora de transação usam o primário.
+ * Transações somente leitura ({@code @Transactional(readOnly = true)}) usam o
+ * destino decidido pela {@link ConsistenciaLeitura}.
+ *
+ * <p>
+ * O roteamento é sempre envolvido por um {@link LazyConnectionDataSourceProxy}
+ * (ver {@link #comReplica}): o gerenciador de transações pede a conexão antes
+ * de marcar a transação como somente leitura, e o proxy adia a escolha do
+ * banco até o primeiro comando SQL.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    private final ConsistenciaLeitura consistencia;
+
+    private RoteamentoDataSource(ConsistenciaLeitura consistencia) {
+        this.consistencia = consistencia;
+    }
+
+    /**
+     * Monta o DataSource roteado entre primário e réplica.
+     *
+     * @param primario pool do banco primário
+     * @param replica pool da réplica de leitura
+     * @param consistencia decisão do destino das leituras
+     * @return DataSource com obtenção tardia da conexão
+     */
+    public static DataSource comReplica(DataSource primario, DataSource replica, ConsistenciaLeitura consistencia) {
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(consistencia);
+        roteamento.setTargetDataSources(Map.of(
+                DestinoConexao.PRIMARIO, primario,
+                DestinoConexao.REPLICA, replica
+        ));
+        roteamento.setDefaultTargetDataSource(primario);
+        roteamento.setLenientFallback(false);
+        roteamento.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return DestinoConexao.PRIMARIO;
+        }
+        return consistencia.rotearLeitura();
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.ralfdomingues.oficina.infra.transacao;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilitário para executar ações somente após o commit da transação corrente.
+ *
+ * <p>
+ * Usado pelas estruturas em memória (segurança, catálogo de serviços), que
+ * não devem refletir alterações ainda não confirmadas no banco. Sem
+ * transação ativa, a ação é executada imediatamente.
+ */
+public final class AposCommit {
+
+    private AposCommit() {
+    }
+
+    public static void executar(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,140 @@
+package br.com.ralfdomingues.oficina.infra.transacao;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Execução de alterações sob controle otimista de concorrência
+ * ({@code @Version}), repetindo-as quando outra transação altera o mesmo
+ * registro entre a leitura e a gravação.
+ *
+ * <p>
+ * Cada tentativa roda em uma transação própria e relê os dados: um conflito
+ * desfaz a tentativa inteira, inclusive os UPDATEs diretos do total da
+ * ordem, e a tentativa seguinte parte do estado já confirmado. Esgotadas as
+ * tentativas, é lançada a exceção informada pelo chamador (em geral
+ * {@link br.com.ralfdomingues.oficina.exception.ConflitoVersaoException},
+ * respondida com 409).
+ *
+ * <p>
+ * Decisões importantes:
+ * <ul>
+ *   <li>Entre as tentativas há uma espera curta, crescente e aleatória, para
+ *   que as transações em conflito não voltem a colidir</li>
+ *   <li>Dentro de uma transação já ativa a operação é executada uma única
+ *   vez: após o conflito, a transação externa só pode ser desfeita</li>
+ *   <li>Somente conflitos de versão são repetidos; erros de negócio
+ *   propagam na primeira tentativa</li>
+ * </ul>
+ */
+@Component
+public class ExecucaoOtimista {
+
+    /**
+     * Contadores de conflitos de versão.
+     */
+    public record Estatisticas(
+            int tentativas,
+            long conflitos,
+            long repeticoes,
+            long esgotadas
+    ) {}
+
+    private final TransactionTemplate transacao;
+    private final int tentativas;
+    private final long esperaMs;
+
+    private final LongAdder conflitos = new LongAdder();
+    private final LongAdder repeticoes = new LongAdder();
+    private final LongAdder esgotadas = new LongAdder();
+
+    public ExecucaoOtimista(
+            PlatformTransactionManager transactionManager,
+            @Value("${oficina.concorrencia.tentativas:3}") int tentativas,
+            @Value("${oficina.concorrencia.espera-ms:10}") long esperaMs) {
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.tentativas = Math.max(1, tentativas);
+        this.esperaMs = Math.max(0, esperaMs);
+    }
+
+    /**
+     * Executa a operação em uma transação, repetindo-a em caso de conflito de versão.
+     *
+     * @param operacao alteração a executar; deve reler os dados a cada execução
+     * @param conflito exceção lançada quando as tentativas se esgotam
+     * @return resultado da operação
+     */
+    public <T> T executar(Supplier<T> operacao, Supplier<? extends RuntimeException> conflito) {
+        int maximo = TransactionSynchronizationManager.isActualTransactionActive() ? 1 : tentativas;
+
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return transacao.execute(status -> operacao.get());
+            } catch (OptimisticLockingFailureException e) {
+                conflitos.increment();
+
+                if (tentativa >= maximo || !aguardar(tentativa)) {
+                    esgotadas.increment();
+                    RuntimeException excecao = conflito.get();
+                    excecao.addSuppressed(e);
+                    throw excecao;
+                }
+
+                repeticoes.increment();
+            }
+        }
+    }
+
+    /**
+     * Executa uma operação sem retorno, repetindo-a em caso de conflito de versão.
+     *
+     * @see #executar(Supplier, Supplier)
+     */
+    public void executar(Runnable operacao, Supplier<? extends RuntimeException> conflito) {
+        executar(() -> {
+            operacao.run();
+            return null;
+        }, conflito);
+    }
+
+    /**
+     * Retorna os contadores de conflitos de versão.
+     */
+    public Estatisticas estatisticas() {
+        return new Estatisticas(
+                tentativas,
+                conflitos.sum(),
+                repeticoes.sum(),
+                esgotadas.sum()
+        );
+    }
+
+    /**
+     * Aguarda antes da próxima tentativa.
+     *
+     * @return {@code false} se a thread foi interrompida
+     */
+    private boolean aguardar(int tentativa) {
+        if (esperaMs == 0) {
+            return true;
+        }
+
+        long espera = esperaMs * tentativa + ThreadLocalRandom.current().nextLong(esperaMs + 1);
+        try {
+            TimeUnit.MILLISECONDS.sleep(espera);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
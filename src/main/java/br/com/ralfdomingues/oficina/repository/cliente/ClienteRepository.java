@@ -1,9 +1,15 @@
 package br.com.ralfdomingues.oficina.repository.cliente;
 
+import br.com.ralfdomingues.oficina.domain.cliente.dto.ClienteCpfView;
 import br.com.ralfdomingues.oficina.domain.cliente.entity.Cliente;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Repositório responsável pelo acesso a dados de {@link Cliente}.
@@ -33,4 +39,92 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long>{
      */
     Page<Cliente> findAllByAtivoTrue(Pageable pageable);
 
+    /**
+     * Retorna clientes ativos com id maior que o informado, em ordem de id.
+     *
+     * <p>
+     * Utilizado na listagem por cursor, sem consulta de contagem.
+     *
+     * @param id id do último cliente entregue (0 para a primeira página)
+     * @param pageable tamanho da página (offset sempre zero)
+     * @return fatia de clientes ativos
+     */
+    Slice<Cliente> findByAtivoTrueAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Retorna, dentre os CPFs informados, os que já estão cadastrados
+     * (ativos ou não), em uma única consulta.
+     */
+    @Query("SELECT c.cpf FROM Cliente c WHERE c.cpf IN :cpfs")
+    List<String> buscarCpfsExistentes(Collection<String> cpfs);
+
+    /**
+     * Retorna id e CPF dos clientes ativos com os CPFs informados,
+     * em uma única consulta.
+     */
+    @Query("SELECT c.id AS id, c.cpf AS cpf FROM Cliente c WHERE c.cpf IN :cpfs AND c.ativo = true")
+    List<ClienteCpfView> buscarAtivosPorCpf(Collection<String> cpfs);
+
+    /**
+     * Retorna clientes ativos cujo nome normalizado começa com o termo,
+     * em ordem alfabética.
+     *
+     * <p>
+     * A faixa {@code [inicio, fim)} percorre o índice {@code idx_cliente_nome_busca}
+     * (ver {@code TermoBusca}).
+     *
+     * @param inicio termo normalizado
+     * @param fim limite superior exclusivo da faixa
+     * @param limite quantidade máxima de clientes
+     */
+    @Query(value = """
+            SELECT * FROM cliente
+            WHERE ativo AND nome_busca >= :inicio AND nome_busca < :fim
+            ORDER BY nome_busca, id
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<Cliente> buscarPorPrefixoNome(String inicio, String fim, int limite);
+
+    /**
+     * Retorna os clientes ativos com nome mais próximo do termo, comparando-o
+     * com cada palavra do nome (similaridade de trigramas), do mais ao menos
+     * parecido.
+     *
+     * <p>
+     * Atendida pelo índice GiST {@code idx_cliente_nome_trgm}, que entrega
+     * os mais próximos sem ordenar todas as ocorrências.
+     *
+     * @param termo termo normalizado
+     * @param limite quantidade máxima de clientes
+     */
+    @Query(value = """
+            SELECT * FROM cliente
+            WHERE ativo AND nome_busca %> :termo
+            ORDER BY nome_busca <->> :termo
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<Cliente> buscarPorNomeAproximado(String termo, int limite);
+
+    /**
+     * Retorna clientes ativos cujo CPF (apenas dígitos) começa com o termo.
+     */
+    @Query(value = """
+            SELECT * FROM cliente
+            WHERE ativo AND cpf_busca >= :inicio AND cpf_busca < :fim
+            ORDER BY cpf_busca
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<Cliente> buscarPorPrefixoCpf(String inicio, String fim, int limite);
+
+    /**
+     * Retorna clientes ativos cujo telefone (apenas dígitos) começa com o termo.
+     */
+    @Query(value = """
+            SELECT * FROM cliente
+            WHERE ativo AND telefone_busca >= :inicio AND telefone_busca < :fim
+            ORDER BY telefone_busca, id
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<Cliente> buscarPorPrefixoTelefone(String inicio, String fim, int limite);
+
 }
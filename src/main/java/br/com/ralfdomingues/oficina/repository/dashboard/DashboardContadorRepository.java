@@ -0,0 +1,115 @@
+package br.com.ralfdomingues.oficina.repository.dashboard;
+
+import br.com.ralfdomingues.oficina.domain.dashboard.dto.ContadorDashboardDTO;
+import br.com.ralfdomingues.oficina.domain.dashboard.entity.DashboardContador;
+import br.com.ralfdomingues.oficina.domain.dashboard.entity.DashboardContadorId;
+import br.com.ralfdomingues.oficina.domain.dashboard.enums.TipoContador;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Repositório responsável pelos contadores agregados do dashboard.
+ *
+ * <p>
+ * Os incrementos são feitos com upsert atômico no banco sobre uma das
+ * parcelas do contador, e a leitura soma as parcelas. A reconstrução
+ * recalcula todos os contadores a partir das tabelas de ordens e itens,
+ * concentrando-os novamente na parcela 0.
+ * </p>
+ */
+public interface DashboardContadorRepository
+        extends JpaRepository<DashboardContador, DashboardContadorId> {
+
+    /**
+     * Retorna os contadores de um tipo, com as parcelas de cada chave somadas.
+     *
+     * @param tipo tipo do contador
+     * @return totais por chave do tipo informado
+     */
+    @Query("""
+                SELECT new br.com.ralfdomingues.oficina.domain.dashboard.dto.ContadorDashboardDTO(
+                    c.id.chave, SUM(c.quantidade), SUM(c.valor)
+                )
+                FROM DashboardContador c
+                WHERE c.id.tipo = :tipo
+                GROUP BY c.id.chave
+            """)
+    List<ContadorDashboardDTO> somarPorTipo(TipoContador tipo);
+
+    /**
+     * Soma quantidade e valor a uma parcela do contador, criando-a caso ainda não exista.
+     *
+     * @param tipo tipo do contador
+     * @param chave chave do agrupamento
+     * @param parcela parcela do contador que recebe a diferença
+     * @param quantidade diferença de quantidade
+     * @param valor diferença de valor
+     */
+    @Modifying
+    @Query(value = """
+                INSERT INTO dashboard_contador (tipo, chave, parcela, quantidade, valor)
+                VALUES (:tipo, :chave, :parcela, :quantidade, :valor)
+                ON CONFLICT (tipo, chave, parcela) DO UPDATE
+                SET quantidade = dashboard_contador.quantidade + EXCLUDED.quantidade,
+                    valor = dashboard_contador.valor + EXCLUDED.valor
+            """, nativeQuery = true)
+    void incrementar(String tipo, String chave, short parcela, long quantidade, BigDecimal valor);
+
+    /**
+     * Remove todos os contadores. Utilizado apenas na reconstrução.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM dashboard_contador", nativeQuery = true)
+    void limpar();
+
+    /**
+     * Recalcula os contadores de ordens por status.
+     */
+    @Modifying
+    @Query(value = """
+                INSERT INTO dashboard_contador (tipo, chave, quantidade, valor)
+                SELECT 'STATUS', status, COUNT(*), 0
+                FROM ordens_servico
+                GROUP BY status
+            """, nativeQuery = true)
+    void reconstruirStatus();
+
+    /**
+     * Recalcula os contadores de ordens por mês de abertura.
+     */
+    @Modifying
+    @Query(value = """
+                INSERT INTO dashboard_contador (tipo, chave, quantidade, valor)
+                SELECT 'MES', TO_CHAR(data_abertura, 'YYYY-MM'), COUNT(*), 0
+                FROM ordens_servico
+                GROUP BY TO_CHAR(data_abertura, 'YYYY-MM')
+            """, nativeQuery = true)
+    void reconstruirMes();
+
+    /**
+     * Recalcula o faturamento das ordens concluídas.
+     */
+    @Modifying
+    @Query(value = """
+                INSERT INTO dashboard_contador (tipo, chave, quantidade, valor)
+                SELECT 'FATURAMENTO', 'TOTAL', COUNT(*), COALESCE(SUM(valor_final), 0)
+                FROM ordens_servico
+                WHERE status = 'CONCLUIDA'
+            """, nativeQuery = true)
+    void reconstruirFaturamento();
+
+    /**
+     * Recalcula a quantidade de itens por serviço.
+     */
+    @Modifying
+    @Query(value = """
+                INSERT INTO dashboard_contador (tipo, chave, quantidade, valor)
+                SELECT 'SERVICO', CAST(servico_id AS VARCHAR), COUNT(*), 0
+                FROM itens_servico
+                GROUP BY servico_id
+            """, nativeQuery = true)
+    void reconstruirServicos();
+}
@@ -1,20 +1,21 @@
 package br.com.ralfdomingues.oficina.repository.itemservico;
 
-import br.com.ralfdomingues.oficina.domain.dashboard.dto.ServicoMaisUsadoDTO;
 import br.com.ralfdomingues.oficina.domain.itemservico.entity.ItemServico;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositório responsável pelo acesso a dados de {@link ItemServico}.
  *
  * <p>
  * Centraliza consultas relacionadas aos itens vinculados às ordens de serviço,
- * incluindo filtros por ordem, status ativo e consultas de apoio ao dashboard.
+ * incluindo filtros por ordem e status ativo.
  */
 public interface ItemServicoRepository extends JpaRepository<ItemServico, Long> {
 
@@ -51,22 +52,44 @@ public interface ItemServicoRepository extends JpaRepository<ItemServico, Long>
     Page<ItemServico> findAllByOrdem_IdAndAtivoTrue(Long ordemId, Pageable pageable);
 
     /**
-     * Retorna os serviços mais utilizados, ordenados por quantidade decrescente.
+     * Retorna itens ativos com id maior que o informado, em ordem de id.
      *
      * <p>
-     * Consulta utilizada para geração de indicadores no dashboard.
+     * Utilizado na listagem por cursor, sem consulta de contagem.
      *
-     * @return lista de serviços com total de utilização
+     * @param id id do último item entregue (0 para a primeira página)
+     * @param pageable tamanho da página (offset sempre zero)
+     * @return fatia de itens ativos
+     */
+    Slice<ItemServico> findByAtivoTrueAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Retorna itens ativos de uma ordem com id maior que o informado,
+     * em ordem de id. Utilizado na listagem por cursor.
+     *
+     * @param ordemId identificador da ordem
+     * @param id id do último item entregue (0 para a primeira página)
+     * @param pageable tamanho da página (offset sempre zero)
+     * @return fatia de itens ativos da ordem
+     */
+    Slice<ItemServico> findByOrdem_IdAndAtivoTrueAndIdGreaterThanOrderByIdAsc(
+            Long ordemId, Long id, Pageable pageable);
+
+    /**
+     * Retorna a versão de um item, sem carregá-lo.
+     *
+     * <p>
+     * Utilizado para informar a versão atual ao cliente quando uma
+     * alteração do item é rejeitada por conflito.
+     *
+     * @param id identificador do item
+     * @return versão do item, se existir
      */
     @Query("""
-                SELECT new br.com.ralfdomingues.oficina.domain.dashboard.dto.ServicoMaisUsadoDTO(
-                    s.nome, COUNT(i)
-                )
+                SELECT i.versao
                 FROM ItemServico i
-                JOIN i.servico s
-                GROUP BY s.nome
-                ORDER BY COUNT(i) DESC
+                WHERE i.id = :id
             """)
-    List<ServicoMaisUsadoDTO> servicosMaisUsados();
+    Optional<Long> buscarVersao(Long id);
 
 }
@@ -1,43 +1,160 @@
 package br.com.ralfdomingues.oficina.repository.ordemservico;
 
-import br.com.ralfdomingues.oficina.domain.dashboard.dto.OrdemStatusResumoDTO;
-import br.com.ralfdomingues.oficina.domain.dashboard.dto.OrdensPorMesDTO;
+import br.com.ralfdomingues.oficina.domain.ordemservico.dto.DivergenciaValorFinalView;
+import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoResponseDTO;
 import br.com.ralfdomingues.oficina.domain.ordemservico.entity.OrdemServico;
 import br.com.ralfdomingues.oficina.domain.ordemservico.enums.StatusOrdemServico;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Repositório responsável pelo acesso e consultas de {@link OrdemServico}.
  *
  * <p>
  * Centraliza operações de leitura relacionadas às ordens de serviço,
- * incluindo filtros por status e consultas agregadas utilizadas no dashboard.
+ * incluindo filtros por status e a manutenção incremental do valor final.
  * </p>
  */
 public interface OrdemServicoRepository extends JpaRepository<OrdemServico, Long> {
 
     /**
-     * Retorna ordens de serviço cujo status seja diferente do informado.
+     * Retorna ordens de serviço cujo status seja diferente do informado,
+     * já projetadas no DTO de resposta.
      *
      * <p>
      * Utilizado para ocultar ordens canceladas ou finalizadas,
      * conforme o contexto da listagem.
      *
+     * <p>
+     * Lê apenas as colunas necessárias em uma única consulta (mais a
+     * contagem da página). Cliente e veículo são representados pelas
+     * chaves estrangeiras, sem carregar as entidades associadas.
+     *
      * @param status status a ser ignorado
      * @param pageable parâmetros de paginação
      * @return página de ordens filtradas
      */
-    Page<OrdemServico> findAllByStatusNot(
+    @Query(value = """
+                SELECT new br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoResponseDTO(
+                    o.id, o.cliente.id, o.veiculo.id, o.status, o.descricao,
+                    o.valorFinal, o.valorEstimado, o.dataAbertura, o.dataConclusao)
+                FROM OrdemServico o
+                WHERE o.status <> :status
+            """,
+            countQuery = """
+                SELECT COUNT(o)
+                FROM OrdemServico o
+                WHERE o.status <> :status
+            """)
+    Page<OrdemServicoResponseDTO> listarResumoPorStatusNot(
             StatusOrdemServico status,
             Pageable pageable
     );
 
+    /**
+     * Primeira página da listagem por cursor: ordens mais recentes primeiro,
+     * desempatando pelo id.
+     *
+     * <p>
+     * Retorna um {@link Slice}, sem consulta de contagem.
+     *
+     * @param status status a ser ignorado
+     * @param pageable tamanho da página (offset sempre zero)
+     * @return fatia de ordens
+     */
+    @Query("""
+                SELECT new br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoResponseDTO(
+                    o.id, o.cliente.id, o.veiculo.id, o.status, o.descricao,
+                    o.valorFinal, o.valorEstimado, o.dataAbertura, o.dataConclusao)
+                FROM OrdemServico o
+                WHERE o.status <> :status
+                ORDER BY o.dataAbertura DESC, o.id DESC
+            """)
+    Slice<OrdemServicoResponseDTO> listarResumoInicio(
+            StatusOrdemServico status,
+            Pageable pageable
+    );
+
+    /**
+     * Página seguinte da listagem por cursor, a partir da posição
+     * {@code (dataAbertura, id)} do último registro entregue.
+     *
+     * <p>
+     * A comparação por tupla permite ao banco iniciar a leitura direto na
+     * posição do cursor, com custo independente da profundidade da página.
+     *
+     * @param status status a ser ignorado
+     * @param dataAbertura data de abertura do último registro entregue
+     * @param id id do último registro entregue
+     * @param pageable tamanho da página (offset sempre zero)
+     * @return fatia de ordens
+     */
+    @Query("""
+                SELECT new br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoResponseDTO(
+                    o.id, o.cliente.id, o.veiculo.id, o.status, o.descricao,
+                    o.valorFinal, o.valorEstimado, o.dataAbertura, o.dataConclusao)
+                FROM OrdemServico o
+                WHERE o.status <> :status
+                AND (o.dataAbertura, o.id) < (:dataAbertura, :id)
+                ORDER BY o.dataAbertura DESC, o.id DESC
+            """)
+    Slice<OrdemServicoResponseDTO> listarResumoApos(
+            StatusOrdemServico status,
+            LocalDateTime dataAbertura,
+            Long id,
+            Pageable pageable
+    );
+
+    /**
+     * Percorre as ordens para exportação, em ordem de abertura, já
+     * projetadas no DTO de resposta.
+     *
+     * <p>
+     * O resultado é lido do banco em blocos ({@code fetch size}) por um
+     * cursor somente-avanço e não é mantido no contexto de persistência,
+     * de modo que o consumo de memória independe da quantidade de linhas.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @param status status incluídos na exportação
+     * @param inicio data de abertura inicial (inclusiva)
+     * @param fim data de abertura final (exclusiva)
+     * @return fluxo de ordens
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+                SELECT new br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoResponseDTO(
+                    o.id, o.cliente.id, o.veiculo.id, o.status, o.descricao,
+                    o.valorFinal, o.valorEstimado, o.dataAbertura, o.dataConclusao)
+                FROM OrdemServico o
+                WHERE o.status IN :status
+                AND o.dataAbertura >= :inicio
+                AND o.dataAbertura < :fim
+                ORDER BY o.dataAbertura, o.id
+            """)
+    Stream<OrdemServicoResponseDTO> exportar(
+            Collection<StatusOrdemServico> status,
+            LocalDateTime inicio,
+            LocalDateTime fim
+    );
+
     /**
      * Retorna uma ordem de serviço pelo ID, desde que não esteja no status informado.
      *
@@ -54,64 +171,141 @@ public interface OrdemServicoRepository extends JpaRepository<OrdemServico, Long
     );
 
     /**
-     * Retorna o total de ordens agrupadas por status.
+     * Retorna a versão de uma ordem de serviço, desde que não esteja no status informado.
      *
      * <p>
-     * Consulta utilizada para geração de indicadores no dashboard.
+     * Utilizado nas consultas condicionais ({@code If-None-Match}), que só
+     * precisam comparar a versão, sem carregar a ordem, o cliente e o veículo.
      *
-     * @return lista com status e quantidade de ordens
+     * @param id identificador da ordem
+     * @param status status a ser ignorado
+     * @return versão da ordem ou vazio caso não exista ou esteja no status bloqueado
      */
     @Query("""
-                SELECT new br.com.ralfdomingues.oficina.domain.dashboard.dto.OrdemStatusResumoDTO(
-                    o.status, COUNT(o)
-                )
+                SELECT o.versao
                 FROM OrdemServico o
-                GROUP BY o.status
+                WHERE o.id = :id
+                AND o.status <> :status
             """)
-    List<OrdemStatusResumoDTO> resumoPorStatus();
+    Optional<Long> buscarVersao(Long id, StatusOrdemServico status);
 
     /**
-     * Retorna o faturamento total das ordens concluídas.
+     * Retorna a versão de uma ordem de serviço, em qualquer status.
      *
-     * <p>
-     * Caso não existam ordens concluídas, retorna zero.
+     * @param id identificador da ordem
+     * @return versão da ordem ou vazio caso não exista
+     */
+    @Query("""
+                SELECT o.versao
+                FROM OrdemServico o
+                WHERE o.id = :id
+            """)
+    Optional<Long> buscarVersao(Long id);
+
+    /**
+     * Retorna o status atual de uma ordem de serviço, lido do banco.
      *
-     * @return valor total faturado
+     * @param id identificador da ordem
+     * @return status da ordem ou vazio caso não exista
      */
     @Query("""
-                SELECT COALESCE(SUM(o.valorFinal), 0)
+                SELECT o.status
                 FROM OrdemServico o
-                WHERE o.status = 'CONCLUIDA'
+                WHERE o.id = :id
             """)
-    BigDecimal faturamentoTotal();
+    Optional<StatusOrdemServico> buscarStatus(Long id);
 
     /**
-     * Retorna a quantidade de ordens agrupadas por mês de abertura.
+     * Incrementa a versão da ordem sem alterar seus dados.
      *
      * <p>
-     * Utilizado para análise temporal no dashboard.
-     * O mês é retornado no formato {@code YYYY-MM}.
+     * Utilizado quando um item da ordem muda sem alterar o valor final,
+     * para que a versão da ordem continue refletindo qualquer alteração
+     * nos seus itens.
      *
-     * @return lista com mês e total de ordens
+     * @param id identificador da ordem
+     * @return quantidade de registros afetados
      */
+    @Modifying(flushAutomatically = true)
     @Query("""
-                SELECT new br.com.ralfdomingues.oficina.domain.dashboard.dto.OrdensPorMesDTO(
-                    CONCAT(
-                        YEAR(o.dataAbertura),
-                        '-',
-                        CASE 
-                            WHEN MONTH(o.dataAbertura) < 10 
-                            THEN CONCAT('0', MONTH(o.dataAbertura))
-                            ELSE CAST(MONTH(o.dataAbertura) AS string)
-                        END
-                    ),
-                    COUNT(o)
-                )
-                FROM OrdemServico o
-                GROUP BY YEAR(o.dataAbertura), MONTH(o.dataAbertura)
-                ORDER BY YEAR(o.dataAbertura), MONTH(o.dataAbertura)
+                UPDATE OrdemServico o
+                SET o.versao = o.versao + 1
+                WHERE o.id = :id
+            """)
+    int incrementarVersao(Long id);
+
+    /**
+     * Aplica uma diferença (positiva ou negativa) ao valor final da ordem
+     * diretamente no banco, em um único UPDATE.
+     *
+     * <p>
+     * Utilizado na manutenção incremental do total da ordem a cada alteração
+     * de item, evitando recarregar e somar todos os itens da ordem.
+     * Ordens sem valor final registrado são tratadas como zero.
+     *
+     * <p>
+     * Como o UPDATE não passa pelo controle de versão do JPA, a versão da
+     * ordem é incrementada explicitamente, invalidando as ETags emitidas.
+     *
+     * @param id identificador da ordem
+     * @param delta diferença a ser somada ao valor final
+     * @return quantidade de registros afetados
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+                UPDATE OrdemServico o
+                SET o.valorFinal = COALESCE(o.valorFinal, 0) + :delta,
+                    o.versao = o.versao + 1
+                WHERE o.id = :id
+            """)
+    int incrementarValorFinal(Long id, BigDecimal delta);
+
+    /**
+     * Substitui o valor final da ordem somente se o valor registrado
+     * ainda for o esperado (compare-and-set).
+     *
+     * <p>
+     * Utilizado pela reconciliação para corrigir divergências sem
+     * sobrescrever alterações concorrentes feitas após a verificação.
+     * Também incrementa a versão da ordem.
+     *
+     * @param id identificador da ordem
+     * @param esperado valor final lido na verificação (nulo tratado como zero)
+     * @param valor novo valor final
+     * @return quantidade de registros afetados
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+                UPDATE OrdemServico o
+                SET o.valorFinal = :valor,
+                    o.versao = o.versao + 1
+                WHERE o.id = :id
+                AND COALESCE(o.valorFinal, 0) = :esperado
             """)
-    List<OrdensPorMesDTO> ordensPorMes();
+    int corrigirValorFinal(Long id, BigDecimal esperado, BigDecimal valor);
 
+    /**
+     * Retorna as ordens cujo valor final registrado diverge da soma
+     * dos itens ativos.
+     *
+     * <p>
+     * Consulta de verificação utilizada pela reconciliação dos totais
+     * mantidos de forma incremental. Ordens sem itens também são verificadas
+     * (soma zero), cobrindo uma ordem cujo último item foi removido sem que
+     * a diferença chegasse ao valor final.
+     *
+     * @return lista de ordens com valor final divergente
+     */
+    @Query(value = """
+                SELECT o.id AS ordemId,
+                       o.valor_final AS valorRegistrado,
+                       COALESCE(SUM(i.valor_unitario * i.quantidade) FILTER (WHERE i.ativo), 0) AS valorCalculado
+                FROM ordens_servico o
+                LEFT JOIN itens_servico i ON i.ordem_id = o.id
+                GROUP BY o.id, o.valor_final
+                HAVING COALESCE(o.valor_final, 0)
+                       <> COALESCE(SUM(i.valor_unitario * i.quantidade) FILTER (WHERE i.ativo), 0)
+            """, nativeQuery = true)
+    List<DivergenciaValorFinalView> buscarDivergenciasValorFinal();
 
 }
@@ -1,7 +1,10 @@
 package br.com.ralfdomingues.oficina.repository.usuario;
 
+import br.com.ralfdomingues.oficina.domain.usuario.dto.UsuarioTokenView;
 import br.com.ralfdomingues.oficina.domain.usuario.entity.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -48,4 +51,16 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      * @return {@code true} se o email já estiver em uso
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Retorna email, versão de token e status de todos os usuários.
+     *
+     * <p>
+     * Utilizado para carregar o registro de versões de token usado na
+     * autenticação sem consulta ao banco.
+     *
+     * @return estado de token de cada usuário
+     */
+    @Query("SELECT u.email AS email, u.tokenVersao AS tokenVersao, u.ativo AS ativo FROM Usuario u")
+    List<UsuarioTokenView> buscarEstadosToken();
 }
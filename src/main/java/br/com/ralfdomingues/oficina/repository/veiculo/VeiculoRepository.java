@@ -3,7 +3,10 @@ package br.com.ralfdomingues.oficina.repository.veiculo;
 import br.com.ralfdomingues.oficina.domain.veiculo.entity.Veiculo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -27,6 +30,19 @@ public interface VeiculoRepository extends JpaRepository<Veiculo, Long> {
      */
     boolean existsByPlaca(String placa);
 
+    /**
+     * Retorna, dentre as placas informadas, as que já estão cadastradas
+     * (ativas ou não), em uma única consulta.
+     *
+     * <p>
+     * Utilizado na importação em massa, no lugar de uma verificação por placa.
+     *
+     * @param placas placas a verificar
+     * @return placas já existentes
+     */
+    @Query("SELECT v.placa FROM Veiculo v WHERE v.placa IN :placas")
+    List<String> buscarPlacasExistentes(Collection<String> placas);
+
     /**
      * Retorna todos os veículos ativos.
      *
@@ -57,4 +73,69 @@ public interface VeiculoRepository extends JpaRepository<Veiculo, Long> {
      */
     Page<Veiculo> findAllByCliente_IdAndAtivoTrue(Long clienteId, Pageable pageable);
 
+    /**
+     * Retorna veículos ativos com id maior que o informado, em ordem de id.
+     *
+     * <p>
+     * Utilizado na listagem por cursor, sem consulta de contagem.
+     *
+     * @param id id do último veículo entregue (0 para a primeira página)
+     * @param pageable tamanho da página (offset sempre zero)
+     * @return fatia de veículos ativos
+     */
+    Slice<Veiculo> findByAtivoTrueAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Retorna veículos ativos de um cliente com id maior que o informado,
+     * em ordem de id. Utilizado na listagem por cursor.
+     *
+     * @param clienteId identificador do cliente
+     * @param id id do último veículo entregue (0 para a primeira página)
+     * @param pageable tamanho da página (offset sempre zero)
+     * @return fatia de veículos do cliente
+     */
+    Slice<Veiculo> findByCliente_IdAndAtivoTrueAndIdGreaterThanOrderByIdAsc(
+            Long clienteId, Long id, Pageable pageable);
+
+    /**
+     * Retorna os ids dos veículos ativos cuja placa normalizada começa com
+     * o termo, em ordem de placa, pela faixa {@code [inicio, fim)} no índice
+     * {@code idx_veiculo_placa_busca} (ver {@code TermoBusca}).
+     *
+     * @param inicio termo normalizado
+     * @param fim limite superior exclusivo da faixa
+     * @param limite quantidade máxima de veículos
+     */
+    @Query(value = """
+            SELECT id FROM veiculo
+            WHERE ativo AND placa_busca >= :inicio AND placa_busca < :fim
+            ORDER BY placa_busca
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<Long> buscarIdsPorPrefixoPlaca(String inicio, String fim, int limite);
+
+    /**
+     * Retorna os ids dos veículos ativos com placa mais parecida com o termo
+     * (similaridade de trigramas), pelo índice GiST {@code idx_veiculo_placa_trgm}.
+     *
+     * @param termo termo normalizado
+     * @param limite quantidade máxima de veículos
+     */
+    @Query(value = """
+            SELECT id FROM veiculo
+            WHERE ativo AND placa_busca % :termo
+            ORDER BY placa_busca <-> :termo
+            LIMIT :limite
+            """, nativeQuery = true)
+    List<Long> buscarIdsPorPlacaAproximada(String termo, int limite);
+
+    /**
+     * Retorna os veículos informados junto com o cliente, em uma única consulta.
+     *
+     * @param ids identificadores dos veículos
+     * @return veículos encontrados, sem ordem definida
+     */
+    @Query("SELECT v FROM Veiculo v JOIN FETCH v.cliente WHERE v.id IN :ids")
+    List<Veiculo> buscarComClientePorIds(Collection<Long> ids);
+
 }
\ No newline at end of file
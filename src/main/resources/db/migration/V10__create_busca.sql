@@ -0,0 +1,65 @@
+-- Busca incremental de clientes (nome, CPF, telefone) e veículos (placa).
+--
+-- Cada campo pesquisável ganha uma chave normalizada, mantida pelo próprio
+-- banco (coluna gerada), em collation "C": a busca por prefixo vira uma
+-- faixa no índice B-tree (chave >= termo AND chave < termo || '{'), válida
+-- também com o termo como parâmetro. A busca aproximada por nome e placa
+-- usa índices GiST de trigramas, que entregam os N mais próximos sem
+-- ordenar todas as ocorrências.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- minúsculas, sem acentos, apenas letras, dígitos e espaços simples
+-- (espelhada em TermoBusca.normalizar)
+CREATE FUNCTION normalizar_busca(texto TEXT) RETURNS TEXT
+    LANGUAGE SQL
+    IMMUTABLE
+    PARALLEL SAFE
+    RETURNS NULL ON NULL INPUT
+AS
+$$
+SELECT btrim(regexp_replace(regexp_replace(
+        translate(lower(texto),
+                  'áàâãäåéèêëíìîïóòôõöúùûüçñý',
+                  'aaaaaaeeeeiiiiooooouuuucny'),
+        '[^a-z0-9 ]+', '', 'g'),
+        ' +', ' ', 'g'))
+$$;
+
+-- CLIENTES
+ALTER TABLE cliente
+    ADD COLUMN nome_busca       TEXT COLLATE "C" GENERATED ALWAYS AS (normalizar_busca(nome)) STORED,
+    ADD COLUMN cpf_busca        TEXT COLLATE "C" GENERATED ALWAYS AS (regexp_replace(cpf, '[^0-9]+', '', 'g')) STORED,
+    ADD COLUMN telefone_busca   TEXT COLLATE "C" GENERATED ALWAYS AS (regexp_replace(telefone, '[^0-9]+', '', 'g')) STORED;
+
+-- prefixo do nome, já na ordem de apresentação
+CREATE INDEX idx_cliente_nome_busca
+    ON cliente (nome_busca, id)
+    WHERE ativo;
+
+-- nome aproximado ou a partir de qualquer palavra (%> e <->>)
+CREATE INDEX idx_cliente_nome_trgm
+    ON cliente USING gist (nome_busca gist_trgm_ops)
+    WHERE ativo;
+
+CREATE INDEX idx_cliente_cpf_busca
+    ON cliente (cpf_busca)
+    WHERE ativo;
+
+-- telefones repetidos (mesma família) seguem em ordem de id
+CREATE INDEX idx_cliente_telefone_busca
+    ON cliente (telefone_busca, id)
+    WHERE ativo;
+
+-- VEÍCULOS
+ALTER TABLE veiculo
+    ADD COLUMN placa_busca TEXT COLLATE "C" GENERATED ALWAYS AS (normalizar_busca(placa)) STORED;
+
+CREATE INDEX idx_veiculo_placa_busca
+    ON veiculo (placa_busca)
+    WHERE ativo;
+
+-- placa com erro de digitação (% e <->)
+CREATE INDEX idx_veiculo_placa_trgm
+    ON veiculo USING gist (placa_busca gist_trgm_ops)
+    WHERE ativo;
@@ -0,0 +1,10 @@
+-- versão da linha (controle otimista do JPA), incrementada a cada alteração;
+-- base das ETags das consultas de ordens, itens e serviços
+ALTER TABLE ordens_servico
+    ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE itens_servico
+    ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE servico
+    ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
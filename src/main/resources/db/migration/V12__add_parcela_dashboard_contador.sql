@@ -0,0 +1,11 @@
+-- cada contador passa a ser dividido em parcelas somadas na leitura, para que
+-- escritas concorrentes não disputem a mesma linha (ex.: FATURAMENTO/TOTAL);
+-- as linhas existentes ficam na parcela 0
+ALTER TABLE dashboard_contador
+    ADD COLUMN parcela SMALLINT NOT NULL DEFAULT 0;
+
+ALTER TABLE dashboard_contador
+    DROP CONSTRAINT pk_dashboard_contador;
+
+ALTER TABLE dashboard_contador
+    ADD CONSTRAINT pk_dashboard_contador PRIMARY KEY (tipo, chave, parcela);
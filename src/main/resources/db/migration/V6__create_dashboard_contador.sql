@@ -0,0 +1,31 @@
+-- contadores do dashboard mantidos a cada escrita
+CREATE TABLE dashboard_contador
+(
+    tipo       VARCHAR(20)    NOT NULL,
+    chave      VARCHAR(60)    NOT NULL,
+    quantidade BIGINT         NOT NULL DEFAULT 0,
+    valor      NUMERIC(14, 2) NOT NULL DEFAULT 0,
+
+    CONSTRAINT pk_dashboard_contador PRIMARY KEY (tipo, chave)
+);
+
+-- carga inicial a partir dos dados existentes
+INSERT INTO dashboard_contador (tipo, chave, quantidade, valor)
+SELECT 'STATUS', status, COUNT(*), 0
+FROM ordens_servico
+GROUP BY status;
+
+INSERT INTO dashboard_contador (tipo, chave, quantidade, valor)
+SELECT 'MES', TO_CHAR(data_abertura, 'YYYY-MM'), COUNT(*), 0
+FROM ordens_servico
+GROUP BY TO_CHAR(data_abertura, 'YYYY-MM');
+
+INSERT INTO dashboard_contador (tipo, chave, quantidade, valor)
+SELECT 'FATURAMENTO', 'TOTAL', COUNT(*), COALESCE(SUM(valor_final), 0)
+FROM ordens_servico
+WHERE status = 'CONCLUIDA';
+
+INSERT INTO dashboard_contador (tipo, chave, quantidade, valor)
+SELECT 'SERVICO', CAST(servico_id AS VARCHAR), COUNT(*), 0
+FROM itens_servico
+GROUP BY servico_id;
@@ -0,0 +1,3 @@
+-- adicionar versão dos tokens do usuário (incrementada ao revogar tokens)
+ALTER TABLE usuario
+    ADD COLUMN token_versao INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,58 @@
+-- Índices secundários alinhados às consultas dos repositórios.
+-- Índices parciais (WHERE ativo) cobrem apenas os registros visíveis nas
+-- listagens, que sempre filtram por ativo = true.
+
+-- ITENS DE SERVIÇO
+-- findAllByOrdem_IdAndAtivoTrue / listagem por cursor da ordem (ordenadas por id)
+CREATE INDEX idx_itens_servico_ordem_ativo
+    ON itens_servico (ordem_id, id)
+    WHERE ativo;
+
+-- findAllByAtivoTrue / listagem por cursor (ordenadas por id)
+CREATE INDEX idx_itens_servico_ativo
+    ON itens_servico (id)
+    WHERE ativo;
+
+-- chave estrangeira para servico e reconstrução do contador de serviços
+CREATE INDEX idx_itens_servico_servico
+    ON itens_servico (servico_id);
+
+-- ORDENS DE SERVIÇO
+-- listagem por cursor: (data_abertura, id) decrescente (varredura reversa)
+CREATE INDEX idx_ordens_servico_abertura
+    ON ordens_servico (data_abertura, id);
+
+-- contagem por status e faturamento das concluídas (index-only)
+CREATE INDEX idx_ordens_servico_status
+    ON ordens_servico (status) INCLUDE (valor_final);
+
+-- chaves estrangeiras para cliente e veículo
+CREATE INDEX idx_ordens_servico_cliente
+    ON ordens_servico (cliente_id);
+
+CREATE INDEX idx_ordens_servico_veiculo
+    ON ordens_servico (veiculo_id);
+
+-- VEÍCULOS
+-- findAllByCliente_IdAndAtivoTrue / listagem por cursor do cliente
+CREATE INDEX idx_veiculo_cliente_ativo
+    ON veiculo (cliente_id, id)
+    WHERE ativo;
+
+-- CLIENTES, VEÍCULOS, SERVIÇOS E USUÁRIOS
+-- findAllByAtivoTrue paginado por id
+CREATE INDEX idx_cliente_ativo
+    ON cliente (id)
+    WHERE ativo;
+
+CREATE INDEX idx_veiculo_ativo
+    ON veiculo (id)
+    WHERE ativo;
+
+CREATE INDEX idx_servico_ativo
+    ON servico (id)
+    WHERE ativo;
+
+CREATE INDEX idx_usuario_ativo
+    ON usuario (id)
+    WHERE ativo;
@@ -0,0 +1,11 @@
+-- Identificadores gerados por sequence com otimizador pooled do Hibernate
+-- (allocationSize = 50): cada nextval reserva um bloco de 50 ids, permitindo
+-- que os INSERTs sejam enviados em lote. O DEFAULT das colunas continua
+-- usando a mesma sequence, então INSERTs manuais seguem válidos (apenas
+-- consomem um bloco inteiro).
+ALTER SEQUENCE cliente_id_seq INCREMENT BY 50;
+ALTER SEQUENCE veiculo_id_seq INCREMENT BY 50;
+ALTER SEQUENCE servico_id_seq INCREMENT BY 50;
+ALTER SEQUENCE ordens_servico_id_seq INCREMENT BY 50;
+ALTER SEQUENCE itens_servico_id_seq INCREMENT BY 50;
+ALTER SEQUENCE usuario_id_seq INCREMENT BY 50;
@@ -0,0 +1,347 @@
+package br.com.ralfdomingues.oficina.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de carga ponta a ponta: sobe a aplicação completa contra um
+ * PostgreSQL do Testcontainers com a {@link MassaCarga} em escala de
+ * produção e executa uma carga mista (login, listagem de ordens, inclusão
+ * de itens, dashboard e busca de clientes e veículos) com usuários
+ * virtuais simultâneos.
+ *
+ * <p>
+ * Não faz parte da suíte padrão (tag {@code carga}); execução:
+ * <pre>
+ * mvn -Pcarga test
+ * mvn -Pcarga test -Dcarga.ordens=200000 -Dcarga.concorrencia=128 -Dcarga.duracao-segundos=120
+ * </pre>
+ *
+ * Para comparar os modos de execução das requisições, execute primeiro com
+ * threads de plataforma e depois com virtual threads, apontando para o
+ * resultado anterior:
+ * <pre>
+ * mvn -Pcarga test -Dcarga.concorrencia=400 -Dcarga.resultado=target/carga-plataforma.json
+ * mvn -Pcarga test -Dcarga.concorrencia=400 -Dcarga.threads-virtuais=true \
+ *     -Dcarga.comparar-com=target/carga-plataforma.json
+ * </pre>
+ *
+ * O resultado por operação (vazão e percentis de latência) é impresso ao
+ * final e gravado em JSON (ver {@link ConfiguracaoCarga}). O teste falha se
+ * alguma operação não for executada ou ultrapassar a proporção de erros aceita.
+ */
+@Tag("carga")
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CargaApiTest {
+
+    private static final PostgreSQLContainer<?> POSTGRES =
+            new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final String EMAIL_ADMIN = "carga.admin@oficina.com";
+    private static final String EMAIL_SECRETARIA = "carga.secretaria@oficina.com";
+    private static final String SENHA = "carga123";
+
+    private static final Duration TIMEOUT_REQUISICAO = Duration.ofSeconds(30);
+
+    private static final String[] NOMES_BUSCA = {"joão", "mar", "carlos s", "ana p", "paulo oli", "fern", "lucas c", "juli"};
+
+    @DynamicPropertySource
+    static void propriedades(DynamicPropertyRegistry registry) {
+        if (!POSTGRES.isRunning()) {
+            POSTGRES.start();
+
+            Flyway.configure()
+                    .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                    .locations("classpath:db/migration")
+                    .load()
+                    .migrate();
+        }
+
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("security.jwt.secret", () -> "segredo-do-teste-de-carga-com-pelo-menos-256-bits");
+        registry.add("security.jwt.expiration", () -> "3600000");
+        registry.add("management.server.port", () -> "0");
+        registry.add("oficina.auditoria.diretorio", () -> "target/carga/auditoria");
+        registry.add("spring.threads.virtual.enabled", ConfiguracaoCarga::threadsVirtuaisDoSistema);
+    }
+
+    @Value("${local.server.port}")
+    private int porta;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private HttpClient http;
+
+    @Test
+    void cargaMista() throws Exception {
+        ConfiguracaoCarga config = ConfiguracaoCarga.doSistema();
+
+        MassaCarga massa = new MassaCarga(jdbc, config.ordens(), config.itensPorOrdem());
+        massa.gerar();
+        criarUsuarios();
+
+        http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        // Contadores do dashboard refletindo a massa gerada
+        HttpResponse<String> reconstrucao = enviar(HttpRequest.newBuilder(uri("/dashboard/contadores/reconstruir"))
+                .header("Authorization", "Bearer " + login(EMAIL_ADMIN))
+                .POST(HttpRequest.BodyPublishers.noBody()));
+        assertEquals(204, reconstrucao.statusCode());
+
+        List<Long> ordensAbertas = massa.ordensEmAberto(10_000);
+        List<Long> servicos = massa.servicosAtivos();
+        int[] sorteio = tabelaDeSorteio(config.pesos());
+
+        long inicioMedicao = System.nanoTime() + config.aquecimento().toNanos();
+        long fim = inicioMedicao + config.duracao().toNanos();
+
+        List<ResultadoCarga.Registro> registros = new ArrayList<>();
+        List<Future<?>> usuarios = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.concorrencia(); i++) {
+                ResultadoCarga.Registro registro = new ResultadoCarga.Registro();
+                registros.add(registro);
+                usuarios.add(executor.submit(() -> {
+                    new UsuarioVirtual(registro, ordensAbertas, servicos).executar(sorteio, inicioMedicao, fim);
+                    return null;
+                }));
+            }
+
+            for (Future<?> usuario : usuarios) {
+                usuario.get();
+            }
+        }
+
+        ResultadoCarga resultado = ResultadoCarga.consolidar(config, registros);
+        resultado.imprimir(System.out);
+        resultado.gravarJson(config.resultado());
+
+        if (config.compararCom() != null) {
+            compararComAnterior(resultado, config.compararCom());
+        }
+
+        for (ResultadoCarga.Resumo resumo : resultado.resumos()) {
+            if (config.pesos().getOrDefault(resumo.operacao(), 0) == 0) {
+                continue;
+            }
+            assertTrue(resumo.requisicoes() > 0, "Nenhuma requisição de " + resumo.operacao().nome());
+            assertTrue(resumo.proporcaoErros() <= config.errosMaximos(),
+                    () -> "Erros acima do limite em " + resumo.operacao().nome() + ": " + resumo.erros()
+                            + " de " + resumo.requisicoes());
+        }
+    }
+
+    /**
+     * Usuário virtual: autentica-se uma vez e executa operações sorteadas
+     * até o fim da carga, registrando apenas as iniciadas após o aquecimento.
+     */
+    private final class UsuarioVirtual {
+
+        private final ResultadoCarga.Registro registro;
+        private final List<Long> ordensAbertas;
+        private final List<Long> servicos;
+
+        private String token;
+        private String cursor;
+
+        UsuarioVirtual(ResultadoCarga.Registro registro, List<Long> ordensAbertas, List<Long> servicos) {
+            this.registro = registro;
+            this.ordensAbertas = ordensAbertas;
+            this.servicos = servicos;
+        }
+
+        void executar(int[] sorteio, long inicioMedicao, long fim) throws Exception {
+            token = login(EMAIL_SECRETARIA);
+            ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+
+            long inicio;
+            while ((inicio = System.nanoTime()) < fim) {
+                OperacaoCarga operacao = OperacaoCarga.values()[sorteio[aleatorio.nextInt(sorteio.length)]];
+                boolean sucesso;
+
+                try {
+                    sucesso = executar(operacao, aleatorio);
+                } catch (Exception e) {
+                    sucesso = false;
+                }
+
+                if (inicio >= inicioMedicao) {
+                    registro.registrar(operacao, System.nanoTime() - inicio, sucesso);
+                }
+            }
+        }
+
+        private boolean executar(OperacaoCarga operacao, ThreadLocalRandom aleatorio) throws Exception {
+            return switch (operacao) {
+                case LOGIN -> {
+                    token = login(EMAIL_SECRETARIA);
+                    yield true;
+                }
+                case LISTAR_ORDENS -> {
+                    String caminho = "/ordens-servico/cursor?size=20";
+                    if (cursor != null && aleatorio.nextBoolean()) {
+                        caminho += "&after=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8);
+                    }
+
+                    HttpResponse<String> resposta = enviar(autenticada(caminho).GET());
+                    if (resposta.statusCode() != 200) {
+                        yield false;
+                    }
+
+                    JsonNode proximo = objectMapper.readTree(resposta.body()).get("proximoCursor");
+                    cursor = proximo == null || proximo.isNull() ? null : proximo.asText();
+                    yield true;
+                }
+                case ADICIONAR_ITEM -> {
+                    String corpo = objectMapper.writeValueAsString(Map.of(
+                            "ordemServicoId", ordensAbertas.get(aleatorio.nextInt(ordensAbertas.size())),
+                            "servicoId", servicos.get(aleatorio.nextInt(servicos.size())),
+                            "quantidade", 1 + aleatorio.nextInt(3)));
+
+                    HttpResponse<String> resposta = enviar(autenticada("/itens-servico")
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(corpo)));
+                    yield resposta.statusCode() == 200;
+                }
+                case DASHBOARD -> enviar(autenticada("/dashboard/snapshot").GET()).statusCode() == 200;
+                case BUSCAR -> enviar(autenticada(caminhoBusca(aleatorio)).GET()).statusCode() == 200;
+            };
+        }
+
+        /**
+         * Busca de cliente por prefixo de nome (metade das vezes) ou de CPF,
+         * ou de veículo por prefixo de placa, com termos presentes na massa.
+         */
+        private String caminhoBusca(ThreadLocalRandom aleatorio) {
+            int sorteio = aleatorio.nextInt(10);
+
+            if (sorteio < 5) {
+                return "/clientes/busca?q=" + URLEncoder.encode(
+                        NOMES_BUSCA[aleatorio.nextInt(NOMES_BUSCA.length)], StandardCharsets.UTF_8);
+            }
+            if (sorteio < 7) {
+                // CPFs da massa: número sequencial com 11 dígitos
+                return "/clientes/busca?q=" + String.format("00000%03d", aleatorio.nextInt(100));
+            }
+
+            return "/veiculos/busca?q=" + (char) ('A' + aleatorio.nextInt(26)) + (char) ('A' + aleatorio.nextInt(26))
+                    + (char) ('A' + aleatorio.nextInt(26));
+        }
+
+        private HttpRequest.Builder autenticada(String caminho) {
+            return HttpRequest.newBuilder(uri(caminho)).header("Authorization", "Bearer " + token);
+        }
+    }
+
+    /**
+     * Lê o resultado de uma execução anterior e imprime a variação em relação à atual.
+     */
+    private void compararComAnterior(ResultadoCarga resultado, Path arquivo) throws IOException {
+        JsonNode anterior = objectMapper.readTree(arquivo.toFile());
+        Map<String, ResultadoCarga.Resumo> operacoes = new HashMap<>();
+
+        for (JsonNode operacao : anterior.get("operacoes")) {
+            String nome = operacao.get("operacao").asText();
+            operacoes.put(nome, new ResultadoCarga.Resumo(
+                    OperacaoCarga.porNome(nome),
+                    operacao.get("requisicoes").asLong(),
+                    operacao.get("erros").asLong(),
+                    operacao.get("porSegundo").asDouble(),
+                    operacao.get("p50").asDouble(),
+                    operacao.get("p90").asDouble(),
+                    operacao.get("p95").asDouble(),
+                    operacao.get("p99").asDouble(),
+                    operacao.get("p999").asDouble(),
+                    operacao.get("maximo").asDouble()));
+        }
+
+        resultado.comparar(operacoes, anterior.get("rotulo").asText(), System.out);
+    }
+
+    private void criarUsuarios() {
+        String senha = passwordEncoder.encode(SENHA);
+
+        jdbc.update("""
+                INSERT INTO usuario (nome, email, senha, perfil, ativo)
+                VALUES ('Administrador da carga', ?, ?, 'ADMIN', TRUE),
+                       ('Secretaria da carga', ?, ?, 'SECRETARIA', TRUE)
+                """, EMAIL_ADMIN, senha, EMAIL_SECRETARIA, senha);
+    }
+
+    private String login(String email) throws Exception {
+        String corpo = objectMapper.writeValueAsString(Map.of("email", email, "senha", SENHA));
+
+        HttpResponse<String> resposta = enviar(HttpRequest.newBuilder(uri("/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo)));
+
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("Falha no login de " + email + ": HTTP " + resposta.statusCode());
+        }
+        return objectMapper.readTree(resposta.body()).get("token").asText();
+    }
+
+    private HttpResponse<String> enviar(HttpRequest.Builder requisicao) throws Exception {
+        return http.send(requisicao.timeout(TIMEOUT_REQUISICAO).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String caminho) {
+        return URI.create("http://localhost:" + porta + caminho);
+    }
+
+    /**
+     * Tabela em que cada operação aparece tantas vezes quanto o seu peso,
+     * para sorteio uniforme.
+     */
+    private static int[] tabelaDeSorteio(Map<OperacaoCarga, Integer> pesos) {
+        return pesos.entrySet().stream()
+                .flatMapToInt(peso -> IntStream.generate(() -> peso.getKey().ordinal())
+                        .limit(peso.getValue()))
+                .toArray();
+    }
+}
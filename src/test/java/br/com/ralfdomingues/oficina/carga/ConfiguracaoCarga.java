@@ -0,0 +1,80 @@
+package br.com.ralfdomingues.oficina.carga;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Parâmetros do teste de carga, lidos das propriedades de sistema
+ * (ex.: {@code mvn -Pcarga test -Dcarga.concorrencia=128}).
+ *
+ * @param ordens ordens geradas na massa ({@code carga.ordens})
+ * @param itensPorOrdem itens por ordem na massa ({@code carga.itens-por-ordem})
+ * @param concorrencia usuários virtuais simultâneos ({@code carga.concorrencia})
+ * @param aquecimento período inicial descartado da medição ({@code carga.aquecimento-segundos})
+ * @param duracao período medido ({@code carga.duracao-segundos})
+ * @param pesos peso de cada operação no sorteio ({@code carga.mix}, ex.: {@code login=5,dashboard=20})
+ * @param errosMaximos proporção máxima de erros aceita por operação ({@code carga.erros-max})
+ * @param threadsVirtuais atende as requisições em virtual threads ({@code carga.threads-virtuais})
+ * @param rotulo identificação da execução no resultado ({@code carga.rotulo}, padrão: modo de threads)
+ * @param resultado arquivo JSON com o resultado ({@code carga.resultado})
+ * @param compararCom resultado de uma execução anterior para comparação ({@code carga.comparar-com}), opcional
+ */
+record ConfiguracaoCarga(
+        int ordens,
+        int itensPorOrdem,
+        int concorrencia,
+        Duration aquecimento,
+        Duration duracao,
+        Map<OperacaoCarga, Integer> pesos,
+        double errosMaximos,
+        boolean threadsVirtuais,
+        String rotulo,
+        Path resultado,
+        Path compararCom
+) {
+
+    private static final String MIX_PADRAO = "login=5,listar-ordens=40,adicionar-item=25,dashboard=20,buscar=10";
+
+    static ConfiguracaoCarga doSistema() {
+        boolean threadsVirtuais = threadsVirtuaisDoSistema();
+        String compararCom = System.getProperty("carga.comparar-com");
+
+        return new ConfiguracaoCarga(
+                Integer.getInteger("carga.ordens", 1_000_000),
+                Integer.getInteger("carga.itens-por-ordem", 5),
+                Integer.getInteger("carga.concorrencia", 64),
+                Duration.ofSeconds(Long.getLong("carga.aquecimento-segundos", 15)),
+                Duration.ofSeconds(Long.getLong("carga.duracao-segundos", 60)),
+                pesos(System.getProperty("carga.mix", MIX_PADRAO)),
+                Double.parseDouble(System.getProperty("carga.erros-max", "0.01")),
+                threadsVirtuais,
+                System.getProperty("carga.rotulo", threadsVirtuais ? "threads-virtuais" : "threads-plataforma"),
+                Path.of(System.getProperty("carga.resultado", "target/carga-resultado.json")),
+                compararCom == null || compararCom.isBlank() ? null : Path.of(compararCom)
+        );
+    }
+
+    /**
+     * Modo de execução das requisições, lido antes da criação do contexto
+     * para configurar {@code spring.threads.virtual.enabled}.
+     */
+    static boolean threadsVirtuaisDoSistema() {
+        return Boolean.getBoolean("carga.threads-virtuais");
+    }
+
+    private static Map<OperacaoCarga, Integer> pesos(String mix) {
+        Map<OperacaoCarga, Integer> pesos = new EnumMap<>(OperacaoCarga.class);
+
+        for (String entrada : mix.split(",")) {
+            String[] partes = entrada.trim().split("=");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Entrada inválida em carga.mix: " + entrada);
+            }
+            pesos.put(OperacaoCarga.porNome(partes[0].trim()), Integer.parseInt(partes[1].trim()));
+        }
+
+        return pesos;
+    }
+}
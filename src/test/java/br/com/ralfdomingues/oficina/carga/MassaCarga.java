@@ -0,0 +1,181 @@
+package br.com.ralfdomingues.oficina.carga;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Massa de dados em escala de produção para o teste de carga.
+ *
+ * <p>
+ * Reproduz o formato dos dados de {@code V2__insert_data.sql} e
+ * {@code V5__inserts_dashboard.sql} (CPFs formatados, placas no padrão
+ * Mercosul, o mesmo catálogo de serviços, ordens distribuídas por mês e
+ * status e {@code valor_final} igual à soma dos itens), gerada no próprio
+ * PostgreSQL com {@code generate_series} em blocos de ordens.
+ *
+ * <p>
+ * Proporções: um cliente para cada cinco ordens, um veículo por cliente
+ * (um segundo para cada quarto cliente) e a quantidade configurada de
+ * itens por ordem.
+ */
+class MassaCarga {
+
+    private static final int ORDENS_POR_BLOCO = 100_000;
+
+    private final JdbcTemplate jdbc;
+    private final int ordens;
+    private final int itensPorOrdem;
+
+    MassaCarga(JdbcTemplate jdbc, int ordens, int itensPorOrdem) {
+        this.jdbc = jdbc;
+        this.ordens = ordens;
+        this.itensPorOrdem = itensPorOrdem;
+    }
+
+    /**
+     * Insere clientes, veículos, serviços, ordens e itens e atualiza as
+     * estatísticas do PostgreSQL.
+     */
+    void gerar() {
+        int clientes = Math.max(1, ordens / 5);
+
+        long inicio = System.nanoTime();
+
+        jdbc.update("""
+                INSERT INTO servico (nome, preco)
+                VALUES ('Troca de óleo', 150.00),
+                       ('Alinhamento', 120.00),
+                       ('Balanceamento', 100.00),
+                       ('Troca de velas', 180.00),
+                       ('Revisão geral', 450.00),
+                       ('Troca de pastilhas', 220.00),
+                       ('Higienização do ar-condicionado', 160.00),
+                       ('Troca de correia dentada', 520.00)
+                """);
+
+        jdbc.update("""
+                INSERT INTO cliente (nome, telefone, email, cpf, ativo)
+                SELECT (ARRAY['João', 'Maria', 'Carlos', 'Ana', 'Paulo', 'Fernanda', 'Lucas', 'Juliana'])[1 + g % 8]
+                           || ' ' || (ARRAY['Silva', 'Souza', 'Pereira', 'Costa', 'Oliveira', 'Santos'])[1 + g % 6]
+                           || ' ' || g,
+                       '4799' || lpad(g::text, 7, '0'),
+                       'cliente' || g || '@email.com',
+                       regexp_replace(lpad(g::text, 11, '0'), '(\\d{3})(\\d{3})(\\d{3})(\\d{2})', '\\1.\\2.\\3-\\4'),
+                       g % 50 <> 0
+                FROM generate_series(1, ?) g
+                """, clientes);
+
+        jdbc.update("""
+                INSERT INTO veiculo (cliente_id, placa, modelo, marca, ano, tipo, ativo)
+                SELECT c.id,
+                       chr(65 + n % 26) || chr(65 + (n / 26) % 26) || chr(65 + (n / 676) % 26)
+                           || (n / 17576) % 10 || chr(65 + (n / 175760) % 26)
+                           || lpad(((n / 4569760) % 100)::text, 2, '0'),
+                       (ARRAY['Gol', 'Onix', 'Civic', 'CG 160', 'HB20', 'Corolla'])[1 + n % 6],
+                       (ARRAY['Volkswagen', 'Chevrolet', 'Honda', 'Honda', 'Hyundai', 'Toyota'])[1 + n % 6],
+                       2005 + n % 20,
+                       CASE WHEN n % 6 = 3 THEN 'MOTO' ELSE 'CARRO' END,
+                       TRUE
+                FROM (
+                    SELECT c.id, (row_number() OVER (ORDER BY c.id, g.v) - 1)::int AS n
+                    FROM cliente c
+                    CROSS JOIN LATERAL generate_series(1, CASE WHEN c.id % 4 = 0 THEN 2 ELSE 1 END) AS g(v)
+                ) c
+                """);
+
+        // Numeração contígua dos veículos para distribuir as ordens
+        jdbc.execute("DROP TABLE IF EXISTS carga_veiculo");
+        jdbc.execute("""
+                CREATE UNLOGGED TABLE carga_veiculo AS
+                SELECT row_number() OVER (ORDER BY id) - 1 AS n, id, cliente_id
+                FROM veiculo
+                """);
+        jdbc.execute("ALTER TABLE carga_veiculo ADD PRIMARY KEY (n)");
+
+        long veiculos = jdbc.queryForObject("SELECT COUNT(*) FROM carga_veiculo", Long.class);
+        int servicos = jdbc.queryForObject("SELECT COUNT(*) FROM servico", Integer.class);
+
+        for (int primeira = 1; primeira <= ordens; primeira += ORDENS_POR_BLOCO) {
+            int ultima = Math.min(ordens, primeira + ORDENS_POR_BLOCO - 1);
+            gerarOrdens(primeira, ultima, veiculos, servicos);
+
+            System.out.printf("[carga] ordens %d-%d de %d geradas (%d s)%n",
+                    primeira, ultima, ordens, (System.nanoTime() - inicio) / 1_000_000_000L);
+        }
+
+        jdbc.execute("DROP TABLE carga_veiculo");
+        jdbc.execute("ANALYZE");
+    }
+
+    /**
+     * Gera as ordens do intervalo com seus itens e o valor final correspondente.
+     */
+    private void gerarOrdens(int primeira, int ultima, long veiculos, int servicos) {
+        long ultimoId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM ordens_servico", Long.class);
+
+        // Distribuição de V5: maioria concluída, algumas abertas, em andamento e canceladas
+        jdbc.update("""
+                INSERT INTO ordens_servico
+                (cliente_id, veiculo_id, descricao, data_abertura, data_conclusao, status, valor_estimado, valor_final)
+                SELECT v.cliente_id, v.id,
+                       (ARRAY['Troca de óleo e revisão', 'Alinhamento e balanceamento', 'Troca de velas',
+                              'Revisão preventiva', 'Barulho na suspensão', 'Revisão completa antes de viagem'])[1 + o.g % 6],
+                       o.abertura,
+                       CASE WHEN o.status = 'CONCLUIDA' THEN o.abertura + INTERVAL '5 hours' END,
+                       o.status,
+                       100 + (o.g % 20) * 25,
+                       NULL
+                FROM (
+                    SELECT g,
+                           TIMESTAMP '2025-01-01' + (g % 525600) * INTERVAL '1 minute' AS abertura,
+                           CASE
+                               WHEN g % 20 < 14 THEN 'CONCLUIDA'
+                               WHEN g % 20 < 17 THEN 'ABERTA'
+                               WHEN g % 20 < 19 THEN 'EM_ANDAMENTO'
+                               ELSE 'CANCELADA'
+                           END AS status
+                    FROM generate_series(?, ?) g
+                ) o
+                JOIN carga_veiculo v ON v.n = o.g % ?
+                """, primeira, ultima, veiculos);
+
+        jdbc.update("""
+                INSERT INTO itens_servico (ordem_id, servico_id, quantidade, valor_unitario, ativo)
+                SELECT o.id, s.id, 1 + (o.id / 50 + g) % 3, s.preco, TRUE
+                FROM ordens_servico o
+                CROSS JOIN generate_series(1, ?) g
+                JOIN (SELECT id, preco, row_number() OVER (ORDER BY id) - 1 AS n FROM servico) s
+                     ON s.n = (o.id / 50 + g) % ?
+                WHERE o.id > ? AND o.status <> 'CANCELADA'
+                """, itensPorOrdem, servicos, ultimoId);
+
+        jdbc.update("""
+                UPDATE ordens_servico o
+                SET valor_final = t.total
+                FROM (
+                    SELECT i.ordem_id, SUM(i.quantidade * i.valor_unitario) AS total
+                    FROM itens_servico i
+                    WHERE i.ordem_id > ?
+                    GROUP BY i.ordem_id
+                ) t
+                WHERE o.id = t.ordem_id
+                """, ultimoId);
+    }
+
+    /**
+     * Ordens abertas ou em andamento, sorteadas para receber novos itens.
+     */
+    List<Long> ordensEmAberto(int limite) {
+        return jdbc.queryForList("""
+                SELECT id FROM ordens_servico
+                WHERE status IN ('ABERTA', 'EM_ANDAMENTO')
+                ORDER BY random()
+                LIMIT ?
+                """, Long.class, limite);
+    }
+
+    List<Long> servicosAtivos() {
+        return jdbc.queryForList("SELECT id FROM servico WHERE ativo = TRUE ORDER BY id", Long.class);
+    }
+}
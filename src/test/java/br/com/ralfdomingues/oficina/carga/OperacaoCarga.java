@@ -0,0 +1,41 @@
+package br.com.ralfdomingues.oficina.carga;
+
+/**
+ * Operações executadas pelos usuários virtuais do teste de carga.
+ */
+enum OperacaoCarga {
+
+    /** {@code POST /auth/login} */
+    LOGIN("login"),
+
+    /** {@code GET /ordens-servico/cursor}, seguindo o cursor retornado em parte das vezes */
+    LISTAR_ORDENS("listar-ordens"),
+
+    /** {@code POST /itens-servico} em uma ordem aberta */
+    ADICIONAR_ITEM("adicionar-item"),
+
+    /** {@code GET /dashboard/snapshot} */
+    DASHBOARD("dashboard"),
+
+    /** {@code GET /clientes/busca} (nome ou CPF) e {@code GET /veiculos/busca} (placa) */
+    BUSCAR("buscar");
+
+    private final String nome;
+
+    OperacaoCarga(String nome) {
+        this.nome = nome;
+    }
+
+    String nome() {
+        return nome;
+    }
+
+    static OperacaoCarga porNome(String nome) {
+        for (OperacaoCarga operacao : values()) {
+            if (operacao.nome.equals(nome)) {
+                return operacao;
+            }
+        }
+        throw new IllegalArgumentException("Operação de carga desconhecida: " + nome);
+    }
+}
@@ -0,0 +1,214 @@
+package br.com.ralfdomingues.oficina.carga;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Vazão e percentis de latência por operação de uma execução de carga.
+ *
+ * <p>
+ * Cada usuário virtual registra suas amostras em um {@link Registro}
+ * próprio, sem sincronização; os registros são consolidados ao final.
+ */
+final class ResultadoCarga {
+
+    /**
+     * Resumo de uma operação; latências em milissegundos.
+     */
+    record Resumo(
+            OperacaoCarga operacao,
+            long requisicoes,
+            long erros,
+            double porSegundo,
+            double p50,
+            double p90,
+            double p95,
+            double p99,
+            double p999,
+            double maximo
+    ) {
+
+        double proporcaoErros() {
+            return requisicoes == 0 ? 0 : (double) erros / requisicoes;
+        }
+    }
+
+    /**
+     * Amostras de um usuário virtual.
+     */
+    static final class Registro {
+
+        private final Map<OperacaoCarga, Amostras> amostras = new EnumMap<>(OperacaoCarga.class);
+
+        void registrar(OperacaoCarga operacao, long nanos, boolean sucesso) {
+            amostras.computeIfAbsent(operacao, chave -> new Amostras()).adicionar(nanos, sucesso);
+        }
+    }
+
+    private static final class Amostras {
+
+        private long[] latencias = new long[1024];
+        private int total;
+        private long erros;
+
+        void adicionar(long nanos, boolean sucesso) {
+            if (total == latencias.length) {
+                latencias = Arrays.copyOf(latencias, total * 2);
+            }
+            latencias[total++] = nanos;
+            if (!sucesso) {
+                erros++;
+            }
+        }
+    }
+
+    private final String rotulo;
+    private final boolean threadsVirtuais;
+    private final int concorrencia;
+    private final Duration duracao;
+    private final List<Resumo> resumos;
+
+    private ResultadoCarga(String rotulo, boolean threadsVirtuais, int concorrencia, Duration duracao,
+                           List<Resumo> resumos) {
+        this.rotulo = rotulo;
+        this.threadsVirtuais = threadsVirtuais;
+        this.concorrencia = concorrencia;
+        this.duracao = duracao;
+        this.resumos = resumos;
+    }
+
+    static ResultadoCarga consolidar(ConfiguracaoCarga config, List<Registro> registros) {
+        Duration duracao = config.duracao();
+        List<Resumo> resumos = new ArrayList<>();
+        double segundos = duracao.toNanos() / 1e9;
+
+        for (OperacaoCarga operacao : OperacaoCarga.values()) {
+            int total = 0;
+            long erros = 0;
+            for (Registro registro : registros) {
+                Amostras amostras = registro.amostras.get(operacao);
+                if (amostras != null) {
+                    total += amostras.total;
+                    erros += amostras.erros;
+                }
+            }
+
+            long[] latencias = new long[total];
+            int posicao = 0;
+            for (Registro registro : registros) {
+                Amostras amostras = registro.amostras.get(operacao);
+                if (amostras != null) {
+                    System.arraycopy(amostras.latencias, 0, latencias, posicao, amostras.total);
+                    posicao += amostras.total;
+                }
+            }
+            Arrays.sort(latencias);
+
+            resumos.add(new Resumo(
+                    operacao,
+                    total,
+                    erros,
+                    total / segundos,
+                    percentil(latencias, 0.50),
+                    percentil(latencias, 0.90),
+                    percentil(latencias, 0.95),
+                    percentil(latencias, 0.99),
+                    percentil(latencias, 0.999),
+                    total == 0 ? 0 : latencias[total - 1] / 1e6
+            ));
+        }
+
+        return new ResultadoCarga(config.rotulo(), config.threadsVirtuais(), config.concorrencia(), duracao, resumos);
+    }
+
+    /**
+     * Percentil pelo método do posto mais próximo, em milissegundos.
+     */
+    static double percentil(long[] ordenadas, double quantil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int posto = (int) Math.ceil(quantil * ordenadas.length);
+        return ordenadas[Math.max(0, posto - 1)] / 1e6;
+    }
+
+    List<Resumo> resumos() {
+        return resumos;
+    }
+
+    void imprimir(PrintStream saida) {
+        saida.printf(Locale.ROOT, "%n[carga] %s | %d usuários virtuais | %d s medidos%n",
+                rotulo, concorrencia, duracao.toSeconds());
+        saida.printf(Locale.ROOT, "%-16s %11s %8s %10s %9s %9s %9s %9s %9s %9s%n",
+                "operação", "requisições", "erros", "req/s", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "p99.9 ms", "máx ms");
+
+        for (Resumo r : resumos) {
+            saida.printf(Locale.ROOT, "%-16s %11d %8d %10.1f %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    r.operacao().nome(), r.requisicoes(), r.erros(), r.porSegundo(),
+                    r.p50(), r.p90(), r.p95(), r.p99(), r.p999(), r.maximo());
+        }
+    }
+
+    /**
+     * Imprime a variação de vazão e de latência de cauda em relação a uma
+     * execução anterior (ex.: threads de plataforma contra virtual threads).
+     *
+     * @param anterior operações da execução anterior, por nome, no formato de {@link #gravarJson(Path)}
+     * @param rotuloAnterior identificação da execução anterior
+     */
+    void comparar(Map<String, Resumo> anterior, String rotuloAnterior, PrintStream saida) {
+        saida.printf(Locale.ROOT, "%n[carga] %s comparado a %s%n", rotulo, rotuloAnterior);
+        saida.printf(Locale.ROOT, "%-16s %22s %22s %22s%n", "operação", "req/s", "p99 ms", "p99.9 ms");
+
+        for (Resumo atual : resumos) {
+            Resumo antes = anterior.get(atual.operacao().nome());
+            if (antes == null) {
+                continue;
+            }
+
+            saida.printf(Locale.ROOT, "%-16s %22s %22s %22s%n",
+                    atual.operacao().nome(),
+                    variacao(antes.porSegundo(), atual.porSegundo()),
+                    variacao(antes.p99(), atual.p99()),
+                    variacao(antes.p999(), atual.p999()));
+        }
+    }
+
+    private static String variacao(double antes, double depois) {
+        String percentual = antes == 0 ? "-" : String.format(Locale.ROOT, "%+.0f%%", (depois - antes) * 100 / antes);
+        return String.format(Locale.ROOT, "%.1f → %.1f (%s)", antes, depois, percentual);
+    }
+
+    /**
+     * Grava o resultado em JSON, para comparação entre versões e modos de execução.
+     */
+    void gravarJson(Path arquivo) throws IOException {
+        String operacoes = resumos.stream()
+                .map(r -> String.format(Locale.ROOT,
+                        "{\"operacao\":\"%s\",\"requisicoes\":%d,\"erros\":%d,\"porSegundo\":%.2f,"
+                                + "\"p50\":%.3f,\"p90\":%.3f,\"p95\":%.3f,\"p99\":%.3f,\"p999\":%.3f,\"maximo\":%.3f}",
+                        r.operacao().nome(), r.requisicoes(), r.erros(), r.porSegundo(),
+                        r.p50(), r.p90(), r.p95(), r.p99(), r.p999(), r.maximo()))
+                .collect(Collectors.joining(",\n    ", "[\n    ", "\n  ]"));
+
+        String json = String.format(Locale.ROOT,
+                "{%n  \"rotulo\": \"%s\",%n  \"threadsVirtuais\": %b,%n  \"concorrencia\": %d,%n"
+                        + "  \"duracaoSegundos\": %d,%n  \"operacoes\": %s%n}%n",
+                rotulo, threadsVirtuais, concorrencia, duracao.toSeconds(), operacoes);
+
+        if (arquivo.getParent() != null) {
+            Files.createDirectories(arquivo.getParent());
+        }
+        Files.writeString(arquivo, json);
+    }
+}
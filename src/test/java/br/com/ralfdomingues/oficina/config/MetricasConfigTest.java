@@ -0,0 +1,35 @@
+package br.com.ralfdomingues.oficina.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationPredicate;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricasConfigTest {
+
+    private final ObservationPredicate predicado = new MetricasConfig().ignorarActuator();
+
+    private ServerRequestObservationContext contexto(String uri) {
+        return new ServerRequestObservationContext(
+                new MockHttpServletRequest("GET", uri), new MockHttpServletResponse());
+    }
+
+    @Test
+    void requisicoesDaApi_saoObservadas() {
+        assertTrue(predicado.test("http.server.requests", contexto("/ordens-servico")));
+    }
+
+    @Test
+    void coletaDoActuator_naoEObservada() {
+        assertFalse(predicado.test("http.server.requests", contexto("/actuator/prometheus")));
+    }
+
+    @Test
+    void outrasObservacoes_naoSaoAfetadas() {
+        assertTrue(predicado.test("spring.security.filterchains", new Observation.Context()));
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.ralfdomingues.oficina.config.security;
+
+import br.com.ralfdomingues.oficina.domain.usuario.entity.Usuario;
+import br.com.ralfdomingues.oficina.domain.usuario.enums.PerfilUsuario;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SEGREDO_ATUAL = "segredo-atual-com-pelo-menos-32-bytes!!";
+    private static final String SEGREDO_ANTIGO = "segredo-antigo-com-pelo-menos-32-bytes!";
+
+    private Usuario usuario() {
+        Usuario usuario = new Usuario();
+        usuario.setEmail("admin@oficina.com");
+        usuario.setPerfil(PerfilUsuario.ADMIN);
+        return usuario;
+    }
+
+    @Test
+    void gerarToken_eGetEmail_retornaSubject() {
+        JwtService service = new JwtService(SEGREDO_ATUAL, 60_000L, "v2", "");
+
+        String token = service.gerarToken(usuario());
+
+        assertEquals("admin@oficina.com", service.getEmail(token));
+    }
+
+    @Test
+    void getEmail_tokenDeChaveAnteriorConfigurada_aceita() {
+        JwtService antigo = new JwtService(SEGREDO_ANTIGO, 60_000L, "v1", "");
+        JwtService atual = new JwtService(SEGREDO_ATUAL, 60_000L, "v2", "v1:" + SEGREDO_ANTIGO);
+
+        String token = antigo.gerarToken(usuario());
+
+        assertEquals("admin@oficina.com", atual.getEmail(token));
+    }
+
+    @Test
+    void getEmail_tokenDeChaveRemovida_rejeita() {
+        JwtService antigo = new JwtService(SEGREDO_ANTIGO, 60_000L, "v1", "");
+        JwtService atual = new JwtService(SEGREDO_ATUAL, 60_000L, "v2", "");
+
+        String token = antigo.gerarToken(usuario());
+
+        assertThrows(JwtException.class, () -> atual.getEmail(token));
+    }
+
+    @Test
+    void getEmail_kidConhecidoComAssinaturaDeOutraChave_rejeita() {
+        JwtService falsificado = new JwtService(SEGREDO_ANTIGO, 60_000L, "v2", "");
+        JwtService atual = new JwtService(SEGREDO_ATUAL, 60_000L, "v2", "");
+
+        String token = falsificado.gerarToken(usuario());
+
+        assertThrows(JwtException.class, () -> atual.getEmail(token));
+    }
+
+    @Test
+    void getClaims_contemPerfilEVersao() {
+        JwtService service = new JwtService(SEGREDO_ATUAL, 60_000L, "v2", "");
+        Usuario usuario = usuario();
+        usuario.setTokenVersao(3);
+
+        Claims claims = service.getClaims(service.gerarToken(usuario));
+
+        assertEquals("ADMIN", claims.get(JwtService.CLAIM_PERFIL, String.class));
+        assertEquals(3, claims.get(JwtService.CLAIM_VERSAO, Integer.class));
+    }
+}
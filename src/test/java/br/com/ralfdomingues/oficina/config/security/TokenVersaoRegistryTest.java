@@ -0,0 +1,86 @@
+package br.com.ralfdomingues.oficina.config.security;
+
+import br.com.ralfdomingues.oficina.domain.usuario.dto.UsuarioTokenView;
+import br.com.ralfdomingues.oficina.domain.usuario.entity.Usuario;
+import br.com.ralfdomingues.oficina.repository.usuario.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TokenVersaoRegistryTest {
+
+    private final UsuarioRepository repository = mock(UsuarioRepository.class);
+
+    private UsuarioTokenView view(String email, int versao, boolean ativo) {
+        UsuarioTokenView view = mock(UsuarioTokenView.class);
+        when(view.getEmail()).thenReturn(email);
+        when(view.getTokenVersao()).thenReturn(versao);
+        when(view.getAtivo()).thenReturn(ativo);
+        return view;
+    }
+
+    private Usuario usuario(String email, int versao, boolean ativo) {
+        Usuario usuario = new Usuario();
+        usuario.setEmail(email);
+        usuario.setTokenVersao(versao);
+        usuario.setAtivo(ativo);
+        return usuario;
+    }
+
+    @Test
+    void aceita_somenteUsuarioAtivoComVersaoAtual() {
+        List<UsuarioTokenView> estados = List.of(
+                view("ativo@a.com", 2, true),
+                view("inativo@a.com", 0, false)
+        );
+        when(repository.buscarEstadosToken()).thenReturn(estados);
+        TokenVersaoRegistry registry = new TokenVersaoRegistry(repository, true);
+        registry.recarregar();
+
+        assertTrue(registry.aceita("ativo@a.com", 2));
+        assertFalse(registry.aceita("ativo@a.com", 1));
+        assertFalse(registry.aceita("inativo@a.com", 0));
+        assertFalse(registry.aceita("desconhecido@a.com", 0));
+    }
+
+    @Test
+    void atualizarAposCommit_revogaVersaoAnteriorEEmailAntigo() {
+        List<UsuarioTokenView> estados = List.of(view("a@a.com", 0, true));
+        when(repository.buscarEstadosToken()).thenReturn(estados);
+        TokenVersaoRegistry registry = new TokenVersaoRegistry(repository, true);
+        registry.recarregar();
+
+        registry.atualizarAposCommit("a@a.com", usuario("b@b.com", 1, true));
+
+        assertFalse(registry.aceita("a@a.com", 0));
+        assertTrue(registry.aceita("b@b.com", 1));
+        assertFalse(registry.aceita("b@b.com", 0));
+    }
+
+    @Test
+    void recarregar_leituraDesatualizada_naoDesfazRevogacao() {
+        List<UsuarioTokenView> estados = List.of(view("a@a.com", 0, true));
+        when(repository.buscarEstadosToken()).thenReturn(estados);
+        TokenVersaoRegistry registry = new TokenVersaoRegistry(repository, true);
+        registry.recarregar();
+
+        registry.atualizarAposCommit("a@a.com", usuario("a@a.com", 1, false));
+        registry.recarregar();
+
+        assertFalse(registry.aceita("a@a.com", 0));
+        assertFalse(registry.aceita("a@a.com", 1));
+    }
+
+    @Test
+    void desabilitado_naoConsultaBanco() {
+        TokenVersaoRegistry registry = new TokenVersaoRegistry(repository, false);
+
+        registry.recarregar();
+
+        verifyNoInteractions(repository);
+        assertFalse(registry.isHabilitado());
+    }
+}
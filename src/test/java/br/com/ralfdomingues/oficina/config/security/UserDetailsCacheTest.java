@@ -0,0 +1,112 @@
+package br.com.ralfdomingues.oficina.config.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDetailsCacheTest {
+
+    private final AtomicInteger carregamentos = new AtomicInteger();
+
+    private final Function<String, UserDetailsCache.UsuarioAutenticado> carregador = email -> {
+        carregamentos.incrementAndGet();
+        return new UserDetailsCache.UsuarioAutenticado(email, "hash", true, "ADMIN");
+    };
+
+    @Test
+    void obter_segundaLeitura_usaCache() {
+        UserDetailsCache cache = new UserDetailsCache(60, 10);
+
+        cache.obter("a@a.com", carregador);
+        UserDetails user = cache.obter("a@a.com", carregador);
+
+        assertEquals(1, carregamentos.get());
+        assertEquals("a@a.com", user.getUsername());
+        assertTrue(user.isEnabled());
+        assertEquals(1, cache.estatisticas().acertos());
+        assertEquals(1, cache.estatisticas().falhas());
+    }
+
+    @Test
+    void obter_retornaNovaInstanciaACadaLeitura() {
+        UserDetailsCache cache = new UserDetailsCache(60, 10);
+
+        UserDetails primeiro = cache.obter("a@a.com", carregador);
+        UserDetails segundo = cache.obter("a@a.com", carregador);
+
+        assertNotSame(primeiro, segundo);
+        assertEquals("hash", segundo.getPassword());
+    }
+
+    @Test
+    void invalidar_forcaNovoCarregamento() {
+        UserDetailsCache cache = new UserDetailsCache(60, 10);
+
+        cache.obter("a@a.com", carregador);
+        cache.invalidar("a@a.com");
+        cache.obter("a@a.com", carregador);
+
+        assertEquals(2, carregamentos.get());
+        assertEquals(1, cache.estatisticas().invalidacoes());
+    }
+
+    @Test
+    void ttlZero_naoArmazena() {
+        UserDetailsCache cache = new UserDetailsCache(0, 10);
+
+        cache.obter("a@a.com", carregador);
+        cache.obter("a@a.com", carregador);
+
+        assertEquals(2, carregamentos.get());
+        assertEquals(0, cache.estatisticas().tamanho());
+    }
+
+    @Test
+    void capacidadeAtingida_removeEntradas() {
+        UserDetailsCache cache = new UserDetailsCache(60, 2);
+
+        cache.obter("a@a.com", carregador);
+        cache.obter("b@b.com", carregador);
+        cache.obter("c@c.com", carregador);
+
+        assertEquals(2, cache.estatisticas().tamanho());
+        assertEquals(1, cache.estatisticas().remocoes());
+    }
+
+    @Test
+    void capacidadeAtingida_removeEntradaLidaHaMaisTempo() {
+        UserDetailsCache cache = new UserDetailsCache(60, 2);
+
+        cache.obter("a@a.com", carregador);
+        cache.obter("b@b.com", carregador);
+        cache.obter("a@a.com", carregador);
+        cache.obter("c@c.com", carregador);
+
+        cache.obter("a@a.com", carregador);
+        assertEquals(3, carregamentos.get());
+
+        cache.obter("b@b.com", carregador);
+        assertEquals(4, carregamentos.get());
+    }
+
+    @Test
+    void invalidarDuranteCarregamento_naoGravaDadosLidos() {
+        UserDetailsCache cache = new UserDetailsCache(60, 10);
+
+        // Carregamento que leu o usuário antes do commit de uma desativação
+        cache.obter("a@a.com", email -> {
+            carregamentos.incrementAndGet();
+            cache.invalidar(email);
+            return new UserDetailsCache.UsuarioAutenticado(email, "hash", true, "ADMIN");
+        });
+
+        assertEquals(0, cache.estatisticas().tamanho());
+
+        cache.obter("a@a.com", carregador);
+        assertEquals(2, carregamentos.get());
+    }
+}
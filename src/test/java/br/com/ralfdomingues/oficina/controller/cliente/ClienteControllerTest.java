@@ -2,10 +2,12 @@ package br.com.ralfdomingues.oficina.controller.cliente;
 
 import br.com.ralfdomingues.oficina.config.security.JwtFilter;
 import br.com.ralfdomingues.oficina.config.security.JwtService;
+import br.com.ralfdomingues.oficina.infra.logging.AuditoriaAssincrona;
 import br.com.ralfdomingues.oficina.domain.cliente.dto.ClienteCreateDTO;
 import br.com.ralfdomingues.oficina.domain.cliente.dto.ClienteResponseDTO;
 import br.com.ralfdomingues.oficina.domain.cliente.dto.ClienteUpdateDTO;
 import br.com.ralfdomingues.oficina.domain.cliente.service.ClienteService;
+import br.com.ralfdomingues.oficina.exception.BusinessException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -51,6 +53,9 @@ class ClienteControllerTest {
     @MockitoBean
     private JwtService jwtService;
 
+    @MockitoBean
+    private AuditoriaAssincrona auditoria;
+
 
     @Test
     void deveCriarCliente() throws Exception {
@@ -122,6 +127,34 @@ class ClienteControllerTest {
                 .andExpect(jsonPath("$.id").value(5L));
     }
 
+    @Test
+    void deveBuscarPorTermo() throws Exception {
+        Mockito.when(service.buscar("joão", 10))
+                .thenReturn(List.of(
+                        new ClienteResponseDTO(
+                                5L,
+                                "João",
+                                "33333333333",
+                                "11777777777",
+                                "Rua Z",
+                                true
+                        )
+                ));
+
+        mockMvc.perform(get("/clientes/busca").param("q", "joão"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(5L));
+    }
+
+    @Test
+    void deveRecusarBuscaComTermoCurto() throws Exception {
+        Mockito.when(service.buscar("j", 10))
+                .thenThrow(new BusinessException("Informe ao menos 2 letras ou dígitos para a busca."));
+
+        mockMvc.perform(get("/clientes/busca").param("q", "j"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void deveAtualizarCliente() throws Exception {
         ClienteUpdateDTO updateDTO = new ClienteUpdateDTO(
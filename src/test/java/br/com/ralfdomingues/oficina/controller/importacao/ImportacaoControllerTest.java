@@ -0,0 +1,78 @@
+package br.com.ralfdomingues.oficina.controller.importacao;
+
+import br.com.ralfdomingues.oficina.config.security.JwtFilter;
+import br.com.ralfdomingues.oficina.config.security.JwtService;
+import br.com.ralfdomingues.oficina.infra.logging.AuditoriaAssincrona;
+import br.com.ralfdomingues.oficina.domain.importacao.dto.ImportacaoStatusDTO;
+import br.com.ralfdomingues.oficina.domain.importacao.enums.SituacaoImportacao;
+import br.com.ralfdomingues.oficina.domain.importacao.enums.TipoImportacao;
+import br.com.ralfdomingues.oficina.domain.importacao.service.ImportacaoService;
+import br.com.ralfdomingues.oficina.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(
+        controllers = ImportacaoController.class,
+        excludeFilters = {
+                @ComponentScan.Filter(
+                        type = FilterType.ASSIGNABLE_TYPE,
+                        classes = JwtFilter.class
+                )
+        }
+)
+class ImportacaoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ImportacaoService service;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @MockitoBean
+    private AuditoriaAssincrona auditoria;
+
+    @Test
+    void deveAceitarImportacaoDeClientes() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        Mockito.when(service.iniciar(eq(TipoImportacao.CLIENTES), any()))
+                .thenReturn(new ImportacaoStatusDTO(id, TipoImportacao.CLIENTES,
+                        SituacaoImportacao.PROCESSANDO, 0, 0, 0, 0, LocalDateTime.now(), null, null));
+
+        mockMvc.perform(post("/importacoes/clientes")
+                        .contentType("text/csv")
+                        .content("nome,telefone,cpf,email\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/importacoes/" + id))
+                .andExpect(jsonPath("$.situacao").value("PROCESSANDO"));
+    }
+
+    @Test
+    void deveRecusarArquivoComCabecalhoInvalido() throws Exception {
+        Mockito.when(service.iniciar(eq(TipoImportacao.VEICULOS), any()))
+                .thenThrow(new BusinessException("Coluna obrigatória ausente no cabeçalho: placa."));
+
+        mockMvc.perform(post("/importacoes/veiculos")
+                        .contentType("text/csv")
+                        .content("modelo\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Coluna obrigatória ausente no cabeçalho: placa."));
+    }
+}
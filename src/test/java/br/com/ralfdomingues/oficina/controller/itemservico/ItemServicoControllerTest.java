@@ -2,10 +2,15 @@ package br.com.ralfdomingues.oficina.controller.itemservico;
 
 import br.com.ralfdomingues.oficina.config.security.JwtFilter;
 import br.com.ralfdomingues.oficina.config.security.JwtService;
+import br.com.ralfdomingues.oficina.infra.logging.AuditoriaAssincrona;
 import br.com.ralfdomingues.oficina.domain.itemservico.dto.ItemServicoCreateDTO;
+import br.com.ralfdomingues.oficina.domain.itemservico.dto.ItemServicoLoteDTO;
 import br.com.ralfdomingues.oficina.domain.itemservico.dto.ItemServicoResponseDTO;
 import br.com.ralfdomingues.oficina.domain.itemservico.dto.ItemServicoUpdateDTO;
 import br.com.ralfdomingues.oficina.domain.itemservico.service.ItemServicoService;
+import br.com.ralfdomingues.oficina.exception.LoteInvalidoException;
+import br.com.ralfdomingues.oficina.infra.http.CacheRespostas;
+import br.com.ralfdomingues.oficina.infra.persistencia.ConsistenciaLeitura;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -13,17 +18,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -37,11 +46,15 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
                 )
         }
 )
+@Import({CacheRespostas.class, ConsistenciaLeitura.class})
 class ItemServicoControllerTest {
 
     @MockitoBean
     private JwtService jwtService;
 
+    @MockitoBean
+    private AuditoriaAssincrona auditoria;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -82,6 +95,52 @@ class ItemServicoControllerTest {
                 .andExpect(jsonPath("$.quantidade").value(2));
     }
 
+    @Test
+    void deveCriarItensEmLote() throws Exception {
+
+        ItemServicoLoteDTO loteDTO = new ItemServicoLoteDTO(
+                10L,
+                List.of(
+                        new ItemServicoLoteDTO.Linha(5L, 2),
+                        new ItemServicoLoteDTO.Linha(6L, 1)
+                )
+        );
+
+        Mockito.when(service.criarLote(any())).thenReturn(List.of(
+                new ItemServicoResponseDTO(1L, 10L, 5L, "Troca de óleo",
+                        new BigDecimal("79.90"), 2, new BigDecimal("159.80"), true),
+                new ItemServicoResponseDTO(2L, 10L, 6L, "Filtro",
+                        new BigDecimal("20.00"), 1, new BigDecimal("20.00"), true)
+        ));
+
+        mockMvc.perform(post("/itens-servico/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loteDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].servicoId").value(6L));
+    }
+
+    @Test
+    void deveRetornarErrosPorLinhaNoLote() throws Exception {
+
+        ItemServicoLoteDTO loteDTO = new ItemServicoLoteDTO(
+                10L,
+                List.of(new ItemServicoLoteDTO.Linha(99L, 1))
+        );
+
+        Mockito.when(service.criarLote(any())).thenThrow(new LoteInvalidoException(
+                "Lote de itens inválido.",
+                Map.of("itens[0].servicoId", "Serviço não encontrado.")
+        ));
+
+        mockMvc.perform(post("/itens-servico/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loteDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors['itens[0].servicoId']").value("Serviço não encontrado."));
+    }
+
     @Test
     void deveListarTodos() throws Exception {
 
@@ -161,15 +220,47 @@ class ItemServicoControllerTest {
                 )
         );
 
+        Mockito.when(service.buscarVersaoPorOrdem(99L)).thenReturn("4.2.0");
         Mockito.when(service.listarPorOrdem(eq(99L), any(Pageable.class)))
                 .thenReturn(page);
 
         mockMvc.perform(get("/itens-servico/ordem/99"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"itens-os-99-4.2.0\""))
                 .andExpect(jsonPath("$.content[0].ordemServicoId").value(99L))
                 .andExpect(jsonPath("$.content[1].nomeServico").value("Revisão geral"));
     }
 
+    @Test
+    void deveResponder304SemListarItensQuandoVersaoNaoMudou() throws Exception {
+
+        Mockito.when(service.buscarVersaoPorOrdem(98L)).thenReturn("5.2.0");
+
+        mockMvc.perform(get("/itens-servico/ordem/98")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"itens-os-98-5.2.0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"itens-os-98-5.2.0\""));
+
+        Mockito.verify(service, Mockito.never()).listarPorOrdem(anyLong(), any());
+    }
+
+    @Test
+    void deveGuardarCorpoPorPaginaDaMesmaVersao() throws Exception {
+
+        Mockito.when(service.buscarVersaoPorOrdem(97L)).thenReturn("1.2.0");
+        Mockito.when(service.listarPorOrdem(eq(97L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of()));
+
+        mockMvc.perform(get("/itens-servico/ordem/97").param("page", "0"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/itens-servico/ordem/97").param("page", "0"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/itens-servico/ordem/97").param("page", "1"))
+                .andExpect(status().isOk());
+
+        Mockito.verify(service, Mockito.times(2)).listarPorOrdem(eq(97L), any(Pageable.class));
+    }
+
 
     @Test
     void deveAtualizarItemServico() throws Exception {
@@ -2,12 +2,21 @@ package br.com.ralfdomingues.oficina.controller.ordemservico;
 
 import br.com.ralfdomingues.oficina.config.security.JwtFilter;
 import br.com.ralfdomingues.oficina.config.security.JwtService;
+import br.com.ralfdomingues.oficina.infra.logging.AuditoriaAssincrona;
 import br.com.ralfdomingues.oficina.controller.itemservico.ItemServicoController;
 import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoCreateDTO;
+import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoExportacaoFiltro;
 import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoResponseDTO;
 import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoUpdateDTO;
+import br.com.ralfdomingues.oficina.domain.ordemservico.enums.FormatoExportacao;
 import br.com.ralfdomingues.oficina.domain.ordemservico.enums.StatusOrdemServico;
+import br.com.ralfdomingues.oficina.domain.ordemservico.service.OrdemServicoExportacaoService;
 import br.com.ralfdomingues.oficina.domain.ordemservico.service.OrdemServicoService;
+import br.com.ralfdomingues.oficina.domain.ordemservico.service.ValorFinalReconciliacaoService;
+import br.com.ralfdomingues.oficina.exception.ConflitoVersaoException;
+import br.com.ralfdomingues.oficina.exception.NotFoundException;
+import br.com.ralfdomingues.oficina.infra.http.CacheRespostas;
+import br.com.ralfdomingues.oficina.infra.persistencia.ConsistenciaLeitura;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -15,9 +24,17 @@ import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.CannotCreateTransactionException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Set;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -25,6 +42,7 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import org.springframework.data.domain.Page;
@@ -40,11 +58,15 @@ import org.springframework.data.domain.Pageable;
                 )
         }
 )
+@Import({CacheRespostas.class, ConsistenciaLeitura.class})
 class OrdemServicoControllerTest {
 
     @MockitoBean
     private JwtService jwtService;
 
+    @MockitoBean
+    private AuditoriaAssincrona auditoria;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -53,6 +75,12 @@ class OrdemServicoControllerTest {
     @MockitoBean
     private OrdemServicoService service;
 
+    @MockitoBean
+    private ValorFinalReconciliacaoService reconciliacaoService;
+
+    @MockitoBean
+    private OrdemServicoExportacaoService exportacaoService;
+
     @Test
     void deveCriarOS() throws Exception {
 
@@ -101,14 +129,74 @@ class OrdemServicoControllerTest {
                 null
         );
 
+        Mockito.when(service.buscarVersao(20L)).thenReturn(3L);
         Mockito.when(service.buscarPorId(20L)).thenReturn(responseDTO);
 
         mockMvc.perform(get("/ordens-servico/20"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"os-20-3\""))
                 .andExpect(jsonPath("$.id").value(20L))
                 .andExpect(jsonPath("$.descricao").value("Problema na suspensão"));
     }
 
+    @Test
+    void deveResponder304SemCarregarOrdemQuandoVersaoNaoMudou() throws Exception {
+
+        Mockito.when(service.buscarVersao(21L)).thenReturn(7L);
+
+        mockMvc.perform(get("/ordens-servico/21")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"os-21-6\", \"os-21-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"os-21-7\""))
+                .andExpect(content().string(""));
+
+        Mockito.verify(service, never()).buscarPorId(any());
+    }
+
+    @Test
+    void deveReutilizarCorpoSerializadoDaMesmaVersao() throws Exception {
+
+        OrdemServicoResponseDTO responseDTO = new OrdemServicoResponseDTO(
+                22L, 2L, 30L, StatusOrdemServico.ABERTA, "Revisão", null,
+                BigDecimal.valueOf(100), LocalDateTime.now(), null
+        );
+
+        Mockito.when(service.buscarVersao(22L)).thenReturn(1L);
+        Mockito.when(service.buscarPorId(22L)).thenReturn(responseDTO);
+
+        mockMvc.perform(get("/ordens-servico/22"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.descricao").value("Revisão"));
+        mockMvc.perform(get("/ordens-servico/22")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"os-22-0\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.descricao").value("Revisão"));
+
+        Mockito.verify(service, Mockito.times(1)).buscarPorId(22L);
+    }
+
+    @Test
+    void deveResponder404QuandoOrdemNaoExisteNaConsultaCondicional() throws Exception {
+
+        Mockito.when(service.buscarVersao(23L))
+                .thenThrow(new NotFoundException("Ordem de Serviço não encontrada."));
+
+        mockMvc.perform(get("/ordens-servico/23")
+                        .header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deveResponder503QuandoNaoHaConexaoDisponivel() throws Exception {
+
+        Mockito.when(service.buscarPorId(20L))
+                .thenThrow(new CannotCreateTransactionException("Connection is not available"));
+
+        mockMvc.perform(get("/ordens-servico/20"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
     @Test
     void deveListarOS() throws Exception {
 
@@ -169,7 +257,7 @@ class OrdemServicoControllerTest {
                 null
         );
 
-        Mockito.when(service.atualizar(eq(99L), any())).thenReturn(responseDTO);
+        Mockito.when(service.atualizar(eq(99L), any(), any())).thenReturn(responseDTO);
 
         mockMvc.perform(put("/ordens-servico/99")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -180,6 +268,51 @@ class OrdemServicoControllerTest {
                 .andExpect(jsonPath("$.valorFinal").value(750));
     }
 
+    @Test
+    void deveAtualizarComIfMatch_repassandoVersaoEsperada() throws Exception {
+
+        OrdemServicoUpdateDTO updateDTO = new OrdemServicoUpdateDTO("Nova descrição", null, null);
+
+        mockMvc.perform(put("/ordens-servico/98")
+                        .header(HttpHeaders.IF_MATCH, "\"os-98-4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateDTO)))
+                .andExpect(status().isOk());
+
+        Mockito.verify(service).atualizar(eq(98L), any(), eq(4L));
+    }
+
+    @Test
+    void deveResponder409ComVersaoAtualQuandoOSFoiAlterada() throws Exception {
+
+        OrdemServicoUpdateDTO updateDTO = new OrdemServicoUpdateDTO("Nova descrição", null, null);
+
+        Mockito.when(service.atualizar(eq(97L), any(), eq(3L)))
+                .thenThrow(new ConflitoVersaoException("A Ordem de Serviço foi alterada.", 5L));
+
+        mockMvc.perform(put("/ordens-servico/97")
+                        .header(HttpHeaders.IF_MATCH, "\"os-97-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateDTO)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.errors.versaoAtual").value(5));
+    }
+
+    @Test
+    void deveRejeitarIfMatchDeOutroRecurso() throws Exception {
+
+        OrdemServicoUpdateDTO updateDTO = new OrdemServicoUpdateDTO("Nova descrição", null, null);
+
+        mockMvc.perform(put("/ordens-servico/96")
+                        .header(HttpHeaders.IF_MATCH, "\"os-95-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateDTO)))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(service, never()).atualizar(eq(96L), any(), any());
+    }
+
     @Test
     void deveCancelarOS() throws Exception {
 
@@ -188,4 +321,46 @@ class OrdemServicoControllerTest {
         mockMvc.perform(delete("/ordens-servico/55"))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    void deveExportarOrdensEmStreaming() throws Exception {
+
+        Mockito.doAnswer(inv -> {
+            OutputStream saida = inv.getArgument(1);
+            saida.write("id,clienteId\n1,2\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportacaoService).exportar(any(), any());
+
+        MvcResult resultado = mockMvc.perform(get("/ordens-servico/exportacao")
+                        .param("formato", "CSV")
+                        .param("status", "CONCLUIDA")
+                        .param("de", "2025-01-01")
+                        .param("ate", "2025-01-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"ordens-servico.csv\""))
+                .andExpect(content().string("id,clienteId\n1,2\n"));
+
+        Mockito.verify(exportacaoService).exportar(eq(new OrdemServicoExportacaoFiltro(
+                FormatoExportacao.CSV,
+                Set.of(StatusOrdemServico.CONCLUIDA),
+                LocalDate.of(2025, 1, 1).atStartOfDay(),
+                LocalDate.of(2025, 2, 1).atStartOfDay()
+        )), any());
+    }
+
+    @Test
+    void deveRejeitarPeriodoInvalidoNaExportacao() throws Exception {
+
+        mockMvc.perform(get("/ordens-servico/exportacao")
+                        .param("de", "2025-02-01")
+                        .param("ate", "2025-01-01"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(exportacaoService, never()).exportar(any(), any());
+    }
 }
@@ -2,10 +2,12 @@ package br.com.ralfdomingues.oficina.controller.servico;
 
 import br.com.ralfdomingues.oficina.config.security.JwtFilter;
 import br.com.ralfdomingues.oficina.config.security.JwtService;
+import br.com.ralfdomingues.oficina.infra.logging.AuditoriaAssincrona;
 import br.com.ralfdomingues.oficina.domain.servico.dto.ServicoCreateDTO;
 import br.com.ralfdomingues.oficina.domain.servico.dto.ServicoResponseDTO;
 import br.com.ralfdomingues.oficina.domain.servico.dto.ServicoUpdateDTO;
 import br.com.ralfdomingues.oficina.domain.servico.service.ServicoService;
+import br.com.ralfdomingues.oficina.infra.http.CacheRespostas;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -13,9 +15,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -37,6 +41,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
                 )
         }
 )
+@Import(CacheRespostas.class)
 class ServicoControllerTest {
 
     @Autowired
@@ -50,6 +55,9 @@ class ServicoControllerTest {
     @MockitoBean
     private JwtService jwtService;
 
+    @MockitoBean
+    private AuditoriaAssincrona auditoria;
+
     @Test
     void deveCriarServico() throws Exception {
 
@@ -86,15 +94,29 @@ class ServicoControllerTest {
                 )
         );
 
+        Mockito.when(service.buscarVersaoListagem()).thenReturn("2.5");
         Mockito.when(service.listar(any(Pageable.class)))
                 .thenReturn(page);
 
         mockMvc.perform(get("/servicos"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"servicos-2.5\""))
                 .andExpect(jsonPath("$.content[0].nome").value("Troca de óleo"))
                 .andExpect(jsonPath("$.content[1].nome").value("Alinhamento"));
     }
 
+    @Test
+    void deveResponder304QuandoCatalogoNaoMudou() throws Exception {
+
+        Mockito.when(service.buscarVersaoListagem()).thenReturn("3.9");
+
+        mockMvc.perform(get("/servicos")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"servicos-3.9\""))
+                .andExpect(status().isNotModified());
+
+        Mockito.verify(service, Mockito.never()).listar(any());
+    }
+
     @Test
     void deveBuscarServicoPorId() throws Exception {
 
@@ -2,6 +2,7 @@ package br.com.ralfdomingues.oficina.controller.veiculo;
 
 import br.com.ralfdomingues.oficina.config.security.JwtFilter;
 import br.com.ralfdomingues.oficina.config.security.JwtService;
+import br.com.ralfdomingues.oficina.infra.logging.AuditoriaAssincrona;
 import br.com.ralfdomingues.oficina.domain.veiculo.dto.*;
 import br.com.ralfdomingues.oficina.domain.veiculo.enums.TipoVeiculo;
 import br.com.ralfdomingues.oficina.domain.veiculo.service.VeiculoService;
@@ -47,6 +48,9 @@ class VeiculoControllerTest {
     @MockitoBean
     private JwtService jwtService;
 
+    @MockitoBean
+    private AuditoriaAssincrona auditoria;
+
     @Test
     void deveCriarVeiculo() throws Exception {
 
@@ -135,6 +139,21 @@ class VeiculoControllerTest {
                 .andExpect(jsonPath("$.modelo").value("Corolla"));
     }
 
+    @Test
+    void deveBuscarPorPlaca() throws Exception {
+
+        Mockito.when(service.buscar("GGH-2D", 5)).thenReturn(List.of(
+                new VeiculoResponseDTO(
+                        3L, "GGH2D55", "Corolla", "Toyota",
+                        2018, TipoVeiculo.CARRO, 20L, true
+                )
+        ));
+
+        mockMvc.perform(get("/veiculos/busca").param("q", "GGH-2D").param("limite", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].placa").value("GGH2D55"));
+    }
+
     @Test
     void deveAtualizarVeiculo() throws Exception {
 
@@ -6,6 +6,7 @@ import br.com.ralfdomingues.oficina.domain.cliente.dto.ClienteUpdateDTO;
 import br.com.ralfdomingues.oficina.domain.cliente.entity.Cliente;
 import br.com.ralfdomingues.oficina.exception.BusinessException;
 import br.com.ralfdomingues.oficina.exception.NotFoundException;
+import br.com.ralfdomingues.oficina.infra.pagination.Cursor;
 import br.com.ralfdomingues.oficina.repository.cliente.ClienteRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +15,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.List;
 import java.util.Optional;
@@ -85,4 +87,69 @@ class ClienteServiceTest {
         assertEquals("X", resultado.getContent().get(0).nome());
     }
 
+    @Test
+    void listarPorCursor_continuaAposUltimoId() {
+
+        Cliente cliente = new Cliente();
+        cliente.setId(11L);
+        cliente.setNome("Y");
+        cliente.setAtivo(true);
+
+        when(repository.findByAtivoTrueAndIdGreaterThanOrderByIdAsc(eq(10L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(cliente), PageRequest.of(0, 1), true));
+
+        var resultado = service.listarPorCursor(Cursor.codificar(10L), 1);
+
+        assertEquals(11L, resultado.conteudo().get(0).id());
+        assertTrue(resultado.temProxima());
+        assertEquals(11L, Cursor.decodificarId(resultado.proximoCursor()));
+    }
+
+    private static Cliente cliente(Long id, String nome) {
+        Cliente cliente = new Cliente();
+        cliente.setId(id);
+        cliente.setNome(nome);
+        cliente.setAtivo(true);
+        return cliente;
+    }
+
+    @Test
+    void buscar_texto_completaPrefixoComAproximadosSemRepetir() {
+        when(repository.buscarPorPrefixoNome("jose", "jose{", 3))
+                .thenReturn(List.of(cliente(1L, "José Alves")));
+        when(repository.buscarPorNomeAproximado("jose", 3))
+                .thenReturn(List.of(cliente(1L, "José Alves"), cliente(2L, "Maria José"), cliente(3L, "Josué"),
+                        cliente(4L, "Joseane")));
+
+        var resultado = service.buscar("José", 3);
+
+        assertEquals(List.of(1L, 2L, 3L), resultado.stream().map(ClienteResponseDTO::id).toList());
+        verify(repository, never()).buscarPorPrefixoCpf(any(), any(), anyInt());
+    }
+
+    @Test
+    void buscar_prefixoCompleto_naoFazBuscaAproximada() {
+        when(repository.buscarPorPrefixoNome("ana", "ana{", 1)).thenReturn(List.of(cliente(1L, "Ana")));
+
+        assertEquals(1, service.buscar("ana", 1).size());
+        verify(repository, never()).buscarPorNomeAproximado(any(), anyInt());
+    }
+
+    @Test
+    void buscar_numerico_procuraCpfETelefone() {
+        when(repository.buscarPorPrefixoCpf("479", "479{", 10)).thenReturn(List.of(cliente(1L, "A")));
+        when(repository.buscarPorPrefixoTelefone("479", "479{", 10)).thenReturn(List.of(cliente(2L, "B")));
+
+        var resultado = service.buscar("479", 10);
+
+        assertEquals(List.of(1L, 2L), resultado.stream().map(ClienteResponseDTO::id).toList());
+        verify(repository, never()).buscarPorPrefixoNome(any(), any(), anyInt());
+    }
+
+    @Test
+    void buscar_termoCurto_deveLancarBusiness() {
+        assertThrows(BusinessException.class, () -> service.buscar("j", 10));
+        verifyNoInteractions(repository);
+    }
+
 }
@@ -0,0 +1,133 @@
+package br.com.ralfdomingues.oficina.domain.dashboard.service;
+
+import br.com.ralfdomingues.oficina.domain.ordemservico.entity.OrdemServico;
+import br.com.ralfdomingues.oficina.domain.ordemservico.enums.StatusOrdemServico;
+import br.com.ralfdomingues.oficina.repository.dashboard.DashboardContadorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DashboardContadorServiceTest {
+
+    @Mock
+    private DashboardContadorRepository repository;
+
+    private DashboardContadorService service;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        service = new DashboardContadorService(repository, 1);
+    }
+
+    private OrdemServico ordem(StatusOrdemServico status, BigDecimal valorFinal) {
+        OrdemServico os = new OrdemServico();
+        os.setId(1L);
+        os.setStatus(status);
+        os.setValorFinal(valorFinal);
+        os.setDataAbertura(LocalDateTime.of(2025, 3, 18, 14, 0));
+        return os;
+    }
+
+    @Test
+    void registrarAbertura_incrementaStatusEMes() {
+        service.registrarAbertura(ordem(StatusOrdemServico.ABERTA, null));
+
+        verify(repository).incrementar("STATUS", "ABERTA", (short) 0, 1, BigDecimal.ZERO);
+        verify(repository).incrementar("MES", "2025-03", (short) 0, 1, BigDecimal.ZERO);
+        verify(repository, never()).incrementar(eq("FATURAMENTO"), anyString(), anyShort(), anyLong(), any());
+    }
+
+    @Test
+    void registrarAlteracao_conclusao_moveStatusESomaFaturamento() {
+        var os = ordem(StatusOrdemServico.CONCLUIDA, BigDecimal.valueOf(300));
+
+        service.registrarAlteracao(StatusOrdemServico.EM_ANDAMENTO, BigDecimal.valueOf(300), os);
+
+        verify(repository).incrementar("STATUS", "EM_ANDAMENTO", (short) 0, -1, BigDecimal.ZERO);
+        verify(repository).incrementar("STATUS", "CONCLUIDA", (short) 0, 1, BigDecimal.ZERO);
+        verify(repository).incrementar("FATURAMENTO", "TOTAL", (short) 0, 1, BigDecimal.valueOf(300));
+    }
+
+    @Test
+    void registrarAlteracao_valorDeOrdemConcluida_ajustaSomenteFaturamento() {
+        var os = ordem(StatusOrdemServico.CONCLUIDA, BigDecimal.valueOf(250));
+
+        service.registrarAlteracao(StatusOrdemServico.CONCLUIDA, BigDecimal.valueOf(200), os);
+
+        verify(repository).incrementar("FATURAMENTO", "TOTAL", (short) 0, 0, BigDecimal.valueOf(50));
+        verify(repository, never()).incrementar(eq("STATUS"), anyString(), anyShort(), anyLong(), any());
+    }
+
+    @Test
+    void registrarDiferencaValor_ordemAberta_naoAfetaFaturamento() {
+        service.registrarDiferencaValor(ordem(StatusOrdemServico.ABERTA, null), BigDecimal.TEN);
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void registrarDiferencaValor_statusConcluida_ajustaFaturamento() {
+        service.registrarDiferencaValor(StatusOrdemServico.CONCLUIDA, BigDecimal.valueOf(-20));
+
+        verify(repository).incrementar("FATURAMENTO", "TOTAL", (short) 0, 0, BigDecimal.valueOf(-20));
+    }
+
+    @Test
+    void reconstruir_limpaAntesDeRecalcular() {
+        service.reconstruir();
+
+        InOrder ordem = inOrder(repository);
+        ordem.verify(repository).limpar();
+        ordem.verify(repository).reconstruirStatus();
+        ordem.verify(repository).reconstruirMes();
+        ordem.verify(repository).reconstruirFaturamento();
+        ordem.verify(repository).reconstruirServicos();
+    }
+
+    @Test
+    void parcelaAtual_mesmaThread_repeteParcela() {
+        var comParcelas = new DashboardContadorService(repository, 8);
+
+        short parcela = comParcelas.parcelaAtual();
+
+        assertTrue(parcela >= 0 && parcela < 8);
+        assertEquals(parcela, comParcelas.parcelaAtual());
+    }
+
+    @Test
+    void parcelaAtual_threadsConcorrentes_espalhaEntreParcelas() throws Exception {
+        var comParcelas = new DashboardContadorService(repository, 8);
+        Set<Short> usadas = new HashSet<>();
+
+        for (int i = 0; i < 8; i++) {
+            Thread thread = Thread.ofPlatform().unstarted(() -> {
+                synchronized (usadas) {
+                    usadas.add(comParcelas.parcelaAtual());
+                }
+            });
+            thread.start();
+            thread.join();
+        }
+
+        assertTrue(usadas.size() > 1);
+        assertTrue(usadas.stream().allMatch(p -> p >= 0 && p < 8));
+    }
+
+    @Test
+    void construtor_semParcelas_rejeita() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new DashboardContadorService(repository, 0));
+    }
+}
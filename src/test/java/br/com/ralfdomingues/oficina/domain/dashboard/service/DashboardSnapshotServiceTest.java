@@ -0,0 +1,120 @@
+package br.com.ralfdomingues.oficina.domain.dashboard.service;
+
+import br.com.ralfdomingues.oficina.domain.dashboard.dto.FaturamentoResumoDTO;
+import br.com.ralfdomingues.oficina.domain.dashboard.dto.OrdensPorMesDTO;
+import br.com.ralfdomingues.oficina.infra.persistencia.ConsistenciaLeitura;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DashboardSnapshotServiceTest {
+
+    @Mock private DashboardService dashboardService;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private EntityManager entityManager;
+    @Mock private Query exportQuery;
+    @Mock private Query importQuery;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(entityManager.createNativeQuery("SELECT pg_export_snapshot()")).thenReturn(exportQuery);
+        when(exportQuery.getSingleResult()).thenReturn("00000003-0000001B-1");
+        when(entityManager.createNativeQuery(startsWith("SET TRANSACTION SNAPSHOT"))).thenReturn(importQuery);
+
+        when(dashboardService.ordensPorStatus()).thenReturn(List.of());
+        when(dashboardService.faturamentoTotal()).thenReturn(new FaturamentoResumoDTO(BigDecimal.TEN));
+        when(dashboardService.ordensPorMes()).thenReturn(List.of(new OrdensPorMesDTO("2025-01", 2L)));
+        when(dashboardService.servicosMaisUsados()).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void encerrar() {
+        executor.close();
+    }
+
+    private DashboardSnapshotService criar(int paralelosMax) {
+        return criar(paralelosMax, 20);
+    }
+
+    private DashboardSnapshotService criar(int paralelosMax, int tamanhoPool) {
+        var service = new DashboardSnapshotService(dashboardService, executor, transactionManager,
+                new ConsistenciaLeitura("", 1000, 5000), paralelosMax, 10, tamanhoPool);
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+        return service;
+    }
+
+    @Test
+    void gerar_paralelo_importaSnapshotEmCadaSecao() {
+        var snapshot = criar(4).gerar();
+
+        assertEquals(BigDecimal.TEN, snapshot.faturamento().total());
+        assertEquals(1, snapshot.ordensPorMes().size());
+        assertEquals(
+                List.of("ordensPorStatus", "faturamento", "ordensPorMes", "servicosMaisUsados", "total"),
+                List.copyOf(snapshot.temposMs().keySet()));
+        verify(entityManager, times(4))
+                .createNativeQuery("SET TRANSACTION SNAPSHOT '00000003-0000001B-1'");
+    }
+
+    @Test
+    void gerar_semPermissaoParalela_consultaEmSequencia() {
+        var snapshot = criar(0).gerar();
+
+        assertEquals(BigDecimal.TEN, snapshot.faturamento().total());
+        assertNotNull(snapshot.temposMs().get("total"));
+        verify(entityManager, never()).createNativeQuery(anyString());
+    }
+
+    @Test
+    void gerar_poolPequeno_consultaEmSequencia() {
+        var snapshot = criar(4, 8).gerar();
+
+        assertEquals(BigDecimal.TEN, snapshot.faturamento().total());
+        verify(entityManager, never()).createNativeQuery(anyString());
+    }
+
+    @Test
+    void limiteParalelos_limitadoPelaReservaDeConexoes() {
+        assertEquals(2, DashboardSnapshotService.limiteParalelos(4, 10, 20));
+        assertEquals(4, DashboardSnapshotService.limiteParalelos(4, 20, 200));
+        assertEquals(1, DashboardSnapshotService.limiteParalelos(1, 10, 20));
+        assertEquals(0, DashboardSnapshotService.limiteParalelos(0, 10, 20));
+        assertEquals(0, DashboardSnapshotService.limiteParalelos(4, 0, 20));
+    }
+
+    @Test
+    void limiteParalelos_reservaAcimaDaMetadeDoPool_reduzida() {
+        // Pool padrão do Hikari (10): a reserva de 10 é reduzida a 5, um snapshot paralelo
+        assertEquals(1, DashboardSnapshotService.limiteParalelos(4, 10, 10));
+        assertEquals(0, DashboardSnapshotService.limiteParalelos(4, 10, 8));
+    }
+
+    @Test
+    void limiteParalelos_configuracaoInvalida_falhaNaInicializacao() {
+        assertThrows(IllegalArgumentException.class, () -> DashboardSnapshotService.limiteParalelos(4, 3, 20));
+        assertThrows(IllegalArgumentException.class, () -> DashboardSnapshotService.limiteParalelos(-1, 10, 20));
+        assertThrows(IllegalArgumentException.class, () -> DashboardSnapshotService.limiteParalelos(4, -5, 20));
+    }
+}
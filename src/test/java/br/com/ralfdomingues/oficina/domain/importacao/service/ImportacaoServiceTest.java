@@ -0,0 +1,127 @@
+package br.com.ralfdomingues.oficina.domain.importacao.service;
+
+import br.com.ralfdomingues.oficina.domain.importacao.dto.LinhaImportacao;
+import br.com.ralfdomingues.oficina.domain.importacao.dto.RejeicaoImportacao;
+import br.com.ralfdomingues.oficina.domain.importacao.dto.ResultadoLoteImportacao;
+import br.com.ralfdomingues.oficina.domain.importacao.enums.SituacaoImportacao;
+import br.com.ralfdomingues.oficina.domain.importacao.enums.TipoImportacao;
+import br.com.ralfdomingues.oficina.exception.BusinessException;
+import br.com.ralfdomingues.oficina.exception.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ImportacaoServiceTest {
+
+    @Mock
+    private ImportacaoGravacaoService gravacaoService;
+
+    @Mock
+    private ExecutorService executor;
+
+    private ImportacaoService service;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        // processa na própria thread do teste
+        doAnswer(inv -> {
+            inv.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any());
+        service = new ImportacaoService(gravacaoService, executor, 24);
+    }
+
+    private static ByteArrayInputStream csv(String conteudo) {
+        return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void iniciar_cabecalhoSemColunaObrigatoria_recusaSemAgendar() {
+        assertThrows(BusinessException.class, () ->
+                service.iniciar(TipoImportacao.CLIENTES, csv("nome,telefone,email\nAna,4899,a@a.com\n")));
+
+        verifyNoInteractions(executor);
+    }
+
+    @Test
+    void processar_rejeitaRepetidosNoArquivoERegistraRejeitadas() throws Exception {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LinhaImportacao>> captor = ArgumentCaptor.forClass(List.class);
+
+        when(gravacaoService.gravarClientes(any())).thenAnswer(inv -> {
+            List<LinhaImportacao> bloco = inv.getArgument(0);
+            return new ResultadoLoteImportacao(bloco.size() - 1,
+                    List.of(new RejeicaoImportacao(bloco.get(1), "CPF já cadastrado.")));
+        });
+
+        var status = service.iniciar(TipoImportacao.CLIENTES, csv("""
+                cpf,nome,telefone,email
+                11111111111,Ana,48999990000,ana@email.com
+                22222222222,"Bia, filha",48999990001,
+                11111111111,Ana de novo,48999990002,
+                33333333333,Caio,48999990003,
+                """));
+
+        verify(gravacaoService).gravarClientes(captor.capture());
+        assertEquals(3, captor.getValue().size());
+        assertEquals("Bia, filha", captor.getValue().get(1).campo("nome"));
+        assertNull(captor.getValue().get(1).campo("email"));
+
+        var atual = service.buscar(status.id());
+        assertEquals(SituacaoImportacao.CONCLUIDA, atual.situacao());
+        assertEquals(100, atual.percentual());
+        assertEquals(4, atual.lidas());
+        assertEquals(2, atual.importadas());
+        assertEquals(2, atual.rejeitadas());
+
+        // repetidos no arquivo são rejeitados na leitura, antes da gravação do bloco
+        assertEquals("""
+                linha,motivo,cpf,nome,telefone,email
+                4,cpf: repetido no arquivo,11111111111,Ana de novo,48999990002,
+                3,CPF já cadastrado.,22222222222,"Bia, filha",48999990001,
+                """, Files.readString(service.arquivoRejeitadas(status.id())));
+    }
+
+    @Test
+    void processar_violacaoDeUnicidadeNoBloco_gravaLinhaALinha() throws Exception {
+        when(gravacaoService.gravarVeiculos(any())).thenAnswer(inv -> {
+            List<LinhaImportacao> bloco = inv.getArgument(0);
+            if (bloco.size() > 1 || bloco.get(0).campo("placa").equals("BBB2B22")) {
+                throw new DataIntegrityViolationException("uk_veiculo_placa");
+            }
+            return new ResultadoLoteImportacao(1, List.of());
+        });
+
+        var status = service.iniciar(TipoImportacao.VEICULOS, csv("""
+                placa;modelo;marca;ano;tipo;clienteCpf
+                AAA1A11;Gol;VW;2015;CARRO;11111111111
+                BBB2B22;Uno;Fiat;2012;CARRO;11111111111
+                """));
+
+        var atual = service.buscar(status.id());
+        assertEquals(SituacaoImportacao.CONCLUIDA, atual.situacao());
+        assertEquals(1, atual.importadas());
+        assertEquals(1, atual.rejeitadas());
+        verify(gravacaoService, times(3)).gravarVeiculos(any());
+    }
+
+    @Test
+    void arquivoRejeitadas_importacaoInexistente_lancaNotFound() {
+        assertThrows(NotFoundException.class, () -> service.arquivoRejeitadas(UUID.randomUUID()));
+    }
+}
@@ -1,12 +1,18 @@
 package br.com.ralfdomingues.oficina.domain.itemservico.service;
 
+import br.com.ralfdomingues.oficina.domain.dashboard.service.DashboardContadorService;
 import br.com.ralfdomingues.oficina.domain.itemservico.dto.ItemServicoCreateDTO;
+import br.com.ralfdomingues.oficina.domain.itemservico.dto.ItemServicoLoteDTO;
 import br.com.ralfdomingues.oficina.domain.itemservico.dto.ItemServicoUpdateDTO;
 import br.com.ralfdomingues.oficina.domain.itemservico.entity.ItemServico;
 import br.com.ralfdomingues.oficina.domain.ordemservico.entity.OrdemServico;
 import br.com.ralfdomingues.oficina.domain.servico.entity.Servico;
+import br.com.ralfdomingues.oficina.domain.servico.service.CatalogoServicos;
 import br.com.ralfdomingues.oficina.exception.BusinessException;
+import br.com.ralfdomingues.oficina.exception.ConflitoVersaoException;
+import br.com.ralfdomingues.oficina.exception.LoteInvalidoException;
 import br.com.ralfdomingues.oficina.exception.NotFoundException;
+import br.com.ralfdomingues.oficina.infra.transacao.ExecucaoOtimista;
 import br.com.ralfdomingues.oficina.repository.itemservico.ItemServicoRepository;
 import br.com.ralfdomingues.oficina.repository.ordemservico.OrdemServicoRepository;
 import br.com.ralfdomingues.oficina.repository.servico.ServicoRepository;
@@ -16,6 +22,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.util.*;
@@ -28,6 +36,10 @@ class ItemServicoServiceTest {
     @Mock private ItemServicoRepository itemRepo;
     @Mock private ServicoRepository servicoRepo;
     @Mock private OrdemServicoRepository ordemRepo;
+    @Mock private DashboardContadorService contadorService;
+    @Mock private CatalogoServicos catalogo;
+    @Spy private ExecucaoOtimista execucao =
+            new ExecucaoOtimista(mock(PlatformTransactionManager.class), 3, 0);
 
     @InjectMocks
     private ItemServicoService service;
@@ -35,6 +47,13 @@ class ItemServicoServiceTest {
     @BeforeEach
     void setup() { MockitoAnnotations.openMocks(this); }
 
+    private void noCatalogo(Servico servico) {
+        when(catalogo.buscar(servico.getId()))
+                .thenReturn(Optional.of(new CatalogoServicos.Entrada(
+                        servico.getId(), servico.getNome(), servico.getPreco(), true, 0)));
+        when(servicoRepo.getReferenceById(servico.getId())).thenReturn(servico);
+    }
+
     @Test
     void criar_ordemNaoEncontrada() {
         when(ordemRepo.findById(1L)).thenReturn(Optional.empty());
@@ -48,10 +67,11 @@ class ItemServicoServiceTest {
         ordem.setId(1L);
 
         when(ordemRepo.findById(1L)).thenReturn(Optional.of(ordem));
-        when(servicoRepo.findById(2L)).thenReturn(Optional.empty());
+        when(catalogo.buscar(2L)).thenReturn(Optional.empty());
 
         var dto = new ItemServicoCreateDTO(1L, 2L, 1);
         assertThrows(NotFoundException.class, () -> service.criar(dto));
+        verify(itemRepo, never()).save(any());
     }
 
     @Test
@@ -62,15 +82,78 @@ class ItemServicoServiceTest {
         Servico servico = new Servico(2L, "Troca óleo", BigDecimal.valueOf(50));
 
         when(ordemRepo.findById(1L)).thenReturn(Optional.of(ordem));
-        when(servicoRepo.findById(2L)).thenReturn(Optional.of(servico));
-        when(itemRepo.findAllByOrdem_IdAndAtivoTrue(1L)).thenReturn(List.of());
+        noCatalogo(servico);
 
         var dto = new ItemServicoCreateDTO(1L, 2L, 3);
         var resposta = service.criar(dto);
 
         assertEquals(BigDecimal.valueOf(150), resposta.valorTotal());
+        assertEquals("Troca óleo", resposta.nomeServico());
+        verify(servicoRepo, never()).findById(anyLong());
         verify(itemRepo).save(any(ItemServico.class));
-        verify(ordemRepo).save(ordem);
+        verify(ordemRepo).incrementarValorFinal(1L, BigDecimal.valueOf(150));
+        verify(itemRepo, never()).findAllByOrdem_IdAndAtivoTrue(anyLong());
+        verify(contadorService).registrarUsoServico(2L, 1);
+        verify(contadorService).registrarDiferencaValor(ordem, BigDecimal.valueOf(150));
+    }
+
+    @Test
+    void criarLote_sucesso_atualizaTotalUmaVez() {
+        OrdemServico ordem = new OrdemServico();
+        ordem.setId(1L);
+
+        Servico oleo = new Servico(2L, "Troca óleo", BigDecimal.valueOf(50));
+        Servico filtro = new Servico(3L, "Filtro", BigDecimal.valueOf(20));
+
+        when(ordemRepo.findById(1L)).thenReturn(Optional.of(ordem));
+        noCatalogo(oleo);
+        noCatalogo(filtro);
+
+        var dto = new ItemServicoLoteDTO(1L, List.of(
+                new ItemServicoLoteDTO.Linha(2L, 2),
+                new ItemServicoLoteDTO.Linha(3L, 1),
+                new ItemServicoLoteDTO.Linha(2L, 1)
+        ));
+
+        var resposta = service.criarLote(dto);
+
+        assertEquals(3, resposta.size());
+        assertEquals(BigDecimal.valueOf(100), resposta.get(0).valorTotal());
+        assertEquals("Filtro", resposta.get(1).nomeServico());
+        verify(servicoRepo, never()).findAllById(any());
+        verify(servicoRepo, never()).findById(anyLong());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ItemServico>> captor = ArgumentCaptor.forClass(List.class);
+        verify(itemRepo).saveAll(captor.capture());
+        assertEquals(3, captor.getValue().size());
+        verify(ordemRepo, times(1)).incrementarValorFinal(anyLong(), any());
+        verify(ordemRepo).incrementarValorFinal(1L, BigDecimal.valueOf(170));
+        verify(contadorService).registrarUsoServico(2L, 2);
+        verify(contadorService).registrarUsoServico(3L, 1);
+    }
+
+    @Test
+    void criarLote_servicoInexistente_reportaLinhaENaoPersiste() {
+        OrdemServico ordem = new OrdemServico();
+        ordem.setId(1L);
+
+        Servico oleo = new Servico(2L, "Troca óleo", BigDecimal.valueOf(50));
+
+        when(ordemRepo.findById(1L)).thenReturn(Optional.of(ordem));
+        noCatalogo(oleo);
+        when(catalogo.buscar(9L)).thenReturn(Optional.empty());
+
+        var dto = new ItemServicoLoteDTO(1L, List.of(
+                new ItemServicoLoteDTO.Linha(2L, 1),
+                new ItemServicoLoteDTO.Linha(9L, 1)
+        ));
+
+        var ex = assertThrows(LoteInvalidoException.class, () -> service.criarLote(dto));
+
+        assertEquals(Map.of("itens[1].servicoId", "Serviço não encontrado."), ex.getErros());
+        verify(itemRepo, never()).saveAll(any());
+        verify(ordemRepo, never()).incrementarValorFinal(anyLong(), any());
+        verifyNoInteractions(contadorService);
     }
 
     @Test
@@ -157,14 +240,105 @@ class ItemServicoServiceTest {
         ItemServico item = new ItemServico(ordem, antigo, 2, BigDecimal.valueOf(40));
 
         when(itemRepo.findById(30L)).thenReturn(Optional.of(item));
-        when(servicoRepo.findById(2L)).thenReturn(Optional.of(novo));
-        when(itemRepo.findAllByOrdem_IdAndAtivoTrue(1L)).thenReturn(List.of(item));
+        noCatalogo(novo);
 
-        var dto = new ItemServicoUpdateDTO(null, 2, null, null);
+        var dto = new ItemServicoUpdateDTO(2L, 2, null, null);
 
         var resposta = service.atualizar(30L, dto);
 
-        assertEquals(BigDecimal.valueOf(80), resposta.valorTotal());
+        assertEquals(BigDecimal.valueOf(100), resposta.valorTotal());
+        assertEquals("B", resposta.nomeServico());
+        assertSame(novo, item.getServico());
+        verify(ordemRepo).incrementarValorFinal(1L, BigDecimal.valueOf(20));
+        verify(contadorService).registrarUsoServico(1L, -1);
+        verify(contadorService).registrarUsoServico(2L, 1);
+    }
+
+    @Test
+    void atualizar_quantidade_aplicaDiferencaNoTotal() {
+        OrdemServico ordem = new OrdemServico();
+        ordem.setId(2L);
+
+        Servico servico = new Servico(1L, "A", BigDecimal.valueOf(30));
+        ItemServico item = new ItemServico(ordem, servico, 2, BigDecimal.valueOf(30));
+
+        when(itemRepo.findById(31L)).thenReturn(Optional.of(item));
+
+        var dto = new ItemServicoUpdateDTO(null, 5, null, null);
+
+        var resposta = service.atualizar(31L, dto);
+
+        assertEquals(BigDecimal.valueOf(150), resposta.valorTotal());
+        verify(ordemRepo).incrementarValorFinal(2L, BigDecimal.valueOf(90));
+    }
+
+    @Test
+    void atualizar_semDiferencaNoTotal_incrementaApenasVersaoDaOrdem() {
+        OrdemServico ordem = new OrdemServico();
+        ordem.setId(5L);
+
+        Servico servico = new Servico(1L, "A", BigDecimal.valueOf(30));
+        ItemServico item = new ItemServico(ordem, servico, 2, BigDecimal.valueOf(30));
+
+        when(itemRepo.findById(32L)).thenReturn(Optional.of(item));
+
+        service.atualizar(32L, new ItemServicoUpdateDTO(null, 2, null, null));
+
+        verify(ordemRepo, never()).incrementarValorFinal(anyLong(), any());
+        verify(ordemRepo).incrementarVersao(5L);
+    }
+
+    @Test
+    void atualizar_conflitoDeVersao_repeteSobreItemRelido() {
+        OrdemServico ordem = new OrdemServico();
+        ordem.setId(8L);
+
+        Servico servico = new Servico(1L, "A", BigDecimal.valueOf(10));
+        ItemServico lido = new ItemServico(ordem, servico, 2, BigDecimal.valueOf(10));
+        ItemServico relido = new ItemServico(ordem, servico, 3, BigDecimal.valueOf(10));
+
+        when(itemRepo.findById(33L)).thenReturn(Optional.of(lido), Optional.of(relido));
+        when(ordemRepo.incrementarValorFinal(8L, BigDecimal.valueOf(30)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ItemServico.class, 33L));
+
+        var resposta = service.atualizar(33L, new ItemServicoUpdateDTO(null, 5, null, null));
+
+        // a diferença é recalculada sobre a quantidade gravada pela outra operação
+        assertEquals(BigDecimal.valueOf(50), resposta.valorTotal());
+        verify(ordemRepo).incrementarValorFinal(8L, BigDecimal.valueOf(20));
+        verify(itemRepo, times(2)).findById(33L);
+        assertEquals(1, execucao.estatisticas().repeticoes());
+    }
+
+    @Test
+    void deletar_conflitoPersistente_lancaConflitoComVersaoAtual() {
+        OrdemServico ordem = new OrdemServico();
+        ordem.setId(9L);
+
+        Servico servico = new Servico(1L, "X", BigDecimal.valueOf(100));
+
+        when(itemRepo.findById(51L)).thenAnswer(invocacao ->
+                Optional.of(new ItemServico(ordem, servico, 1, BigDecimal.valueOf(100))));
+        when(ordemRepo.incrementarValorFinal(9L, BigDecimal.valueOf(-100)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ItemServico.class, 51L));
+        when(itemRepo.buscarVersao(51L)).thenReturn(Optional.of(7L));
+
+        var excecao = assertThrows(ConflitoVersaoException.class, () -> service.deletar(51L));
+
+        assertEquals(7L, excecao.getVersaoAtual());
+        verify(itemRepo, times(3)).findById(51L);
+        assertEquals(1, execucao.estatisticas().esgotadas());
+    }
+
+    @Test
+    void buscarVersaoPorOrdem_combinaVersaoDaOrdemEAssinaturaDoCatalogo() {
+        when(ordemRepo.buscarVersao(6L)).thenReturn(Optional.of(4L));
+        when(ordemRepo.buscarVersao(7L)).thenReturn(Optional.empty());
+        when(catalogo.assinatura()).thenReturn("3.12");
+
+        assertEquals("4.3.12", service.buscarVersaoPorOrdem(6L));
+        assertEquals("0.3.12", service.buscarVersaoPorOrdem(7L));
+        verify(itemRepo, never()).findAllByOrdem_IdAndAtivoTrue(anyLong(), any());
     }
 
     @Test
@@ -177,12 +351,12 @@ class ItemServicoServiceTest {
         item.setAtivo(false);
 
         when(itemRepo.findById(40L)).thenReturn(Optional.of(item));
-        when(itemRepo.findAllByOrdem_IdAndAtivoTrue(3L)).thenReturn(List.of(item));
 
         var dto = new ItemServicoUpdateDTO(null, null, null, true);
         var resposta = service.atualizar(40L, dto);
 
         assertTrue(resposta.ativo());
+        verify(ordemRepo).incrementarValorFinal(3L, BigDecimal.ONE);
     }
 
     @Test
@@ -200,12 +374,11 @@ class ItemServicoServiceTest {
         ItemServico item = new ItemServico(ordem, servico, 1, BigDecimal.valueOf(100));
 
         when(itemRepo.findById(50L)).thenReturn(Optional.of(item));
-        when(itemRepo.findAllByOrdem_IdAndAtivoTrue(4L)).thenReturn(List.of());
 
         service.deletar(50L);
 
         assertFalse(item.isAtivo());
         verify(itemRepo).save(item);
-        verify(ordemRepo).save(ordem);
+        verify(ordemRepo).incrementarValorFinal(4L, BigDecimal.valueOf(-100));
     }
 }
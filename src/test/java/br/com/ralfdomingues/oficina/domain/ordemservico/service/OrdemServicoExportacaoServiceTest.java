@@ -0,0 +1,114 @@
+package br.com.ralfdomingues.oficina.domain.ordemservico.service;
+
+import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoExportacaoFiltro;
+import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoResponseDTO;
+import br.com.ralfdomingues.oficina.domain.ordemservico.enums.FormatoExportacao;
+import br.com.ralfdomingues.oficina.domain.ordemservico.enums.StatusOrdemServico;
+import br.com.ralfdomingues.oficina.exception.BusinessException;
+import br.com.ralfdomingues.oficina.repository.ordemservico.OrdemServicoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OrdemServicoExportacaoServiceTest {
+
+    @Mock
+    private OrdemServicoRepository ordemRepo;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private OrdemServicoExportacaoService service;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        service = new OrdemServicoExportacaoService(ordemRepo, jsonMapper);
+    }
+
+    private OrdemServicoResponseDTO ordem(Long id, String descricao) {
+        return new OrdemServicoResponseDTO(
+                id, 2L, 3L, StatusOrdemServico.CONCLUIDA, descricao,
+                new BigDecimal("150.50"), BigDecimal.valueOf(100),
+                LocalDateTime.of(2025, 1, 10, 8, 30), null);
+    }
+
+    private String exportar(FormatoExportacao formato, AtomicBoolean fechado, OrdemServicoResponseDTO... ordens)
+            throws Exception {
+        var filtro = OrdemServicoExportacaoFiltro.de(formato, null, null, null);
+        when(ordemRepo.exportar(filtro.status(), filtro.inicio(), filtro.fim()))
+                .thenReturn(Stream.of(ordens).onClose(() -> fechado.set(true)));
+
+        var saida = new ByteArrayOutputStream();
+        service.exportar(filtro, saida);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void exportar_csv_escapaCamposEFechaCursor() throws Exception {
+        var fechado = new AtomicBoolean();
+
+        String csv = exportar(FormatoExportacao.CSV, fechado,
+                ordem(1L, "Revisão"),
+                ordem(2L, "Troca de \"óleo\", filtro"));
+
+        assertEquals("""
+                id,clienteId,veiculoId,status,descricao,valorFinal,valorEstimado,dataAbertura,dataConclusao
+                1,2,3,CONCLUIDA,Revisão,150.50,100,2025-01-10T08:30,
+                2,2,3,CONCLUIDA,"Troca de ""óleo"", filtro",150.50,100,2025-01-10T08:30,
+                """, csv);
+        assertTrue(fechado.get());
+    }
+
+    @Test
+    void exportar_jsonl_umObjetoPorLinha() throws Exception {
+        var fechado = new AtomicBoolean();
+
+        var primeira = ordem(1L, "Linha 1\nLinha \"2\"");
+        var segunda = ordem(2L, "Revisão");
+
+        String jsonl = exportar(FormatoExportacao.JSONL, fechado, primeira, segunda);
+
+        assertTrue(jsonl.endsWith("}\n"));
+        assertEquals(List.of(primeira, segunda), jsonl.lines()
+                .map(linha -> jsonMapper.readValue(linha, OrdemServicoResponseDTO.class))
+                .toList());
+        assertTrue(fechado.get());
+    }
+
+    @Test
+    void exportar_jsonlSemOrdens_saidaVazia() throws Exception {
+        var fechado = new AtomicBoolean();
+
+        assertEquals("", exportar(FormatoExportacao.JSONL, fechado));
+        assertTrue(fechado.get());
+    }
+
+    @Test
+    void filtro_semParametros_incluiTodosOsStatusEAteHoje() {
+        var filtro = OrdemServicoExportacaoFiltro.de(FormatoExportacao.CSV, null, null, null);
+
+        assertEquals(EnumSet.allOf(StatusOrdemServico.class), filtro.status());
+        assertEquals(LocalDate.now().plusDays(1).atStartOfDay(), filtro.fim());
+    }
+
+    @Test
+    void filtro_periodoInvertido_lancaBusiness() {
+        assertThrows(BusinessException.class, () -> OrdemServicoExportacaoFiltro.de(
+                FormatoExportacao.CSV, null, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)));
+    }
+}
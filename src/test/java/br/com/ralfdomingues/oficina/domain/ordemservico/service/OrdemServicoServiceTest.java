@@ -1,13 +1,18 @@
 package br.com.ralfdomingues.oficina.domain.ordemservico.service;
 
 import br.com.ralfdomingues.oficina.domain.cliente.entity.Cliente;
+import br.com.ralfdomingues.oficina.domain.dashboard.service.DashboardContadorService;
 import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoCreateDTO;
+import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoResponseDTO;
 import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoUpdateDTO;
 import br.com.ralfdomingues.oficina.domain.ordemservico.entity.OrdemServico;
 import br.com.ralfdomingues.oficina.domain.ordemservico.enums.StatusOrdemServico;
 import br.com.ralfdomingues.oficina.domain.veiculo.entity.Veiculo;
 import br.com.ralfdomingues.oficina.exception.BusinessException;
+import br.com.ralfdomingues.oficina.exception.ConflitoVersaoException;
 import br.com.ralfdomingues.oficina.exception.NotFoundException;
+import br.com.ralfdomingues.oficina.infra.pagination.Cursor;
+import br.com.ralfdomingues.oficina.infra.transacao.ExecucaoOtimista;
 import br.com.ralfdomingues.oficina.repository.cliente.ClienteRepository;
 import br.com.ralfdomingues.oficina.repository.itemservico.ItemServicoRepository;
 import br.com.ralfdomingues.oficina.repository.ordemservico.OrdemServicoRepository;
@@ -17,6 +22,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +33,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 class OrdemServicoServiceTest {
 
@@ -38,6 +47,10 @@ class OrdemServicoServiceTest {
     private VeiculoRepository veiculoRepo;
     @Mock
     private ItemServicoRepository itemRepo;
+    @Mock
+    private DashboardContadorService contadorService;
+    @Spy
+    private ExecucaoOtimista execucao = new ExecucaoOtimista(mock(PlatformTransactionManager.class), 3, 0);
 
     @InjectMocks
     private OrdemServicoService service;
@@ -110,6 +123,17 @@ class OrdemServicoServiceTest {
         var resposta = service.criar(dto);
         assertNotNull(resposta);
         assertEquals(StatusOrdemServico.ABERTA, resposta.status());
+        verify(contadorService).registrarAbertura(any(OrdemServico.class));
+    }
+
+    @Test
+    void buscarVersao_naoCarregaOrdem() {
+        when(ordemRepo.buscarVersao(1L, StatusOrdemServico.CANCELADA)).thenReturn(Optional.of(3L));
+        when(ordemRepo.buscarVersao(2L, StatusOrdemServico.CANCELADA)).thenReturn(Optional.empty());
+
+        assertEquals(3L, service.buscarVersao(1L));
+        assertThrows(NotFoundException.class, () -> service.buscarVersao(2L));
+        verify(ordemRepo, never()).findByIdAndStatusNot(any(), any());
     }
 
     @Test
@@ -159,6 +183,67 @@ class OrdemServicoServiceTest {
 
         assertNotNull(resposta.dataConclusao());
         assertEquals(StatusOrdemServico.CONCLUIDA, resposta.status());
+        verify(contadorService).registrarAlteracao(StatusOrdemServico.ABERTA, null, os);
+    }
+
+    @Test
+    void atualizar_versaoEsperadaDiferente_lancaConflitoSemRepetir() {
+        OrdemServico os = new OrdemServico();
+        os.setId(10L);
+        os.setStatus(StatusOrdemServico.ABERTA);
+        os.setVersao(4L);
+        when(ordemRepo.findById(10L)).thenReturn(Optional.of(os));
+
+        var dto = new OrdemServicoUpdateDTO("nova", null, null);
+        var excecao = assertThrows(ConflitoVersaoException.class, () -> service.atualizar(10L, dto, 3L));
+
+        assertEquals(4L, excecao.getVersaoAtual());
+        assertNotEquals("nova", os.getDescricao());
+        verify(ordemRepo, times(1)).findById(10L);
+        verify(ordemRepo, never()).save(any());
+    }
+
+    @Test
+    void atualizar_versaoEsperadaAtual_aplicaAlteracao() {
+        Cliente cliente = new Cliente();
+        cliente.setId(1L);
+
+        Veiculo veiculo = new Veiculo();
+        veiculo.setId(2L);
+        veiculo.setCliente(cliente);
+
+        OrdemServico os = new OrdemServico();
+        os.setId(11L);
+        os.setCliente(cliente);
+        os.setVeiculo(veiculo);
+        os.setStatus(StatusOrdemServico.ABERTA);
+        os.setVersao(4L);
+        when(ordemRepo.findById(11L)).thenReturn(Optional.of(os));
+
+        var resposta = service.atualizar(11L, new OrdemServicoUpdateDTO("nova", null, null), 4L);
+
+        assertEquals("nova", resposta.descricao());
+        verify(ordemRepo).save(os);
+    }
+
+    @Test
+    void deletar_conflitoDeVersao_repeteSobreOrdemRelida() {
+        OrdemServico lida = new OrdemServico();
+        lida.setId(12L);
+        lida.setStatus(StatusOrdemServico.ABERTA);
+
+        OrdemServico relida = new OrdemServico();
+        relida.setId(12L);
+        relida.setStatus(StatusOrdemServico.EM_ANDAMENTO);
+
+        when(ordemRepo.findById(12L)).thenReturn(Optional.of(lida), Optional.of(relida));
+        when(ordemRepo.save(lida)).thenThrow(new ObjectOptimisticLockingFailureException(OrdemServico.class, 12L));
+
+        service.deletar(12L);
+
+        assertEquals(StatusOrdemServico.CANCELADA, relida.getStatus());
+        verify(contadorService).registrarAlteracao(StatusOrdemServico.EM_ANDAMENTO, null, relida);
+        verify(contadorService, never()).registrarAlteracao(StatusOrdemServico.ABERTA, null, lida);
     }
 
     @Test
@@ -206,22 +291,14 @@ class OrdemServicoServiceTest {
 
     @Test
     void listar_sucesso() {
-        Cliente cliente = new Cliente();
-        cliente.setId(1L);
-
-        Veiculo veiculo = new Veiculo();
-        veiculo.setId(2L);
-        veiculo.setCliente(cliente);
-
-        OrdemServico os = new OrdemServico();
-        os.setId(1L);
-        os.setCliente(cliente);
-        os.setVeiculo(veiculo);
+        OrdemServicoResponseDTO dto = new OrdemServicoResponseDTO(
+                1L, 1L, 2L, StatusOrdemServico.ABERTA, "Revisão",
+                null, null, null, null);
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<OrdemServico> page = new PageImpl<>(List.of(os));
+        Page<OrdemServicoResponseDTO> page = new PageImpl<>(List.of(dto));
 
-        when(ordemRepo.findAllByStatusNot(StatusOrdemServico.CANCELADA, pageable))
+        when(ordemRepo.listarResumoPorStatusNot(StatusOrdemServico.CANCELADA, pageable))
                 .thenReturn(page);
 
         var resultado = service.listar(pageable);
@@ -232,11 +309,46 @@ class OrdemServicoServiceTest {
 
 
 
+    @Test
+    void listarPorCursor_semCursor_usaPrimeiraPagina() {
+        LocalDateTime abertura = LocalDateTime.of(2025, 3, 18, 14, 0);
+        OrdemServicoResponseDTO dto = new OrdemServicoResponseDTO(
+                5L, 1L, 2L, StatusOrdemServico.ABERTA, "Revisão",
+                null, null, abertura, null);
+
+        when(ordemRepo.listarResumoInicio(eq(StatusOrdemServico.CANCELADA), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(dto), PageRequest.of(0, 1), true));
+
+        var resultado = service.listarPorCursor(null, 1);
+
+        assertEquals(1, resultado.conteudo().size());
+        assertTrue(resultado.temProxima());
+
+        Cursor.PosicaoTemporal posicao = Cursor.decodificarTemporal(resultado.proximoCursor());
+        assertEquals(abertura, posicao.data());
+        assertEquals(5L, posicao.id());
+    }
+
+    @Test
+    void listarPorCursor_comCursor_continuaAposPosicao() {
+        LocalDateTime abertura = LocalDateTime.of(2025, 3, 18, 14, 0);
+
+        when(ordemRepo.listarResumoApos(eq(StatusOrdemServico.CANCELADA), eq(abertura), eq(5L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 10), false));
+
+        var resultado = service.listarPorCursor(Cursor.codificar(abertura, 5L), 10);
+
+        assertTrue(resultado.conteudo().isEmpty());
+        assertFalse(resultado.temProxima());
+        assertNull(resultado.proximoCursor());
+        verify(ordemRepo, never()).listarResumoInicio(any(), any());
+    }
+
     @Test
     void listar_vazio() {
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(ordemRepo.findAllByStatusNot(StatusOrdemServico.CANCELADA, pageable))
+        when(ordemRepo.listarResumoPorStatusNot(StatusOrdemServico.CANCELADA, pageable))
                 .thenReturn(Page.empty());
 
         var resultado = service.listar(pageable);
@@ -256,5 +368,6 @@ class OrdemServicoServiceTest {
         assertEquals(StatusOrdemServico.CANCELADA, os.getStatus());
         assertNotNull(os.getDataConclusao());
         verify(ordemRepo).save(os);
+        verify(contadorService).registrarAlteracao(StatusOrdemServico.ABERTA, null, os);
     }
 }
@@ -0,0 +1,82 @@
+package br.com.ralfdomingues.oficina.domain.ordemservico.service;
+
+import br.com.ralfdomingues.oficina.domain.dashboard.service.DashboardContadorService;
+import br.com.ralfdomingues.oficina.domain.ordemservico.dto.DivergenciaValorFinalView;
+import br.com.ralfdomingues.oficina.domain.ordemservico.enums.StatusOrdemServico;
+import br.com.ralfdomingues.oficina.repository.ordemservico.OrdemServicoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ValorFinalReconciliacaoServiceTest {
+
+    @Mock
+    private OrdemServicoRepository ordemRepo;
+
+    @Mock
+    private DashboardContadorService contadorService;
+
+    private ValorFinalReconciliacaoService service;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        service = new ValorFinalReconciliacaoService(ordemRepo, contadorService, false);
+    }
+
+    private DivergenciaValorFinalView divergencia(Long id, BigDecimal registrado, BigDecimal calculado) {
+        DivergenciaValorFinalView view = mock(DivergenciaValorFinalView.class);
+        when(view.getOrdemId()).thenReturn(id);
+        when(view.getValorRegistrado()).thenReturn(registrado);
+        when(view.getValorCalculado()).thenReturn(calculado);
+        return view;
+    }
+
+    @Test
+    void reconciliar_semCorrecao_apenasReporta() {
+        var d = divergencia(1L, BigDecimal.valueOf(100), BigDecimal.valueOf(130));
+        when(ordemRepo.buscarDivergenciasValorFinal()).thenReturn(List.of(d));
+
+        var resultado = service.reconciliar(false);
+
+        assertEquals(1, resultado.size());
+        assertEquals(BigDecimal.valueOf(30), resultado.get(0).diferenca());
+        assertFalse(resultado.get(0).corrigida());
+        verify(ordemRepo, never()).corrigirValorFinal(any(), any(), any());
+        verifyNoInteractions(contadorService);
+    }
+
+    @Test
+    void reconciliar_comCorrecao_valorNuloTratadoComoZero() {
+        var d = divergencia(2L, null, BigDecimal.valueOf(50));
+        when(ordemRepo.buscarDivergenciasValorFinal()).thenReturn(List.of(d));
+        when(ordemRepo.corrigirValorFinal(2L, BigDecimal.ZERO, BigDecimal.valueOf(50))).thenReturn(1);
+        when(ordemRepo.buscarStatus(2L)).thenReturn(Optional.of(StatusOrdemServico.CONCLUIDA));
+
+        var resultado = service.reconciliar(true);
+
+        assertTrue(resultado.get(0).corrigida());
+        assertEquals(BigDecimal.valueOf(50), resultado.get(0).diferenca());
+        verify(contadorService).registrarDiferencaValor(StatusOrdemServico.CONCLUIDA, BigDecimal.valueOf(50));
+    }
+
+    @Test
+    void reconciliar_alteracaoConcorrente_naoMarcaComoCorrigida() {
+        var d = divergencia(3L, BigDecimal.TEN, BigDecimal.ONE);
+        when(ordemRepo.buscarDivergenciasValorFinal()).thenReturn(List.of(d));
+        when(ordemRepo.corrigirValorFinal(3L, BigDecimal.TEN, BigDecimal.ONE)).thenReturn(0);
+
+        var resultado = service.reconciliar(true);
+
+        assertFalse(resultado.get(0).corrigida());
+        verifyNoInteractions(contadorService);
+    }
+}
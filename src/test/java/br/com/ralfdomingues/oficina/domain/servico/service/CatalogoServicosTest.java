@@ -0,0 +1,241 @@
+package br.com.ralfdomingues.oficina.domain.servico.service;
+
+import br.com.ralfdomingues.oficina.domain.servico.entity.Servico;
+import br.com.ralfdomingues.oficina.exception.BusinessException;
+import br.com.ralfdomingues.oficina.repository.servico.ServicoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogoServicosTest {
+
+    private ServicoRepository repository;
+    private CatalogoServicos catalogo;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(ServicoRepository.class);
+        catalogo = new CatalogoServicos(repository);
+    }
+
+    private static Servico servico(Long id, String nome, int preco, boolean ativo) {
+        Servico servico = new Servico(id, nome, BigDecimal.valueOf(preco));
+        servico.setAtivo(ativo);
+        return servico;
+    }
+
+    @Test
+    void buscar_carregaUmaVezEContaAcertos() {
+        when(repository.findAll()).thenReturn(List.of(servico(1L, "Óleo", 50, true)));
+
+        assertEquals("Óleo", catalogo.buscar(1L).orElseThrow().nome());
+        assertEquals(BigDecimal.valueOf(50), catalogo.buscar(1L).orElseThrow().preco());
+
+        verify(repository, times(1)).findAll();
+        verify(repository, never()).findById(anyLong());
+
+        var estatisticas = catalogo.estatisticas();
+        assertEquals(2, estatisticas.acertos());
+        assertEquals(0, estatisticas.falhas());
+        assertEquals(1, estatisticas.recargas());
+    }
+
+    @Test
+    void buscar_idAusente_consultaBancoEIncluiNoCatalogo() {
+        when(repository.findAll()).thenReturn(List.of());
+        when(repository.findById(7L)).thenReturn(Optional.of(servico(7L, "Freio", 80, true)));
+
+        assertTrue(catalogo.buscar(7L).isPresent());
+        assertTrue(catalogo.buscar(7L).isPresent());
+
+        verify(repository, times(1)).findById(7L);
+        assertEquals(1, catalogo.estatisticas().falhas());
+        assertEquals(1, catalogo.estatisticas().acertos());
+    }
+
+    @Test
+    void buscar_idInexistente_retornaVazio() {
+        when(repository.findAll()).thenReturn(List.of());
+        when(repository.findById(9L)).thenReturn(Optional.empty());
+
+        assertTrue(catalogo.buscar(9L).isEmpty());
+        assertEquals(0, catalogo.estatisticas().tamanho());
+    }
+
+    @Test
+    void atualizarAposCommit_semTransacao_aplicaImediatamente() {
+        Servico servico = servico(1L, "Óleo", 50, true);
+        when(repository.findAll()).thenReturn(List.of(servico(1L, "Óleo", 50, true)));
+        catalogo.carregar();
+
+        servico.setPreco(BigDecimal.valueOf(65));
+        servico.setVersao(1L);
+        catalogo.atualizarAposCommit(servico);
+
+        assertEquals(BigDecimal.valueOf(65), catalogo.buscar(1L).orElseThrow().preco());
+        assertEquals(2, catalogo.estatisticas().versao());
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void atualizarAposCommit_comTransacao_aguardaCommit() {
+        when(repository.findAll()).thenReturn(List.of(servico(1L, "Óleo", 50, true)));
+        catalogo.carregar();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            Servico alterado = servico(1L, "Óleo", 70, true);
+            alterado.setVersao(1L);
+            catalogo.atualizarAposCommit(alterado);
+
+            assertEquals(BigDecimal.valueOf(50), catalogo.buscar(1L).orElseThrow().preco());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(BigDecimal.valueOf(70), catalogo.buscar(1L).orElseThrow().preco());
+    }
+
+    @Test
+    void atualizarAposCommit_leVersaoIncrementadaPeloFlush() {
+        when(repository.findAll()).thenReturn(List.of(servico(1L, "Óleo", 50, true)));
+        catalogo.carregar();
+
+        Servico servico = servico(1L, "Óleo", 70, true);
+        servico.setVersao(0L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            catalogo.atualizarAposCommit(servico);
+            servico.setVersao(1L); // flush
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, catalogo.buscar(1L).orElseThrow().versao());
+    }
+
+    @Test
+    void assinatura_mudaComNovaVersaoOuNovoServico() {
+        Servico oleo = servico(1L, "Óleo", 50, true);
+        oleo.setVersao(2L);
+        when(repository.findAll()).thenReturn(List.of(oleo, servico(2L, "Freio", 80, false)));
+
+        assertEquals("2.2", catalogo.assinatura());
+
+        Servico alterado = servico(1L, "Óleo", 60, true);
+        alterado.setVersao(3L);
+        catalogo.atualizarAposCommit(alterado);
+        assertEquals("2.3", catalogo.assinatura());
+
+        Servico novo = servico(3L, "Pneu", 90, true);
+        novo.setVersao(0L);
+        catalogo.atualizarAposCommit(novo);
+        assertEquals("3.3", catalogo.assinatura());
+    }
+
+    @Test
+    void atualizarAposCommit_foraDeOrdem_mantemVersaoMaisNova() {
+        when(repository.findAll()).thenReturn(List.of(servico(1L, "Óleo", 50, true)));
+        catalogo.carregar();
+
+        Servico primeira = servico(1L, "Óleo", 60, true);
+        primeira.setVersao(1L);
+        Servico segunda = servico(1L, "Óleo sintético", 70, true);
+        segunda.setVersao(2L);
+
+        // Commits concorrentes com os callbacks executados na ordem inversa
+        catalogo.atualizarAposCommit(segunda);
+        catalogo.atualizarAposCommit(primeira);
+        catalogo.atualizarAposCommit(segunda);
+
+        var entrada = catalogo.buscar(1L).orElseThrow();
+        assertEquals("Óleo sintético", entrada.nome());
+        assertEquals(BigDecimal.valueOf(70), entrada.preco());
+        assertEquals(2, entrada.versao());
+        assertEquals(1, catalogo.estatisticas().atualizacoes());
+    }
+
+    @Test
+    void recarregar_alteracaoDuranteLeitura_releSemPerderAlteracao() {
+        Servico alterado = servico(1L, "Óleo", 90, true);
+        alterado.setVersao(1L);
+
+        when(repository.findAll())
+                .thenReturn(List.of(servico(1L, "Óleo", 50, true)))
+                .thenAnswer(invocation -> {
+                    // Alteração confirmada por outra requisição enquanto a recarga lê o banco
+                    catalogo.atualizarAposCommit(alterado);
+                    return List.of(servico(1L, "Óleo", 50, true));
+                })
+                .thenReturn(List.of(alterado));
+
+        catalogo.carregar();
+        catalogo.recarregar();
+
+        assertEquals(BigDecimal.valueOf(90), catalogo.buscar(1L).orElseThrow().preco());
+        verify(repository, times(3)).findAll();
+        assertEquals(2, catalogo.estatisticas().recargas());
+    }
+
+    @Test
+    void listarAtivos_ignoraInativosEPagina() {
+        when(repository.findAll()).thenReturn(List.of(
+                servico(3L, "Alinhamento", 80, true),
+                servico(1L, "Óleo", 50, true),
+                servico(2L, "Balanceamento", 60, false),
+                servico(4L, "Freio", 120, true)
+        ));
+
+        var pagina = catalogo.listarAtivos(PageRequest.of(0, 2));
+
+        assertEquals(3, pagina.getTotalElements());
+        assertEquals(List.of(1L, 3L), pagina.getContent().stream().map(CatalogoServicos.Entrada::id).toList());
+        assertEquals(List.of(4L), catalogo.listarAtivos(PageRequest.of(1, 2)).getContent()
+                .stream().map(CatalogoServicos.Entrada::id).toList());
+        assertTrue(catalogo.listarAtivos(PageRequest.of(5, 2)).getContent().isEmpty());
+        assertEquals(3, catalogo.listarAtivos(Pageable.unpaged()).getContent().size());
+        assertEquals(3, catalogo.estatisticas().ativos());
+        assertEquals(4, catalogo.estatisticas().tamanho());
+    }
+
+    @Test
+    void listarAtivos_ordenaPorNomeEPreco() {
+        when(repository.findAll()).thenReturn(List.of(
+                servico(1L, "óleo", 50, true),
+                servico(2L, "Alinhamento", 80, true),
+                servico(3L, "freio", 120, true)
+        ));
+
+        var porNome = catalogo.listarAtivos(PageRequest.of(0, 10, Sort.by("nome")));
+        var porPreco = catalogo.listarAtivos(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "preco")));
+
+        assertEquals(List.of(2L, 3L, 1L), porNome.getContent().stream().map(CatalogoServicos.Entrada::id).toList());
+        assertEquals(List.of(3L, 2L, 1L), porPreco.getContent().stream().map(CatalogoServicos.Entrada::id).toList());
+    }
+
+    @Test
+    void listarAtivos_ordenacaoNaoSuportada_lancaBusiness() {
+        when(repository.findAll()).thenReturn(List.of(servico(1L, "Óleo", 50, true)));
+
+        assertThrows(BusinessException.class,
+                () -> catalogo.listarAtivos(PageRequest.of(0, 10, Sort.by("ativo"))));
+    }
+}
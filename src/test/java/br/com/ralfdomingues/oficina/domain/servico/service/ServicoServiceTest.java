@@ -9,7 +9,6 @@ import br.com.ralfdomingues.oficina.repository.servico.ServicoRepository;
 import org.junit.jupiter.api.*;
 import org.mockito.*;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
@@ -25,12 +24,15 @@ class ServicoServiceTest {
     @Mock
     private ServicoRepository repository;
 
-    @InjectMocks
+    private CatalogoServicos catalogo;
+
     private ServicoService service;
 
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        catalogo = new CatalogoServicos(repository);
+        service = new ServicoService(repository, catalogo);
     }
 
     @Test
@@ -52,13 +54,30 @@ class ServicoServiceTest {
         assertEquals(BigDecimal.TEN, resposta.preco());
     }
 
+    @Test
+    void listarPorId_segundaConsulta_naoAcessaBanco() {
+        Servico servico = new Servico(1L, "Troca de óleo", BigDecimal.TEN);
+        when(repository.findAll()).thenReturn(List.of(servico));
+
+        service.listarPorId(1L);
+        service.listarPorId(1L);
+
+        verify(repository, times(1)).findAll();
+        verify(repository, never()).findById(anyLong());
+    }
+
     @Test
     void criar_sucesso() {
         ServicoCreateDTO dto = new ServicoCreateDTO("Alinhamento", BigDecimal.valueOf(50));
 
+        // Catálogo já carregado (na aplicação, ao iniciar), ainda sem o serviço novo
+        when(repository.findAll()).thenReturn(List.of());
+        catalogo.carregar();
+
         when(repository.save(any(Servico.class))).thenAnswer(invocation -> {
             Servico s = invocation.getArgument(0);
             s.setId(10L);
+            s.setVersao(0L);
             return s;
         });
 
@@ -68,6 +87,8 @@ class ServicoServiceTest {
         assertEquals(10L, resposta.id());
         assertEquals("Alinhamento", resposta.nome());
         assertEquals(BigDecimal.valueOf(50), resposta.preco());
+        assertEquals("Alinhamento", catalogo.buscar(10L).orElseThrow().nome());
+        verify(repository, never()).findById(10L);
     }
 
 
@@ -90,34 +111,48 @@ class ServicoServiceTest {
         assertEquals("Novo", resposta.nome());
         assertEquals(BigDecimal.valueOf(99), resposta.preco());
         assertFalse(resposta.ativo());
+        assertEquals(BigDecimal.valueOf(99), catalogo.buscar(3L).orElseThrow().preco());
     }
 
     @Test
     void listarTodos_sucesso() {
 
         Servico servico = new Servico(1L, "X", BigDecimal.ONE);
+        Servico inativo = new Servico(2L, "Y", BigDecimal.ONE);
+        inativo.setAtivo(false);
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Servico> page = new PageImpl<>(List.of(servico));
 
-        when(repository.findAllByAtivoTrue(pageable)).thenReturn(page);
+        when(repository.findAll()).thenReturn(List.of(servico, inativo));
 
         Page<ServicoResponseDTO> resultado = service.listar(pageable);
 
         assertEquals(1, resultado.getTotalElements());
         assertEquals(1L, resultado.getContent().get(0).id());
+        verify(repository, never()).findAllByAtivoTrue(any());
     }
 
 
     @Test
     void deletar_deveSetarAtivoFalse() {
         Servico servico = new Servico(5L, "a", BigDecimal.TEN);
+        servico.setVersao(0L);
         when(repository.findById(5L)).thenReturn(Optional.of(servico));
+        when(repository.findAll()).thenReturn(List.of(new Servico(5L, "a", BigDecimal.TEN)));
+        assertEquals(1, service.listar(PageRequest.of(0, 10)).getTotalElements());
+
+        // O flush incrementa a versão da entidade alterada
+        when(repository.save(servico)).thenAnswer(invocation -> {
+            servico.setVersao(1L);
+            return servico;
+        });
 
         service.deletar(5L);
 
         assertFalse(servico.getAtivo());
         verify(repository).save(servico);
+        assertTrue(service.listar(PageRequest.of(0, 10)).isEmpty());
+        verify(repository, times(1)).findAll();
     }
 
     @Test
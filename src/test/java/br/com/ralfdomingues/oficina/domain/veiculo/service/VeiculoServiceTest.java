@@ -190,4 +190,30 @@ class VeiculoServiceTest {
         verify(veiculoRepository).save(v);
     }
 
+    @Test
+    void buscar_mantemOrdemDeRelevanciaECarregaComCliente() {
+        Cliente cliente = new Cliente();
+        cliente.setId(1L);
+
+        Veiculo primeiro = Veiculo.builder().id(7L).placa("ABC1D23").cliente(cliente).ativo(true).build();
+        Veiculo segundo = Veiculo.builder().id(3L).placa("ABC1D28").cliente(cliente).ativo(true).build();
+
+        when(veiculoRepository.buscarIdsPorPrefixoPlaca("abc1d2", "abc1d2{", 10)).thenReturn(List.of(7L));
+        when(veiculoRepository.buscarIdsPorPlacaAproximada("abc1d2", 10)).thenReturn(List.of(7L, 3L));
+        when(veiculoRepository.buscarComClientePorIds(any())).thenReturn(List.of(segundo, primeiro));
+
+        var resultado = service.buscar("ABC-1D2", 10);
+
+        assertEquals(List.of(7L, 3L), resultado.stream().map(VeiculoResponseDTO::id).toList());
+        verify(veiculoRepository, times(1)).buscarComClientePorIds(any());
+    }
+
+    @Test
+    void buscar_semResultado_naoCarregaVeiculos() {
+        when(veiculoRepository.buscarIdsPorPrefixoPlaca(any(), any(), anyInt())).thenReturn(List.of());
+        when(veiculoRepository.buscarIdsPorPlacaAproximada(any(), anyInt())).thenReturn(List.of());
+
+        assertTrue(service.buscar("XYZ", 10).isEmpty());
+        verify(veiculoRepository, never()).buscarComClientePorIds(any());
+    }
 }
@@ -0,0 +1,59 @@
+package br.com.ralfdomingues.oficina.infra.busca;
+
+import br.com.ralfdomingues.oficina.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TermoBuscaTest {
+
+    @Test
+    void normalizar_removeAcentosPontuacaoEEspacosRepetidos() {
+        assertEquals("joao da conceicao", TermoBusca.normalizar("  João  da Conceição! "));
+        assertEquals("abc1d23", TermoBusca.normalizar("ABC-1D23"));
+        assertEquals("", TermoBusca.normalizar(null));
+    }
+
+    @Test
+    void de_termoNumerico_guardaApenasDigitos() {
+        TermoBusca termo = TermoBusca.de("123.456.789-0");
+
+        assertTrue(termo.numerico());
+        assertEquals("1234567890", termo.digitos());
+        assertEquals("1234567890{", termo.fimDigitos());
+    }
+
+    @Test
+    void de_termoComLetras_naoENumerico() {
+        TermoBusca termo = TermoBusca.de("Silva");
+
+        assertFalse(termo.numerico());
+        assertEquals("silva", termo.texto());
+        assertEquals("silva{", termo.fimTexto());
+        assertTrue(termo.aproximavel());
+    }
+
+    @Test
+    void de_termoCurto_lancaBusiness() {
+        assertThrows(BusinessException.class, () -> TermoBusca.de("a"));
+        assertThrows(BusinessException.class, () -> TermoBusca.de(" -. "));
+        assertFalse(TermoBusca.de("ab").aproximavel());
+    }
+
+    @Test
+    void fimDaFaixa_ficaAcimaDeQualquerContinuacaoDoPrefixo() {
+        String fim = TermoBusca.de("jo").fimTexto();
+
+        assertTrue("jo".compareTo(fim) < 0);
+        assertTrue("joz".compareTo(fim) < 0);
+        assertTrue("jo 9".compareTo(fim) < 0);
+        assertTrue("jp".compareTo(fim) > 0);
+    }
+
+    @Test
+    void limite_respeitaMaximo() {
+        assertEquals(TermoBusca.LIMITE_MAXIMO, TermoBusca.limite(500));
+        assertEquals(1, TermoBusca.limite(0));
+        assertEquals(5, TermoBusca.limite(5));
+    }
+}
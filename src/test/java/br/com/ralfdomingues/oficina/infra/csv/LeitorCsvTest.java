@@ -0,0 +1,44 @@
+package br.com.ralfdomingues.oficina.infra.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeitorCsvTest {
+
+    @Test
+    void ler_camposEntreAspasComSeparadorAspasEQuebraDeLinha() throws Exception {
+        var leitor = new LeitorCsv(new StringReader(
+                "nome,descricao\r\n"
+                        + "Ana,\"Rua A, 10\"\r\n"
+                        + "Bia,\"Disse \"\"oi\"\"\nna recepção\"\n"));
+
+        assertEquals(List.of("nome", "descricao"), leitor.ler());
+        assertEquals(List.of("Ana", "Rua A, 10"), leitor.ler());
+        assertEquals(2, leitor.getLinha());
+        assertEquals(List.of("Bia", "Disse \"oi\"\nna recepção"), leitor.ler());
+        assertEquals(4, leitor.getLinha());
+        assertNull(leitor.ler());
+    }
+
+    @Test
+    void ler_detectaPontoEVirgulaEIgnoraBomELinhasEmBranco() throws Exception {
+        var leitor = new LeitorCsv(new StringReader("\uFEFFnome;cpf\n\nAna;123,45\n;\n"));
+
+        assertEquals(List.of("nome", "cpf"), leitor.ler());
+        assertEquals(List.of("Ana", "123,45"), leitor.ler());
+        assertEquals(3, leitor.getLinha());
+        assertEquals(List.of("", ""), leitor.ler());
+        assertNull(leitor.ler());
+    }
+
+    @Test
+    void formatar_colocaEntreAspasQuandoNecessario() {
+        assertEquals("1,\"a,b\",\"diz \"\"oi\"\"\",",
+                LeitorCsv.formatar(Arrays.asList("1", "a,b", "diz \"oi\"", null)));
+    }
+}
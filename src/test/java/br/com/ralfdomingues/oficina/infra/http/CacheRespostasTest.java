@@ -0,0 +1,132 @@
+package br.com.ralfdomingues.oficina.infra.http;
+
+import br.com.ralfdomingues.oficina.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheRespostasTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private static Supplier<Object> contando(AtomicInteger chamadas, Object corpo) {
+        return () -> {
+            chamadas.incrementAndGet();
+            return corpo;
+        };
+    }
+
+    @Test
+    void etag_incluiRecursoEVersaoEntreAspas() {
+        assertEquals("\"os-42-7\"", CacheRespostas.etag("os", 42L, 7L));
+        assertEquals("\"servicos-3.10\"", CacheRespostas.etag("servicos", "3.10"));
+    }
+
+    @Test
+    void corresponde_aceitaListaEtagFracaECuringa() {
+        String etag = "\"os-1-2\"";
+
+        assertTrue(CacheRespostas.corresponde("\"os-1-2\"", etag));
+        assertTrue(CacheRespostas.corresponde("\"os-1-1\", W/\"os-1-2\"", etag));
+        assertTrue(CacheRespostas.corresponde("*", etag));
+        assertFalse(CacheRespostas.corresponde("\"os-1-1\"", etag));
+        assertFalse(CacheRespostas.corresponde("os-1-2", etag));
+        assertFalse(CacheRespostas.corresponde(null, etag));
+        assertFalse(CacheRespostas.corresponde(" ", etag));
+    }
+
+    @Test
+    void versaoEsperada_extraiVersaoDaEtagDoRecurso() {
+        assertEquals(7L, CacheRespostas.versaoEsperada("\"os-42-7\"", "os", 42L));
+        assertEquals(7L, CacheRespostas.versaoEsperada(" \"os-42-7\" ", "os", 42L));
+        assertNull(CacheRespostas.versaoEsperada(null, "os", 42L));
+        assertNull(CacheRespostas.versaoEsperada("*", "os", 42L));
+
+        assertThrows(BusinessException.class, () -> CacheRespostas.versaoEsperada("\"os-41-7\"", "os", 42L));
+        assertThrows(BusinessException.class, () -> CacheRespostas.versaoEsperada("W/\"os-42-7\"", "os", 42L));
+        assertThrows(BusinessException.class, () -> CacheRespostas.versaoEsperada("\"os-42-x\"", "os", 42L));
+        assertThrows(BusinessException.class, () -> CacheRespostas.versaoEsperada("\"os-42-\"", "os", 42L));
+    }
+
+    @Test
+    void responder_versaoConhecida_retorna304SemGerarCorpo() {
+        CacheRespostas cache = new CacheRespostas(jsonMapper, 10, 1024);
+        AtomicInteger chamadas = new AtomicInteger();
+
+        ResponseEntity<byte[]> resposta = cache.responder("\"os-1-2\"", "", "\"os-1-2\"",
+                contando(chamadas, Map.of("id", 1)));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, resposta.getStatusCode());
+        assertEquals("\"os-1-2\"", resposta.getHeaders().getETag());
+        assertNull(resposta.getBody());
+        assertEquals(0, chamadas.get());
+        assertEquals(1, cache.estatisticas().naoModificadas());
+    }
+
+    @Test
+    void responder_mesmaVersao_serializaUmaVez() {
+        CacheRespostas cache = new CacheRespostas(jsonMapper, 10, 1024);
+        AtomicInteger chamadas = new AtomicInteger();
+
+        ResponseEntity<byte[]> primeira = cache.responder("\"os-1-2\"", "", null,
+                contando(chamadas, Map.of("id", 1)));
+        ResponseEntity<byte[]> segunda = cache.responder("\"os-1-2\"", "", "\"os-1-1\"",
+                contando(chamadas, Map.of("id", 1)));
+
+        assertEquals(HttpStatus.OK, segunda.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, segunda.getHeaders().getContentType());
+        assertEquals("\"os-1-2\"", segunda.getHeaders().getETag());
+        assertEquals("{\"id\":1}", new String(segunda.getBody(), StandardCharsets.UTF_8));
+        assertSame(primeira.getBody(), segunda.getBody());
+        assertEquals(1, chamadas.get());
+
+        var estatisticas = cache.estatisticas();
+        assertEquals(1, estatisticas.acertos());
+        assertEquals(1, estatisticas.falhas());
+        assertEquals(1, estatisticas.tamanho());
+        assertEquals(8, estatisticas.bytes());
+    }
+
+    @Test
+    void responder_novaVersaoOuOutraVariante_geraNovoCorpo() {
+        CacheRespostas cache = new CacheRespostas(jsonMapper, 10, 1024);
+        AtomicInteger chamadas = new AtomicInteger();
+
+        cache.responder("\"servicos-1.0\"", "pagina 0", null, contando(chamadas, Map.of("p", 0)));
+        cache.responder("\"servicos-1.0\"", "pagina 1", null, contando(chamadas, Map.of("p", 1)));
+        ResponseEntity<byte[]> nova = cache.responder("\"servicos-2.0\"", "pagina 0", "\"servicos-1.0\"",
+                contando(chamadas, Map.of("p", 2)));
+
+        assertEquals(HttpStatus.OK, nova.getStatusCode());
+        assertEquals("{\"p\":2}", new String(nova.getBody(), StandardCharsets.UTF_8));
+        assertEquals(3, chamadas.get());
+        assertEquals(3, cache.estatisticas().tamanho());
+    }
+
+    @Test
+    void responder_corpoGrandeOuCapacidadeAtingida_respeitaLimites() {
+        CacheRespostas cache = new CacheRespostas(jsonMapper, 2, 16);
+        AtomicInteger chamadas = new AtomicInteger();
+
+        cache.responder("\"os-1-1\"", "", null, contando(chamadas, Map.of("descricao", "corpo acima do limite")));
+        assertEquals(0, cache.estatisticas().tamanho());
+        assertEquals(1, cache.estatisticas().naoGuardadas());
+
+        for (long versao = 1; versao <= 5; versao++) {
+            cache.responder(CacheRespostas.etag("os", 2L, versao), "", null, contando(chamadas, Map.of("v", versao)));
+        }
+
+        assertEquals(2, cache.estatisticas().tamanho());
+        assertEquals(3, cache.estatisticas().remocoes());
+        assertEquals(14, cache.estatisticas().bytes());
+    }
+}
@@ -0,0 +1,140 @@
+package br.com.ralfdomingues.oficina.infra.logging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+class AuditoriaAssincronaTest {
+
+    @TempDir
+    Path diretorio;
+
+    private AuditoriaAssincrona auditoria(int capacidade, AuditoriaAssincrona.PoliticaFilaCheia politica) {
+        return new AuditoriaAssincrona(JsonMapper.builder().build(), diretorio.toString(), capacidade, politica, 20, 30);
+    }
+
+    private EventoAuditoria evento(String uri) {
+        long instante = LocalDateTime.of(2025, 3, 10, 14, 5, 30)
+                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new EventoAuditoria(instante, "REQUISICAO", "admin@oficina.com", "GET", uri, null);
+    }
+
+    @Test
+    void encerrar_gravaEventosPendentesNosArquivosDoDia() throws Exception {
+        AuditoriaAssincrona auditoria = auditoria(16, AuditoriaAssincrona.PoliticaFilaCheia.DESCARTAR);
+
+        auditoria.iniciar();
+        assertTrue(auditoria.registrar(evento("/clientes")));
+        assertTrue(auditoria.registrar(evento("/veiculos")));
+        auditoria.encerrar();
+
+        List<String> linhas = Files.readAllLines(diretorio.resolve("audit-10-03-2025.jsonl"));
+        long instante = evento("/clientes").instante();
+
+        assertEquals(List.of(
+                "{\"instante\":" + instante + ",\"tipo\":\"REQUISICAO\",\"usuario\":\"admin@oficina.com\","
+                        + "\"metodo\":\"GET\",\"uri\":\"/clientes\"}",
+                "{\"instante\":" + instante + ",\"tipo\":\"REQUISICAO\",\"usuario\":\"admin@oficina.com\","
+                        + "\"metodo\":\"GET\",\"uri\":\"/veiculos\"}"
+        ), linhas);
+        assertEquals(2L * FormatoAuditoria.TAMANHO_ENTRADA,
+                Files.size(diretorio.resolve("audit-10-03-2025.idx")));
+        assertEquals(FormatoAuditoria.TAMANHO_CABECALHO + 2L * FormatoAuditoria.TAMANHO_ENTRADA,
+                Files.size(diretorio.resolve("audit-10-03-2025.usuario.idx")));
+        assertEquals(FormatoAuditoria.TAMANHO_CABECALHO + 2L * FormatoAuditoria.TAMANHO_ENTRADA,
+                Files.size(diretorio.resolve("audit-10-03-2025.uri.idx")));
+
+        var estatisticas = auditoria.estatisticas();
+        assertEquals(2, estatisticas.enfileirados());
+        assertEquals(2, estatisticas.gravados());
+        assertEquals(0, estatisticas.pendentes());
+    }
+
+    @Test
+    void falhaAoSerializar_descartaEventoEMantemGravador() throws Exception {
+        JsonMapper jsonMapper = spy(JsonMapper.builder().build());
+        doThrow(new IllegalStateException("falha de serialização"))
+                .when(jsonMapper).writeValueAsBytes(argThat(e -> e instanceof EventoAuditoria ev
+                        && ev.uri().equals("/invalido")));
+
+        AuditoriaAssincrona auditoria = new AuditoriaAssincrona(jsonMapper, diretorio.toString(), 16,
+                AuditoriaAssincrona.PoliticaFilaCheia.DESCARTAR, 20, 30);
+
+        auditoria.iniciar();
+        auditoria.registrar(evento("/clientes"));
+        auditoria.registrar(evento("/invalido"));
+        Thread.sleep(100);
+        // A thread de gravação continua consumindo após a falha
+        auditoria.registrar(evento("/veiculos"));
+        auditoria.encerrar();
+
+        List<String> linhas = Files.readAllLines(diretorio.resolve("audit-10-03-2025.jsonl"));
+        assertEquals(2, linhas.size());
+        assertTrue(linhas.get(0).contains("/clientes"));
+        assertTrue(linhas.get(1).contains("/veiculos"));
+
+        var estatisticas = auditoria.estatisticas();
+        assertEquals(2, estatisticas.gravados());
+        assertEquals(1, estatisticas.descartados());
+        assertEquals(1, estatisticas.falhasGravacao());
+    }
+
+    @Test
+    void filaCheia_politicaDescartar_contaDescartes() {
+        AuditoriaAssincrona auditoria = auditoria(2, AuditoriaAssincrona.PoliticaFilaCheia.DESCARTAR);
+
+        // Sem a thread de gravação iniciada, nada é consumido
+        assertTrue(auditoria.registrar(evento("/a")));
+        assertTrue(auditoria.registrar(evento("/b")));
+        assertFalse(auditoria.registrar(evento("/c")));
+
+        var estatisticas = auditoria.estatisticas();
+        assertEquals(2, estatisticas.enfileirados());
+        assertEquals(1, estatisticas.descartados());
+        assertEquals(2, estatisticas.pendentes());
+    }
+
+    @Test
+    void filaCheia_politicaBloquear_aguardaEspacoSemDescartar() throws Exception {
+        AuditoriaAssincrona auditoria = auditoria(2, AuditoriaAssincrona.PoliticaFilaCheia.BLOQUEAR);
+
+        auditoria.iniciar();
+        for (int i = 0; i < 1_000; i++) {
+            auditoria.registrar(evento("/ordens-servico/" + i));
+        }
+        auditoria.encerrar();
+
+        var estatisticas = auditoria.estatisticas();
+        assertEquals(estatisticas.enfileirados(), estatisticas.gravados());
+        assertEquals(1_000, estatisticas.enfileirados() + estatisticas.descartados());
+        assertEquals(estatisticas.gravados(),
+                Files.readAllLines(diretorio.resolve("audit-10-03-2025.jsonl")).size());
+    }
+
+    @Test
+    void arquivosForaDaRetencao_saoRemovidosNaAbertura() throws Exception {
+        Files.writeString(diretorio.resolve("audit-01-01-2025.jsonl"), "");
+        Files.writeString(diretorio.resolve("audit-01-01-2025.idx"), "");
+        Files.writeString(diretorio.resolve("audit-05-03-2025.jsonl"), "");
+
+        AuditoriaAssincrona auditoria = auditoria(16, AuditoriaAssincrona.PoliticaFilaCheia.DESCARTAR);
+        auditoria.iniciar();
+        auditoria.registrar(evento("/clientes"));
+        auditoria.encerrar();
+
+        assertFalse(Files.exists(diretorio.resolve("audit-01-01-2025.jsonl")));
+        assertFalse(Files.exists(diretorio.resolve("audit-01-01-2025.idx")));
+        assertTrue(Files.exists(diretorio.resolve("audit-05-03-2025.jsonl")));
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.ralfdomingues.oficina.infra.logging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsultaAuditoriaTest {
+
+    private static final ZoneId ZONA = ZoneId.systemDefault();
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @TempDir
+    Path diretorio;
+
+    private static long instante(LocalDateTime dataHora) {
+        return dataHora.atZone(ZONA).toInstant().toEpochMilli();
+    }
+
+    private void gravar(EventoAuditoria... eventos) {
+        AuditoriaAssincrona auditoria = new AuditoriaAssincrona(
+                jsonMapper, diretorio.toString(), 64, AuditoriaAssincrona.PoliticaFilaCheia.BLOQUEAR, 100, 30);
+
+        auditoria.iniciar();
+        for (EventoAuditoria evento : eventos) {
+            auditoria.registrar(evento);
+        }
+        auditoria.encerrar();
+    }
+
+    private List<EventoAuditoria> consultar(String usuario, String uri, LocalDateTime de, LocalDateTime ate)
+            throws Exception {
+        List<EventoAuditoria> encontrados = new ArrayList<>();
+        new ConsultaAuditoria(jsonMapper, diretorio, ZONA)
+                .consultar(new ConsultaAuditoria.Filtro(usuario, uri, de, ate), encontrados::add);
+        return encontrados;
+    }
+
+    @Test
+    void consultar_porUsuarioEPeriodo_atravessaDias() throws Exception {
+        LocalDateTime base = LocalDateTime.of(2025, 3, 10, 23, 0);
+
+        gravar(
+                new EventoAuditoria(instante(base), "REQUISICAO", "ana@oficina.com", "GET", "/clientes", null),
+                new EventoAuditoria(instante(base.plusMinutes(10)), "REQUISICAO", "bruno@oficina.com", "GET", "/clientes", null),
+                new EventoAuditoria(instante(base.plusHours(2)), "REQUISICAO", "ana@oficina.com", "PUT", "/ordens-servico/1", null),
+                new EventoAuditoria(instante(base.plusHours(5)), "REQUISICAO", "ana@oficina.com", "GET", "/veiculos", null)
+        );
+
+        List<EventoAuditoria> eventos = consultar("ana@oficina.com", null, base, base.plusHours(3));
+
+        assertEquals(List.of("/clientes", "/ordens-servico/1"),
+                eventos.stream().map(EventoAuditoria::uri).toList());
+        assertTrue(Files.exists(diretorio.resolve("audit-11-03-2025.idx")));
+    }
+
+    @Test
+    void consultar_porUri_preservaCamposEscapados() throws Exception {
+        LocalDateTime base = LocalDateTime.of(2025, 3, 10, 9, 0);
+        EventoAuditoria falha = new EventoAuditoria(instante(base), "LOGIN_FALHA", "x\"y@oficina.com",
+                null, "/auth/login", "MOTIVO=senha_invalida | IP=10.0.0.1");
+
+        gravar(falha,
+                new EventoAuditoria(instante(base), "REQUISICAO", "ana@oficina.com", "GET", "/clientes", null));
+
+        assertEquals(List.of(falha), consultar(null, "/auth/login", base, base.plusMinutes(1)));
+    }
+
+    @Test
+    void consultar_linhasSemEntradaNoIndice_saoConferidasNoFinal() throws Exception {
+        LocalDateTime base = LocalDateTime.of(2025, 3, 10, 9, 0);
+
+        gravar(new EventoAuditoria(instante(base), "REQUISICAO", "ana@oficina.com", "GET", "/clientes", null));
+
+        // Simula queda entre a gravação dos dados e a do índice, seguida de uma linha incompleta
+        EventoAuditoria semIndice = new EventoAuditoria(instante(base.plusMinutes(1)),
+                "REQUISICAO", "ana@oficina.com", "GET", "/veiculos", null);
+        Files.writeString(diretorio.resolve("audit-10-03-2025.jsonl"), jsonMapper.writeValueAsString(semIndice) + "\n",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        Files.writeString(diretorio.resolve("audit-10-03-2025.jsonl"), "{\"instante\":1",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        List<EventoAuditoria> eventos = consultar("ana@oficina.com", null, base, base.plusHours(1));
+
+        assertEquals(List.of("/clientes", "/veiculos"),
+                eventos.stream().map(EventoAuditoria::uri).toList());
+    }
+
+    @Test
+    void consultar_indiceOrdenadoDesatualizado_confereEntradasPosteriores() throws Exception {
+        LocalDateTime base = LocalDateTime.of(2025, 3, 10, 9, 0);
+        Path indiceUsuario = diretorio.resolve("audit-10-03-2025.usuario.idx");
+        Path copia = diretorio.resolve("copia-usuario.idx");
+
+        gravar(new EventoAuditoria(instante(base), "REQUISICAO", "ana@oficina.com", "GET", "/clientes", null),
+                new EventoAuditoria(instante(base), "REQUISICAO", "bruno@oficina.com", "GET", "/clientes", null));
+        Files.copy(indiceUsuario, copia);
+
+        // Nova execução no mesmo dia; o índice ordenado volta a cobrir só as duas primeiras entradas
+        gravar(new EventoAuditoria(instante(base.plusMinutes(5)), "REQUISICAO", "ana@oficina.com", "GET", "/veiculos", null));
+        Files.move(copia, indiceUsuario, StandardCopyOption.REPLACE_EXISTING);
+
+        List<EventoAuditoria> eventos = consultar("ana@oficina.com", null, base, base.plusHours(1));
+
+        assertEquals(List.of("/clientes", "/veiculos"),
+                eventos.stream().map(EventoAuditoria::uri).toList());
+    }
+
+    @Test
+    void indexar_ordenaPorHashPreservandoOrdemDeGravacao() throws Exception {
+        LocalDateTime base = LocalDateTime.of(2025, 3, 10, 9, 0);
+        String[] usuarios = {"ana@oficina.com", "bruno@oficina.com", "carla@oficina.com"};
+
+        EventoAuditoria[] eventos = new EventoAuditoria[12];
+        for (int i = 0; i < eventos.length; i++) {
+            eventos[i] = new EventoAuditoria(instante(base.plusMinutes(i)), "REQUISICAO",
+                    usuarios[i % usuarios.length], "GET", "/clientes/" + i, null);
+        }
+        gravar(eventos);
+
+        ByteBuffer indice = ByteBuffer.wrap(Files.readAllBytes(diretorio.resolve("audit-10-03-2025.usuario.idx")));
+        assertEquals(eventos.length, indice.getLong(0));
+
+        for (int i = 1; i < eventos.length; i++) {
+            int anterior = FormatoAuditoria.TAMANHO_CABECALHO + (i - 1) * FormatoAuditoria.TAMANHO_ENTRADA;
+            int atual = anterior + FormatoAuditoria.TAMANHO_ENTRADA;
+            int hashAnterior = indice.getInt(anterior + FormatoAuditoria.CAMPO_USUARIO);
+            int hashAtual = indice.getInt(atual + FormatoAuditoria.CAMPO_USUARIO);
+
+            assertTrue(hashAnterior <= hashAtual);
+            if (hashAnterior == hashAtual) {
+                assertTrue(indice.getLong(anterior + 8) < indice.getLong(atual + 8));
+            }
+        }
+
+        assertEquals(4, consultar("bruno@oficina.com", null, base, base.plusHours(1)).size());
+        assertEquals(1, consultar(null, "/clientes/7", base, base.plusHours(1)).size());
+    }
+
+    @Test
+    void diaDoArquivo_reconheceIndicesOrdenados() {
+        LocalDate dia = LocalDate.of(2025, 3, 10);
+
+        assertEquals(dia, FormatoAuditoria.diaDoArquivo("audit-10-03-2025.usuario.idx"));
+        assertEquals(dia, FormatoAuditoria.diaDoArquivo("audit-10-03-2025.jsonl"));
+        assertNull(FormatoAuditoria.diaDoArquivo("audit-atual.jsonl"));
+    }
+}
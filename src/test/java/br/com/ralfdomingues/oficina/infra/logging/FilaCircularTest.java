@@ -0,0 +1,87 @@
+package br.com.ralfdomingues.oficina.infra.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilaCircularTest {
+
+    @Test
+    void capacidade_arredondadaParaPotenciaDeDois() {
+        assertEquals(1, new FilaCircular<>(1).capacidade());
+        assertEquals(8, new FilaCircular<>(5).capacidade());
+        assertEquals(8, new FilaCircular<>(8).capacidade());
+    }
+
+    @Test
+    void oferecer_filaCheia_recusaAteDrenar() {
+        FilaCircular<Integer> fila = new FilaCircular<>(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(fila.oferecer(i));
+        }
+        assertFalse(fila.oferecer(4));
+        assertEquals(4, fila.tamanho());
+
+        List<Integer> destino = new ArrayList<>();
+        assertEquals(2, fila.drenar(destino, 2));
+        assertEquals(List.of(0, 1), destino);
+
+        assertTrue(fila.oferecer(4));
+        assertTrue(fila.oferecer(5));
+
+        destino.clear();
+        fila.drenar(destino, 10);
+        assertEquals(List.of(2, 3, 4, 5), destino);
+        assertEquals(0, fila.tamanho());
+    }
+
+    @Test
+    void variosProdutores_nenhumElementoPerdidoOuDuplicado() throws Exception {
+        FilaCircular<Integer> fila = new FilaCircular<>(64);
+        int produtores = 4;
+        int porProdutor = 10_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(produtores);
+        CountDownLatch largada = new CountDownLatch(1);
+
+        for (int p = 0; p < produtores; p++) {
+            int base = p * porProdutor;
+            executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < porProdutor; i++) {
+                    while (!fila.oferecer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+                return null;
+            });
+        }
+
+        largada.countDown();
+
+        Set<Integer> recebidos = new HashSet<>();
+        List<Integer> lote = new ArrayList<>();
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+
+        while (recebidos.size() < produtores * porProdutor && System.nanoTime() < limite) {
+            lote.clear();
+            fila.drenar(lote, 32);
+            for (Integer valor : lote) {
+                assertTrue(recebidos.add(valor), "duplicado: " + valor);
+            }
+        }
+
+        executor.shutdown();
+        assertEquals(produtores * porProdutor, recebidos.size());
+    }
+}
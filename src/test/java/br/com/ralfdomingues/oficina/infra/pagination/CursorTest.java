@@ -0,0 +1,44 @@
+package br.com.ralfdomingues.oficina.infra.pagination;
+
+import br.com.ralfdomingues.oficina.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorTest {
+
+    @Test
+    void cursorDeId_idaEVolta() {
+        assertEquals(42L, Cursor.decodificarId(Cursor.codificar(42L)));
+    }
+
+    @Test
+    void cursorDeId_ausente_retornaZero() {
+        assertEquals(0L, Cursor.decodificarId(null));
+        assertEquals(0L, Cursor.decodificarId(""));
+    }
+
+    @Test
+    void cursorTemporal_idaEVolta() {
+        LocalDateTime data = LocalDateTime.of(2025, 3, 18, 14, 0, 0, 123_456_000);
+
+        Cursor.PosicaoTemporal posicao = Cursor.decodificarTemporal(Cursor.codificar(data, 7L));
+
+        assertEquals(data, posicao.data());
+        assertEquals(7L, posicao.id());
+    }
+
+    @Test
+    void cursorInvalido_deveLancarBusiness() {
+        assertThrows(BusinessException.class, () -> Cursor.decodificarId("@@@"));
+        assertThrows(BusinessException.class, () -> Cursor.decodificarTemporal(Cursor.codificar(1L)));
+    }
+
+    @Test
+    void limite_respeitaTamanhoMaximo() {
+        assertEquals(Cursor.TAMANHO_MAXIMO, Cursor.limite(10_000).getPageSize());
+        assertEquals(1, Cursor.limite(0).getPageSize());
+    }
+}
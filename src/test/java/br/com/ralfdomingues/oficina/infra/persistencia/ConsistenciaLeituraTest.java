@@ -0,0 +1,136 @@
+package br.com.ralfdomingues.oficina.infra.persistencia;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConsistenciaLeituraTest {
+
+    private static final String REPLICA = "jdbc:postgresql://replica:5432/oficina";
+
+    @AfterEach
+    void limpar() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void autenticar(String usuario) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(usuario, null, List.of()));
+    }
+
+    private static TransactionExecution transacao(boolean somenteLeitura) {
+        TransactionExecution transacao = mock(TransactionExecution.class);
+        when(transacao.isReadOnly()).thenReturn(somenteLeitura);
+        when(transacao.isNewTransaction()).thenReturn(true);
+        return transacao;
+    }
+
+    @Test
+    void semReplicaConfigurada_leSempreNoPrimario() {
+        ConsistenciaLeitura consistencia = new ConsistenciaLeitura("", 1000, 5000);
+        consistencia.registrarAtraso(0);
+
+        assertEquals(DestinoConexao.PRIMARIO, consistencia.destinoLeitura());
+        assertFalse(consistencia.estatisticas().replicaConfigurada());
+    }
+
+    @Test
+    void replicaNaoVerificadaAtrasadaOuInacessivel_leNoPrimario() {
+        ConsistenciaLeitura consistencia = new ConsistenciaLeitura(REPLICA, 1000, 5000);
+        assertEquals(DestinoConexao.PRIMARIO, consistencia.destinoLeitura());
+
+        consistencia.registrarAtraso(20);
+        assertEquals(DestinoConexao.REPLICA, consistencia.destinoLeitura());
+
+        consistencia.registrarAtraso(8000);
+        assertEquals(DestinoConexao.PRIMARIO, consistencia.destinoLeitura());
+
+        consistencia.registrarAtraso(0);
+        consistencia.registrarReplicaIndisponivel();
+        assertEquals(DestinoConexao.PRIMARIO, consistencia.destinoLeitura());
+    }
+
+    @Test
+    void escritaConfirmada_mesmoUsuarioLeNoPrimarioDuranteAJanela() throws InterruptedException {
+        ConsistenciaLeitura consistencia = new ConsistenciaLeitura(REPLICA, 100, 5000);
+        consistencia.registrarAtraso(0);
+
+        autenticar("ana");
+        consistencia.afterCommit(transacao(false), null);
+        assertEquals(DestinoConexao.PRIMARIO, consistencia.destinoLeitura());
+
+        autenticar("bruno");
+        assertEquals(DestinoConexao.REPLICA, consistencia.destinoLeitura());
+
+        Thread.sleep(150);
+
+        autenticar("ana");
+        assertEquals(DestinoConexao.REPLICA, consistencia.destinoLeitura());
+        assertEquals(0, consistencia.estatisticas().usuariosComEscritaRecente());
+    }
+
+    @Test
+    void janela_estendidaPeloAtrasoDaReplica() throws InterruptedException {
+        ConsistenciaLeitura consistencia = new ConsistenciaLeitura(REPLICA, 10, 5000);
+        consistencia.registrarAtraso(1000);
+
+        autenticar("ana");
+        consistencia.afterCommit(transacao(false), null);
+        Thread.sleep(50);
+
+        assertEquals(DestinoConexao.PRIMARIO, consistencia.destinoLeitura());
+    }
+
+    @Test
+    void transacaoSomenteLeituraComFalhaOuSemUsuario_naoRegistraEscrita() {
+        ConsistenciaLeitura consistencia = new ConsistenciaLeitura(REPLICA, 1000, 5000);
+        consistencia.registrarAtraso(0);
+
+        consistencia.afterCommit(transacao(false), null);
+
+        autenticar("ana");
+        consistencia.afterCommit(transacao(true), null);
+        consistencia.afterCommit(transacao(false), new IllegalStateException("falha no commit"));
+
+        assertEquals(DestinoConexao.REPLICA, consistencia.destinoLeitura());
+        assertEquals(0, consistencia.estatisticas().usuariosComEscritaRecente());
+    }
+
+    @Test
+    void destinoFixado_prevaleceDuranteAOperacao() {
+        ConsistenciaLeitura consistencia = new ConsistenciaLeitura(REPLICA, 1000, 5000);
+        consistencia.registrarAtraso(0);
+
+        DestinoConexao fixado = consistencia.executarEm(DestinoConexao.PRIMARIO, consistencia::destinoLeitura);
+        DestinoConexao aninhado = consistencia.executarEm(DestinoConexao.PRIMARIO, () ->
+                consistencia.executarEm(DestinoConexao.REPLICA, consistencia::destinoLeitura));
+
+        assertEquals(DestinoConexao.PRIMARIO, fixado);
+        assertEquals(DestinoConexao.REPLICA, aninhado);
+        assertEquals(DestinoConexao.REPLICA, consistencia.destinoLeitura());
+    }
+
+    @Test
+    void rotearLeitura_contabilizaDestinos() {
+        ConsistenciaLeitura consistencia = new ConsistenciaLeitura(REPLICA, 1000, 5000);
+        consistencia.registrarAtraso(0);
+
+        consistencia.rotearLeitura();
+        autenticar("ana");
+        consistencia.registrarEscrita("ana");
+        consistencia.rotearLeitura();
+        consistencia.destinoLeitura();
+
+        var estatisticas = consistencia.estatisticas();
+        assertEquals(1, estatisticas.leiturasReplica());
+        assertEquals(1, estatisticas.leiturasPrimario());
+        assertEquals(1, estatisticas.leiturasAposEscrita());
+    }
+}
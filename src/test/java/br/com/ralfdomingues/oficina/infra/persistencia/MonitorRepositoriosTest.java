@@ -0,0 +1,122 @@
+package br.com.ralfdomingues.oficina.infra.persistencia;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.jpa.repository.Modifying;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonitorRepositoriosTest {
+
+    interface ClienteFakeRepository {
+
+        List<String> buscarPorCpf(String cpf);
+
+        Optional<String> buscarPorId(Long id);
+
+        @Modifying
+        int desativar(List<Long> ids);
+    }
+
+    private final ContadorComandosSql contador = new ContadorComandosSql();
+
+    private final ClienteFakeRepository alvo = new ClienteFakeRepository() {
+        @Override
+        public List<String> buscarPorCpf(String cpf) {
+            contador.inspect("select c.nome from cliente c where c.cpf=?");
+            return List.of("Ana", "Bruno", "Carla");
+        }
+
+        @Override
+        public Optional<String> buscarPorId(Long id) {
+            throw new IllegalStateException("falha");
+        }
+
+        @Override
+        public int desativar(List<Long> ids) {
+            contador.inspect("update cliente set ativo=false where id=?");
+            contador.inspect("update cliente set ativo=false where id=?");
+            return ids.size();
+        }
+    };
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private ClienteFakeRepository monitorado() {
+        MonitorRepositorios monitor = new MonitorRepositorios(() -> registry, Duration.ofSeconds(1), false);
+
+        ProxyFactory proxy = new ProxyFactory(alvo);
+        proxy.addInterface(ClienteFakeRepository.class);
+        proxy.addAdvice(monitor.interceptador(ClienteFakeRepository.class));
+        return (ClienteFakeRepository) proxy.getProxy();
+    }
+
+    @Test
+    void consulta_registraDuracaoLinhasEComandos() {
+        monitorado().buscarPorCpf("12345678900");
+
+        assertEquals(1, registry.get("repositorio.invocacoes")
+                .tags("repositorio", "ClienteFakeRepository", "metodo", "buscarPorCpf", "resultado", "SUCESSO")
+                .timer().count());
+        assertEquals(3, registry.get("repositorio.linhas").tag("metodo", "buscarPorCpf")
+                .summary().totalAmount());
+        assertEquals(1, registry.get("repositorio.comandos").tag("metodo", "buscarPorCpf")
+                .summary().totalAmount());
+    }
+
+    @Test
+    void modifying_contaLinhasAfetadas() {
+        monitorado().desativar(List.of(1L, 2L));
+
+        assertEquals(2, registry.get("repositorio.linhas").tag("metodo", "desativar")
+                .summary().totalAmount());
+        assertEquals(2, registry.get("repositorio.comandos").tag("metodo", "desativar")
+                .summary().totalAmount());
+    }
+
+    @Test
+    void timer_semHistograma_publicaApenasFaixasDeLatencia() {
+        monitorado().buscarPorCpf("12345678900");
+
+        var faixas = registry.get("repositorio.invocacoes").tag("metodo", "buscarPorCpf")
+                .timer().takeSnapshot().histogramCounts();
+
+        assertArrayEquals(new double[]{10, 50, 250, 1000},
+                Arrays.stream(faixas).mapToDouble(f -> f.bucket(TimeUnit.MILLISECONDS)).toArray());
+    }
+
+    @Test
+    void falha_registradaComoErro() {
+        assertThrows(IllegalStateException.class, () -> monitorado().buscarPorId(1L));
+
+        assertEquals(1, registry.get("repositorio.invocacoes")
+                .tags("metodo", "buscarPorId", "resultado", "ERRO")
+                .timer().count());
+    }
+
+    @Test
+    void comandosForaDeInvocacao_naoSaoContados() {
+        contador.inspect("select 1");
+        monitorado().buscarPorCpf("12345678900");
+
+        assertEquals(1, registry.get("repositorio.comandos").tag("metodo", "buscarPorCpf")
+                .summary().totalAmount());
+    }
+
+    @Test
+    void descreverParametros_naoExpoeValores() {
+        String descricao = MonitorRepositorios.descreverParametros(
+                new Object[]{"12345678900", 10L, List.of(1, 2, 3), null, LocalDate.of(2025, 1, 1)});
+
+        assertEquals("[String, Long, Collection[3], null, LocalDate]", descricao);
+        assertFalse(descricao.contains("12345678900"));
+    }
+}
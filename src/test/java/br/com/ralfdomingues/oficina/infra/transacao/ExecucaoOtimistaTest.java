@@ -0,0 +1,110 @@
+package br.com.ralfdomingues.oficina.infra.transacao;
+
+import br.com.ralfdomingues.oficina.exception.BusinessException;
+import br.com.ralfdomingues.oficina.exception.ConflitoVersaoException;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ExecucaoOtimistaTest {
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private static Supplier<String> conflitando(AtomicInteger chamadas, int conflitos) {
+        return () -> {
+            if (chamadas.incrementAndGet() <= conflitos) {
+                throw new ObjectOptimisticLockingFailureException(Object.class, 1L);
+            }
+            return "ok";
+        };
+    }
+
+    private static Supplier<ConflitoVersaoException> conflito() {
+        return () -> new ConflitoVersaoException("conflito", 5L);
+    }
+
+    @Test
+    void executar_conflitoDeVersao_repeteEmNovaTransacao() {
+        ExecucaoOtimista execucao = new ExecucaoOtimista(transactionManager, 3, 0);
+        AtomicInteger chamadas = new AtomicInteger();
+
+        assertEquals("ok", execucao.executar(conflitando(chamadas, 2), conflito()));
+
+        assertEquals(3, chamadas.get());
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(2)).rollback(any());
+
+        var estatisticas = execucao.estatisticas();
+        assertEquals(2, estatisticas.conflitos());
+        assertEquals(2, estatisticas.repeticoes());
+        assertEquals(0, estatisticas.esgotadas());
+    }
+
+    @Test
+    void executar_tentativasEsgotadas_lancaConflitoDoChamador() {
+        ExecucaoOtimista execucao = new ExecucaoOtimista(transactionManager, 3, 1);
+        AtomicInteger chamadas = new AtomicInteger();
+
+        var excecao = assertThrows(ConflitoVersaoException.class,
+                () -> execucao.executar(conflitando(chamadas, Integer.MAX_VALUE), conflito()));
+
+        assertEquals(5L, excecao.getVersaoAtual());
+        assertInstanceOf(ObjectOptimisticLockingFailureException.class, excecao.getSuppressed()[0]);
+        assertEquals(3, chamadas.get());
+        assertEquals(1, execucao.estatisticas().esgotadas());
+    }
+
+    @Test
+    void executar_erroDeNegocio_naoRepete() {
+        ExecucaoOtimista execucao = new ExecucaoOtimista(transactionManager, 3, 0);
+        AtomicInteger chamadas = new AtomicInteger();
+
+        assertThrows(BusinessException.class, () -> execucao.executar(() -> {
+            chamadas.incrementAndGet();
+            throw new BusinessException("inválido");
+        }, conflito()));
+
+        assertEquals(1, chamadas.get());
+        assertEquals(0, execucao.estatisticas().conflitos());
+    }
+
+    @Test
+    void executar_dentroDeTransacaoAtiva_naoRepete() {
+        ExecucaoOtimista execucao = new ExecucaoOtimista(transactionManager, 3, 0);
+        AtomicInteger chamadas = new AtomicInteger();
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(ConflitoVersaoException.class,
+                    () -> execucao.executar(conflitando(chamadas, 1), conflito()));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertEquals(1, chamadas.get());
+    }
+
+    @Test
+    void executar_threadInterrompida_naoAguardaNovaTentativa() {
+        ExecucaoOtimista execucao = new ExecucaoOtimista(transactionManager, 3, 1_000);
+        AtomicInteger chamadas = new AtomicInteger();
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(ConflitoVersaoException.class,
+                    () -> execucao.executar(conflitando(chamadas, 1), conflito()));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertEquals(1, chamadas.get());
+    }
+}
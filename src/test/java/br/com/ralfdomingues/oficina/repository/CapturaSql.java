@@ -0,0 +1,123 @@
+package br.com.ralfdomingues.oficina.repository;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Captura os comandos SQL executados (texto e parâmetros) através de um
+ * {@link DataSource} instrumentado, para inspeção nos testes de repositório.
+ *
+ * <p>
+ * A captura só ocorre dentro de {@link #capturar(Runnable)}.
+ */
+public final class CapturaSql {
+
+    /**
+     * Comando executado: SQL com placeholders e os argumentos de cada
+     * chamada {@code setXxx(indice, ...)}.
+     */
+    public record Comando(String sql, Map<Integer, Parametro> parametros) {}
+
+    /**
+     * Parâmetro vinculado ao comando, com o nome do setter usado.
+     */
+    public record Parametro(String setter, Object[] argumentos) {}
+
+    private static final List<Comando> comandos = new CopyOnWriteArrayList<>();
+    private static volatile boolean ativa;
+
+    private CapturaSql() {
+    }
+
+    /**
+     * Executa a ação e retorna os comandos emitidos durante ela.
+     */
+    public static synchronized List<Comando> capturar(Runnable acao) {
+        comandos.clear();
+        ativa = true;
+        try {
+            acao.run();
+        } finally {
+            ativa = false;
+        }
+        return List.copyOf(comandos);
+    }
+
+    /**
+     * Vincula os parâmetros capturados a um novo comando (ex.: EXPLAIN).
+     */
+    public static void vincular(PreparedStatement ps, Comando comando) throws Exception {
+        for (Map.Entry<Integer, Parametro> entrada : comando.parametros().entrySet()) {
+            Parametro parametro = entrada.getValue();
+            Object[] argumentos = parametro.argumentos();
+
+            if (parametro.setter().equals("setNull")) {
+                ps.setNull(entrada.getKey(), (Integer) argumentos[1]);
+            } else {
+                ps.setObject(entrada.getKey(), argumentos[1]);
+            }
+        }
+    }
+
+    static DataSource instrumentar(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (alvo, metodo, args) -> {
+            Object resultado = invocar(alvo, metodo, args);
+            return resultado instanceof Connection conexao
+                    ? proxy(Connection.class, conexao, CapturaSql::conexao)
+                    : resultado;
+        });
+    }
+
+    private static Object conexao(Object alvo, Method metodo, Object[] args) throws Throwable {
+        Object resultado = invocar(alvo, metodo, args);
+
+        if (resultado instanceof PreparedStatement ps
+                && metodo.getName().equals("prepareStatement")) {
+            String sql = (String) args[0];
+            Map<Integer, Parametro> parametros = new TreeMap<>();
+
+            return proxy(PreparedStatement.class, ps, (a, m, x) -> {
+                String nome = m.getName();
+
+                if (nome.startsWith("set") && x != null && x.length >= 2 && x[0] instanceof Integer indice) {
+                    parametros.put(indice, new Parametro(nome, x.clone()));
+                } else if (nome.startsWith("execute") && ativa) {
+                    comandos.add(new Comando(sql, new TreeMap<>(parametros)));
+                } else if (nome.equals("clearParameters")) {
+                    parametros.clear();
+                }
+
+                return invocar(a, m, x);
+            });
+        }
+
+        return resultado;
+    }
+
+    private interface Interceptador {
+        Object invoke(Object alvo, Method metodo, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, T alvo, Interceptador interceptador) {
+        InvocationHandler handler = (p, metodo, args) -> interceptador.invoke(alvo, metodo, args);
+        return (T) Proxy.newProxyInstance(CapturaSql.class.getClassLoader(), new Class<?>[]{tipo}, handler);
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
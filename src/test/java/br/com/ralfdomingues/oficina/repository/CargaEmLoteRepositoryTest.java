@@ -0,0 +1,112 @@
+package br.com.ralfdomingues.oficina.repository;
+
+import br.com.ralfdomingues.oficina.domain.cliente.entity.Cliente;
+import br.com.ralfdomingues.oficina.domain.ordemservico.entity.OrdemServico;
+import br.com.ralfdomingues.oficina.domain.veiculo.entity.Veiculo;
+import br.com.ralfdomingues.oficina.domain.veiculo.enums.TipoVeiculo;
+import br.com.ralfdomingues.oficina.repository.cliente.ClienteRepository;
+import br.com.ralfdomingues.oficina.repository.ordemservico.OrdemServicoRepository;
+import br.com.ralfdomingues.oficina.repository.veiculo.VeiculoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mede as idas ao banco na carga em massa de clientes, veículos e ordens.
+ *
+ * <p>
+ * Com ids por sequence pooled e {@code hibernate.jdbc.batch_size}, cada
+ * lote de 50 linhas vira um único {@code executeBatch}; sem lote, cada
+ * linha é um {@code executeUpdate}.
+ */
+@Transactional
+class CargaEmLoteRepositoryTest extends PostgresRepositoryTest {
+
+    private static final int LINHAS = 200;
+    private static final int LOTE = 50;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private VeiculoRepository veiculoRepository;
+
+    @Autowired
+    private OrdemServicoRepository ordemRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void cargaEmLote_umaIdaPorLote() {
+        List<CapturaSql.Comando> comandos = CapturaSql.capturar(this::carregar);
+
+        assertEquals(LINHAS / LOTE, inserts(comandos, "cliente"));
+        assertEquals(LINHAS / LOTE, inserts(comandos, "veiculo"));
+        assertEquals(LINHAS / LOTE, inserts(comandos, "ordens_servico"));
+
+        // inserts + nextval de cada bloco de ids, para 3 * LINHAS linhas
+        assertTrue(comandos.size() <= 3 * 2 * (LINHAS / LOTE + 1),
+                () -> "Idas ao banco: " + comandos.size());
+    }
+
+    @Test
+    void cargaSemLote_umaIdaPorLinha() {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+
+        List<CapturaSql.Comando> comandos = CapturaSql.capturar(this::carregar);
+
+        assertEquals(LINHAS, inserts(comandos, "cliente"));
+        assertEquals(LINHAS, inserts(comandos, "veiculo"));
+        assertEquals(LINHAS, inserts(comandos, "ordens_servico"));
+    }
+
+    private void carregar() {
+        List<Cliente> clientes = new ArrayList<>();
+        List<Veiculo> veiculos = new ArrayList<>();
+        List<OrdemServico> ordens = new ArrayList<>();
+
+        for (int i = 0; i < LINHAS; i++) {
+            Cliente cliente = Cliente.builder()
+                    .nome("Carga lote " + i)
+                    .telefone("11999990000")
+                    .cpf("B%010d".formatted(i))
+                    .ativo(true)
+                    .build();
+
+            Veiculo veiculo = Veiculo.builder()
+                    .placa("B%06d".formatted(i))
+                    .modelo("Modelo")
+                    .marca("Marca")
+                    .ano(2020)
+                    .tipo(TipoVeiculo.CARRO)
+                    .cliente(cliente)
+                    .ativo(true)
+                    .build();
+
+            clientes.add(cliente);
+            veiculos.add(veiculo);
+            ordens.add(new OrdemServico(cliente, veiculo, "Carga lote", BigDecimal.TEN));
+        }
+
+        clienteRepository.saveAll(clientes);
+        veiculoRepository.saveAll(veiculos);
+        ordemRepository.saveAll(ordens);
+        ordemRepository.flush();
+    }
+
+    private static long inserts(List<CapturaSql.Comando> comandos, String tabela) {
+        return comandos.stream()
+                .filter(c -> c.sql().toLowerCase().startsWith("insert into " + tabela + " "))
+                .count();
+    }
+}
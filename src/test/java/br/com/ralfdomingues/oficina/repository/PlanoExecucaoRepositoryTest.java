@@ -0,0 +1,257 @@
+package br.com.ralfdomingues.oficina.repository;
+
+import br.com.ralfdomingues.oficina.domain.ordemservico.enums.StatusOrdemServico;
+import br.com.ralfdomingues.oficina.repository.cliente.ClienteRepository;
+import br.com.ralfdomingues.oficina.repository.itemservico.ItemServicoRepository;
+import br.com.ralfdomingues.oficina.repository.ordemservico.OrdemServicoRepository;
+import br.com.ralfdomingues.oficina.repository.veiculo.VeiculoRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Executa {@code EXPLAIN} sobre os comandos emitidos pelas consultas seletivas
+ * dos repositórios, em uma base com volume significativo, e falha se algum
+ * plano fizer leitura sequencial (Seq Scan) em uma das tabelas volumosas.
+ *
+ * <p>
+ * Tabelas pequenas (serviços, usuários) são ignoradas: para poucas linhas
+ * a leitura sequencial é o plano correto.
+ *
+ * <p>
+ * Ficam de fora, por lerem a tabela inteira por definição: as contagens das
+ * listagens paginadas sem filtro seletivo, as listagens sem paginação e as
+ * consultas de reconstrução/reconciliação (contadores do dashboard e
+ * divergências de valor final). Essas contagens são reconhecidas pelo plano:
+ * agregação simples (sem agrupamento) cuja leitura não filtra por chave.
+ *
+ * <p>
+ * A carga é removida ao final, já que o banco do Testcontainers é
+ * compartilhado com os demais testes de repositório.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PlanoExecucaoRepositoryTest extends PostgresRepositoryTest {
+
+    private static final Set<String> TABELAS_VOLUMOSAS =
+            Set.of("ordens_servico", "itens_servico", "veiculo", "cliente");
+
+    /**
+     * Filtro por identificador ou chave estrangeira, como exibido no plano
+     * (ex.: {@code (ordem_id = $1)}).
+     */
+    private static final Pattern FILTRO_POR_CHAVE = Pattern.compile("\\b(id|\\w+_id) = ");
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Autowired private OrdemServicoRepository ordemRepository;
+    @Autowired private ItemServicoRepository itemRepository;
+    @Autowired private VeiculoRepository veiculoRepository;
+    @Autowired private ClienteRepository clienteRepository;
+
+    private long clienteId;
+    private long ordemId;
+    private long itemId;
+
+    @BeforeAll
+    void carregar() {
+        carregarVolume();
+    }
+
+    @AfterAll
+    void remover() {
+        jdbc.update("""
+                DELETE FROM itens_servico
+                WHERE ordem_id IN (SELECT id FROM ordens_servico WHERE descricao = 'Carga explain')
+                """);
+        jdbc.update("DELETE FROM ordens_servico WHERE descricao = 'Carga explain'");
+        jdbc.update("""
+                DELETE FROM veiculo
+                WHERE cliente_id IN (SELECT id FROM cliente WHERE nome LIKE 'Cliente explain %')
+                """);
+        jdbc.update("DELETE FROM cliente WHERE nome LIKE 'Cliente explain %'");
+        jdbc.execute("ANALYZE");
+    }
+
+    @BeforeEach
+    void setup() {
+        clienteId = jdbc.queryForObject(
+                "SELECT MAX(id) FROM cliente WHERE nome LIKE 'Cliente explain %'", Long.class);
+        ordemId = jdbc.queryForObject(
+                "SELECT MAX(id) FROM ordens_servico WHERE descricao = 'Carga explain'", Long.class);
+        itemId = jdbc.queryForObject("SELECT MAX(id) FROM itens_servico", Long.class);
+    }
+
+    /**
+     * 20 mil clientes e veículos, 100 mil ordens e 200 mil itens.
+     */
+    private void carregarVolume() {
+        jdbc.update("""
+                INSERT INTO cliente (nome, telefone, email, cpf, ativo)
+                SELECT 'Cliente explain ' || g, '48990000000', NULL, 'E' || lpad(g::text, 10, '0'), g % 10 <> 0
+                FROM generate_series(1, 20000) g
+                """);
+        jdbc.update("""
+                INSERT INTO veiculo (cliente_id, placa, modelo, marca, ano, tipo, ativo)
+                SELECT c.id, 'E' || lpad(c.id::text, 8, '0'), 'Modelo', 'Marca', 2020, 'CARRO', c.id % 7 <> 0
+                FROM cliente c
+                WHERE c.nome LIKE 'Cliente explain %'
+                """);
+        jdbc.update("""
+                INSERT INTO ordens_servico (cliente_id, veiculo_id, descricao, data_abertura, status, valor_estimado, valor_final)
+                SELECT v.cliente_id, v.id, 'Carga explain',
+                       TIMESTAMP '2020-01-01' + (v.id * 5 + g) * INTERVAL '7 minutes',
+                       (ARRAY['ABERTA', 'EM_ANDAMENTO', 'CONCLUIDA', 'CANCELADA'])[1 + g % 4],
+                       100, 100
+                FROM veiculo v
+                CROSS JOIN generate_series(1, 5) g
+                WHERE v.placa LIKE 'E%'
+                """);
+        jdbc.update("""
+                INSERT INTO itens_servico (ordem_id, servico_id, quantidade, valor_unitario, ativo)
+                SELECT o.id, (SELECT MIN(id) FROM servico), 1, 50, g = 1
+                FROM ordens_servico o
+                CROSS JOIN generate_series(1, 2) g
+                WHERE o.descricao = 'Carga explain'
+                """);
+        jdbc.execute("ANALYZE");
+    }
+
+    @TestFactory
+    Stream<DynamicTest> consultasSeletivas_naoFazemLeituraSequencial() {
+        PageRequest porId = PageRequest.of(0, 10, Sort.by("id"));
+        PageRequest limite = PageRequest.of(0, 10);
+
+        Map<String, Runnable> consultas = new LinkedHashMap<>();
+
+        consultas.put("ItemServico.findAllByOrdem_IdAndAtivoTrue(lista)",
+                () -> itemRepository.findAllByOrdem_IdAndAtivoTrue(ordemId));
+        consultas.put("ItemServico.findAllByOrdem_IdAndAtivoTrue(página)",
+                () -> itemRepository.findAllByOrdem_IdAndAtivoTrue(ordemId, PageRequest.of(0, 1, Sort.by("id"))));
+        consultas.put("ItemServico.findByOrdem_IdAndAtivoTrueAndIdGreaterThanOrderByIdAsc",
+                () -> itemRepository.findByOrdem_IdAndAtivoTrueAndIdGreaterThanOrderByIdAsc(ordemId, 0L, limite));
+        consultas.put("ItemServico.findAllByAtivoTrue(página)",
+                () -> itemRepository.findAllByAtivoTrue(porId).getContent());
+        consultas.put("ItemServico.findByAtivoTrueAndIdGreaterThanOrderByIdAsc",
+                () -> itemRepository.findByAtivoTrueAndIdGreaterThanOrderByIdAsc(itemId - 1000, limite));
+
+        consultas.put("OrdemServico.findByIdAndStatusNot",
+                () -> ordemRepository.findByIdAndStatusNot(ordemId, StatusOrdemServico.CANCELADA));
+        consultas.put("OrdemServico.listarResumoInicio",
+                () -> ordemRepository.listarResumoInicio(StatusOrdemServico.CANCELADA, limite));
+        consultas.put("OrdemServico.listarResumoApos",
+                () -> ordemRepository.listarResumoApos(StatusOrdemServico.CANCELADA,
+                        LocalDateTime.of(2020, 6, 1, 0, 0), Long.MAX_VALUE, limite));
+
+        consultas.put("Veiculo.existsByPlaca",
+                () -> veiculoRepository.existsByPlaca("E00000001"));
+        consultas.put("Veiculo.findAllByCliente_IdAndAtivoTrue",
+                () -> veiculoRepository.findAllByCliente_IdAndAtivoTrue(clienteId, porId));
+        consultas.put("Veiculo.findByCliente_IdAndAtivoTrueAndIdGreaterThanOrderByIdAsc",
+                () -> veiculoRepository.findByCliente_IdAndAtivoTrueAndIdGreaterThanOrderByIdAsc(clienteId, 0L, limite));
+        consultas.put("Veiculo.findByAtivoTrueAndIdGreaterThanOrderByIdAsc",
+                () -> veiculoRepository.findByAtivoTrueAndIdGreaterThanOrderByIdAsc(0L, limite));
+
+        consultas.put("Cliente.existsByCpf",
+                () -> clienteRepository.existsByCpf("E0000000001"));
+        consultas.put("Cliente.findByAtivoTrueAndIdGreaterThanOrderByIdAsc",
+                () -> clienteRepository.findByAtivoTrueAndIdGreaterThanOrderByIdAsc(clienteId - 100, limite));
+
+        consultas.put("Cliente.buscarPorPrefixoNome",
+                () -> clienteRepository.buscarPorPrefixoNome("cliente explain 1", "cliente explain 1{", 10));
+        consultas.put("Cliente.buscarPorNomeAproximado",
+                () -> clienteRepository.buscarPorNomeAproximado("explian", 10));
+        consultas.put("Cliente.buscarPorPrefixoCpf",
+                () -> clienteRepository.buscarPorPrefixoCpf("000000001", "000000001{", 10));
+        consultas.put("Cliente.buscarPorPrefixoTelefone",
+                () -> clienteRepository.buscarPorPrefixoTelefone("4899", "4899{", 10));
+        consultas.put("Veiculo.buscarIdsPorPrefixoPlaca",
+                () -> veiculoRepository.buscarIdsPorPrefixoPlaca("e000001", "e000001{", 10));
+        consultas.put("Veiculo.buscarIdsPorPlacaAproximada",
+                () -> veiculoRepository.buscarIdsPorPlacaAproximada("e00001234", 10));
+
+        return consultas.entrySet().stream()
+                .map(consulta -> DynamicTest.dynamicTest(consulta.getKey(), () -> {
+                    List<CapturaSql.Comando> comandos = CapturaSql.capturar(consulta.getValue());
+                    assertFalse(comandos.isEmpty(), "Nenhum comando capturado");
+
+                    for (CapturaSql.Comando comando : comandos) {
+                        JsonNode plano = explicar(comando);
+                        JsonNode raiz = plano.get(0).get("Plan");
+
+                        // Contagens de páginas sem filtro seletivo leem a tabela inteira
+                        boolean contagem = isAgregacaoSimples(raiz);
+
+                        List<String> leituras = new ArrayList<>();
+                        coletarLeiturasSequenciais(raiz, contagem, leituras);
+                        assertTrue(leituras.isEmpty(),
+                                () -> "Leitura sequencial em " + consulta.getKey() + " " + leituras + ":\n"
+                                        + comando.sql() + "\n" + plano.toPrettyString());
+                    }
+                }));
+    }
+
+    /**
+     * Indica se o nó é uma agregação sem agrupamento, como o {@code count} das páginas.
+     */
+    private static boolean isAgregacaoSimples(JsonNode no) {
+        return "Aggregate".equals(no.path("Node Type").asString())
+                && "Plain".equals(no.path("Strategy").asString());
+    }
+
+    /**
+     * Percorre o plano e coleta as leituras sequenciais em tabelas volumosas.
+     * Em contagens, são aceitas as leituras sem filtro por chave.
+     */
+    private static void coletarLeiturasSequenciais(JsonNode no, boolean contagem, List<String> leituras) {
+        String tabela = no.path("Relation Name").asString();
+
+        if ("Seq Scan".equals(no.path("Node Type").asString()) && TABELAS_VOLUMOSAS.contains(tabela)) {
+            String filtro = no.path("Filter").asString();
+            if (!contagem || FILTRO_POR_CHAVE.matcher(filtro).find()) {
+                leituras.add(tabela + (filtro.isEmpty() ? "" : " " + filtro));
+            }
+        }
+
+        JsonNode filhos = no.path("Plans");
+        for (int i = 0; i < filhos.size(); i++) {
+            coletarLeiturasSequenciais(filhos.get(i), contagem, leituras);
+        }
+    }
+
+    private JsonNode explicar(CapturaSql.Comando comando) {
+        return jdbc.execute((ConnectionCallback<JsonNode>) conexao -> {
+            try (PreparedStatement ps = conexao.prepareStatement("EXPLAIN (FORMAT JSON) " + comando.sql())) {
+                CapturaSql.vincular(ps, comando);
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    return jsonMapper.readTree(rs.getString(1));
+                }
+            } catch (Exception ex) {
+                throw new IllegalStateException("Falha ao executar EXPLAIN: " + comando.sql(), ex);
+            }
+        });
+    }
+}
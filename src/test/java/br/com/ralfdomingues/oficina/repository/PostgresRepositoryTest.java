@@ -0,0 +1,33 @@
+package br.com.ralfdomingues.oficina.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base dos testes de repositório executados contra PostgreSQL.
+ *
+ * <p>
+ * Os testes são ignorados quando não há Docker disponível.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringJUnitConfig(PostgresTestConfig.class)
+public abstract class PostgresRepositoryTest {
+
+    @Autowired
+    protected EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    protected JdbcTemplate jdbc;
+
+    /**
+     * Estatísticas do Hibernate, usadas para contar os comandos SQL emitidos.
+     */
+    protected Statistics estatisticas() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.ralfdomingues.oficina.repository;
+
+import br.com.ralfdomingues.oficina.domain.dashboard.service.DashboardContadorService;
+import br.com.ralfdomingues.oficina.domain.itemservico.service.ItemServicoService;
+import br.com.ralfdomingues.oficina.domain.servico.service.CatalogoServicos;
+import br.com.ralfdomingues.oficina.infra.persistencia.ConsistenciaLeitura;
+import br.com.ralfdomingues.oficina.infra.persistencia.MonitorReplica;
+import br.com.ralfdomingues.oficina.infra.persistencia.RoteamentoDataSource;
+import br.com.ralfdomingues.oficina.infra.transacao.ExecucaoOtimista;
+import br.com.ralfdomingues.oficina.repository.itemservico.ItemServicoRepository;
+import br.com.ralfdomingues.oficina.repository.ordemservico.OrdemServicoRepository;
+import br.com.ralfdomingues.oficina.repository.servico.ServicoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.model.naming.PhysicalNamingStrategySnakeCaseImpl;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Contexto de persistência com primário e réplica de leitura em dois
+ * PostgreSQL independentes (Testcontainers), roteados pelo
+ * {@link RoteamentoDataSource}.
+ *
+ * <p>
+ * Os containers não replicam entre si: cada teste grava nos dois bancos
+ * o que precisa ler. O primário é o mesmo container de
+ * {@link PostgresTestConfig}; as migrations são aplicadas nos dois.
+ * O {@link ItemServicoService} é montado com catálogo e contadores
+ * simulados, para verificar as leituras de versão e itens roteadas.
+ */
+@Configuration
+@EnableTransactionManagement
+@EnableJpaRepositories(basePackages = "br.com.ralfdomingues.oficina.repository")
+public class ReplicaTestConfig {
+
+    static final long JANELA_LEITURA_PROPRIA_MS = 300;
+
+    static final PostgreSQLContainer<?> REPLICA =
+            new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Bean
+    public DataSource primarioDataSource() {
+        return migrar(PostgresTestConfig.POSTGRES);
+    }
+
+    @Bean
+    public DataSource replicaDataSource() {
+        return migrar(REPLICA);
+    }
+
+    @Bean
+    public ConsistenciaLeitura consistenciaLeitura() {
+        return new ConsistenciaLeitura(REPLICA.getJdbcUrl(), JANELA_LEITURA_PROPRIA_MS, 5000);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primarioDataSource") DataSource primario,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ConsistenciaLeitura consistencia) {
+        return RoteamentoDataSource.comReplica(primario, replica, consistencia);
+    }
+
+    @Bean
+    public MonitorReplica monitorReplica(
+            @Qualifier("replicaDataSource") DataSource replica,
+            ConsistenciaLeitura consistencia) {
+        return new MonitorReplica(replica, consistencia);
+    }
+
+    @Bean
+    public ItemServicoService itemServicoService(ItemServicoRepository itemRepo,
+                                                 ServicoRepository servicoRepo,
+                                                 OrdemServicoRepository ordemRepo,
+                                                 JpaTransactionManager transactionManager) {
+        CatalogoServicos catalogo = mock(CatalogoServicos.class);
+        when(catalogo.assinatura()).thenReturn("1");
+
+        return new ItemServicoService(itemRepo, servicoRepo, ordemRepo,
+                mock(DashboardContadorService.class), catalogo,
+                new ExecucaoOtimista(transactionManager, 3, 0));
+    }
+
+    @Bean
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("br.com.ralfdomingues.oficina.domain");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.physical_naming_strategy", PhysicalNamingStrategySnakeCaseImpl.class.getName(),
+                "hibernate.hbm2ddl.auto", "none",
+                "hibernate.connection.handling_mode", "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION"
+        ));
+        return factory;
+    }
+
+    @Bean
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                    ConsistenciaLeitura consistencia) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        transactionManager.addListener(consistencia);
+        return transactionManager;
+    }
+
+    private static DataSource migrar(PostgreSQLContainer<?> container) {
+        if (!container.isRunning()) {
+            container.start();
+        }
+
+        DataSource dataSource = new DriverManagerDataSource(
+                container.getJdbcUrl(),
+                container.getUsername(),
+                container.getPassword()
+        );
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        return dataSource;
+    }
+}
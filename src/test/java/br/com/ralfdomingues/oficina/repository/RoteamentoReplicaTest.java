@@ -0,0 +1,209 @@
+package br.com.ralfdomingues.oficina.repository;
+
+import br.com.ralfdomingues.oficina.controller.itemservico.ItemServicoController;
+import br.com.ralfdomingues.oficina.domain.itemservico.service.ItemServicoService;
+import br.com.ralfdomingues.oficina.infra.http.CacheRespostas;
+import br.com.ralfdomingues.oficina.infra.persistencia.ConsistenciaLeitura;
+import br.com.ralfdomingues.oficina.infra.persistencia.MonitorReplica;
+import br.com.ralfdomingues.oficina.repository.cliente.ClienteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Roteamento das transações entre primário e réplica de leitura.
+ *
+ * <p>
+ * Sem replicação entre os containers, o mesmo cliente é gravado com nomes
+ * diferentes em cada banco: o nome lido indica qual banco atendeu a transação.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringJUnitConfig(ReplicaTestConfig.class)
+class RoteamentoReplicaTest {
+
+    private static final long ID = -1L;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ConsistenciaLeitura consistencia;
+
+    @Autowired
+    private MonitorReplica monitor;
+
+    @Autowired
+    private ItemServicoService itemServicoService;
+
+    @Autowired
+    @Qualifier("primarioDataSource")
+    private DataSource primario;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    private JdbcTemplate jdbcPrimario;
+    private JdbcTemplate jdbcReplica;
+    private TransactionTemplate leitura;
+    private TransactionTemplate escrita;
+
+    @BeforeEach
+    void setup() {
+        jdbcPrimario = new JdbcTemplate(primario);
+        jdbcReplica = new JdbcTemplate(replica);
+
+        inserir(jdbcPrimario, "Cliente primário");
+        inserir(jdbcReplica, "Cliente réplica");
+
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        escrita = new TransactionTemplate(transactionManager);
+
+        monitor.verificar();
+    }
+
+    @AfterEach
+    void limpar() {
+        SecurityContextHolder.clearContext();
+        for (JdbcTemplate jdbc : List.of(jdbcPrimario, jdbcReplica)) {
+            jdbc.update("DELETE FROM itens_servico WHERE ordem_id = ?", ID);
+            jdbc.update("DELETE FROM ordens_servico WHERE id = ?", ID);
+            jdbc.update("DELETE FROM cliente WHERE id = ?", ID);
+        }
+    }
+
+    private static void inserir(JdbcTemplate jdbc, String nome) {
+        jdbc.update("""
+                INSERT INTO cliente (id, nome, telefone, email, cpf, ativo)
+                VALUES (?, ?, '48990000000', NULL, 'R0000000001', TRUE)
+                """, ID, nome);
+    }
+
+    /**
+     * Ordem com um item no primário; na réplica atrasada, a mesma ordem
+     * ainda sem o item e na versão anterior.
+     */
+    private void replicaAtrasadaNaOrdem() {
+        for (JdbcTemplate jdbc : List.of(jdbcPrimario, jdbcReplica)) {
+            jdbc.update("""
+                    INSERT INTO ordens_servico (id, cliente_id, veiculo_id, descricao, data_abertura, status, versao)
+                    VALUES (?, 1, 1, 'Ordem com réplica atrasada', NOW(), 'ABERTA', ?)
+                    """, ID, jdbc == jdbcPrimario ? 1 : 0);
+        }
+        jdbcPrimario.update("""
+                INSERT INTO itens_servico (id, ordem_id, servico_id, quantidade, valor_unitario)
+                VALUES (?, ?, 1, 1, 120.00)
+                """, ID, ID);
+    }
+
+    private ResponseEntity<byte[]> listarItensDaOrdem() {
+        ItemServicoController controller = new ItemServicoController(
+                itemServicoService,
+                new CacheRespostas(JsonMapper.builder().build(), 10, 65536),
+                consistencia);
+        return controller.listarPorOrdem(ID, PageRequest.of(0, 10), null);
+    }
+
+    private static String corpo(ResponseEntity<byte[]> resposta) {
+        return new String(resposta.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private static void autenticar(String usuario) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(usuario, null, List.of()));
+    }
+
+    private String lerNome() {
+        return leitura.execute(status -> clienteRepository.findById(ID).orElseThrow().getNome());
+    }
+
+    private String nome(JdbcTemplate jdbc) {
+        return jdbc.queryForObject("SELECT nome FROM cliente WHERE id = ?", String.class, ID);
+    }
+
+    @Test
+    void transacaoSomenteLeitura_atendidaPelaReplica() {
+        assertTrue(consistencia.replicaDisponivel());
+        assertEquals("Cliente réplica", lerNome());
+    }
+
+    @Test
+    void transacaoDeEscrita_atendidaPeloPrimario() {
+        escrita.executeWithoutResult(status ->
+                clienteRepository.findById(ID).orElseThrow().setNome("Cliente alterado"));
+
+        assertEquals("Cliente alterado", nome(jdbcPrimario));
+        assertEquals("Cliente réplica", nome(jdbcReplica));
+    }
+
+    @Test
+    void leituraAposEscrita_mesmoUsuarioLeDoPrimarioDuranteAJanela() throws InterruptedException {
+        autenticar("ana");
+        escrita.executeWithoutResult(status ->
+                clienteRepository.findById(ID).orElseThrow().setTelefone("48991111111"));
+
+        assertEquals("Cliente primário", lerNome());
+
+        autenticar("bruno");
+        assertEquals("Cliente réplica", lerNome());
+
+        Thread.sleep(ReplicaTestConfig.JANELA_LEITURA_PROPRIA_MS + 100);
+
+        autenticar("ana");
+        assertEquals("Cliente réplica", lerNome());
+        assertTrue(consistencia.estatisticas().leiturasAposEscrita() >= 1);
+    }
+
+    @Test
+    void replicaAtrasada_leiturasAtendidasPeloPrimario() {
+        consistencia.registrarAtraso(60_000);
+        assertEquals("Cliente primário", lerNome());
+
+        monitor.verificar();
+        assertEquals("Cliente réplica", lerNome());
+    }
+
+    @Test
+    void listagemComEtag_replicaAtrasada_versaoEItensDaReplica() {
+        replicaAtrasadaNaOrdem();
+
+        ResponseEntity<byte[]> resposta = listarItensDaOrdem();
+
+        assertEquals(CacheRespostas.etag("itens-os", ID, "0.1"), resposta.getHeaders().getETag());
+        assertTrue(corpo(resposta).contains("\"totalElements\":0"));
+    }
+
+    @Test
+    void listagemComEtag_aposEscritaDoUsuario_versaoEItensDoPrimario() {
+        replicaAtrasadaNaOrdem();
+        autenticar("ana");
+        consistencia.registrarEscrita("ana");
+
+        ResponseEntity<byte[]> resposta = listarItensDaOrdem();
+
+        assertEquals(CacheRespostas.etag("itens-os", ID, "1.1"), resposta.getHeaders().getETag());
+        assertTrue(corpo(resposta).contains("\"totalElements\":1"));
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.ralfdomingues.oficina.repository.cliente;
+
+import br.com.ralfdomingues.oficina.domain.cliente.entity.Cliente;
+import br.com.ralfdomingues.oficina.infra.busca.TermoBusca;
+import br.com.ralfdomingues.oficina.repository.PostgresRepositoryTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Busca incremental de clientes sobre as chaves normalizadas da migration V10.
+ */
+@Transactional
+class ClienteRepositoryTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private ClienteRepository repository;
+
+    @BeforeEach
+    void setup() {
+        jdbc.update("""
+                INSERT INTO cliente (nome, telefone, email, cpf, ativo)
+                VALUES ('Wenceslau Brandão', '(47) 98123-4501', NULL, '741.852.963-01', TRUE),
+                       ('Wenceslau Brandão Neto', '(47) 98123-4502', NULL, '741.852.963-02', TRUE),
+                       ('Wenceslau Inativo', '(47) 98123-4503', NULL, '741.852.963-03', FALSE),
+                       ('Íris Wenceslau', '(47) 98123-4504', NULL, '741.852.963-04', TRUE)
+                """);
+    }
+
+    private static List<String> nomes(List<Cliente> clientes) {
+        return clientes.stream().map(Cliente::getNome).toList();
+    }
+
+    @Test
+    void buscarPorPrefixoNome_ignoraAcentosECaixaEOrdenaPorNome() {
+        TermoBusca termo = TermoBusca.de("WENCESLAU brandao");
+
+        List<Cliente> clientes = repository.buscarPorPrefixoNome(termo.texto(), termo.fimTexto(), 10);
+
+        assertEquals(List.of("Wenceslau Brandão", "Wenceslau Brandão Neto"), nomes(clientes));
+    }
+
+    @Test
+    void buscarPorPrefixoNome_ignoraInativosERespeitaLimite() {
+        TermoBusca termo = TermoBusca.de("wences");
+
+        assertEquals(List.of("Wenceslau Brandão", "Wenceslau Brandão Neto"),
+                nomes(repository.buscarPorPrefixoNome(termo.texto(), termo.fimTexto(), 10)));
+        assertEquals(1, repository.buscarPorPrefixoNome(termo.texto(), termo.fimTexto(), 1).size());
+    }
+
+    @Test
+    void buscarPorNomeAproximado_encontraQualquerPalavraComErroDeDigitacao() {
+        List<String> porSobrenome = nomes(repository.buscarPorNomeAproximado("brandau", 10));
+        List<String> porUltimoNome = nomes(repository.buscarPorNomeAproximado("wenseslau", 10));
+
+        assertTrue(porSobrenome.containsAll(List.of("Wenceslau Brandão", "Wenceslau Brandão Neto")));
+        assertTrue(porUltimoNome.contains("Íris Wenceslau"));
+        assertFalse(porUltimoNome.contains("Wenceslau Inativo"));
+    }
+
+    @Test
+    void buscarPorPrefixoCpfETelefone_comparaApenasDigitos() {
+        TermoBusca cpf = TermoBusca.de("741.852.963-0");
+        TermoBusca telefone = TermoBusca.de("(47) 98123-450");
+
+        assertEquals(3, repository.buscarPorPrefixoCpf(cpf.digitos(), cpf.fimDigitos(), 10).size());
+        assertEquals(List.of("Wenceslau Brandão", "Wenceslau Brandão Neto", "Íris Wenceslau"),
+                nomes(repository.buscarPorPrefixoTelefone(telefone.digitos(), telefone.fimDigitos(), 10)));
+    }
+}
@@ -0,0 +1,190 @@
+package br.com.ralfdomingues.oficina.repository.ordemservico;
+
+import br.com.ralfdomingues.oficina.domain.dashboard.service.DashboardContadorService;
+import br.com.ralfdomingues.oficina.domain.itemservico.dto.ItemServicoUpdateDTO;
+import br.com.ralfdomingues.oficina.domain.itemservico.service.ItemServicoService;
+import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoUpdateDTO;
+import br.com.ralfdomingues.oficina.domain.ordemservico.service.OrdemServicoService;
+import br.com.ralfdomingues.oficina.domain.servico.service.CatalogoServicos;
+import br.com.ralfdomingues.oficina.exception.ConflitoVersaoException;
+import br.com.ralfdomingues.oficina.infra.transacao.ExecucaoOtimista;
+import br.com.ralfdomingues.oficina.repository.PostgresRepositoryTest;
+import br.com.ralfdomingues.oficina.repository.cliente.ClienteRepository;
+import br.com.ralfdomingues.oficina.repository.itemservico.ItemServicoRepository;
+import br.com.ralfdomingues.oficina.repository.servico.ServicoRepository;
+import br.com.ralfdomingues.oficina.repository.veiculo.VeiculoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Alterações concorrentes dos itens e da própria ordem, pelos serviços,
+ * contra um PostgreSQL real.
+ *
+ * <p>
+ * Sem controle de versão, duas alterações do mesmo item aplicam a diferença
+ * sobre o mesmo subtotal anterior, e a gravação da ordem sobrescreve o total
+ * com um valor lido antes das alterações dos itens: nos dois casos o valor
+ * final se desvia da soma dos itens. Com a versão, os conflitos são
+ * repetidos e o valor final termina igual à soma dos itens ativos.
+ */
+class ConcorrenciaValorFinalTest extends PostgresRepositoryTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERACOES = 40;
+    private static final int ITENS = 3;
+
+    @Autowired
+    private OrdemServicoRepository ordemRepository;
+
+    @Autowired
+    private ItemServicoRepository itemRepository;
+
+    @Autowired
+    private ServicoRepository servicoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private VeiculoRepository veiculoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ExecucaoOtimista execucao;
+    private ItemServicoService itemService;
+    private OrdemServicoService ordemService;
+
+    private Long clienteId;
+    private Long servicoId;
+    private Long ordemId;
+    private final List<Long> itens = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        clienteId = jdbc.queryForObject("""
+                INSERT INTO cliente (nome, telefone, email, cpf, ativo)
+                VALUES ('Cliente concorrência', '48990000000', NULL, 'C0000000001', TRUE)
+                RETURNING id
+                """, Long.class);
+        Long veiculoId = jdbc.queryForObject("""
+                INSERT INTO veiculo (cliente_id, placa, modelo, marca, ano, tipo, ativo)
+                VALUES (?, 'C0000001', 'Modelo', 'Marca', 2020, 'CARRO', TRUE)
+                RETURNING id
+                """, Long.class, clienteId);
+        servicoId = jdbc.queryForObject("""
+                INSERT INTO servico (nome, preco)
+                VALUES ('Serviço concorrência', 10.00)
+                RETURNING id
+                """, Long.class);
+        ordemId = jdbc.queryForObject("""
+                INSERT INTO ordens_servico (cliente_id, veiculo_id, descricao, data_abertura, status, valor_estimado, valor_final)
+                VALUES (?, ?, 'Concorrência', now(), 'ABERTA', 100, ?)
+                RETURNING id
+                """, Long.class, clienteId, veiculoId, 10 * ITENS);
+
+        for (int i = 0; i < ITENS; i++) {
+            itens.add(jdbc.queryForObject("""
+                    INSERT INTO itens_servico (ordem_id, servico_id, quantidade, valor_unitario, ativo)
+                    VALUES (?, ?, 1, 10.00, TRUE)
+                    RETURNING id
+                    """, Long.class, ordemId, servicoId));
+        }
+
+        CatalogoServicos catalogo = new CatalogoServicos(servicoRepository);
+        catalogo.recarregar();
+
+        DashboardContadorService contadorService = mock(DashboardContadorService.class);
+        execucao = new ExecucaoOtimista(transactionManager, 50, 1);
+
+        itemService = new ItemServicoService(itemRepository, servicoRepository, ordemRepository,
+                contadorService, catalogo, execucao);
+        ordemService = new OrdemServicoService(ordemRepository, clienteRepository, veiculoRepository,
+                itemRepository, contadorService, execucao);
+    }
+
+    @AfterEach
+    void limpar() {
+        jdbc.update("DELETE FROM itens_servico WHERE ordem_id = ?", ordemId);
+        jdbc.update("DELETE FROM ordens_servico WHERE id = ?", ordemId);
+        jdbc.update("DELETE FROM veiculo WHERE cliente_id = ?", clienteId);
+        jdbc.update("DELETE FROM cliente WHERE id = ?", clienteId);
+        jdbc.update("DELETE FROM servico WHERE id = ?", servicoId);
+    }
+
+    @Test
+    void alteracoesConcorrentes_valorFinalIgualASomaDosItens() throws Exception {
+        LongAdder rejeitadas = new LongAdder();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < OPERACOES; i++) {
+                        try {
+                            alterar(ThreadLocalRandom.current());
+                        } catch (ConflitoVersaoException e) {
+                            rejeitadas.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        BigDecimal registrado = jdbc.queryForObject(
+                "SELECT valor_final FROM ordens_servico WHERE id = ?", BigDecimal.class, ordemId);
+        BigDecimal calculado = jdbc.queryForObject("""
+                SELECT COALESCE(SUM(valor_unitario * quantidade) FILTER (WHERE ativo), 0)
+                FROM itens_servico
+                WHERE ordem_id = ?
+                """, BigDecimal.class, ordemId);
+
+        var estatisticas = execucao.estatisticas();
+        assertEquals(0, calculado.compareTo(registrado),
+                () -> "Registrado " + registrado + ", itens " + calculado + ", " + estatisticas);
+        assertEquals(estatisticas.esgotadas(), rejeitadas.sum());
+    }
+
+    /**
+     * Altera a quantidade de um item (reativando-o), exclui um item ou
+     * altera a descrição da ordem.
+     */
+    private void alterar(ThreadLocalRandom aleatorio) {
+        Long item = itens.get(aleatorio.nextInt(ITENS));
+
+        switch (aleatorio.nextInt(3)) {
+            case 0 -> itemService.atualizar(item,
+                    new ItemServicoUpdateDTO(null, aleatorio.nextInt(1, 6), null, true));
+            case 1 -> itemService.deletar(item);
+            default -> ordemService.atualizar(ordemId,
+                    new OrdemServicoUpdateDTO("Concorrência " + aleatorio.nextInt(1000), null, null));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.ralfdomingues.oficina.repository.ordemservico;
+
+import br.com.ralfdomingues.oficina.domain.ordemservico.dto.OrdemServicoResponseDTO;
+import br.com.ralfdomingues.oficina.domain.ordemservico.entity.OrdemServico;
+import br.com.ralfdomingues.oficina.domain.ordemservico.enums.StatusOrdemServico;
+import br.com.ralfdomingues.oficina.repository.PostgresRepositoryTest;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+class OrdemServicoRepositoryTest extends PostgresRepositoryTest {
+
+    private static final int ORDENS = 40;
+
+    @Autowired
+    private OrdemServicoRepository repository;
+
+    /**
+     * Cria uma ordem por cliente/veículo distintos, cenário em que a
+     * leitura por entidade faria uma consulta extra para cada linha.
+     */
+    @BeforeEach
+    void setup() {
+        jdbc.update("""
+                INSERT INTO cliente (nome, telefone, email, cpf, ativo)
+                SELECT 'Cliente listagem ' || g, '48990000000', NULL, 'L' || lpad(g::text, 10, '0'), TRUE
+                FROM generate_series(1, ?) g
+                """, ORDENS);
+        jdbc.update("""
+                INSERT INTO veiculo (cliente_id, placa, modelo, marca, ano, tipo, ativo)
+                SELECT c.id, 'L' || lpad(c.id::text, 7, '0'), 'Modelo', 'Marca', 2020, 'CARRO', TRUE
+                FROM cliente c
+                WHERE c.nome LIKE 'Cliente listagem %'
+                """);
+        jdbc.update("""
+                INSERT INTO ordens_servico (cliente_id, veiculo_id, descricao, data_abertura, status, valor_estimado, valor_final)
+                SELECT v.cliente_id, v.id, 'Revisão', now(), 'ABERTA', 100, 0
+                FROM veiculo v
+                WHERE v.placa LIKE 'L%'
+                """);
+    }
+
+    private long comandosParaPagina(int tamanho) {
+        Statistics estatisticas = estatisticas();
+        estatisticas.clear();
+
+        Page<OrdemServicoResponseDTO> pagina = repository.listarResumoPorStatusNot(
+                StatusOrdemServico.CANCELADA,
+                PageRequest.of(0, tamanho, Sort.by("dataAbertura").descending())
+        );
+
+        assertEquals(tamanho, pagina.getNumberOfElements());
+        assertNotNull(pagina.getContent().get(0).clienteId());
+        assertNotNull(pagina.getContent().get(0).veiculoId());
+
+        return estatisticas.getPrepareStatementCount();
+    }
+
+    @Test
+    void listarResumo_quantidadeDeComandosNaoDependeDoTamanhoDaPagina() {
+        long pequena = comandosParaPagina(5);
+        long grande = comandosParaPagina(ORDENS);
+
+        // Uma consulta para o conteúdo e outra para a contagem
+        assertEquals(2, pequena);
+        assertEquals(pequena, grande);
+    }
+
+    @Test
+    void exportar_filtraPorStatusEPeriodo_emOrdemDeAbertura() {
+        LocalDate hoje = LocalDate.now();
+
+        List<OrdemServicoResponseDTO> abertas;
+        try (Stream<OrdemServicoResponseDTO> ordens = repository.exportar(
+                Set.of(StatusOrdemServico.ABERTA), hoje.atStartOfDay(), hoje.plusDays(1).atStartOfDay())) {
+            abertas = ordens.toList();
+        }
+
+        assertTrue(abertas.size() >= ORDENS);
+        assertTrue(abertas.stream().allMatch(o -> o.status() == StatusOrdemServico.ABERTA));
+        assertEquals(abertas.stream()
+                .sorted(Comparator.comparing(OrdemServicoResponseDTO::dataAbertura)
+                        .thenComparing(OrdemServicoResponseDTO::id))
+                .toList(), abertas);
+
+        try (Stream<OrdemServicoResponseDTO> ordens = repository.exportar(
+                Set.of(StatusOrdemServico.ABERTA), hoje.plusDays(1).atStartOfDay(), hoje.plusDays(2).atStartOfDay())) {
+            assertEquals(0, ordens.count());
+        }
+    }
+
+    @Test
+    void buscarDivergencias_ordemSemItensComValor_reportada() {
+        Long id = jdbc.queryForObject("""
+                SELECT min(o.id)
+                FROM ordens_servico o
+                JOIN veiculo v ON v.id = o.veiculo_id
+                WHERE v.placa LIKE 'L%'
+                """, Long.class);
+        jdbc.update("UPDATE ordens_servico SET valor_final = 150 WHERE id = ?", id);
+
+        var divergencias = repository.buscarDivergenciasValorFinal();
+
+        var divergencia = divergencias.stream()
+                .filter(d -> d.getOrdemId().equals(id))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(0, new BigDecimal("150").compareTo(divergencia.getValorRegistrado()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(divergencia.getValorCalculado()));
+
+        // As demais ordens sem itens têm valor final zero e não divergem
+        List<Long> semItens = jdbc.queryForList("""
+                SELECT o.id
+                FROM ordens_servico o
+                JOIN veiculo v ON v.id = o.veiculo_id
+                WHERE v.placa LIKE 'L%' AND o.id <> ?
+                """, Long.class, id);
+        assertTrue(divergencias.stream().noneMatch(d -> semItens.contains(d.getOrdemId())));
+    }
+
+    @Test
+    void versao_incrementadaPeloJpaEPelasAtualizacoesDiretas() {
+        Long id = jdbc.queryForObject("""
+                SELECT min(o.id)
+                FROM ordens_servico o
+                JOIN veiculo v ON v.id = o.veiculo_id
+                WHERE v.placa LIKE 'L%'
+                """, Long.class);
+
+        long inicial = repository.buscarVersao(id, StatusOrdemServico.CANCELADA).orElseThrow();
+
+        OrdemServico ordem = repository.findById(id).orElseThrow();
+        ordem.setDescricao("Revisão completa");
+        repository.saveAndFlush(ordem);
+        assertEquals(inicial + 1, ordem.getVersao());
+
+        assertEquals(1, repository.incrementarValorFinal(id, BigDecimal.TEN));
+        assertEquals(1, repository.corrigirValorFinal(id, BigDecimal.TEN, BigDecimal.ONE));
+        assertEquals(1, repository.incrementarVersao(id));
+        assertEquals(inicial + 4, repository.buscarVersao(id).orElseThrow());
+
+        jdbc.update("UPDATE ordens_servico SET status = 'CANCELADA' WHERE id = ?", id);
+
+        assertTrue(repository.buscarVersao(id, StatusOrdemServico.CANCELADA).isEmpty());
+        assertEquals(inicial + 4, repository.buscarVersao(id).orElseThrow());
+    }
+}
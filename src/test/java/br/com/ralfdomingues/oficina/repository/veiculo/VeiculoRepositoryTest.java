@@ -0,0 +1,80 @@
+package br.com.ralfdomingues.oficina.repository.veiculo;
+
+import br.com.ralfdomingues.oficina.domain.veiculo.entity.Veiculo;
+import br.com.ralfdomingues.oficina.infra.busca.TermoBusca;
+import br.com.ralfdomingues.oficina.repository.CapturaSql;
+import br.com.ralfdomingues.oficina.repository.PostgresRepositoryTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Busca incremental de veículos pela chave de placa da migration V10.
+ */
+@Transactional
+class VeiculoRepositoryTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private VeiculoRepository repository;
+
+    @BeforeEach
+    void setup() {
+        jdbc.update("""
+                INSERT INTO cliente (nome, telefone, email, cpf, ativo)
+                SELECT 'Cliente placa ' || g, '48990000000', NULL, 'P' || lpad(g::text, 10, '0'), TRUE
+                FROM generate_series(1, 3) g
+                """);
+        jdbc.update("""
+                INSERT INTO veiculo (cliente_id, placa, modelo, marca, ano, tipo, ativo)
+                SELECT c.id, p.placa, 'Modelo', 'Marca', 2020, 'CARRO', p.ativo
+                FROM (VALUES (1, 'QWZ-9K87', TRUE), (2, 'qwz9k12', TRUE), (3, 'QWZ9K55', FALSE)) AS p(n, placa, ativo)
+                JOIN cliente c ON c.nome = 'Cliente placa ' || p.n
+                """);
+    }
+
+    private List<String> placas(List<Long> ids) {
+        List<String> placas = new ArrayList<>();
+        for (Long id : ids) {
+            placas.add(jdbc.queryForObject("SELECT placa FROM veiculo WHERE id = ?", String.class, id));
+        }
+        return placas;
+    }
+
+    @Test
+    void buscarIdsPorPrefixoPlaca_ignoraPontuacaoECaixa() {
+        TermoBusca termo = TermoBusca.de("QWZ-9K");
+
+        List<Long> ids = repository.buscarIdsPorPrefixoPlaca(termo.texto(), termo.fimTexto(), 10);
+
+        assertEquals(List.of("qwz9k12", "QWZ-9K87"), placas(ids));
+    }
+
+    @Test
+    void buscarIdsPorPlacaAproximada_toleraUmCaractereTrocado() {
+        List<Long> ids = repository.buscarIdsPorPlacaAproximada(TermoBusca.de("QWZ9K88").texto(), 10);
+
+        assertFalse(ids.isEmpty());
+        assertEquals("QWZ-9K87", placas(ids).get(0));
+    }
+
+    @Test
+    void buscarComClientePorIds_umaConsulta() {
+        TermoBusca termo = TermoBusca.de("qwz9k");
+        List<Long> ids = repository.buscarIdsPorPrefixoPlaca(termo.texto(), termo.fimTexto(), 10);
+
+        List<Veiculo> veiculos = new ArrayList<>();
+        List<CapturaSql.Comando> comandos = CapturaSql.capturar(() -> {
+            veiculos.addAll(repository.buscarComClientePorIds(ids));
+            veiculos.forEach(v -> v.getCliente().getNome());
+        });
+
+        assertEquals(2, veiculos.size());
+        assertEquals(1, comandos.size());
+    }
+}